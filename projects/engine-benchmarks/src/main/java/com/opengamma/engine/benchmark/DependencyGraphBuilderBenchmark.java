@@ -0,0 +1,93 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.threeten.bp.Instant;
+
+import com.opengamma.engine.depgraph.DependencyGraph;
+import com.opengamma.engine.depgraph.DependencyGraphBuilder;
+import com.opengamma.engine.function.FunctionCompilationContext;
+import com.opengamma.engine.function.resolver.CompiledFunctionResolver;
+import com.opengamma.engine.marketdata.InMemoryLKVMarketDataProvider;
+import com.opengamma.engine.value.ValueRequirement;
+
+/**
+ * Benchmarks building a dependency graph for a synthetic portfolio.
+ * <p>
+ * Each invocation builds the complete graph from scratch with a new {@link DependencyGraphBuilder}; the compiled function resolver and
+ * market data are shared between invocations as they would be between compilations of a view.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DependencyGraphBuilderBenchmark {
+
+  /**
+   * The number of targets in the portfolio.
+   */
+  @Param({"100", "1000" })
+  private int _targets;
+
+  /**
+   * The depth of the calculation chain on each target.
+   */
+  @Param({"4" })
+  private int _depth;
+
+  /**
+   * The number of additional threads each builder may use.
+   */
+  @Param({"0", "2" })
+  private int _additionalThreads;
+
+  private FunctionCompilationContext _context;
+  private CompiledFunctionResolver _functionResolver;
+  private InMemoryLKVMarketDataProvider _marketData;
+  private List<ValueRequirement> _requirements;
+
+  /**
+   * Compiles the functions and creates the requirements.
+   */
+  @Setup
+  public void setup() {
+    final Instant now = Instant.now();
+    _context = SyntheticData.createCompilationContext(now);
+    _functionResolver = SyntheticData.createFunctionResolver(_context, now, _depth);
+    _marketData = SyntheticData.createMarketDataProvider(_targets);
+    _requirements = SyntheticData.createRequirements(_targets, _depth);
+  }
+
+  /**
+   * Builds the graph.
+   *
+   * @return the graph
+   */
+  @Benchmark
+  public DependencyGraph build() {
+    final DependencyGraphBuilder builder = SyntheticData.createBuilder(_context, _functionResolver, _marketData);
+    builder.setMaxAdditionalThreads(_additionalThreads);
+    builder.addTarget(_requirements);
+    return builder.getDependencyGraph();
+  }
+
+}
@@ -0,0 +1,161 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.fudgemsg.FudgeContext;
+import org.fudgemsg.FudgeMsg;
+import org.fudgemsg.mapping.FudgeDeserializer;
+import org.fudgemsg.mapping.FudgeSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.threeten.bp.Duration;
+import org.threeten.bp.Instant;
+
+import com.opengamma.engine.calcnode.EmptyAggregatedExecutionLog;
+import com.opengamma.engine.value.ComputedValue;
+import com.opengamma.engine.value.ComputedValueResult;
+import com.opengamma.engine.value.ValueSpecification;
+import com.opengamma.engine.view.ViewComputationResultModel;
+import com.opengamma.engine.view.execution.ViewCycleExecutionOptions;
+import com.opengamma.engine.view.impl.InMemoryViewComputationResultModel;
+import com.opengamma.id.UniqueId;
+import com.opengamma.id.VersionCorrection;
+import com.opengamma.util.fudgemsg.OpenGammaFudgeContext;
+
+/**
+ * Benchmarks the Fudge encoding and decoding of the common result types.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FudgeEncodingBenchmark {
+
+  /**
+   * The number of values in the result model.
+   */
+  @Param({"1000" })
+  private int _resultCount;
+
+  private FudgeContext _fudgeContext;
+  private ValueSpecification _specification;
+  private ComputedValue _value;
+  private ViewComputationResultModel _resultModel;
+  private byte[] _encodedSpecification;
+  private byte[] _encodedValue;
+  private byte[] _encodedResultModel;
+
+  /**
+   * Creates the objects to encode, and their encoded forms to decode.
+   */
+  @Setup
+  public void setup() {
+    _fudgeContext = OpenGammaFudgeContext.getInstance();
+    final List<ValueSpecification> specifications = SyntheticData.createValueSpecifications(_resultCount);
+    final List<ComputedValue> values = SyntheticData.createComputedValues(specifications);
+    _specification = specifications.get(0);
+    _value = values.get(0);
+    final InMemoryViewComputationResultModel resultModel = new InMemoryViewComputationResultModel();
+    resultModel.setViewProcessId(UniqueId.of("Process", "1"));
+    resultModel.setViewCycleId(UniqueId.of("Cycle", "1"));
+    resultModel.setViewCycleExecutionOptions(ViewCycleExecutionOptions.builder().setValuationTime(Instant.EPOCH).create());
+    resultModel.setCalculationTime(Instant.EPOCH);
+    resultModel.setCalculationDuration(Duration.ofMillis(1));
+    resultModel.setVersionCorrection(VersionCorrection.LATEST);
+    for (final ComputedValue value : values) {
+      resultModel.addValue(SyntheticData.CALC_CONFIG_NAME, new ComputedValueResult(value, EmptyAggregatedExecutionLog.INSTANCE));
+    }
+    _resultModel = resultModel;
+    _encodedSpecification = encode(_specification);
+    _encodedValue = encode(_value);
+    _encodedResultModel = encode(_resultModel);
+  }
+
+  private byte[] encode(final Object object) {
+    final FudgeSerializer serializer = new FudgeSerializer(_fudgeContext);
+    return _fudgeContext.toByteArray(serializer.objectToFudgeMsg(object));
+  }
+
+  private <T> T decode(final Class<T> clazz, final byte[] data) {
+    final FudgeMsg message = _fudgeContext.deserialize(data).getMessage();
+    return new FudgeDeserializer(_fudgeContext).fudgeMsgToObject(clazz, message);
+  }
+
+  /**
+   * Encodes a value specification.
+   *
+   * @return the encoded form
+   */
+  @Benchmark
+  public byte[] encodeValueSpecification() {
+    return encode(_specification);
+  }
+
+  /**
+   * Decodes a value specification.
+   *
+   * @return the decoded form
+   */
+  @Benchmark
+  public ValueSpecification decodeValueSpecification() {
+    return decode(ValueSpecification.class, _encodedSpecification);
+  }
+
+  /**
+   * Encodes a computed value holding a double.
+   *
+   * @return the encoded form
+   */
+  @Benchmark
+  public byte[] encodeComputedValue() {
+    return encode(_value);
+  }
+
+  /**
+   * Decodes a computed value holding a double.
+   *
+   * @return the decoded form
+   */
+  @Benchmark
+  public ComputedValue decodeComputedValue() {
+    return decode(ComputedValue.class, _encodedValue);
+  }
+
+  /**
+   * Encodes a full result model.
+   *
+   * @return the encoded form
+   */
+  @Benchmark
+  public byte[] encodeResultModel() {
+    return encode(_resultModel);
+  }
+
+  /**
+   * Decodes a full result model.
+   *
+   * @return the decoded form
+   */
+  @Benchmark
+  public ViewComputationResultModel decodeResultModel() {
+    return decode(ViewComputationResultModel.class, _encodedResultModel);
+  }
+
+}
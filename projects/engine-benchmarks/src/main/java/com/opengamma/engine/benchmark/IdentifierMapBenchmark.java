@@ -0,0 +1,123 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.benchmark;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.engine.cache.IdentifierMap;
+import com.opengamma.engine.cache.InMemoryIdentifierMap;
+import com.opengamma.engine.cache.PrimitiveIdentifierMap;
+import com.opengamma.engine.value.ValueSpecification;
+
+/**
+ * Benchmarks lookups of previously allocated identifiers in the {@link IdentifierMap} implementations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdentifierMapBenchmark {
+
+  /**
+   * The identifier map implementation.
+   */
+  @Param({"InMemory", "Primitive" })
+  private String _implementation;
+
+  /**
+   * The number of specifications in the map.
+   */
+  @Param({"10000" })
+  private int _size;
+
+  private IdentifierMap _identifierMap;
+  private List<ValueSpecification> _specifications;
+  private List<ValueSpecification> _batch;
+  private LongArrayList _identifiers;
+  private int _next;
+
+  /**
+   * Populates the map.
+   */
+  @Setup
+  public void setup() {
+    _identifierMap = "Primitive".equals(_implementation) ? new PrimitiveIdentifierMap() : new InMemoryIdentifierMap();
+    _specifications = SyntheticData.createValueSpecifications(_size);
+    _identifiers = new LongArrayList(_size);
+    for (final ValueSpecification specification : _specifications) {
+      _identifiers.add(_identifierMap.getIdentifier(specification));
+    }
+    // A typical job's worth of inputs
+    _batch = new ArrayList<>(_specifications.subList(0, Math.min(_size, 100)));
+  }
+
+  private int next() {
+    final int next = _next;
+    _next = next + 1 == _size ? 0 : next + 1;
+    return next;
+  }
+
+  /**
+   * Looks up the identifier of a single specification.
+   *
+   * @return the identifier
+   */
+  @Benchmark
+  public long getIdentifier() {
+    return _identifierMap.getIdentifier(_specifications.get(next()));
+  }
+
+  /**
+   * Looks up the specification of a single identifier.
+   *
+   * @return the specification
+   */
+  @Benchmark
+  public ValueSpecification getValueSpecification() {
+    return _identifierMap.getValueSpecification(_identifiers.getLong(next()));
+  }
+
+  /**
+   * Looks up the identifiers of a batch of specifications.
+   *
+   * @return the identifiers
+   */
+  @Benchmark
+  public Object2LongMap<ValueSpecification> getIdentifiers() {
+    return _identifierMap.getIdentifiers(_batch);
+  }
+
+  /**
+   * Looks up the specifications of a batch of identifiers.
+   *
+   * @return the specifications
+   */
+  @Benchmark
+  public Long2ObjectMap<ValueSpecification> getValueSpecifications() {
+    return _identifierMap.getValueSpecifications(_identifiers.subList(0, _batch.size()));
+  }
+
+}
@@ -0,0 +1,155 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.benchmark;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.OpenGammaRuntimeException;
+import com.opengamma.engine.marketdata.spec.MarketData;
+import com.opengamma.engine.test.ViewProcessorTestEnvironment;
+import com.opengamma.engine.view.ViewComputationResultModel;
+import com.opengamma.engine.view.ViewDeltaResultModel;
+import com.opengamma.engine.view.client.ViewClient;
+import com.opengamma.engine.view.cycle.SingleComputationCycle;
+import com.opengamma.engine.view.execution.ExecutionFlags;
+import com.opengamma.engine.view.execution.ExecutionOptions;
+import com.opengamma.engine.view.execution.ViewCycleExecutionOptions;
+import com.opengamma.engine.view.impl.ViewProcessorImpl;
+import com.opengamma.engine.view.listener.AbstractViewResultListener;
+import com.opengamma.engine.view.worker.ViewProcessWorker;
+import com.opengamma.livedata.UserPrincipal;
+import com.opengamma.util.test.TestLifecycle;
+
+/**
+ * Benchmarks the execution of a {@link SingleComputationCycle} for a synthetic view.
+ * <p>
+ * The view is compiled once; each invocation triggers a full cycle and waits for its results. Jobs are executed by the
+ * {@link com.opengamma.engine.calcnode.LocalNodeJobInvoker} that {@link ViewProcessorTestEnvironment} configures, so the measurement covers
+ * the cycle, the job dispatch, the calculation node and the computation cache without any network transport.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SingleComputationCycleBenchmark {
+
+  private static final long TIMEOUT_MILLIS = 60000;
+
+  /**
+   * The number of targets in the view.
+   */
+  @Param({"100", "1000" })
+  private int _targets;
+
+  /**
+   * The depth of the calculation chain on each target.
+   */
+  @Param({"4" })
+  private int _depth;
+
+  private ViewClient _client;
+  private ViewProcessWorker _worker;
+  private CycleListener _listener;
+
+  /**
+   * Receives the cycle completion notifications.
+   */
+  private static final class CycleListener extends AbstractViewResultListener {
+
+    private final Semaphore _completed = new Semaphore(0);
+    private volatile Exception _failure;
+
+    @Override
+    public UserPrincipal getUser() {
+      return ViewProcessorTestEnvironment.TEST_USER;
+    }
+
+    @Override
+    public void cycleCompleted(final ViewComputationResultModel fullResult, final ViewDeltaResultModel deltaResult) {
+      _completed.release();
+    }
+
+    @Override
+    public void cycleExecutionFailed(final ViewCycleExecutionOptions executionOptions, final Exception exception) {
+      _failure = exception;
+      _completed.release();
+    }
+
+    void reset() {
+      _completed.drainPermits();
+    }
+
+    void await() throws InterruptedException {
+      if (!_completed.tryAcquire(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+        throw new OpenGammaRuntimeException("Timed out waiting for cycle to complete");
+      }
+      if (_failure != null) {
+        throw new OpenGammaRuntimeException("Cycle execution failed", _failure);
+      }
+    }
+
+  }
+
+  /**
+   * Creates the view processor, compiles the view and waits for the initial cycle.
+   *
+   * @throws InterruptedException if interrupted
+   */
+  @Setup
+  public void setup() throws InterruptedException {
+    TestLifecycle.begin();
+    final ViewProcessorTestEnvironment env = new ViewProcessorTestEnvironment();
+    env.setViewDefinition(SyntheticData.createViewDefinition(_targets, _depth));
+    env.setFunctionRepository(SyntheticData.createFunctionRepository(_depth));
+    env.setMarketDataProvider(SyntheticData.createMarketDataProvider(_targets));
+    env.init();
+    final ViewProcessorImpl viewProcessor = env.getViewProcessor();
+    _listener = new CycleListener();
+    _client = viewProcessor.createViewClient(ViewProcessorTestEnvironment.TEST_USER);
+    _client.setResultListener(_listener);
+    _client.attachToViewProcess(env.getViewDefinition().getUniqueId(), ExecutionOptions.infinite(MarketData.live(), ExecutionFlags.none().get()));
+    _listener.await();
+    _worker = env.getCurrentWorker(env.getViewProcess(viewProcessor, _client.getUniqueId()));
+  }
+
+  /**
+   * Shuts down the view processor.
+   */
+  @TearDown
+  public void tearDown() {
+    _client.shutdown();
+    TestLifecycle.end();
+  }
+
+  /**
+   * Executes a cycle.
+   *
+   * @throws InterruptedException if interrupted
+   */
+  @Benchmark
+  public void cycle() throws InterruptedException {
+    _listener.reset();
+    _worker.triggerCycle();
+    _listener.await();
+  }
+
+}
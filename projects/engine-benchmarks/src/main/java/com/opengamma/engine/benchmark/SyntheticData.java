@@ -0,0 +1,239 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.threeten.bp.Instant;
+
+import com.opengamma.engine.ComputationTargetResolver;
+import com.opengamma.engine.ComputationTargetSpecification;
+import com.opengamma.engine.MapComputationTargetResolver;
+import com.opengamma.engine.depgraph.DependencyGraphBuilder;
+import com.opengamma.engine.function.CachingFunctionRepositoryCompiler;
+import com.opengamma.engine.function.CompiledFunctionService;
+import com.opengamma.engine.function.FunctionCompilationContext;
+import com.opengamma.engine.function.InMemoryFunctionRepository;
+import com.opengamma.engine.function.resolver.CompiledFunctionResolver;
+import com.opengamma.engine.function.resolver.DefaultFunctionResolver;
+import com.opengamma.engine.marketdata.InMemoryLKVMarketDataProvider;
+import com.opengamma.engine.marketdata.spec.MarketData;
+import com.opengamma.engine.value.ComputedValue;
+import com.opengamma.engine.value.ValueProperties;
+import com.opengamma.engine.value.ValuePropertyNames;
+import com.opengamma.engine.value.ValueRequirement;
+import com.opengamma.engine.value.ValueSpecification;
+import com.opengamma.engine.view.ViewCalculationConfiguration;
+import com.opengamma.engine.view.ViewDefinition;
+import com.opengamma.id.UniqueId;
+import com.opengamma.id.VersionCorrection;
+import com.opengamma.livedata.UserPrincipal;
+
+/**
+ * Reproducible synthetic data for the benchmarks.
+ * <p>
+ * A synthetic "portfolio" is a number of primitive targets, each of which has a chain of {@link SyntheticFunction} calculations of a given
+ * depth above a single market data value. All pseudo-random values are drawn from generators with fixed seeds so that every run of a
+ * benchmark sees the same data, and nothing requires a database or network connection.
+ */
+public final class SyntheticData {
+
+  /**
+   * The scheme of the synthetic target identifiers.
+   */
+  public static final String SCHEME = "Synthetic";
+  /**
+   * The value name of the market data at the bottom of each chain.
+   */
+  public static final String MARKET_DATA = "Market";
+  /**
+   * A property set on every calculated value.
+   */
+  public static final String CURRENCY = "Currency";
+  /**
+   * A property set on every calculated value.
+   */
+  public static final String CURVE = "Curve";
+  /**
+   * The name of the calculation configuration in the synthetic view.
+   */
+  public static final String CALC_CONFIG_NAME = "Default";
+  /**
+   * The seed used for all pseudo-random data.
+   */
+  public static final long SEED = 0x5EEDL;
+
+  private SyntheticData() {
+  }
+
+  /**
+   * Returns the value name produced at a level of the chain.
+   *
+   * @param level the level
+   * @return the value name
+   */
+  public static String getValueName(final int level) {
+    return "Value" + level;
+  }
+
+  /**
+   * Creates the target specifications.
+   *
+   * @param count the number of targets
+   * @return the targets
+   */
+  public static List<ComputationTargetSpecification> createTargets(final int count) {
+    final List<ComputationTargetSpecification> targets = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      targets.add(ComputationTargetSpecification.of(UniqueId.of(SCHEME, Integer.toString(i))));
+    }
+    return targets;
+  }
+
+  /**
+   * Creates the terminal requirements for the top of each chain.
+   *
+   * @param count the number of targets
+   * @param depth the depth of each chain
+   * @return the requirements
+   */
+  public static List<ValueRequirement> createRequirements(final int count, final int depth) {
+    final List<ValueRequirement> requirements = new ArrayList<>(count);
+    final String valueName = getValueName(depth - 1);
+    for (final ComputationTargetSpecification target : createTargets(count)) {
+      requirements.add(new ValueRequirement(valueName, target));
+    }
+    return requirements;
+  }
+
+  /**
+   * Creates value specifications with a realistic mix of properties, for example as used in the computation caches.
+   *
+   * @param count the number of specifications
+   * @return the specifications
+   */
+  public static List<ValueSpecification> createValueSpecifications(final int count) {
+    final Random random = new Random(SEED);
+    final List<ValueSpecification> specifications = new ArrayList<>(count);
+    for (final ComputationTargetSpecification target : createTargets(count)) {
+      final ValueProperties properties = ValueProperties.with(ValuePropertyNames.FUNCTION, "Synthetic" + random.nextInt(8))
+          .with(CURRENCY, random.nextBoolean() ? "USD" : "EUR").with(CURVE, "Curve" + random.nextInt(4)).get();
+      specifications.add(new ValueSpecification(getValueName(random.nextInt(4)), target, properties));
+    }
+    return specifications;
+  }
+
+  /**
+   * Creates computed values holding doubles for each of the specifications.
+   *
+   * @param specifications the specifications
+   * @return the computed values
+   */
+  public static List<ComputedValue> createComputedValues(final List<ValueSpecification> specifications) {
+    final Random random = new Random(SEED);
+    final List<ComputedValue> values = new ArrayList<>(specifications.size());
+    for (final ValueSpecification specification : specifications) {
+      values.add(new ComputedValue(specification, random.nextDouble()));
+    }
+    return values;
+  }
+
+  /**
+   * Creates a function repository containing the functions for each level of the chain.
+   *
+   * @param depth the depth of each chain
+   * @return the repository
+   */
+  public static InMemoryFunctionRepository createFunctionRepository(final int depth) {
+    final InMemoryFunctionRepository repository = new InMemoryFunctionRepository();
+    for (int i = 0; i < depth; i++) {
+      repository.addFunction(new SyntheticFunction(i));
+    }
+    return repository;
+  }
+
+  /**
+   * Creates a market data provider with a value for the bottom of each chain.
+   *
+   * @param count the number of targets
+   * @return the provider
+   */
+  public static InMemoryLKVMarketDataProvider createMarketDataProvider(final int count) {
+    final Random random = new Random(SEED);
+    final InMemoryLKVMarketDataProvider provider = new InMemoryLKVMarketDataProvider();
+    for (final ComputationTargetSpecification target : createTargets(count)) {
+      provider.addValue(new ValueRequirement(MARKET_DATA, target), random.nextDouble());
+    }
+    return provider;
+  }
+
+  /**
+   * Creates a compilation context which resolves the synthetic targets.
+   *
+   * @param instant the instant to resolve at
+   * @return the context
+   */
+  public static FunctionCompilationContext createCompilationContext(final Instant instant) {
+    final FunctionCompilationContext context = new FunctionCompilationContext();
+    final ComputationTargetResolver targetResolver = new MapComputationTargetResolver();
+    context.setRawComputationTargetResolver(targetResolver);
+    context.setComputationTargetResolver(targetResolver.atVersionCorrection(VersionCorrection.of(instant, instant)));
+    return context;
+  }
+
+  /**
+   * Creates a compiled function resolver for the synthetic functions.
+   *
+   * @param context the compilation context
+   * @param instant the instant to compile at
+   * @param depth the depth of each chain
+   * @return the resolver
+   */
+  public static CompiledFunctionResolver createFunctionResolver(final FunctionCompilationContext context, final Instant instant, final int depth) {
+    final CompiledFunctionService compilationService = new CompiledFunctionService(createFunctionRepository(depth),
+        new CachingFunctionRepositoryCompiler(), context);
+    compilationService.initialize();
+    return new DefaultFunctionResolver(compilationService).compile(instant);
+  }
+
+  /**
+   * Creates a configured dependency graph builder with no targets added.
+   *
+   * @param context the compilation context
+   * @param functionResolver the function resolver
+   * @param marketData the market data provider
+   * @return the builder
+   */
+  public static DependencyGraphBuilder createBuilder(final FunctionCompilationContext context, final CompiledFunctionResolver functionResolver,
+      final InMemoryLKVMarketDataProvider marketData) {
+    final DependencyGraphBuilder builder = new DependencyGraphBuilder();
+    builder.setMarketDataAvailabilityProvider(marketData.getAvailabilityProvider(MarketData.live()));
+    builder.setCompilationContext(context);
+    builder.setFunctionResolver(functionResolver);
+    builder.setCalculationConfigurationName(CALC_CONFIG_NAME);
+    return builder;
+  }
+
+  /**
+   * Creates a view definition requiring the top of each chain.
+   *
+   * @param count the number of targets
+   * @param depth the depth of each chain
+   * @return the view definition
+   */
+  public static ViewDefinition createViewDefinition(final int count, final int depth) {
+    final ViewDefinition viewDefinition = new ViewDefinition(UniqueId.of(SCHEME, "View"), "Synthetic View", UserPrincipal.getLocalUser());
+    final ViewCalculationConfiguration calcConfig = new ViewCalculationConfiguration(viewDefinition, CALC_CONFIG_NAME);
+    for (final ValueRequirement requirement : createRequirements(count, depth)) {
+      calcConfig.addSpecificRequirement(requirement);
+    }
+    viewDefinition.addViewCalculationConfiguration(calcConfig);
+    return viewDefinition;
+  }
+
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.benchmark;
+
+import java.util.Collections;
+import java.util.Set;
+
+import com.opengamma.engine.ComputationTarget;
+import com.opengamma.engine.function.AbstractFunction;
+import com.opengamma.engine.function.FunctionCompilationContext;
+import com.opengamma.engine.function.FunctionExecutionContext;
+import com.opengamma.engine.function.FunctionInputs;
+import com.opengamma.engine.target.ComputationTargetType;
+import com.opengamma.engine.value.ComputedValue;
+import com.opengamma.engine.value.ValueProperties;
+import com.opengamma.engine.value.ValueRequirement;
+import com.opengamma.engine.value.ValueSpecification;
+
+/**
+ * A function producing one level of a synthetic calculation chain.
+ * <p>
+ * Level zero requires the market data value from the target, each subsequent level requires the level below it. The result is the input
+ * plus one so that executing the chain does a trivial, but non-zero, amount of work.
+ */
+public class SyntheticFunction extends AbstractFunction.NonCompiledInvoker {
+
+  private final int _level;
+  private final String _valueName;
+  private final String _inputName;
+
+  /**
+   * Creates the function for a level of the chain.
+   *
+   * @param level the level, zero or greater
+   */
+  public SyntheticFunction(final int level) {
+    _level = level;
+    _valueName = SyntheticData.getValueName(level);
+    _inputName = level == 0 ? SyntheticData.MARKET_DATA : SyntheticData.getValueName(level - 1);
+    setUniqueId("Synthetic" + level);
+  }
+
+  /**
+   * Gets the level of the chain this function produces.
+   *
+   * @return the level
+   */
+  public int getLevel() {
+    return _level;
+  }
+
+  private ValueProperties.Builder createProperties() {
+    return createValueProperties().with(SyntheticData.CURRENCY, "USD").with(SyntheticData.CURVE, "Discounting");
+  }
+
+  @Override
+  public ComputationTargetType getTargetType() {
+    return ComputationTargetType.PRIMITIVE;
+  }
+
+  @Override
+  public boolean canApplyTo(final FunctionCompilationContext context, final ComputationTarget target) {
+    return SyntheticData.SCHEME.equals(target.getUniqueId().getScheme());
+  }
+
+  @Override
+  public Set<ValueSpecification> getResults(final FunctionCompilationContext context, final ComputationTarget target) {
+    return Collections.singleton(new ValueSpecification(_valueName, target.toSpecification(), createProperties().get()));
+  }
+
+  @Override
+  public Set<ValueRequirement> getRequirements(final FunctionCompilationContext context, final ComputationTarget target,
+      final ValueRequirement desiredValue) {
+    if (_level == 0) {
+      return Collections.singleton(new ValueRequirement(_inputName, target.toSpecification()));
+    }
+    return Collections.singleton(new ValueRequirement(_inputName, target.toSpecification(),
+        ValueProperties.with(SyntheticData.CURRENCY, "USD").with(SyntheticData.CURVE, "Discounting").get()));
+  }
+
+  @Override
+  public Set<ComputedValue> execute(final FunctionExecutionContext executionContext, final FunctionInputs inputs, final ComputationTarget target,
+      final Set<ValueRequirement> desiredValues) {
+    final Object input = inputs.getValue(_inputName);
+    final double value = input instanceof Number ? ((Number) input).doubleValue() + 1d : 0d;
+    return Collections.singleton(new ComputedValue(new ValueSpecification(_valueName, target.toSpecification(), createProperties().get()), value));
+  }
+
+}
@@ -0,0 +1,126 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.engine.MemoryUtils;
+import com.opengamma.engine.value.ValueProperties;
+import com.opengamma.engine.value.ValuePropertyNames;
+
+/**
+ * Benchmarks the {@link ValueProperties} operations used during graph building.
+ * <p>
+ * The operands are canonicalized through {@link MemoryUtils} as they would be in the engine, so the repeated pairs exercise the memoised
+ * compose and satisfaction paths for larger property sets.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValuePropertiesBenchmark {
+
+  /**
+   * The number of properties in each set.
+   */
+  @Param({"3", "12" })
+  private int _propertyCount;
+
+  private ValueProperties _offering;
+  private ValueProperties _requirement;
+  private ValueProperties _unsatisfied;
+
+  /**
+   * Creates the operands.
+   */
+  @Setup
+  public void setup() {
+    final ValueProperties.Builder offering = ValueProperties.with(ValuePropertyNames.FUNCTION, "Synthetic0");
+    final ValueProperties.Builder requirement = ValueProperties.builder();
+    for (int i = 1; i < _propertyCount; i++) {
+      offering.withAny("P" + i);
+      requirement.with("P" + i, "V" + i);
+    }
+    _offering = MemoryUtils.instance(offering.get());
+    _requirement = MemoryUtils.instance(requirement.get());
+    _unsatisfied = MemoryUtils.instance(requirement.with("Missing", "X").get());
+  }
+
+  /**
+   * Tests a requirement that is satisfied.
+   *
+   * @return the result
+   */
+  @Benchmark
+  public boolean isSatisfiedBy() {
+    return _requirement.isSatisfiedBy(_offering);
+  }
+
+  /**
+   * Tests a requirement that is not satisfied.
+   *
+   * @return the result
+   */
+  @Benchmark
+  public boolean isNotSatisfiedBy() {
+    return _unsatisfied.isSatisfiedBy(_offering);
+  }
+
+  /**
+   * Composes an offering with a requirement, as when a resolved specification is narrowed.
+   *
+   * @return the result
+   */
+  @Benchmark
+  public ValueProperties compose() {
+    return _offering.compose(_requirement);
+  }
+
+  /**
+   * Intersects two property sets.
+   *
+   * @return the result
+   */
+  @Benchmark
+  public ValueProperties intersect() {
+    return _offering.intersect(_requirement);
+  }
+
+  /**
+   * Removes a property that is not defined.
+   *
+   * @return the result
+   */
+  @Benchmark
+  public ValueProperties withoutAnyUndefined() {
+    return _requirement.withoutAny(ValuePropertyNames.FUNCTION);
+  }
+
+  /**
+   * Removes a property that is defined.
+   *
+   * @return the result
+   */
+  @Benchmark
+  public ValueProperties withoutAnyDefined() {
+    return _offering.withoutAny(ValuePropertyNames.FUNCTION);
+  }
+
+}
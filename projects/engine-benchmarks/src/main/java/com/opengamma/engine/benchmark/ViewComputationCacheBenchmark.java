@@ -0,0 +1,124 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.benchmark;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.engine.cache.DefaultViewComputationCache;
+import com.opengamma.engine.cache.InMemoryViewComputationCacheSource;
+import com.opengamma.engine.value.ComputedValue;
+import com.opengamma.engine.value.ValueSpecification;
+import com.opengamma.id.UniqueId;
+import com.opengamma.util.fudgemsg.OpenGammaFudgeContext;
+import com.opengamma.util.tuple.Pair;
+
+/**
+ * Benchmarks putting values into, and getting values from, a {@link DefaultViewComputationCache} backed by the in-memory stores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ViewComputationCacheBenchmark {
+
+  /**
+   * The number of values in the cache, and in each batched operation.
+   */
+  @Param({"100", "1000" })
+  private int _size;
+
+  private InMemoryViewComputationCacheSource _cacheSource;
+  private DefaultViewComputationCache _cache;
+  private List<ValueSpecification> _specifications;
+  private List<ComputedValue> _values;
+  private int _next;
+
+  /**
+   * Creates and populates the cache.
+   */
+  @Setup
+  public void setup() {
+    _cacheSource = new InMemoryViewComputationCacheSource(OpenGammaFudgeContext.getInstance());
+    _cache = _cacheSource.getCache(UniqueId.of("Cycle", "1"), SyntheticData.CALC_CONFIG_NAME);
+    _specifications = SyntheticData.createValueSpecifications(_size);
+    _values = SyntheticData.createComputedValues(_specifications);
+    _cache.putSharedValues(_values);
+  }
+
+  /**
+   * Releases the cache.
+   */
+  @TearDown
+  public void tearDown() {
+    _cacheSource.releaseCaches(UniqueId.of("Cycle", "1"));
+  }
+
+  private int next() {
+    final int next = _next;
+    _next = next + 1 == _size ? 0 : next + 1;
+    return next;
+  }
+
+  /**
+   * Puts a single value.
+   *
+   * @return the cache
+   */
+  @Benchmark
+  public DefaultViewComputationCache putValue() {
+    _cache.putSharedValue(_values.get(next()));
+    return _cache;
+  }
+
+  /**
+   * Puts all of the values as a batch.
+   *
+   * @return the cache
+   */
+  @Benchmark
+  public DefaultViewComputationCache putValues() {
+    _cache.putSharedValues(_values);
+    return _cache;
+  }
+
+  /**
+   * Gets a single value.
+   *
+   * @return the value
+   */
+  @Benchmark
+  public Object getValue() {
+    return _cache.getValue(_specifications.get(next()));
+  }
+
+  /**
+   * Gets all of the values as a batch.
+   *
+   * @return the values
+   */
+  @Benchmark
+  public Collection<Pair<ValueSpecification, Object>> getValues() {
+    return _cache.getValues(_specifications);
+  }
+
+}
@@ -41,6 +41,23 @@ public class DefaultFudgeMessageStore implements FudgeMessageStore {
     return _fudgeContext;
   }
 
+  /**
+   * Returns the binary encoding of a message, using the existing encoding if the message was created from one.
+   *
+   * @param fudgeContext the Fudge context to encode with, not null
+   * @param message the message to encode, not null
+   * @return the encoded message fields, not null
+   */
+  /* package */ static byte[] encode(final FudgeContext fudgeContext, final FudgeMsg message) {
+    if (message instanceof FudgeEncoded) {
+      return ((FudgeEncoded) message).getFudgeEncoded();
+    }
+    final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    final FudgeDataOutputStreamWriter writer = new FudgeDataOutputStreamWriter(fudgeContext, baos);
+    writer.writeFields(message);
+    return baos.toByteArray();
+  }
+
   @Override
   public void delete() {
     getBinaryData().delete();
@@ -64,16 +81,7 @@ public class DefaultFudgeMessageStore implements FudgeMessageStore {
 
   @Override
   public void put(final long identifier, final FudgeMsg dataMessage) {
-    final byte[] data;
-    if (dataMessage instanceof FudgeEncoded) {
-      data = ((FudgeEncoded) dataMessage).getFudgeEncoded();
-    } else {
-      final ByteArrayOutputStream baos = new ByteArrayOutputStream();
-      final FudgeDataOutputStreamWriter writer = new FudgeDataOutputStreamWriter(getFudgeContext(), baos);
-      writer.writeFields(dataMessage);
-      data = baos.toByteArray();
-    }
-    getBinaryData().put(identifier, data);
+    getBinaryData().put(identifier, encode(getFudgeContext(), dataMessage));
   }
 
   @Override
@@ -98,7 +98,7 @@ public class DefaultViewComputationCacheSource implements ViewComputationCacheSo
   public ViewComputationCache cloneCache(final UniqueId viewCycleId, final String calculationConfigurationName) {
     final ViewComputationCacheKey key = new ViewComputationCacheKey(viewCycleId, calculationConfigurationName);
     final DefaultViewComputationCache cache = _cachesByKey.get(key);
-    final InMemoryIdentifierMap identifierMap = new InMemoryIdentifierMap();
+    final IdentifierMap identifierMap = new PrimitiveIdentifierMap();
     final FudgeMessageStore dataStore = new DefaultFudgeMessageStore(new InMemoryBinaryDataStore(), getFudgeContext());
     for (final Pair<ValueSpecification, FudgeMsg> value : cache) {
       dataStore.put(identifierMap.getIdentifier(value.getFirst()), value.getSecond());
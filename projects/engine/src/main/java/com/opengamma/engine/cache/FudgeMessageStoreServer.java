@@ -24,6 +24,7 @@ import org.fudgemsg.FudgeMsgEnvelope;
 import org.fudgemsg.MutableFudgeMsg;
 import org.fudgemsg.mapping.FudgeDeserializer;
 import org.fudgemsg.mapping.FudgeSerializer;
+import org.fudgemsg.wire.EncodedFudgeMsg;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,6 +33,9 @@ import com.opengamma.engine.cache.DefaultViewComputationCacheSource.ReleaseCache
 import com.opengamma.engine.cache.msg.CacheMessage;
 import com.opengamma.engine.cache.msg.CacheMessageVisitor;
 import com.opengamma.engine.cache.msg.DeleteRequest;
+import com.opengamma.engine.cache.msg.EncodedGetRequest;
+import com.opengamma.engine.cache.msg.EncodedGetResponse;
+import com.opengamma.engine.cache.msg.EncodedPutRequest;
 import com.opengamma.engine.cache.msg.FindMessage;
 import com.opengamma.engine.cache.msg.GetRequest;
 import com.opengamma.engine.cache.msg.GetResponse;
@@ -88,6 +92,8 @@ public class FudgeMessageStoreServer implements FudgeConnectionReceiver, Release
 
   }
 
+  private static final byte[] EMPTY_DATA = new byte[0];
+
   private static final ExecutorService EXECUTOR_SERVICE = NamedThreadPoolFactory.newCachedThreadPool("FudgeMessageStoreBroadcast", true);
   private final DefaultViewComputationCacheSource _underlying;
   private final Map<FudgeConnection, Object> _connections = new ConcurrentHashMap<>();
@@ -303,10 +309,50 @@ public class FudgeMessageStoreServer implements FudgeConnectionReceiver, Release
     }
 
     @Override
-    protected CacheMessage visitPutRequest(final PutRequest request) {
+    protected EncodedGetResponse visitEncodedGetRequest(final EncodedGetRequest request) {
       final List<Long> identifiers = request.getIdentifier();
-      final List<FudgeMsg> data = request.getData();
-      final ViewComputationCacheKey key = new ViewComputationCacheKey(request.getViewCycleId(), request.getCalculationConfigurationName());
+      final Collection<byte[]> response;
+      final DefaultViewComputationCache cache = getUnderlying().findCache(request.getViewCycleId(), request.getCalculationConfigurationName());
+      if (cache == null) {
+        LOGGER.warn("Get request on invalid cache - {}", request);
+        response = Collections.singleton(EMPTY_DATA);
+      } else {
+        final FudgeMessageStore store = cache.getSharedDataStore();
+        final FudgeContext fudgeContext = getUnderlying().getFudgeContext();
+        if (identifiers.size() == 1) {
+          final FudgeMsg data = store.get(identifiers.get(0));
+          response = Collections.singleton(data != null ? DefaultFudgeMessageStore.encode(fudgeContext, data) : EMPTY_DATA);
+        } else {
+          response = new ArrayList<>(identifiers.size());
+          final Map<Long, FudgeMsg> data = store.get(identifiers);
+          for (final Long identifier : identifiers) {
+            final FudgeMsg value = data.get(identifier);
+            response.add(value != null ? DefaultFudgeMessageStore.encode(fudgeContext, value) : EMPTY_DATA);
+          }
+        }
+      }
+      return new EncodedGetResponse(response);
+    }
+
+    @Override
+    protected CacheMessage visitPutRequest(final PutRequest request) {
+      put(new ViewComputationCacheKey(request.getViewCycleId(), request.getCalculationConfigurationName()), request.getIdentifier(), request.getData());
+      return null;
+    }
+
+    @Override
+    protected CacheMessage visitEncodedPutRequest(final EncodedPutRequest request) {
+      final FudgeContext fudgeContext = getUnderlying().getFudgeContext();
+      final List<FudgeMsg> data = new ArrayList<>(request.getData().size());
+      for (final byte[] encoded : request.getData()) {
+        // The store will keep the encoded form without decoding it
+        data.add(new EncodedFudgeMsg(encoded, fudgeContext));
+      }
+      put(new ViewComputationCacheKey(request.getViewCycleId(), request.getCalculationConfigurationName()), request.getIdentifier(), data);
+      return null;
+    }
+
+    private void put(final ViewComputationCacheKey key, final List<Long> identifiers, final List<FudgeMsg> data) {
       // Review 2010-10-19 Andrew -- This causes cache creation. This is bad if messages were delayed and the cache has already been released.
       final FudgeMessageStore store = getUnderlying().getCache(key).getSharedDataStore();
       if (identifiers.size() == 1) {
@@ -326,7 +372,6 @@ public class FudgeMessageStoreServer implements FudgeConnectionReceiver, Release
           searching.found(identifier);
         }
       }
-      return null;
     }
 
     @Override
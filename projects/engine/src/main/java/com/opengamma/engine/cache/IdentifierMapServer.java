@@ -9,7 +9,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 import org.fudgemsg.FudgeContext;
 import org.fudgemsg.FudgeMsg;
@@ -32,6 +31,7 @@ import com.opengamma.transport.FudgeRequestReceiver;
 import it.unimi.dsi.fastutil.longs.AbstractLongList;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
 
 /**
  * Server for a {@link RemoteIdentifierMap}.
@@ -57,10 +57,10 @@ public class IdentifierMapServer extends CacheMessageVisitor implements FudgeReq
     if (spec.size() == 1) {
       identifiers = Collections.singleton(getUnderlying().getIdentifier(spec.get(0)));
     } else {
-      final Map<ValueSpecification, Long> identifierMap = getUnderlying().getIdentifiers(spec);
+      final Object2LongMap<ValueSpecification> identifierMap = getUnderlying().getIdentifiers(spec);
       identifiers = new ArrayList<>(identifierMap.size());
       for (final ValueSpecification specEntry : spec) {
-        identifiers.add(identifierMap.get(specEntry));
+        identifiers.add(identifierMap.getLong(specEntry));
       }
     }
     final IdentifierLookupResponse response = new IdentifierLookupResponse(identifiers);
@@ -0,0 +1,346 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.opengamma.OpenGammaRuntimeException;
+import com.opengamma.util.ArgumentChecker;
+
+/**
+ * An implementation of {@link BinaryDataStore} which holds all data off the Java heap in a memory-mapped arena file.
+ * <p>
+ * Values are appended to the arena, which grows in chunks, and are located through an open-addressing index held in a direct buffer. Writes are
+ * serialized but reads never lock; a reader sees any value whose write completed before the read started, as each write ends with a volatile write
+ * of the index that each read starts by reading. The index is updated in place, so the result of a read that races a write of the same identifier
+ * is unspecified: it may find the previous value, no value, or a location whose bytes are not yet visible. Reads racing writes of other identifiers
+ * are not affected. Replacing the value for an identifier leaves the old bytes in the arena, which is intended for the write-once pattern of a single
+ * view cycle, where a value is only read after the job that produced it has completed.
+ * <p>
+ * Deleting the store closes and removes the arena file and drops the index in constant time. The mapped regions are released by the garbage
+ * collector once nothing refers to them.
+ */
+public class MappedBinaryDataStore extends AbstractBinaryDataStore {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(MappedBinaryDataStore.class);
+
+  /**
+   * The default size of each mapped arena chunk.
+   */
+  public static final int DEFAULT_CHUNK_SIZE = 16 * 1024 * 1024;
+
+  /**
+   * The default number of index slots.
+   */
+  public static final int DEFAULT_INDEX_CAPACITY = 1024;
+
+  private static final MappedByteBuffer[] NO_CHUNKS = new MappedByteBuffer[0];
+
+  private static final int SLOT_SIZE = 16;
+
+  // Slot offsets and the table size are ints, so the table must stay below 2^31 bytes
+  private static final int MAX_INDEX_CAPACITY = 1 << 26;
+
+  /**
+   * Open-addressing table of identifier to arena location held in a direct buffer. Each slot is the identifier followed by its location; a
+   * location of zero marks an empty slot.
+   * <p>
+   * The table is not synchronized. A slot's identifier is written before its location and read after it, but without an ordering guarantee, so
+   * only {@link #find} calls that follow the volatile publication of the index by the store are certain to see a completed {@link #insert}.
+   */
+  private static final class Index {
+
+    private final ByteBuffer _table;
+    private final int _mask;
+    private int _size;
+
+    Index(final int capacity) {
+      _table = ByteBuffer.allocateDirect(capacity * SLOT_SIZE);
+      _mask = capacity - 1;
+    }
+
+    int capacity() {
+      return _mask + 1;
+    }
+
+    long find(final long identifier) {
+      int slot = hash(identifier) & _mask;
+      while (true) {
+        final int offset = slot * SLOT_SIZE;
+        final long location = _table.getLong(offset + 8);
+        if (location == 0) {
+          return 0;
+        }
+        if (_table.getLong(offset) == identifier) {
+          return location;
+        }
+        slot = (slot + 1) & _mask;
+      }
+    }
+
+    void insert(final long identifier, final long location) {
+      int slot = hash(identifier) & _mask;
+      while (true) {
+        final int offset = slot * SLOT_SIZE;
+        if (_table.getLong(offset + 8) == 0) {
+          _table.putLong(offset, identifier);
+          _table.putLong(offset + 8, location);
+          _size++;
+          return;
+        }
+        if (_table.getLong(offset) == identifier) {
+          _table.putLong(offset + 8, location);
+          return;
+        }
+        slot = (slot + 1) & _mask;
+      }
+    }
+
+    Index ensureCapacity(final int entries) {
+      int capacity = capacity();
+      while (entries > capacity >> 1) {
+        if (capacity >= MAX_INDEX_CAPACITY) {
+          throw new OpenGammaRuntimeException("Index capacity of " + MAX_INDEX_CAPACITY + " exceeded");
+        }
+        capacity <<= 1;
+      }
+      if (capacity == capacity()) {
+        return this;
+      }
+      final Index index = new Index(capacity);
+      for (int slot = 0; slot <= _mask; slot++) {
+        final int offset = slot * SLOT_SIZE;
+        final long location = _table.getLong(offset + 8);
+        if (location != 0) {
+          index.insert(_table.getLong(offset), location);
+        }
+      }
+      return index;
+    }
+
+    private static int hash(final long identifier) {
+      long h = identifier * 0x9E3779B97F4A7C15L;
+      h ^= h >>> 32;
+      return (int) h ^ (int) (h >>> 16);
+    }
+
+  }
+
+  private final File _file;
+  private final int _chunkSize;
+  private RandomAccessFile _arena;
+  private long _arenaLength;
+  private int _writeOffset;
+  private volatile MappedByteBuffer[] _chunks = NO_CHUNKS;
+  private volatile Index _index;
+
+  /**
+   * Creates a new store using the default chunk size and index capacity.
+   *
+   * @param file the arena file to create, not null
+   */
+  public MappedBinaryDataStore(final File file) {
+    this(file, DEFAULT_CHUNK_SIZE, DEFAULT_INDEX_CAPACITY);
+  }
+
+  /**
+   * Creates a new store.
+   *
+   * @param file the arena file to create, not null
+   * @param chunkSize the size of each mapped arena chunk in bytes, values larger than this are given a chunk of their own
+   * @param indexCapacity the initial number of index slots, rounded up to a power of two
+   */
+  public MappedBinaryDataStore(final File file, final int chunkSize, final int indexCapacity) {
+    ArgumentChecker.notNull(file, "file");
+    ArgumentChecker.notNegativeOrZero(chunkSize, "chunkSize");
+    ArgumentChecker.notNegativeOrZero(indexCapacity, "indexCapacity");
+    _file = file;
+    _chunkSize = chunkSize;
+    int capacity = 1;
+    while (capacity < indexCapacity && capacity < MAX_INDEX_CAPACITY) {
+      capacity <<= 1;
+    }
+    _index = new Index(capacity);
+    try {
+      _arena = new RandomAccessFile(file, "rw");
+      _arena.setLength(0);
+    } catch (final IOException e) {
+      throw new OpenGammaRuntimeException("Unable to create arena file " + file, e);
+    }
+  }
+
+  /**
+   * Gets the arena file backing this store.
+   *
+   * @return the file, not null
+   */
+  public File getFile() {
+    return _file;
+  }
+
+  /**
+   * Returns a read-only view of the data associated with the identifier without copying it from the arena. The buffer remains valid after
+   * the store is deleted.
+   *
+   * @param identifier the identifier to obtain data for
+   * @return the data, or null if there is no data with the identifier
+   */
+  public ByteBuffer getBuffer(final long identifier) {
+    final Index index = _index;
+    if (index == null) {
+      return null;
+    }
+    final long location = index.find(identifier);
+    if (location == 0) {
+      return null;
+    }
+    return slice(location);
+  }
+
+  /**
+   * Returns read-only views of the data associated with the identifiers without copying them from the arena.
+   *
+   * @param identifiers the identifiers to query, not null
+   * @return map of results, if there is no data for an identifier it will be missing from the map
+   */
+  public Map<Long, ByteBuffer> getBuffers(final Collection<Long> identifiers) {
+    final Map<Long, ByteBuffer> result = new HashMap<>();
+    final Index index = _index;
+    if (index == null) {
+      return result;
+    }
+    for (final Long identifier : identifiers) {
+      final long location = index.find(identifier);
+      if (location != 0) {
+        result.put(identifier, slice(location));
+      }
+    }
+    return result;
+  }
+
+  private ByteBuffer slice(final long location) {
+    final MappedByteBuffer chunk = _chunks[(int) (location >>> 32) - 1];
+    final int offset = (int) location;
+    final ByteBuffer buffer = chunk.duplicate();
+    buffer.position(offset + 4);
+    buffer.limit(offset + 4 + chunk.getInt(offset));
+    return buffer.slice().asReadOnlyBuffer();
+  }
+
+  private static byte[] toArray(final ByteBuffer buffer) {
+    final byte[] data = new byte[buffer.remaining()];
+    buffer.get(data);
+    return data;
+  }
+
+  @Override
+  public byte[] get(final long identifier) {
+    final ByteBuffer buffer = getBuffer(identifier);
+    return buffer != null ? toArray(buffer) : null;
+  }
+
+  @Override
+  public Map<Long, byte[]> get(final Collection<Long> identifiers) {
+    final Map<Long, byte[]> result = new HashMap<>();
+    final Index index = _index;
+    if (index == null) {
+      return result;
+    }
+    for (final Long identifier : identifiers) {
+      final long location = index.find(identifier);
+      if (location != 0) {
+        result.put(identifier, toArray(slice(location)));
+      }
+    }
+    return result;
+  }
+
+  private long append(final byte[] data) {
+    final int required = data.length + 4;
+    MappedByteBuffer[] chunks = _chunks;
+    if (chunks.length == 0 || chunks[chunks.length - 1].capacity() - _writeOffset < required) {
+      final int size = Math.max(_chunkSize, required);
+      final MappedByteBuffer chunk;
+      try {
+        chunk = _arena.getChannel().map(FileChannel.MapMode.READ_WRITE, _arenaLength, size);
+      } catch (final IOException e) {
+        throw new OpenGammaRuntimeException("Unable to extend arena file " + _file, e);
+      }
+      _arenaLength += size;
+      final MappedByteBuffer[] newChunks = new MappedByteBuffer[chunks.length + 1];
+      System.arraycopy(chunks, 0, newChunks, 0, chunks.length);
+      newChunks[chunks.length] = chunk;
+      _chunks = newChunks;
+      chunks = newChunks;
+      _writeOffset = 0;
+    }
+    final MappedByteBuffer chunk = chunks[chunks.length - 1];
+    final int offset = _writeOffset;
+    chunk.putInt(offset, data.length);
+    final ByteBuffer buffer = chunk.duplicate();
+    buffer.position(offset + 4);
+    buffer.put(data);
+    _writeOffset = offset + required;
+    return (long) chunks.length << 32 | offset;
+  }
+
+  @Override
+  public synchronized void put(final long identifier, final byte[] data) {
+    ArgumentChecker.notNull(data, "data");
+    Index index = _index;
+    if (index == null) {
+      LOGGER.warn("Ignoring put of {} to deleted store {}", identifier, _file);
+      return;
+    }
+    index = index.ensureCapacity(index._size + 1);
+    index.insert(identifier, append(data));
+    // Volatile write publishes both the arena and index updates to readers
+    _index = index;
+  }
+
+  @Override
+  public synchronized void put(final Map<Long, byte[]> data) {
+    Index index = _index;
+    if (index == null) {
+      LOGGER.warn("Ignoring put of {} values to deleted store {}", data.size(), _file);
+      return;
+    }
+    index = index.ensureCapacity(index._size + data.size());
+    for (final Map.Entry<Long, byte[]> entry : data.entrySet()) {
+      index.insert(entry.getKey(), append(entry.getValue()));
+    }
+    _index = index;
+  }
+
+  @Override
+  public synchronized void delete() {
+    if (_index == null) {
+      return;
+    }
+    _index = null;
+    try {
+      _arena.close();
+    } catch (final IOException e) {
+      LOGGER.warn("Unable to close arena file {}: {}", _file, e.getMessage());
+    }
+    _arena = null;
+    if (!_file.delete()) {
+      LOGGER.warn("Unable to delete arena file {}", _file);
+    }
+  }
+
+}
@@ -0,0 +1,55 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.cache;
+
+import java.io.File;
+import java.io.IOException;
+
+import com.opengamma.OpenGammaRuntimeException;
+import com.opengamma.util.ArgumentChecker;
+
+/**
+ * Creates {@link MappedBinaryDataStore} instances, with one arena file per cache key in a common folder.
+ */
+public class MappedBinaryDataStoreFactory implements BinaryDataStoreFactory {
+
+  private final File _folder;
+  private final int _chunkSize;
+  private final int _indexCapacity;
+
+  public MappedBinaryDataStoreFactory(final File folder) {
+    this(folder, MappedBinaryDataStore.DEFAULT_CHUNK_SIZE, MappedBinaryDataStore.DEFAULT_INDEX_CAPACITY);
+  }
+
+  public MappedBinaryDataStoreFactory(final File folder, final int chunkSize, final int indexCapacity) {
+    ArgumentChecker.notNull(folder, "folder");
+    ArgumentChecker.notNegativeOrZero(chunkSize, "chunkSize");
+    ArgumentChecker.notNegativeOrZero(indexCapacity, "indexCapacity");
+    if (!folder.isDirectory() && !folder.mkdirs()) {
+      throw new OpenGammaRuntimeException("Unable to create arena folder " + folder);
+    }
+    _folder = folder;
+    _chunkSize = chunkSize;
+    _indexCapacity = indexCapacity;
+  }
+
+  public File getFolder() {
+    return _folder;
+  }
+
+  @Override
+  public BinaryDataStore createDataStore(final ViewComputationCacheKey cacheKey) {
+    final String prefix = (cacheKey.getViewCycleId() + "-" + cacheKey.getCalculationConfigurationName()).replaceAll("[^A-Za-z0-9_\\-]", "_");
+    final File file;
+    try {
+      file = File.createTempFile(prefix.length() < 3 ? prefix + "___" : prefix, ".arena", _folder);
+    } catch (final IOException e) {
+      throw new OpenGammaRuntimeException("Unable to create arena file in " + _folder, e);
+    }
+    return new MappedBinaryDataStore(file, _chunkSize, _indexCapacity);
+  }
+
+}
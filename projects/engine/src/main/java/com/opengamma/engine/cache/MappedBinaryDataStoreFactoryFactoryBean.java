@@ -0,0 +1,68 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.cache;
+
+import java.io.File;
+
+import com.opengamma.util.SingletonFactoryBean;
+
+/**
+ *
+ */
+public class MappedBinaryDataStoreFactoryFactoryBean extends SingletonFactoryBean<MappedBinaryDataStoreFactory> {
+
+  private static final String DEFAULT_DATASTORE_FOLDER = "MappedBinaryDataStore";
+
+  private String _dataStoreBaseFolder;
+  private String _dataStoreFolder;
+  private int _chunkSize = MappedBinaryDataStore.DEFAULT_CHUNK_SIZE;
+  private int _indexCapacity = MappedBinaryDataStore.DEFAULT_INDEX_CAPACITY;
+
+  public MappedBinaryDataStoreFactoryFactoryBean() {
+    final String temp = System.getProperty("java.io.tmpdir");
+    setDataStoreBaseFolder(temp);
+    setDataStoreFolder(DEFAULT_DATASTORE_FOLDER);
+  }
+
+  public void setDataStoreBaseFolder(final String dataStoreBaseFolder) {
+    _dataStoreBaseFolder = dataStoreBaseFolder;
+  }
+
+  public String getDataStoreBaseFolder() {
+    return _dataStoreBaseFolder;
+  }
+
+  public void setDataStoreFolder(final String dataStoreFolder) {
+    _dataStoreFolder = dataStoreFolder;
+  }
+
+  public String getDataStoreFolder() {
+    return _dataStoreFolder;
+  }
+
+  public void setChunkSize(final int chunkSize) {
+    _chunkSize = chunkSize;
+  }
+
+  public int getChunkSize() {
+    return _chunkSize;
+  }
+
+  public void setIndexCapacity(final int indexCapacity) {
+    _indexCapacity = indexCapacity;
+  }
+
+  public int getIndexCapacity() {
+    return _indexCapacity;
+  }
+
+  @Override
+  protected MappedBinaryDataStoreFactory createObject() {
+    final File folder = new File(new File(getDataStoreBaseFolder()), getDataStoreFolder());
+    return new MappedBinaryDataStoreFactory(folder, getChunkSize(), getIndexCapacity());
+  }
+
+}
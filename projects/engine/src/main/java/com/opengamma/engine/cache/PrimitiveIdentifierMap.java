@@ -0,0 +1,282 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.opengamma.OpenGammaRuntimeException;
+import com.opengamma.engine.value.ValueSpecification;
+import com.opengamma.util.ArgumentChecker;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongCollection;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+
+/**
+ * An in-memory implementation of {@link IdentifierMap} which avoids boxing the identifiers.
+ * <p>
+ * Specifications are held in an append-only paged array indexed by identifier. The reverse lookup is an open-addressing table of {@code long}
+ * entries, each packing the specification's hash code with its identifier, so that no key objects are stored. Lookups never lock and
+ * identifiers are claimed with a compare-and-set on the table; a lock is only taken to grow the table.
+ * <p>
+ * A batch of new specifications passed to {@link #getIdentifiers} is allocated a contiguous range of identifiers with a single atomic
+ * operation. If another thread allocates an identifier for the same specification concurrently then only one of the two is kept, so the
+ * identifier space may contain unused values.
+ */
+public class PrimitiveIdentifierMap extends AbstractIdentifierMap {
+
+  private static final int PAGE_SHIFT = 14;
+  private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+  private static final int PAGE_MASK = PAGE_SIZE - 1;
+  private static final int MAX_PAGES = 1 << 16;
+  private static final long MAX_IDENTIFIER = (long) MAX_PAGES << PAGE_SHIFT;
+
+  private static final int DEFAULT_CAPACITY = 1024;
+
+  private static final long EMPTY = 0L;
+  private static final long MOVED = -1L;
+
+  private static final class Table {
+
+    private final AtomicLongArray _slots;
+    private final int _mask;
+    private final AtomicInteger _size = new AtomicInteger();
+
+    Table(final int capacity) {
+      _slots = new AtomicLongArray(capacity);
+      _mask = capacity - 1;
+    }
+
+  }
+
+  private final AtomicLong _nextIdentifier = new AtomicLong(1L);
+  private final AtomicReferenceArray<AtomicReferenceArray<ValueSpecification>> _pages = new AtomicReferenceArray<>(MAX_PAGES);
+  private final Object _resizeLock = new Object();
+  private volatile Table _table;
+
+  public PrimitiveIdentifierMap() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Creates a new map.
+   *
+   * @param initialCapacity the expected number of specifications
+   */
+  public PrimitiveIdentifierMap(final int initialCapacity) {
+    ArgumentChecker.notNegativeOrZero(initialCapacity, "initialCapacity");
+    int capacity = 2;
+    while (capacity >> 1 < initialCapacity) {
+      capacity <<= 1;
+    }
+    _table = new Table(capacity);
+  }
+
+  private static int slot(final int hash, final int mask) {
+    final int h = hash * 0x9E3779B9;
+    return (h ^ h >>> 16) & mask;
+  }
+
+  private static long entry(final int hash, final long identifier) {
+    return (long) hash << 32 | identifier;
+  }
+
+  private static long identifier(final long entry) {
+    return entry & 0xFFFFFFFFL;
+  }
+
+  private static int hash(final long entry) {
+    return (int) (entry >>> 32);
+  }
+
+  private Table awaitResize(final Table table) {
+    Table newTable = _table;
+    while (newTable == table) {
+      Thread.yield();
+      newTable = _table;
+    }
+    return newTable;
+  }
+
+  private long find(final ValueSpecification spec, final int hash) {
+    Table table = _table;
+    retry: while (true) {
+      int slot = slot(hash, table._mask);
+      while (true) {
+        final long entry = table._slots.get(slot);
+        if (entry == EMPTY) {
+          return EMPTY;
+        }
+        if (entry == MOVED) {
+          table = awaitResize(table);
+          continue retry;
+        }
+        if (hash(entry) == hash && spec.equals(getValueSpecification(identifier(entry)))) {
+          return identifier(entry);
+        }
+        slot = slot + 1 & table._mask;
+      }
+    }
+  }
+
+  private long insert(final ValueSpecification spec, final int hash, final long identifier) {
+    final long newEntry = entry(hash, identifier);
+    Table table = _table;
+    retry: while (true) {
+      int slot = slot(hash, table._mask);
+      while (true) {
+        final long entry = table._slots.get(slot);
+        if (entry == EMPTY) {
+          if (table._slots.compareAndSet(slot, EMPTY, newEntry)) {
+            if (table._size.incrementAndGet() > table._mask >> 1) {
+              resize(table);
+            }
+            return identifier;
+          }
+          // Lost the slot; re-examine it
+          continue;
+        }
+        if (entry == MOVED) {
+          table = awaitResize(table);
+          continue retry;
+        }
+        if (hash(entry) == hash && spec.equals(getValueSpecification(identifier(entry)))) {
+          return identifier(entry);
+        }
+        slot = slot + 1 & table._mask;
+      }
+    }
+  }
+
+  private void resize(final Table table) {
+    synchronized (_resizeLock) {
+      if (_table != table) {
+        return;
+      }
+      final Table newTable = new Table((table._mask + 1) << 1);
+      int size = 0;
+      for (int i = 0; i <= table._mask; i++) {
+        long entry = table._slots.get(i);
+        // Seal empty slots so that any concurrent insert moves on to the new table
+        while (entry == EMPTY && !table._slots.compareAndSet(i, EMPTY, MOVED)) {
+          entry = table._slots.get(i);
+        }
+        if (entry != EMPTY) {
+          int slot = slot(hash(entry), newTable._mask);
+          while (newTable._slots.get(slot) != EMPTY) {
+            slot = slot + 1 & newTable._mask;
+          }
+          newTable._slots.set(slot, entry);
+          size++;
+        }
+      }
+      newTable._size.set(size);
+      _table = newTable;
+    }
+  }
+
+  private long allocate(final int count) {
+    final long identifier = _nextIdentifier.getAndAdd(count);
+    if (identifier + count > MAX_IDENTIFIER) {
+      throw new OpenGammaRuntimeException("Identifier space exhausted");
+    }
+    return identifier;
+  }
+
+  private void setValueSpecification(final long identifier, final ValueSpecification spec) {
+    final int index = (int) (identifier >>> PAGE_SHIFT);
+    AtomicReferenceArray<ValueSpecification> page = _pages.get(index);
+    if (page == null) {
+      page = new AtomicReferenceArray<>(PAGE_SIZE);
+      if (!_pages.compareAndSet(index, null, page)) {
+        page = _pages.get(index);
+      }
+    }
+    page.set((int) identifier & PAGE_MASK, spec);
+  }
+
+  private long publish(final ValueSpecification spec, final int hash, final long identifier) {
+    setValueSpecification(identifier, spec);
+    final long result = insert(spec, hash, identifier);
+    if (result != identifier) {
+      // Another thread allocated an identifier for the same specification first
+      setValueSpecification(identifier, null);
+    }
+    return result;
+  }
+
+  @Override
+  public long getIdentifier(final ValueSpecification spec) {
+    ArgumentChecker.notNull(spec, "Value specification");
+    final int hash = spec.hashCode();
+    final long identifier = find(spec, hash);
+    if (identifier != EMPTY) {
+      return identifier;
+    }
+    return publish(spec, hash, allocate(1));
+  }
+
+  @Override
+  public Object2LongMap<ValueSpecification> getIdentifiers(final Collection<ValueSpecification> specs) {
+    final Object2LongMap<ValueSpecification> identifiers = new Object2LongOpenHashMap<>(specs.size());
+    List<ValueSpecification> misses = null;
+    for (final ValueSpecification spec : specs) {
+      if (identifiers.containsKey(spec)) {
+        continue;
+      }
+      final long identifier = find(spec, spec.hashCode());
+      if (identifier == EMPTY) {
+        if (misses == null) {
+          misses = new ArrayList<>();
+        }
+        misses.add(spec);
+      }
+      // Identifier zero is never allocated so marks a miss until the batch is allocated below
+      identifiers.put(spec, identifier);
+    }
+    if (misses != null) {
+      final long base = allocate(misses.size());
+      for (int i = 0; i < misses.size(); i++) {
+        final ValueSpecification spec = misses.get(i);
+        identifiers.put(spec, publish(spec, spec.hashCode(), base + i));
+      }
+    }
+    return identifiers;
+  }
+
+  @Override
+  public ValueSpecification getValueSpecification(final long identifier) {
+    if (identifier <= 0 || identifier >= MAX_IDENTIFIER) {
+      return null;
+    }
+    final AtomicReferenceArray<ValueSpecification> page = _pages.get((int) (identifier >>> PAGE_SHIFT));
+    if (page == null) {
+      return null;
+    }
+    return page.get((int) identifier & PAGE_MASK);
+  }
+
+  @Override
+  public Long2ObjectMap<ValueSpecification> getValueSpecifications(final LongCollection identifiers) {
+    final Long2ObjectMap<ValueSpecification> specifications = new Long2ObjectOpenHashMap<>(identifiers.size());
+    final LongIterator itr = identifiers.iterator();
+    while (itr.hasNext()) {
+      final long identifier = itr.nextLong();
+      specifications.put(identifier, getValueSpecification(identifier));
+    }
+    return specifications;
+  }
+
+}
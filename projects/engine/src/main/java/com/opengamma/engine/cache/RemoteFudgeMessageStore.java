@@ -13,24 +13,38 @@ import java.util.List;
 import java.util.Map;
 
 import org.fudgemsg.FudgeMsg;
+import org.fudgemsg.wire.EncodedFudgeMsg;
 
 import com.opengamma.engine.cache.msg.CacheMessage;
 import com.opengamma.engine.cache.msg.DeleteRequest;
+import com.opengamma.engine.cache.msg.EncodedGetRequest;
+import com.opengamma.engine.cache.msg.EncodedGetResponse;
+import com.opengamma.engine.cache.msg.EncodedPutRequest;
 import com.opengamma.engine.cache.msg.GetRequest;
 import com.opengamma.engine.cache.msg.GetResponse;
 import com.opengamma.engine.cache.msg.PutRequest;
 
 /**
  * Client to a {@link FudgeMessageStoreServer}. These are created by a {@link RemoteFudgeMessageStoreFactory}.
+ * <p>
+ * In pass-through mode values are sent and received in their binary encoding. A value that was already encoded, for example one read from
+ * another store, is sent without being decoded, the server stores the bytes as received, and values fetched from the server are only
+ * decoded when their fields are first accessed.
  */
 public class RemoteFudgeMessageStore implements FudgeMessageStore {
 
   private final RemoteCacheClient _client;
   private final ViewComputationCacheKey _cacheKey;
+  private final boolean _passThrough;
 
   public RemoteFudgeMessageStore(final RemoteCacheClient client, final ViewComputationCacheKey cacheKey) {
+    this(client, cacheKey, false);
+  }
+
+  public RemoteFudgeMessageStore(final RemoteCacheClient client, final ViewComputationCacheKey cacheKey, final boolean passThrough) {
     _client = client;
     _cacheKey = cacheKey;
+    _passThrough = passThrough;
   }
 
   protected RemoteCacheClient getRemoteCacheClient() {
@@ -41,6 +55,18 @@ public class RemoteFudgeMessageStore implements FudgeMessageStore {
     return _cacheKey;
   }
 
+  public boolean isPassThrough() {
+    return _passThrough;
+  }
+
+  private byte[] encode(final FudgeMsg data) {
+    return DefaultFudgeMessageStore.encode(getRemoteCacheClient().getFudgeContext(), data);
+  }
+
+  private FudgeMsg decode(final byte[] data) {
+    return data.length == 0 ? null : new EncodedFudgeMsg(data, getRemoteCacheClient().getFudgeContext());
+  }
+
   @Override
   public void delete() {
     // [ENG-256] Don't need the delete messages if we propogate at the releaseCaches level
@@ -50,6 +76,12 @@ public class RemoteFudgeMessageStore implements FudgeMessageStore {
 
   @Override
   public FudgeMsg get(final long identifier) {
+    if (isPassThrough()) {
+      final EncodedGetRequest request = new EncodedGetRequest(getCacheKey().getViewCycleId(), getCacheKey()
+          .getCalculationConfigurationName(), Collections.singleton(identifier));
+      final EncodedGetResponse response = getRemoteCacheClient().sendGetMessage(request, EncodedGetResponse.class);
+      return decode(response.getData().get(0));
+    }
     final GetRequest request = new GetRequest(getCacheKey().getViewCycleId(), getCacheKey()
         .getCalculationConfigurationName(), Collections.singleton(identifier));
     final GetResponse response = getRemoteCacheClient().sendGetMessage(request, GetResponse.class);
@@ -59,6 +91,9 @@ public class RemoteFudgeMessageStore implements FudgeMessageStore {
 
   @Override
   public Map<Long, FudgeMsg> get(final Collection<Long> identifiers) {
+    if (isPassThrough()) {
+      return getEncoded(identifiers);
+    }
     final GetRequest request = new GetRequest(getCacheKey().getViewCycleId(), getCacheKey()
         .getCalculationConfigurationName(), identifiers);
     final GetResponse response = getRemoteCacheClient().sendGetMessage(request, GetResponse.class);
@@ -78,8 +113,35 @@ public class RemoteFudgeMessageStore implements FudgeMessageStore {
     return result;
   }
 
+  private Map<Long, FudgeMsg> getEncoded(final Collection<Long> identifiers) {
+    final EncodedGetRequest request = new EncodedGetRequest(getCacheKey().getViewCycleId(), getCacheKey()
+        .getCalculationConfigurationName(), identifiers);
+    final EncodedGetResponse response = getRemoteCacheClient().sendGetMessage(request, EncodedGetResponse.class);
+    final List<byte[]> values = response.getData();
+    if (values.size() != identifiers.size()) {
+      // An error at the server end, possibly an invalid cache (gives a result with just one null in)
+      return Collections.emptyMap();
+    }
+    final Map<Long, FudgeMsg> result = new HashMap<>();
+    int i = 0;
+    for (final Long identifier : request.getIdentifier()) {
+      final FudgeMsg value = decode(values.get(i++));
+      if (value != null) {
+        result.put(identifier, value);
+      }
+    }
+    return result;
+  }
+
   @Override
   public void put(final long identifier, final FudgeMsg data) {
+    if (isPassThrough()) {
+      final EncodedPutRequest request = new EncodedPutRequest(getCacheKey().getViewCycleId(), getCacheKey()
+          .getCalculationConfigurationName(), Collections.singleton(identifier),
+          Collections.singleton(encode(data)));
+      getRemoteCacheClient().sendPutMessage(request, CacheMessage.class);
+      return;
+    }
     final PutRequest request = new PutRequest(getCacheKey().getViewCycleId(), getCacheKey()
         .getCalculationConfigurationName(), Collections.singleton(identifier),
         Collections.singleton(data));
@@ -89,6 +151,17 @@ public class RemoteFudgeMessageStore implements FudgeMessageStore {
   @Override
   public void put(final Map<Long, FudgeMsg> data) {
     final List<Long> identifiers = new ArrayList<>(data.size());
+    if (isPassThrough()) {
+      final List<byte[]> values = new ArrayList<>(data.size());
+      for (final Map.Entry<Long, FudgeMsg> entry : data.entrySet()) {
+        identifiers.add(entry.getKey());
+        values.add(encode(entry.getValue()));
+      }
+      final EncodedPutRequest request = new EncodedPutRequest(getCacheKey().getViewCycleId(), getCacheKey()
+          .getCalculationConfigurationName(), identifiers, values);
+      getRemoteCacheClient().sendPutMessage(request, CacheMessage.class);
+      return;
+    }
     final List<FudgeMsg> values = new ArrayList<>(data.size());
     for (final Map.Entry<Long, FudgeMsg> entry : data.entrySet()) {
       identifiers.add(entry.getKey());
@@ -11,9 +11,21 @@ package com.opengamma.engine.cache;
 public class RemoteFudgeMessageStoreFactory implements FudgeMessageStoreFactory {
 
   private final RemoteCacheClient _client;
+  private final boolean _passThrough;
 
   public RemoteFudgeMessageStoreFactory(final RemoteCacheClient client) {
+    this(client, false);
+  }
+
+  /**
+   * Creates a new factory.
+   *
+   * @param client the connection to the server
+   * @param passThrough true to transfer values in their binary encoding, see {@link RemoteFudgeMessageStore}
+   */
+  public RemoteFudgeMessageStoreFactory(final RemoteCacheClient client, final boolean passThrough) {
     _client = client;
+    _passThrough = passThrough;
   }
 
   protected RemoteCacheClient getRemoteCacheClient() {
@@ -22,7 +34,7 @@ public class RemoteFudgeMessageStoreFactory implements FudgeMessageStoreFactory
 
   @Override
   public FudgeMessageStore createMessageStore(final ViewComputationCacheKey cacheKey) {
-    return new RemoteFudgeMessageStore(getRemoteCacheClient(), cacheKey);
+    return new RemoteFudgeMessageStore(getRemoteCacheClient(), cacheKey, _passThrough);
   }
 
 }
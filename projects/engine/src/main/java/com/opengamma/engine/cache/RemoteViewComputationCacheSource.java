@@ -45,8 +45,22 @@ public class RemoteViewComputationCacheSource extends DefaultViewComputationCach
   public RemoteViewComputationCacheSource(final RemoteCacheClient client,
       final FudgeMessageStoreFactory privateDataStoreFactory, final FudgeContext fudgeContext,
       final CacheManager cacheManager) {
+    this(client, privateDataStoreFactory, fudgeContext, cacheManager, false);
+  }
+
+  /**
+   * @param client the connection to a {@link ViewComputationCacheServer}
+   * @param privateDataStoreFactory the private data store - the shared data store will be the remote one
+   * @param fudgeContext the Fudge context the {@link DefaultViewComputationCache} will use for object encoding. This may be the same as the
+   *                     one attached to the client's transport or different.
+   * @param cacheManager the EH cache manager to use for the remote binary data store
+   * @param passThrough true to transfer values to and from the shared data store in their binary encoding, see {@link RemoteFudgeMessageStore}
+   */
+  public RemoteViewComputationCacheSource(final RemoteCacheClient client,
+      final FudgeMessageStoreFactory privateDataStoreFactory, final FudgeContext fudgeContext,
+      final CacheManager cacheManager, final boolean passThrough) {
     super(createIdentifierMap(client), fudgeContext, privateDataStoreFactory, createFudgeMessageStoreFactory(client,
-        cacheManager));
+        cacheManager, passThrough));
     client.setAsynchronousMessageReceiver(this);
   }
 
@@ -55,8 +69,8 @@ public class RemoteViewComputationCacheSource extends DefaultViewComputationCach
   }
 
   private static FudgeMessageStoreFactory createFudgeMessageStoreFactory(final RemoteCacheClient client,
-      final CacheManager cacheManager) {
-    final RemoteFudgeMessageStoreFactory remote = new RemoteFudgeMessageStoreFactory(client);
+      final CacheManager cacheManager, final boolean passThrough) {
+    final RemoteFudgeMessageStoreFactory remote = new RemoteFudgeMessageStoreFactory(client, passThrough);
     return new CachingFudgeMessageStoreFactory(remote, cacheManager);
   }
 
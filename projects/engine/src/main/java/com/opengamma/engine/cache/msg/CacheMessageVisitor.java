@@ -25,6 +25,18 @@ public abstract class CacheMessageVisitor {
     return visitBinaryDataStoreMessage(message);
   }
   
+  protected EncodedGetResponse visitEncodedGetRequest(final EncodedGetRequest message) {
+    return visitBinaryDataStoreMessage(message);
+  }
+
+  protected CacheMessage visitEncodedGetResponse(final EncodedGetResponse message) {
+    return visitBinaryDataStoreMessage(message);
+  }
+
+  protected CacheMessage visitEncodedPutRequest(final EncodedPutRequest message) {
+    return visitBinaryDataStoreMessage(message);
+  }
+
   protected CacheMessage visitFindMessage(final FindMessage message) {
     return visitBinaryDataStoreMessage(message);
   }
@@ -0,0 +1,58 @@
+// Automatically created - do not modify - CSOFF
+///CLOVER:OFF
+package com.opengamma.engine.cache.msg;
+public class EncodedGetRequest extends com.opengamma.engine.cache.msg.GetRequest implements java.io.Serializable {
+  @Override
+  public CacheMessage accept (final CacheMessageVisitor visitor) { return visitor.visitEncodedGetRequest (this); }
+  private static final long serialVersionUID = 6018326459122787931l;
+  public EncodedGetRequest (final com.opengamma.id.UniqueId viewCycleId, final String calculationConfigurationName, final java.util.Collection<? extends Long> identifier) {
+    super (viewCycleId, calculationConfigurationName, identifier);
+  }
+  protected EncodedGetRequest (final org.fudgemsg.mapping.FudgeDeserializer deserializer, final org.fudgemsg.FudgeMsg fudgeMsg) {
+    super (deserializer, fudgeMsg);
+  }
+  public EncodedGetRequest (final Long correlationId, final com.opengamma.id.UniqueId viewCycleId, final String calculationConfigurationName, final java.util.Collection<? extends Long> identifier) {
+    super (correlationId, viewCycleId, calculationConfigurationName, identifier);
+  }
+  protected EncodedGetRequest (final EncodedGetRequest source) {
+    super (source);
+  }
+  @Override
+  public EncodedGetRequest clone () {
+    return new EncodedGetRequest (this);
+  }
+  @Override
+  public org.fudgemsg.FudgeMsg toFudgeMsg (final org.fudgemsg.mapping.FudgeSerializer serializer) {
+    if (serializer == null) {
+      throw new NullPointerException ("serializer must not be null");
+    }
+    final org.fudgemsg.MutableFudgeMsg msg = serializer.newMessage ();
+    toFudgeMsg (serializer, msg);
+    return msg;
+  }
+  @Override
+  public void toFudgeMsg (final org.fudgemsg.mapping.FudgeSerializer serializer, final org.fudgemsg.MutableFudgeMsg msg) {
+    super.toFudgeMsg (serializer, msg);
+  }
+  public static EncodedGetRequest fromFudgeMsg (final org.fudgemsg.mapping.FudgeDeserializer deserializer, final org.fudgemsg.FudgeMsg fudgeMsg) {
+    final java.util.List<org.fudgemsg.FudgeField> types = fudgeMsg.getAllByOrdinal (0);
+    for (final org.fudgemsg.FudgeField field : types) {
+      final String className = (String)field.getValue ();
+      if ("com.opengamma.engine.cache.msg.EncodedGetRequest".equals (className)) {
+        break;
+      }
+      try {
+        return (com.opengamma.engine.cache.msg.EncodedGetRequest)Class.forName (className).getDeclaredMethod ("fromFudgeMsg", org.fudgemsg.mapping.FudgeDeserializer.class, org.fudgemsg.FudgeMsg.class).invoke (null, deserializer, fudgeMsg);
+      }
+      catch (final Throwable t) {
+        // no-action
+      }
+    }
+    return new EncodedGetRequest (deserializer, fudgeMsg);
+  }
+  @Override
+  public String toString () {
+    return org.apache.commons.lang.builder.ToStringBuilder.reflectionToString(this, org.apache.commons.lang.builder.ToStringStyle.SHORT_PREFIX_STYLE);
+  }
+}
+///CLOVER:ON - CSON
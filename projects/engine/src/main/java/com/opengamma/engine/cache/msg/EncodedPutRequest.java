@@ -0,0 +1,323 @@
+// Automatically created - do not modify - CSOFF
+///CLOVER:OFF
+package com.opengamma.engine.cache.msg;
+public class EncodedPutRequest extends com.opengamma.engine.cache.msg.CacheMessage implements java.io.Serializable {
+  @Override
+  public CacheMessage accept (final CacheMessageVisitor visitor) { return visitor.visitEncodedPutRequest (this); }
+  private static final long serialVersionUID = -2934165521402311795l;
+  private com.opengamma.id.UniqueId _viewCycleId;
+  public static final String VIEW_CYCLE_ID_KEY = "viewCycleId";
+  private String _calculationConfigurationName;
+  public static final String CALCULATION_CONFIGURATION_NAME_KEY = "calculationConfigurationName";
+  private java.util.List<Long> _identifier;
+  public static final String IDENTIFIER_KEY = "identifier";
+  private java.util.List<byte[]> _data;
+  public static final String DATA_KEY = "data";
+  public EncodedPutRequest (final com.opengamma.id.UniqueId viewCycleId, final String calculationConfigurationName, final java.util.Collection<? extends Long> identifier, final java.util.Collection<? extends byte[]> data) {
+    if (viewCycleId == null) {
+      throw new NullPointerException ("'viewCycleId' cannot be null");
+    } else {
+      _viewCycleId = viewCycleId;
+    }
+    if (calculationConfigurationName == null) {
+      throw new NullPointerException ("calculationConfigurationName' cannot be null");
+    }
+    _calculationConfigurationName = calculationConfigurationName;
+    if (identifier == null) {
+      throw new NullPointerException ("'identifier' cannot be null");
+    } else {
+      final java.util.List<Long> fudge0 = new java.util.ArrayList<> (identifier);
+      if (identifier.size () == 0) {
+        throw new IllegalArgumentException ("'identifier' cannot be an empty list");
+      }
+      for (final java.util.ListIterator<Long> fudge1 = fudge0.listIterator (); fudge1.hasNext ();) {
+        final Long fudge2 = fudge1.next ();
+        if (fudge2 == null) {
+          throw new NullPointerException ("List element of 'identifier' cannot be null");
+        }
+      }
+      _identifier = fudge0;
+    }
+    if (data == null) {
+      throw new NullPointerException ("'data' cannot be null");
+    } else {
+      final java.util.List<byte[]> fudge0 = new java.util.ArrayList<> (data);
+      if (data.size () == 0) {
+        throw new IllegalArgumentException ("'data' cannot be an empty list");
+      }
+      for (final java.util.ListIterator<byte[]> fudge1 = fudge0.listIterator (); fudge1.hasNext ();) {
+        final byte[] fudge2 = fudge1.next ();
+        if (fudge2 == null) {
+          throw new NullPointerException ("List element of 'data' cannot be null");
+        }
+      }
+      _data = fudge0;
+    }
+  }
+  protected EncodedPutRequest (final org.fudgemsg.mapping.FudgeDeserializer deserializer, final org.fudgemsg.FudgeMsg fudgeMsg) {
+    super (deserializer, fudgeMsg);
+    org.fudgemsg.FudgeField fudgeField;
+    java.util.List<org.fudgemsg.FudgeField> fudgeFields;
+    fudgeField = fudgeMsg.getByName (VIEW_CYCLE_ID_KEY);
+    if (fudgeField == null) {
+      throw new IllegalArgumentException ("Fudge message is not a EncodedPutRequest - field 'viewCycleId' is not present");
+    }
+    try {
+      _viewCycleId = com.opengamma.id.UniqueId.fromFudgeMsg (deserializer, fudgeMsg.getFieldValue (org.fudgemsg.FudgeMsg.class, fudgeField));
+    }
+    catch (final IllegalArgumentException e) {
+      throw new IllegalArgumentException ("Fudge message is not a EncodedPutRequest - field 'viewCycleId' is not UniqueId message", e);
+    }
+    fudgeField = fudgeMsg.getByName (CALCULATION_CONFIGURATION_NAME_KEY);
+    if (fudgeField == null) {
+      throw new IllegalArgumentException ("Fudge message is not a EncodedPutRequest - field 'calculationConfigurationName' is not present");
+    }
+    try {
+      _calculationConfigurationName = fudgeField.getValue ().toString ();
+    }
+    catch (final IllegalArgumentException e) {
+      throw new IllegalArgumentException ("Fudge message is not a EncodedPutRequest - field 'calculationConfigurationName' is not string", e);
+    }
+    fudgeFields = fudgeMsg.getAllByName (IDENTIFIER_KEY);
+    if (fudgeFields.size () == 0) {
+      throw new IllegalArgumentException ("Fudge message is not a EncodedPutRequest - field 'identifier' is not present");
+    }
+    _identifier = new java.util.ArrayList<> (fudgeFields.size ());
+    for (final org.fudgemsg.FudgeField fudge1 : fudgeFields) {
+      try {
+        _identifier.add (fudgeMsg.getFieldValue (Long.class, fudge1));
+      }
+      catch (final IllegalArgumentException e) {
+        throw new IllegalArgumentException ("Fudge message is not a EncodedPutRequest - field 'identifier' is not long", e);
+      }
+    }
+    fudgeFields = fudgeMsg.getAllByName (DATA_KEY);
+    if (fudgeFields.size () == 0) {
+      throw new IllegalArgumentException ("Fudge message is not a EncodedPutRequest - field 'data' is not present");
+    }
+    _data = new java.util.ArrayList<> (fudgeFields.size ());
+    for (final org.fudgemsg.FudgeField fudge2 : fudgeFields) {
+      try {
+        final byte[] fudge3;
+        fudge3 = fudgeMsg.getFieldValue (byte[].class, fudge2);
+        _data.add (fudge3);
+      }
+      catch (final IllegalArgumentException e) {
+        throw new IllegalArgumentException ("Fudge message is not a EncodedPutRequest - field 'data' is not byte[]", e);
+      }
+    }
+  }
+  public EncodedPutRequest (final Long correlationId, final com.opengamma.id.UniqueId viewCycleId, final String calculationConfigurationName, final java.util.Collection<? extends Long> identifier, final java.util.Collection<? extends byte[]> data) {
+    super (correlationId);
+    if (viewCycleId == null) {
+      throw new NullPointerException ("'viewCycleId' cannot be null");
+    } else {
+      _viewCycleId = viewCycleId;
+    }
+    if (calculationConfigurationName == null) {
+      throw new NullPointerException ("calculationConfigurationName' cannot be null");
+    }
+    _calculationConfigurationName = calculationConfigurationName;
+    if (identifier == null) {
+      throw new NullPointerException ("'identifier' cannot be null");
+    } else {
+      final java.util.List<Long> fudge0 = new java.util.ArrayList<> (identifier);
+      if (identifier.size () == 0) {
+        throw new IllegalArgumentException ("'identifier' cannot be an empty list");
+      }
+      for (final java.util.ListIterator<Long> fudge1 = fudge0.listIterator (); fudge1.hasNext ();) {
+        final Long fudge2 = fudge1.next ();
+        if (fudge2 == null) {
+          throw new NullPointerException ("List element of 'identifier' cannot be null");
+        }
+      }
+      _identifier = fudge0;
+    }
+    if (data == null) {
+      throw new NullPointerException ("'data' cannot be null");
+    } else {
+      final java.util.List<byte[]> fudge0 = new java.util.ArrayList<> (data);
+      if (data.size () == 0) {
+        throw new IllegalArgumentException ("'data' cannot be an empty list");
+      }
+      for (final java.util.ListIterator<byte[]> fudge1 = fudge0.listIterator (); fudge1.hasNext ();) {
+        final byte[] fudge2 = fudge1.next ();
+        if (fudge2 == null) {
+          throw new NullPointerException ("List element of 'data' cannot be null");
+        }
+      }
+      _data = fudge0;
+    }
+  }
+  protected EncodedPutRequest (final EncodedPutRequest source) {
+    super (source);
+    if (source == null) {
+      throw new NullPointerException ("'source' must not be null");
+    }
+    if (source._viewCycleId == null) {
+      _viewCycleId = null;
+    } else {
+      _viewCycleId = source._viewCycleId;
+    }
+    _calculationConfigurationName = source._calculationConfigurationName;
+    if (source._identifier == null) {
+      _identifier = null;
+    } else {
+      _identifier = new java.util.ArrayList<> (source._identifier);
+    }
+    if (source._data == null) {
+      _data = null;
+    } else {
+      _data = new java.util.ArrayList<> (source._data);
+    }
+  }
+  @Override
+  public EncodedPutRequest clone () {
+    return new EncodedPutRequest (this);
+  }
+  @Override
+  public org.fudgemsg.FudgeMsg toFudgeMsg (final org.fudgemsg.mapping.FudgeSerializer serializer) {
+    if (serializer == null) {
+      throw new NullPointerException ("serializer must not be null");
+    }
+    final org.fudgemsg.MutableFudgeMsg msg = serializer.newMessage ();
+    toFudgeMsg (serializer, msg);
+    return msg;
+  }
+  @Override
+  public void toFudgeMsg (final org.fudgemsg.mapping.FudgeSerializer serializer, final org.fudgemsg.MutableFudgeMsg msg) {
+    super.toFudgeMsg (serializer, msg);
+    if (_viewCycleId != null)  {
+      final org.fudgemsg.MutableFudgeMsg fudge1 = org.fudgemsg.mapping.FudgeSerializer.addClassHeader (serializer.newMessage (), _viewCycleId.getClass (), com.opengamma.id.UniqueId.class);
+      _viewCycleId.toFudgeMsg (serializer, fudge1);
+      msg.add (VIEW_CYCLE_ID_KEY, null, fudge1);
+    }
+    if (_calculationConfigurationName != null)  {
+      msg.add (CALCULATION_CONFIGURATION_NAME_KEY, null, _calculationConfigurationName);
+    }
+    if (_identifier != null)  {
+      for (final Long fudge1 : _identifier) {
+        msg.add (IDENTIFIER_KEY, null, fudge1);
+      }
+    }
+    if (_data != null)  {
+      for (final byte[] fudge1 : _data) {
+        msg.add (DATA_KEY, null, fudge1);
+      }
+    }
+  }
+  public static EncodedPutRequest fromFudgeMsg (final org.fudgemsg.mapping.FudgeDeserializer deserializer, final org.fudgemsg.FudgeMsg fudgeMsg) {
+    final java.util.List<org.fudgemsg.FudgeField> types = fudgeMsg.getAllByOrdinal (0);
+    for (final org.fudgemsg.FudgeField field : types) {
+      final String className = (String)field.getValue ();
+      if ("com.opengamma.engine.cache.msg.EncodedPutRequest".equals (className)) {
+        break;
+      }
+      try {
+        return (com.opengamma.engine.cache.msg.EncodedPutRequest)Class.forName (className).getDeclaredMethod ("fromFudgeMsg", org.fudgemsg.mapping.FudgeDeserializer.class, org.fudgemsg.FudgeMsg.class).invoke (null, deserializer, fudgeMsg);
+      }
+      catch (final Throwable t) {
+        // no-action
+      }
+    }
+    return new EncodedPutRequest (deserializer, fudgeMsg);
+  }
+  public com.opengamma.id.UniqueId getViewCycleId () {
+    return _viewCycleId;
+  }
+  public void setViewCycleId (final com.opengamma.id.UniqueId viewCycleId) {
+    if (viewCycleId == null) {
+      throw new NullPointerException ("'viewCycleId' cannot be null");
+    } else {
+      _viewCycleId = viewCycleId;
+    }
+  }
+  public String getCalculationConfigurationName () {
+    return _calculationConfigurationName;
+  }
+  public void setCalculationConfigurationName (final String calculationConfigurationName) {
+    if (calculationConfigurationName == null) {
+      throw new NullPointerException ("calculationConfigurationName' cannot be null");
+    }
+    _calculationConfigurationName = calculationConfigurationName;
+  }
+  public java.util.List<Long> getIdentifier () {
+    return java.util.Collections.unmodifiableList (_identifier);
+  }
+  public void setIdentifier (final Long identifier) {
+    if (identifier == null) {
+      throw new NullPointerException ("'identifier' cannot be null");
+    } else {
+      _identifier = new java.util.ArrayList<> (1);
+      addIdentifier (identifier);
+    }
+  }
+  public void setIdentifier (final java.util.Collection<? extends Long> identifier) {
+    if (identifier == null) {
+      throw new NullPointerException ("'identifier' cannot be null");
+    } else {
+      final java.util.List<Long> fudge0 = new java.util.ArrayList<> (identifier);
+      if (identifier.size () == 0) {
+        throw new IllegalArgumentException ("'identifier' cannot be an empty list");
+      }
+      for (final java.util.ListIterator<Long> fudge1 = fudge0.listIterator (); fudge1.hasNext ();) {
+        final Long fudge2 = fudge1.next ();
+        if (fudge2 == null) {
+          throw new NullPointerException ("List element of 'identifier' cannot be null");
+        }
+      }
+      _identifier = fudge0;
+    }
+  }
+  public void addIdentifier (final Long identifier) {
+    if (identifier == null) {
+      throw new NullPointerException ("'identifier' cannot be null");
+    }
+    if (_identifier == null) {
+      _identifier = new java.util.ArrayList<> ();
+    }
+    _identifier.add (identifier);
+  }
+  public java.util.List<byte[]> getData () {
+    return java.util.Collections.unmodifiableList (_data);
+  }
+  public void setData (final byte[] data) {
+    if (data == null) {
+      throw new NullPointerException ("'data' cannot be null");
+    } else {
+      _data = new java.util.ArrayList<> (1);
+      addData (data);
+    }
+  }
+  public void setData (final java.util.Collection<? extends byte[]> data) {
+    if (data == null) {
+      throw new NullPointerException ("'data' cannot be null");
+    } else {
+      final java.util.List<byte[]> fudge0 = new java.util.ArrayList<> (data);
+      if (data.size () == 0) {
+        throw new IllegalArgumentException ("'data' cannot be an empty list");
+      }
+      for (final java.util.ListIterator<byte[]> fudge1 = fudge0.listIterator (); fudge1.hasNext ();) {
+        final byte[] fudge2 = fudge1.next ();
+        if (fudge2 == null) {
+          throw new NullPointerException ("List element of 'data' cannot be null");
+        }
+      }
+      _data = fudge0;
+    }
+  }
+  public void addData (final byte[] data) {
+    if (data == null) {
+      throw new NullPointerException ("'data' cannot be null");
+    }
+    if (_data == null) {
+      _data = new java.util.ArrayList<> ();
+    }
+    _data.add (data);
+  }
+  @Override
+  public String toString () {
+    return org.apache.commons.lang.builder.ToStringBuilder.reflectionToString(this, org.apache.commons.lang.builder.ToStringStyle.SHORT_PREFIX_STYLE);
+  }
+}
+///CLOVER:ON - CSON
@@ -0,0 +1,167 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.calcnode;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.collect.Sets;
+import com.opengamma.OpenGammaRuntimeException;
+import com.opengamma.engine.ComputationTarget;
+import com.opengamma.engine.cache.MissingOutput;
+import com.opengamma.engine.function.FunctionExecutionContext;
+import com.opengamma.engine.function.FunctionInputs;
+import com.opengamma.engine.function.FunctionInputsImpl;
+import com.opengamma.engine.function.FunctionInvoker;
+import com.opengamma.engine.target.ComputationTargetSpecificationResolver;
+import com.opengamma.engine.value.ComputedValue;
+import com.opengamma.engine.value.ScenarioVector;
+import com.opengamma.engine.value.ValueRequirement;
+import com.opengamma.engine.value.ValueSpecification;
+import com.opengamma.util.ArgumentChecker;
+import com.opengamma.util.async.AsynchronousExecution;
+
+/**
+ * Invokes a function that can't handle {@link ScenarioVector} inputs once for each scenario, passing it the corresponding element of each input, and
+ * combines the outputs into vectors.
+ * <p>
+ * An element that is a missing value is treated as a missing input for that scenario only. Any scenario for which the function produces no result is reported
+ * against the resolved outputs of the job item.
+ * <p>
+ * Unlike {@link SimpleCalculationNode}, which suspends a job while an asynchronous function completes, this invoker blocks the calculation node thread on
+ * {@link AsynchronousExecution#getResult} for each scenario in turn. The scenarios must be evaluated in sequence to combine their outputs, so an asynchronous
+ * function that is not able to handle scenario vectors holds the thread for the whole of the job item.
+ */
+/* package */final class ScenarioVectorFunctionInvoker implements FunctionInvoker {
+
+  private final FunctionInvoker _underlying;
+  private final int _scenarios;
+  private final ValueSpecification[] _outputs;
+  private final ComputationTargetSpecificationResolver.AtVersionCorrection _resolver;
+
+  /* package */ScenarioVectorFunctionInvoker(final FunctionInvoker underlying, final int scenarios, final ValueSpecification[] outputs,
+      final ComputationTargetSpecificationResolver.AtVersionCorrection resolver) {
+    ArgumentChecker.notNull(underlying, "underlying");
+    ArgumentChecker.isTrue(scenarios > 0, "scenarios");
+    ArgumentChecker.notNull(outputs, "outputs");
+    _underlying = underlying;
+    _scenarios = scenarios;
+    _outputs = outputs;
+    _resolver = resolver;
+  }
+
+  /**
+   * Returns the number of scenarios the inputs to a function are for.
+   *
+   * @param inputs
+   *          the input values, not null
+   * @return the number of scenarios, zero if no inputs are vectors, or -1 if the vectors are of different lengths
+   */
+  /* package */static int getScenarioCount(final Collection<ComputedValue> inputs) {
+    int scenarios = 0;
+    for (final ComputedValue input : inputs) {
+      final int count = ScenarioVector.getScenarioCount(input.getValue());
+      if (count > 0) {
+        if (scenarios == 0) {
+          scenarios = count;
+        } else if (scenarios != count) {
+          return -1;
+        }
+      }
+    }
+    return scenarios;
+  }
+
+  /**
+   * Invokes the underlying function for a single scenario, blocking until an asynchronous invocation has completed.
+   */
+  private Set<ComputedValue> invoke(final FunctionExecutionContext executionContext, final FunctionInputs inputs, final ComputationTarget target,
+      final Set<ValueRequirement> desiredValues) {
+    try {
+      return _underlying.execute(executionContext, inputs, target, desiredValues);
+    } catch (final AsynchronousExecution e) {
+      try {
+        return e.getResult();
+      } catch (final InterruptedException ie) {
+        Thread.currentThread().interrupt();
+        throw new OpenGammaRuntimeException("Interrupted waiting for scenario result", ie);
+      }
+    }
+  }
+
+  // FunctionInvoker
+
+  @Override
+  public Set<ComputedValue> execute(final FunctionExecutionContext executionContext, final FunctionInputs inputs, final ComputationTarget target,
+      final Set<ValueRequirement> desiredValues) {
+    final Collection<ComputedValue> allInputs = inputs.getAllValues();
+    final Collection<ValueSpecification> missing = inputs.getMissingValues();
+    final Map<ValueSpecification, Object[]> outputs = new LinkedHashMap<>();
+    final Object[] defaults = new Object[_scenarios];
+    for (int i = 0; i < _scenarios; i++) {
+      final Collection<ComputedValue> scenarioInputs = new ArrayList<>(allInputs.size());
+      Set<ValueSpecification> scenarioMissing = null;
+      for (final ComputedValue input : allInputs) {
+        final Object value = ScenarioVector.getScenarioValue(input.getValue(), i);
+        if (value instanceof MissingValue) {
+          if (scenarioMissing == null) {
+            scenarioMissing = new HashSet<>(missing);
+          }
+          scenarioMissing.add(input.getSpecification());
+        } else if (value == input.getValue()) {
+          scenarioInputs.add(input);
+        } else {
+          scenarioInputs.add(new ComputedValue(input.getSpecification(), value));
+        }
+      }
+      if (scenarioMissing != null && !_underlying.canHandleMissingInputs()) {
+        defaults[i] = MissingOutput.MISSING_INPUTS;
+        continue;
+      }
+      defaults[i] = MissingOutput.EVALUATION_ERROR;
+      final Set<ComputedValue> scenarioResults = invoke(executionContext,
+          new FunctionInputsImpl(_resolver, scenarioInputs, scenarioMissing != null ? scenarioMissing : missing), target, desiredValues);
+      if (scenarioResults == null) {
+        continue;
+      }
+      for (final ComputedValue result : scenarioResults) {
+        Object[] values = outputs.get(result.getSpecification());
+        if (values == null) {
+          values = new Object[_scenarios];
+          outputs.put(result.getSpecification(), values);
+        }
+        values[i] = result.getValue();
+      }
+    }
+    if (outputs.isEmpty()) {
+      // No scenario produced a result; report the failures against the resolved outputs
+      for (final ValueSpecification output : _outputs) {
+        outputs.put(output, new Object[_scenarios]);
+      }
+    }
+    final Set<ComputedValue> combined = Sets.newHashSetWithExpectedSize(outputs.size());
+    for (final Map.Entry<ValueSpecification, Object[]> output : outputs.entrySet()) {
+      final Object[] values = output.getValue();
+      for (int i = 0; i < _scenarios; i++) {
+        if (values[i] == null) {
+          values[i] = defaults[i];
+        }
+      }
+      combined.add(new ComputedValue(output.getKey(), ScenarioVector.valueOf(values)));
+    }
+    return combined;
+  }
+
+  @Override
+  public boolean canHandleMissingInputs() {
+    return _underlying.canHandleMissingInputs();
+  }
+
+}
@@ -33,6 +33,8 @@ import com.opengamma.engine.cache.ViewComputationCache;
 import com.opengamma.engine.cache.ViewComputationCacheSource;
 import com.opengamma.engine.cache.WriteBehindViewComputationCache;
 import com.opengamma.engine.calcnode.stats.FunctionInvocationStatisticsGatherer;
+import com.opengamma.engine.exec.trace.CycleTrace;
+import com.opengamma.engine.function.CompiledFunctionDefinition;
 import com.opengamma.engine.function.CompiledFunctionService;
 import com.opengamma.engine.function.FunctionExecutionContext;
 import com.opengamma.engine.function.FunctionInputs;
@@ -316,8 +318,13 @@ public class SimpleCalculationNode extends SimpleCalculationNodeState implements
     final long executionTime = System.nanoTime() - getExecutionStartTime();
     final CalculationJobResult jobResult = new CalculationJobResult(getJob().getSpecification(), executionTime, resultItems, getNodeId());
     LOGGER.info("Executed {} in {}ns", getJob(), executionTime);
+    final CycleTrace trace = getTrace();
+    final long flushStart = trace != null ? System.nanoTime() : 0;
     try {
       getCache().flush();
+      if (trace != null) {
+        trace.record(CycleTrace.CACHE, "Flush", flushStart);
+      }
     } catch (final AsynchronousExecution e) {
       LOGGER.info("Starting cache flush at {}", _nodeId);
       final AsynchronousOperation<CalculationJobResult> async = AsynchronousOperation.create(CalculationJobResult.class);
@@ -326,6 +333,9 @@ public class SimpleCalculationNode extends SimpleCalculationNodeState implements
         public void operationComplete(final AsynchronousResult<Void> result) {
           try {
             result.getResult();
+            if (trace != null) {
+              trace.record(CycleTrace.CACHE, "Flush", flushStart);
+            }
             async.getCallback().setResult(jobResult);
           } catch (final RuntimeException e) {
             async.getCallback().setException(e);
@@ -367,6 +377,7 @@ public class SimpleCalculationNode extends SimpleCalculationNodeState implements
     setCache(getDeferredViewComputationCache(getCache(spec)));
     setExecutionStartTime(System.nanoTime());
     setConfiguration(spec.getCalcConfigName());
+    setTrace(CycleTrace.getActive(spec.getViewCycleId()));
     List<CalculationJobResultItem> jobItems;
     try {
       jobItems = executeJobItems();
@@ -715,7 +726,14 @@ public class SimpleCalculationNode extends SimpleCalculationNodeState implements
       }
       resultItemBuilder.withMissingOutputs(missing);
     }
-    getCache().putValues(newResults, getJob().getCacheSelectHint(), statistics);
+    final CycleTrace trace = getTrace();
+    if (trace != null) {
+      final long start = System.nanoTime();
+      getCache().putValues(newResults, getJob().getCacheSelectHint(), statistics);
+      trace.record(CycleTrace.CACHE, "Write outputs", start);
+    } else {
+      getCache().putValues(newResults, getJob().getCacheSelectHint(), statistics);
+    }
   }
 
   private void invokeException(final ValueSpecification[] outputs, final Throwable t, final CalculationJobResultItemBuilder resultItemBuilder) {
@@ -766,8 +784,14 @@ public class SimpleCalculationNode extends SimpleCalculationNodeState implements
     int inputBytes = 0;
     int inputSamples = 0;
     final DeferredViewComputationCache cache = getCache();
+    final CycleTrace trace = getTrace();
+    final long readStart = trace != null ? System.nanoTime() : 0;
     _inputs._inputs = inputValueSpecs;
-    for (final Pair<ValueSpecification, Object> input : cache.getValues(_inputs, getJob().getCacheSelectHint())) {
+    final Collection<Pair<ValueSpecification, Object>> inputValues = cache.getValues(_inputs, getJob().getCacheSelectHint());
+    if (trace != null) {
+      trace.record(CycleTrace.CACHE, "Read inputs", readStart);
+    }
+    for (final Pair<ValueSpecification, Object> input : inputValues) {
       if (input.getSecond() == null || input.getSecond() instanceof MissingValue) {
         missing.add(input.getFirst());
       } else {
@@ -804,6 +828,23 @@ public class SimpleCalculationNode extends SimpleCalculationNodeState implements
       }
     }
     final FunctionInputs functionInputs = new FunctionInputsImpl(getTargetResolver().getSpecificationResolver(), inputs, missing);
+    final FunctionInvoker executionInvoker;
+    final int scenarios = ScenarioVectorFunctionInvoker.getScenarioCount(inputs);
+    if (scenarios == 0) {
+      executionInvoker = invoker;
+    } else if (scenarios < 0) {
+      postEvaluationErrors(outputs, MissingOutput.EVALUATION_ERROR);
+      resultItemBuilder.withException(ERROR_INVOKING, "Inputs have scenario vectors of different lengths");
+      return;
+    } else {
+      final CompiledFunctionDefinition definition = getFunctions().getDefinition(functionUniqueId);
+      if (definition != null && definition.canHandleScenarioVectors()) {
+        executionInvoker = invoker;
+      } else {
+        // Evaluate the scenarios one at a time
+        executionInvoker = new ScenarioVectorFunctionInvoker(invoker, scenarios, outputs, getTargetResolver().getSpecificationResolver());
+      }
+    }
     if (target == null) {
       try {
         target = targetFuture.get();
@@ -829,9 +870,10 @@ public class SimpleCalculationNode extends SimpleCalculationNodeState implements
     // Execute
     statistics.beginInvocation();
     recordInvocationLoggingInfo(target);
+    final long invokeStart = trace != null ? System.nanoTime() : 0;
     Set<ComputedValue> result;
     try {
-      result = invoker.execute(getFunctionExecutionContext(), functionInputs, target, plat2290(outputs));
+      result = executionInvoker.execute(getFunctionExecutionContext(), functionInputs, target, plat2290(outputs));
     } catch (final AsynchronousExecution e) {
       LOGGER.debug("Asynchronous execution of {} at {}", jobItem, _nodeId);
       final AsynchronousOperation<Deferred<Void>> async = deferredOperation();
@@ -843,6 +885,9 @@ public class SimpleCalculationNode extends SimpleCalculationNodeState implements
             @Override
             public Void call(final SimpleCalculationNode self) {
               LOGGER.debug("Asynchronous result for {} at {}", jobItem, self._nodeId);
+              if (trace != null) {
+                trace.record(CycleTrace.FUNCTION, self.getFunctionName(functionUniqueId), invokeStart);
+              }
               Set<ComputedValue> results;
               try {
                 results = result.getResult();
@@ -868,9 +913,17 @@ public class SimpleCalculationNode extends SimpleCalculationNodeState implements
       invokeException(outputs, t, resultItemBuilder);
       return;
     }
+    if (trace != null) {
+      trace.record(CycleTrace.FUNCTION, getFunctionName(functionUniqueId), invokeStart);
+    }
     invokeResult(invoker, statistics, missing, outputs, result, resultItemBuilder);
   }
 
+  private String getFunctionName(final String functionUniqueId) {
+    final CompiledFunctionDefinition function = getFunctions().getDefinition(functionUniqueId);
+    return function != null ? function.getFunctionDefinition().getShortName() : functionUniqueId;
+  }
+
   private void recordInvocationLoggingInfo(final ComputationTarget target) {
     if (target != null && target.getUniqueId() != null) {
       try {      // make target available to logging
@@ -6,6 +6,7 @@
 package com.opengamma.engine.calcnode;
 
 import com.opengamma.engine.cache.DeferredViewComputationCache;
+import com.opengamma.engine.exec.trace.CycleTrace;
 import com.opengamma.engine.function.CompiledFunctionRepository;
 import com.opengamma.engine.function.FunctionExecutionContext;
 
@@ -20,6 +21,7 @@ import com.opengamma.engine.function.FunctionExecutionContext;
   private DeferredViewComputationCache _cache;
   private String _calculationConfiguration;
   private long _executionTime;
+  private CycleTrace _trace;
 
   private SimpleCalculationNodeState(final SimpleCalculationNodeState copyFrom) {
     restoreState(copyFrom);
@@ -42,6 +44,7 @@ import com.opengamma.engine.function.FunctionExecutionContext;
     setCache(state.getCache());
     setConfiguration(state.getConfiguration());
     setExecutionStartTime(state.getExecutionStartTime());
+    setTrace(state.getTrace());
   }
 
   protected void setFunctionExecutionContext(final FunctionExecutionContext functionExecutionContext) {
@@ -92,4 +95,12 @@ import com.opengamma.engine.function.FunctionExecutionContext;
     _executionTime = executionTime;
   }
 
+  protected CycleTrace getTrace() {
+    return _trace;
+  }
+
+  protected void setTrace(final CycleTrace trace) {
+    _trace = trace;
+  }
+
 }
@@ -0,0 +1,834 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.calcnode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.Lifecycle;
+
+import com.opengamma.OpenGammaRuntimeException;
+import com.opengamma.engine.value.ValueSpecification;
+import com.opengamma.util.ArgumentChecker;
+import com.opengamma.util.async.AsynchronousExecution;
+
+/**
+ * Invokes jobs on local calculation nodes through a work-stealing pool so that idle nodes can share the work of a large job.
+ * <p>
+ * The items of each job are partitioned into independent groups - an item is in the same group as any item in the job producing one of its inputs - and
+ * each group is forked as a separate task. Idle pool threads steal these tasks and execute them on a free node, keeping the order of the items within each
+ * group. The partial results are merged into a single {@link CalculationJobResult} in the original item order. Tail jobs are forked as soon as the jobs they
+ * require have completed so they are not bound to the node that executed their predecessor.
+ * <p>
+ * All of the nodes must share the same private value cache, as is the case for nodes created with a common {@link com.opengamma.engine.cache.ViewComputationCacheSource}.
+ */
+public class WorkStealingLocalNodeJobInvoker implements JobInvoker, Lifecycle {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(WorkStealingLocalNodeJobInvoker.class);
+
+  /**
+   * The default minimum number of items a job must have before it is considered for partitioning.
+   */
+  public static final int DEFAULT_MINIMUM_SPLIT_ITEMS = 2;
+
+  private enum Status {
+    RUNNING, COMPLETED, FAILED;
+  }
+
+  /**
+   * Waits for a node to become free, allowing the pool to compensate for the blocked thread.
+   */
+  private final class NodeBlocker implements ForkJoinPool.ManagedBlocker {
+
+    private SimpleCalculationNode _node;
+
+    @Override
+    public boolean block() throws InterruptedException {
+      if (_node == null) {
+        _node = _nodes.take();
+      }
+      return true;
+    }
+
+    @Override
+    public boolean isReleasable() {
+      if (_node == null) {
+        _node = _nodes.poll();
+      }
+      return _node != null;
+    }
+
+  }
+
+  /**
+   * Waits for the result of an asynchronous node execution, allowing the pool to compensate for the blocked thread.
+   */
+  private static final class ResultBlocker implements ForkJoinPool.ManagedBlocker {
+
+    private final AsynchronousExecution _execution;
+    private Object _result;
+    private boolean _done;
+
+    ResultBlocker(final AsynchronousExecution execution) {
+      _execution = execution;
+    }
+
+    @Override
+    public boolean block() throws InterruptedException {
+      if (!_done) {
+        _result = _execution.getResult();
+        _done = true;
+      }
+      return true;
+    }
+
+    @Override
+    public boolean isReleasable() {
+      return _done;
+    }
+
+  }
+
+  /**
+   * A group of items from a job that can be executed independently of the other groups.
+   */
+  private final class PartTask extends RecursiveTask<CalculationJobResult> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final JobTask _owner;
+    private final CalculationJob _job;
+    private final int[] _items;
+    private long _finished;
+
+    PartTask(final JobTask owner, final CalculationJob job, final int[] items) {
+      _owner = owner;
+      _job = job;
+      _items = items;
+    }
+
+    @Override
+    protected CalculationJobResult compute() {
+      final CalculationJobResult result = executeOnNode(_owner, _job);
+      _finished = System.nanoTime();
+      return result;
+    }
+
+  }
+
+  /**
+   * A job received by {@link #invoke}, or one of its tails.
+   */
+  private final class JobTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final CalculationJob _job;
+    private final JobInvocationReceiver _receiver;
+    private final boolean _root;
+    private final AtomicInteger _blockCount = new AtomicInteger(1);
+    private Status _status = Status.RUNNING;
+    private List<JobTask> _dependents;
+    private volatile List<CalculationJob> _parts;
+    private volatile String _nodeId;
+
+    JobTask(final CalculationJob job, final JobInvocationReceiver receiver, final boolean root) {
+      _job = job;
+      _receiver = receiver;
+      _root = root;
+    }
+
+    public long getJobId() {
+      return _job.getSpecification().getJobId();
+    }
+
+    /**
+     * Registers a dependent task if this is still running.
+     *
+     * @param dependent the task requiring this one
+     * @return the current status
+     */
+    public synchronized Status block(final JobTask dependent) {
+      if (_status == Status.RUNNING) {
+        if (_dependents == null) {
+          _dependents = new ArrayList<>();
+        }
+        _dependents.add(dependent);
+        dependent._blockCount.incrementAndGet();
+      }
+      return _status;
+    }
+
+    public boolean release() {
+      return _blockCount.decrementAndGet() == 0;
+    }
+
+    private synchronized boolean isRunning() {
+      return _status == Status.RUNNING;
+    }
+
+    private void succeed(final CalculationJobResult result) {
+      final List<JobTask> dependents;
+      synchronized (this) {
+        if (_status != Status.RUNNING) {
+          LOGGER.debug("Discarding result of cancelled job {}", getJobId());
+          return;
+        }
+        _status = Status.COMPLETED;
+        dependents = _dependents;
+        _dependents = null;
+      }
+      finished();
+      _receiver.jobCompleted(result);
+      if (dependents != null) {
+        for (final JobTask dependent : dependents) {
+          if (dependent.release()) {
+            submit(dependent);
+          }
+        }
+      }
+    }
+
+    public boolean fail() {
+      final List<JobTask> dependents;
+      synchronized (this) {
+        if (_status != Status.RUNNING) {
+          return false;
+        }
+        _status = Status.FAILED;
+        dependents = _dependents;
+        _dependents = null;
+      }
+      finished();
+      if (dependents != null) {
+        // Any tail jobs are abandoned
+        for (final JobTask dependent : dependents) {
+          dependent.fail();
+        }
+      }
+      return true;
+    }
+
+    public void cancelJob() {
+      _job.cancel();
+      final List<CalculationJob> parts = _parts;
+      if (parts != null) {
+        for (final CalculationJob part : parts) {
+          part.cancel();
+        }
+      }
+      fail();
+    }
+
+    private void finished() {
+      _executions.remove(getJobId(), this);
+      if (_root) {
+        _activeJobs.decrementAndGet();
+        onNodeChange();
+      }
+    }
+
+    @Override
+    protected void compute() {
+      if (!isRunning()) {
+        LOGGER.debug("Job {} cancelled", getJobId());
+        return;
+      }
+      final CalculationJobResult result;
+      try {
+        result = executeJob(this);
+      } catch (final Throwable t) {
+        // Any failure, including an error from a node, must fail the job or its receiver and dependent tails would wait forever
+        if (fail()) {
+          LOGGER.warn("Job {} failed: {}", getJobId(), t.getMessage());
+          final Exception e = t instanceof Exception ? (Exception) t : new OpenGammaRuntimeException("Job " + getJobId() + " failed", t);
+          _receiver.jobFailed(WorkStealingLocalNodeJobInvoker.this, _nodeId != null ? _nodeId : getInvokerId(), e);
+        }
+        return;
+      }
+      succeed(result);
+    }
+
+  }
+
+  private final BlockingQueue<SimpleCalculationNode> _nodes = new LinkedBlockingQueue<>();
+  private final AtomicInteger _nodeCount = new AtomicInteger();
+  private final AtomicInteger _activeJobs = new AtomicInteger();
+  private final ConcurrentMap<Long, JobTask> _executions = new ConcurrentHashMap<>();
+  private final AtomicReference<JobInvokerRegister> _notifyWhenAvailable = new AtomicReference<>();
+  private final CapabilitySet _capabilitySet = new CapabilitySet();
+  private final int _parallelism;
+  private volatile ForkJoinPool _pool;
+  private String _invokerId = "local";
+  private int _minimumSplitItems = DEFAULT_MINIMUM_SPLIT_ITEMS;
+
+  private final AtomicLong _splitJobs = new AtomicLong();
+  private final AtomicLong _jobParts = new AtomicLong();
+  private final AtomicLong _tailLatencyCount = new AtomicLong();
+  private final AtomicLong _tailLatencyTotal = new AtomicLong();
+  private final AtomicLong _tailLatencyMax = new AtomicLong();
+
+  /**
+   * Creates an invoker with a pool sized to the number of available processors.
+   */
+  public WorkStealingLocalNodeJobInvoker() {
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Creates an invoker.
+   *
+   * @param parallelism the number of pool threads; at most this many nodes will be busy at any one time
+   */
+  public WorkStealingLocalNodeJobInvoker(final int parallelism) {
+    ArgumentChecker.notNegativeOrZero(parallelism, "parallelism");
+    _parallelism = parallelism;
+    _pool = new ForkJoinPool(parallelism);
+  }
+
+  public WorkStealingLocalNodeJobInvoker(final Collection<SimpleCalculationNode> nodes) {
+    this(Math.max(nodes.size(), 1));
+    addNodes(nodes);
+  }
+
+  //-------------------------------------------------------------------------
+  public void addNode(final SimpleCalculationNode node) {
+    ArgumentChecker.notNull(node, "node");
+    _nodeCount.incrementAndGet();
+    _nodes.add(node);
+    recalculateCapabilities();
+    onNodeChange();
+  }
+
+  public void addNodes(final Collection<SimpleCalculationNode> nodes) {
+    ArgumentChecker.notNull(nodes, "nodes");
+    _nodeCount.addAndGet(nodes.size());
+    _nodes.addAll(nodes);
+    recalculateCapabilities();
+    onNodeChange();
+  }
+
+  /**
+   * Removes a node if one is available.
+   *
+   * @return the node removed from the live set, or null if there are none to remove
+   */
+  public SimpleCalculationNode removeNode() {
+    final SimpleCalculationNode node = _nodes.poll();
+    if (node != null) {
+      _nodeCount.decrementAndGet();
+      recalculateCapabilities();
+    }
+    return node;
+  }
+
+  /**
+   * Returns the total number of nodes, including those that are currently busy executing jobs.
+   *
+   * @return the total number of nodes
+   */
+  public int getTotalNodeCount() {
+    return _nodeCount.get();
+  }
+
+  /**
+   * Returns the number of nodes that are not executing jobs.
+   *
+   * @return the number of available nodes
+   */
+  public int getAvailableNodeCount() {
+    return _nodes.size();
+  }
+
+  /**
+   * Returns the number of jobs, including tail jobs, that are running or waiting for a job they require.
+   *
+   * @return the number of jobs
+   */
+  public int getTotalJobCount() {
+    return _executions.size();
+  }
+
+  /**
+   * Updates the capabilities. Call this if the set of nodes has changed.
+   */
+  public void recalculateCapabilities() {
+    setCapability(PlatformCapabilities.NODE_COUNT, getTotalNodeCount());
+  }
+
+  public void setCapability(final String identifier, final double parameter) {
+    getCapabilitySet().setParameterCapability(identifier, parameter);
+  }
+
+  /**
+   * For injecting capabilities from spring.
+   *
+   * @param parameters capabilities
+   */
+  public void setCapabilities(final Map<String, Double> parameters) {
+    for (final Map.Entry<String, Double> parameter : parameters.entrySet()) {
+      setCapability(parameter.getKey(), parameter.getValue());
+    }
+  }
+
+  protected CapabilitySet getCapabilitySet() {
+    return _capabilitySet;
+  }
+
+  /**
+   * Sets the minimum number of items a job must have before its items are partitioned among the nodes.
+   *
+   * @param minimumSplitItems the number of items, at least 2
+   */
+  public void setMinimumSplitItems(final int minimumSplitItems) {
+    ArgumentChecker.isTrue(minimumSplitItems >= 2, "minimumSplitItems");
+    _minimumSplitItems = minimumSplitItems;
+  }
+
+  public int getMinimumSplitItems() {
+    return _minimumSplitItems;
+  }
+
+  public void setInvokerId(final String invokerId) {
+    ArgumentChecker.notNull(invokerId, "invokerId");
+    _invokerId = invokerId;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the number of tasks taken from another pool thread's queue.
+   *
+   * @return the steal count
+   */
+  public long getStealCount() {
+    final ForkJoinPool pool = _pool;
+    return pool != null ? pool.getStealCount() : 0;
+  }
+
+  /**
+   * Returns the number of jobs whose items were partitioned among more than one node.
+   *
+   * @return the number of split jobs
+   */
+  public long getSplitJobCount() {
+    return _splitJobs.get();
+  }
+
+  /**
+   * Returns the total number of parts the split jobs were partitioned into.
+   *
+   * @return the number of parts
+   */
+  public long getJobPartCount() {
+    return _jobParts.get();
+  }
+
+  /**
+   * Returns the mean tail latency of split jobs. This is the time between the first and the last part of a job finishing, so a large value shows that the
+   * partitions were unbalanced and nodes were left idle while the slowest part completed.
+   *
+   * @return the mean tail latency in nanoseconds
+   */
+  public double getMeanTailLatency() {
+    final long count = _tailLatencyCount.get();
+    if (count > 0) {
+      return (double) _tailLatencyTotal.get() / (double) count;
+    }
+    return 0;
+  }
+
+  /**
+   * Returns the largest tail latency of a split job.
+   *
+   * @return the maximum tail latency in nanoseconds
+   * @see #getMeanTailLatency
+   */
+  public long getMaxTailLatency() {
+    return _tailLatencyMax.get();
+  }
+
+  public void resetStatistics() {
+    _splitJobs.set(0);
+    _jobParts.set(0);
+    _tailLatencyCount.set(0);
+    _tailLatencyTotal.set(0);
+    _tailLatencyMax.set(0);
+  }
+
+  private void recordTailLatency(final long latency) {
+    _tailLatencyCount.incrementAndGet();
+    _tailLatencyTotal.addAndGet(latency);
+    long max = _tailLatencyMax.get();
+    while (latency > max && !_tailLatencyMax.compareAndSet(max, latency)) {
+      max = _tailLatencyMax.get();
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  private static int find(final int[] parent, int i) {
+    while (parent[i] != i) {
+      parent[i] = parent[parent[i]];
+      i = parent[i];
+    }
+    return i;
+  }
+
+  /**
+   * Partitions job items into groups that can execute independently. An item is placed in the same group as any item producing one of its inputs. The groups
+   * are then packed, largest first, into at most {@code maxPartitions} partitions with the fewest items.
+   *
+   * @param items the job items, in dependency order, not null
+   * @param maxPartitions the maximum number of partitions
+   * @return the item indices of each partition, in ascending order, or null if the items cannot be partitioned
+   */
+  /* package */static List<int[]> partition(final List<CalculationJobItem> items, final int maxPartitions) {
+    final int count = items.size();
+    if (count < 2 || maxPartitions < 2) {
+      return null;
+    }
+    final int[] parent = new int[count];
+    for (int i = 0; i < count; i++) {
+      parent[i] = i;
+    }
+    final Map<ValueSpecification, Integer> producers = new HashMap<>();
+    for (int i = 0; i < count; i++) {
+      final CalculationJobItem item = items.get(i);
+      final ValueSpecification[] inputs = item.getInputs();
+      final ValueSpecification[] outputs = item.getOutputs();
+      if (inputs == null || outputs == null) {
+        // Identifier encoded items; the dependencies cannot be determined
+        return null;
+      }
+      for (final ValueSpecification input : inputs) {
+        final Integer producer = producers.get(input);
+        if (producer != null) {
+          parent[find(parent, i)] = find(parent, producer);
+        }
+      }
+      for (final ValueSpecification output : outputs) {
+        producers.put(output, i);
+      }
+    }
+    final Map<Integer, List<Integer>> groups = new HashMap<>();
+    for (int i = 0; i < count; i++) {
+      final Integer root = find(parent, i);
+      List<Integer> group = groups.get(root);
+      if (group == null) {
+        group = new ArrayList<>();
+        groups.put(root, group);
+      }
+      group.add(i);
+    }
+    if (groups.size() < 2) {
+      return null;
+    }
+    final List<List<Integer>> ordered = new ArrayList<>(groups.values());
+    Collections.sort(ordered, new Comparator<List<Integer>>() {
+      @Override
+      public int compare(final List<Integer> a, final List<Integer> b) {
+        return b.size() - a.size();
+      }
+    });
+    final int partitions = Math.min(maxPartitions, ordered.size());
+    final List<List<Integer>> bins = new ArrayList<>(partitions);
+    for (int i = 0; i < partitions; i++) {
+      bins.add(new ArrayList<Integer>());
+    }
+    for (final List<Integer> group : ordered) {
+      List<Integer> smallest = bins.get(0);
+      for (final List<Integer> bin : bins) {
+        if (bin.size() < smallest.size()) {
+          smallest = bin;
+        }
+      }
+      smallest.addAll(group);
+    }
+    final List<int[]> result = new ArrayList<>(partitions);
+    for (final List<Integer> bin : bins) {
+      final int[] indices = new int[bin.size()];
+      for (int i = 0; i < indices.length; i++) {
+        indices[i] = bin.get(i);
+      }
+      // Items must keep their original (dependency) order within the partition
+      Arrays.sort(indices);
+      result.add(indices);
+    }
+    return result;
+  }
+
+  private SimpleCalculationNode borrowNode() {
+    final NodeBlocker blocker = new NodeBlocker();
+    try {
+      ForkJoinPool.managedBlock(blocker);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new OpenGammaRuntimeException("Interrupted waiting for a calculation node", e);
+    }
+    return blocker._node;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static CalculationJobResult waitForResult(final SimpleCalculationNode node, AsynchronousExecution execution) {
+    do {
+      final ResultBlocker blocker = new ResultBlocker(execution);
+      try {
+        ForkJoinPool.managedBlock(blocker);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new OpenGammaRuntimeException("Interrupted waiting for job completion", e);
+      }
+      if (!(blocker._result instanceof SimpleCalculationNode.Deferred)) {
+        return (CalculationJobResult) blocker._result;
+      }
+      // The node is still held by this thread so its state does not need to be restored
+      try {
+        return ((SimpleCalculationNode.Deferred<CalculationJobResult>) blocker._result).call(node);
+      } catch (final AsynchronousExecution e) {
+        execution = e;
+      }
+    } while (true);
+  }
+
+  private CalculationJobResult executeOnNode(final JobTask owner, final CalculationJob job) {
+    final SimpleCalculationNode node = borrowNode();
+    try {
+      owner._nodeId = node.getNodeId();
+      try {
+        return node.executeJob(job);
+      } catch (final AsynchronousExecution e) {
+        LOGGER.debug("Job {} running asynchronously", owner.getJobId());
+        return waitForResult(node, e);
+      }
+    } finally {
+      _nodes.add(node);
+    }
+  }
+
+  private CalculationJobResult executeJob(final JobTask task) {
+    final CalculationJob job = task._job;
+    final List<CalculationJobItem> items = job.getJobItems();
+    final List<int[]> partitions = items.size() >= getMinimumSplitItems() ? partition(items, Math.min(getTotalNodeCount(), _parallelism)) : null;
+    if (partitions == null) {
+      return executeOnNode(task, job);
+    }
+    final PartTask[] parts = new PartTask[partitions.size()];
+    final List<CalculationJob> partJobs = new ArrayList<>(parts.length);
+    for (int i = 0; i < parts.length; i++) {
+      final int[] indices = partitions.get(i);
+      final List<CalculationJobItem> partItems = new ArrayList<>(indices.length);
+      for (final int index : indices) {
+        partItems.add(items.get(index));
+      }
+      final CalculationJob partJob = new CalculationJob(job.getSpecification(), job.getFunctionInitializationIdentifier(), job.getResolverVersionCorrection(),
+          null, partItems, job.getCacheSelectHint());
+      partJobs.add(partJob);
+      parts[i] = new PartTask(task, partJob, indices);
+    }
+    task._parts = partJobs;
+    if (job.isCancelled()) {
+      task.cancelJob();
+    }
+    _splitJobs.incrementAndGet();
+    _jobParts.addAndGet(parts.length);
+    LOGGER.debug("Split job {} into {} parts", task.getJobId(), parts.length);
+    ForkJoinTask.invokeAll(parts);
+    final CalculationJobResultItem[] resultItems = new CalculationJobResultItem[items.size()];
+    long duration = 0;
+    long firstFinished = Long.MAX_VALUE;
+    long lastFinished = Long.MIN_VALUE;
+    String nodeId = null;
+    for (final PartTask part : parts) {
+      final CalculationJobResult result = part.join();
+      final List<CalculationJobResultItem> partItems = result.getResultItems();
+      for (int i = 0; i < part._items.length; i++) {
+        resultItems[part._items[i]] = partItems.get(i);
+      }
+      duration += result.getDuration();
+      firstFinished = Math.min(firstFinished, part._finished);
+      lastFinished = Math.max(lastFinished, part._finished);
+      if (nodeId == null) {
+        nodeId = result.getComputeNodeId();
+      }
+    }
+    recordTailLatency(lastFinished - firstFinished);
+    // The duration is the total node time so that it remains comparable with the function cost estimates
+    return new CalculationJobResult(job.getSpecification(), duration, Arrays.asList(resultItems), nodeId);
+  }
+
+  private void submit(final JobTask task) {
+    final ForkJoinPool pool = _pool;
+    if (pool == null) {
+      LOGGER.warn("Invoker {} stopped; abandoning job {}", this, task.getJobId());
+      task.fail();
+      return;
+    }
+    if (ForkJoinTask.getPool() == pool) {
+      // Push onto this worker's queue where an idle worker can steal it
+      task.fork();
+    } else {
+      pool.execute(task);
+    }
+  }
+
+  /**
+   * Registers a job, and then its tails, in dependency order.
+   */
+  private void addJob(final CalculationJob job, final JobInvocationReceiver receiver, final boolean root, final List<JobTask> runnable) {
+    final JobTask task = new JobTask(job, receiver, root);
+    _executions.put(task.getJobId(), task);
+    boolean failed = false;
+    final long[] requiredJobIds = job.getRequiredJobIds();
+    if (requiredJobIds != null) {
+      for (final long requiredJobId : requiredJobIds) {
+        final JobTask required = _executions.get(requiredJobId);
+        if (required == null) {
+          LOGGER.debug("Required job {} completion inferred", requiredJobId);
+        } else if (required.block(task) == Status.FAILED) {
+          failed = true;
+        }
+      }
+    }
+    if (failed) {
+      task.fail();
+    } else if (task.release()) {
+      runnable.add(task);
+    }
+    if (job.getTail() != null) {
+      for (final CalculationJob tail : job.getTail()) {
+        addJob(tail, receiver, false, runnable);
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  protected void onNodeChange() {
+    if (_activeJobs.get() < getTotalNodeCount()) {
+      final JobInvokerRegister notify = _notifyWhenAvailable.getAndSet(null);
+      if (notify != null) {
+        notify.registerJobInvoker(this);
+      }
+    }
+  }
+
+  @Override
+  public Collection<Capability> getCapabilities() {
+    return getCapabilitySet().getCapabilities();
+  }
+
+  @Override
+  public boolean invoke(final CalculationJob job, final JobInvocationReceiver receiver) {
+    if (_pool == null || _activeJobs.incrementAndGet() > getTotalNodeCount()) {
+      if (_pool != null) {
+        _activeJobs.decrementAndGet();
+      }
+      return false;
+    }
+    final List<JobTask> runnable = new ArrayList<>();
+    addJob(job, receiver, true, runnable);
+    for (final JobTask task : runnable) {
+      submit(task);
+    }
+    return true;
+  }
+
+  @Override
+  public boolean notifyWhenAvailable(JobInvokerRegister callback) {
+    _notifyWhenAvailable.set(callback);
+    if (_activeJobs.get() < getTotalNodeCount()) {
+      callback = _notifyWhenAvailable.getAndSet(null);
+      if (callback != null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public String getInvokerId() {
+    return _invokerId;
+  }
+
+  @Override
+  public void cancel(final Collection<CalculationJobSpecification> jobs) {
+    for (final CalculationJobSpecification job : jobs) {
+      cancel(job);
+    }
+  }
+
+  @Override
+  public void cancel(final CalculationJobSpecification job) {
+    final JobTask task = _executions.get(job.getJobId());
+    if (task == null) {
+      LOGGER.warn("Request to cancel job {} but already failed or completed", job.getJobId());
+      return;
+    }
+    LOGGER.info("Cancelling job {}", job.getJobId());
+    task.cancelJob();
+  }
+
+  @Override
+  public boolean isAlive(final Collection<CalculationJobSpecification> jobs) {
+    for (final CalculationJobSpecification job : jobs) {
+      if (!isAlive(job)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public boolean isAlive(final CalculationJobSpecification job) {
+    return _executions.containsKey(job.getJobId());
+  }
+
+  // Lifecycle
+
+  @Override
+  public synchronized void start() {
+    if (_pool == null) {
+      _pool = new ForkJoinPool(_parallelism);
+    }
+  }
+
+  @Override
+  public synchronized void stop() {
+    final ForkJoinPool pool = _pool;
+    _pool = null;
+    if (pool != null) {
+      pool.shutdown();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return _pool != null;
+  }
+
+  @Override
+  public String toString() {
+    return getInvokerId();
+  }
+
+}
@@ -0,0 +1,101 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.calcnode.jmx;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * JMX exposure of the work-stealing local node pool statistics.
+ */
+public class WorkStealingLocalNodeJobInvoker implements WorkStealingLocalNodeJobInvokerMBean {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(WorkStealingLocalNodeJobInvoker.class);
+
+  private final com.opengamma.engine.calcnode.WorkStealingLocalNodeJobInvoker _underlying;
+
+  private WorkStealingLocalNodeJobInvoker(final com.opengamma.engine.calcnode.WorkStealingLocalNodeJobInvoker underlying) {
+    _underlying = underlying;
+  }
+
+  private com.opengamma.engine.calcnode.WorkStealingLocalNodeJobInvoker getUnderlying() {
+    return _underlying;
+  }
+
+  public static void registerMBeans(final com.opengamma.engine.calcnode.WorkStealingLocalNodeJobInvoker invoker, final MBeanServer server)
+      throws JMException {
+    final ObjectName name = new ObjectName("com.opengamma:type=WorkStealingLocalNodeJobInvoker,name=" + invoker.toString());
+    final WorkStealingLocalNodeJobInvoker instance = new WorkStealingLocalNodeJobInvoker(invoker);
+    try {
+      server.registerMBean(instance, name);
+    } catch (final InstanceAlreadyExistsException e) {
+      LOGGER.warn("JMX MBean {} already exists - replacing", name);
+      server.unregisterMBean(name);
+      server.registerMBean(instance, name);
+    }
+  }
+
+  @Override
+  public int getTotalNodeCount() {
+    return getUnderlying().getTotalNodeCount();
+  }
+
+  @Override
+  public int getAvailableNodeCount() {
+    return getUnderlying().getAvailableNodeCount();
+  }
+
+  @Override
+  public int getTotalJobCount() {
+    return getUnderlying().getTotalJobCount();
+  }
+
+  @Override
+  public void setMinimumSplitItems(final int minimumSplitItems) {
+    getUnderlying().setMinimumSplitItems(minimumSplitItems);
+  }
+
+  @Override
+  public int getMinimumSplitItems() {
+    return getUnderlying().getMinimumSplitItems();
+  }
+
+  @Override
+  public long getStealCount() {
+    return getUnderlying().getStealCount();
+  }
+
+  @Override
+  public long getSplitJobCount() {
+    return getUnderlying().getSplitJobCount();
+  }
+
+  @Override
+  public long getJobPartCount() {
+    return getUnderlying().getJobPartCount();
+  }
+
+  @Override
+  public double getMeanTailLatency() {
+    return getUnderlying().getMeanTailLatency();
+  }
+
+  @Override
+  public long getMaxTailLatency() {
+    return getUnderlying().getMaxTailLatency();
+  }
+
+  @Override
+  public void resetStatistics() {
+    getUnderlying().resetStatistics();
+  }
+
+}
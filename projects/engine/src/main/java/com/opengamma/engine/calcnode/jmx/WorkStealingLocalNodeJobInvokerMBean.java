@@ -0,0 +1,35 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.calcnode.jmx;
+
+/**
+ * JMX exposure of a {@link WorkStealingLocalNodeJobInvoker}.
+ */
+public interface WorkStealingLocalNodeJobInvokerMBean {
+
+  int getTotalNodeCount();
+
+  int getAvailableNodeCount();
+
+  int getTotalJobCount();
+
+  void setMinimumSplitItems(int minimumSplitItems);
+
+  int getMinimumSplitItems();
+
+  long getStealCount();
+
+  long getSplitJobCount();
+
+  long getJobPartCount();
+
+  double getMeanTailLatency();
+
+  long getMaxTailLatency();
+
+  void resetStatistics();
+
+}
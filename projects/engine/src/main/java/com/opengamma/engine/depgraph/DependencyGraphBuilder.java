@@ -296,6 +296,17 @@ public final class DependencyGraphBuilder implements Cancelable {
     getTerminalValuesCallback().setTargetDigests(targetDigests);
   }
 
+  /**
+   * Sets a resolution cache to share target digest resolutions with other builders. This has no effect unless target digest rules are
+   * also set.
+   *
+   * @param resolutionCache
+   *          the cache, or null to only use resolutions from this builder
+   */
+  public void setResolutionCache(final ResolutionCache resolutionCache) {
+    getTerminalValuesCallback().setResolutionCache(resolutionCache);
+  }
+
   public void setComputationTargetCollapser(final ComputationTargetCollapser computationTargetCollapser) {
     getTerminalValuesCallback().setComputationTargetCollapser(computationTargetCollapser);
   }
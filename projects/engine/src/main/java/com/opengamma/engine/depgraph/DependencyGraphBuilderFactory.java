@@ -54,6 +54,7 @@ public class DependencyGraphBuilderFactory {
   private RunQueueFactory _runQueue = DependencyGraphBuilder.getDefaultRunQueueFactory();
   private FunctionExclusionGroups _functionExclusionGroups;
   private TargetDigests _targetDigests;
+  private ResolutionCache _resolutionCache;
   private ComputationTargetCollapser _computationTargetCollapser;
   private final Executor _executor = createExecutor();
 
@@ -116,6 +117,14 @@ public class DependencyGraphBuilderFactory {
     return _targetDigests;
   }
 
+  public void setResolutionCache(final ResolutionCache resolutionCache) {
+    _resolutionCache = resolutionCache;
+  }
+
+  public ResolutionCache getResolutionCache() {
+    return _resolutionCache;
+  }
+
   public void setComputationTargetCollapser(final ComputationTargetCollapser computationTargetCollapser) {
     _computationTargetCollapser = computationTargetCollapser;
   }
@@ -135,6 +144,7 @@ public class DependencyGraphBuilderFactory {
     builder.setDisableFailureReporting(!isEnableFailureReporting());
     builder.setFunctionExclusionGroups(getFunctionExclusionGroups());
     builder.setTargetDigests(getTargetDigests());
+    builder.setResolutionCache(getResolutionCache());
     builder.setComputationTargetCollapser(getComputationTargetCollapser());
   }
 
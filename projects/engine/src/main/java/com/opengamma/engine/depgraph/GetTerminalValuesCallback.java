@@ -162,6 +162,12 @@ import it.unimi.dsi.fastutil.objects.Object2ObjectOpenCustomHashMap;
    */
   private TargetDigests _targetDigests;
 
+  /**
+   * Optional cache of resolutions shared with other builders, consulted when there are no candidates for a target digest in
+   * {@link #_targetDigestInfo}.
+   */
+  private ResolutionCache _resolutionCache;
+
   /**
    * The current graph building context (the callback holds the write lock for the duration of other calls, so can set it here instead of passing it on the
    * stack).
@@ -198,6 +204,10 @@ import it.unimi.dsi.fastutil.objects.Object2ObjectOpenCustomHashMap;
     _targetDigests = targetDigests;
   }
 
+  public void setResolutionCache(final ResolutionCache resolutionCache) {
+    _resolutionCache = resolutionCache;
+  }
+
   /**
    * Looks up an existing production - for which all inputs are resolved - for a potential value specification.
    * <p>
@@ -232,6 +242,9 @@ import it.unimi.dsi.fastutil.objects.Object2ObjectOpenCustomHashMap;
   }
 
   private void storeResolution(final Object targetDigest, final ValueSpecification resolvedValue, final DependencyNodeFunction function) {
+    if (_resolutionCache != null) {
+      _resolutionCache.storeResolution(targetDigest, resolvedValue, function);
+    }
     ConcurrentMap<String, Pair<?, ?>> info = _targetDigestInfo.get(targetDigest);
     if (info == null) {
       info = new ConcurrentHashMap<>();
@@ -310,7 +323,13 @@ import it.unimi.dsi.fastutil.objects.Object2ObjectOpenCustomHashMap;
     }
     final Map<String, Pair<?, ?>> info = _targetDigestInfo.get(targetDigest);
     if (info != null) {
-      return info.get(valueName);
+      final Pair<?, ?> resolutions = info.get(valueName);
+      if (resolutions != null) {
+        return resolutions;
+      }
+    }
+    if (_resolutionCache != null) {
+      return _resolutionCache.getResolutions(targetDigest, valueName);
     }
     return null;
   }
@@ -372,11 +372,29 @@ import com.opengamma.util.tuple.Pairs;
       return ((ValueProperties[]) _properties)[_index];
     }
 
-    public ParameterizedFunction getFunction() {
+    /**
+     * Returns the function for the current resolution. Resolutions taken from an existing graph, or from a shared {@link ResolutionCache},
+     * may only hold the function identifier and parameters; these are resolved against the current function repository.
+     *
+     * @param context
+     *          the graph building context, not null
+     * @return the function, or null if it is not available in the current function repository
+     */
+    public ParameterizedFunction getFunction(final GraphBuildingContext context) {
+      final DependencyNodeFunction function;
       if (_length == 1) {
-        return (ParameterizedFunction) _functions;
+        function = (DependencyNodeFunction) _functions;
+      } else {
+        function = ((DependencyNodeFunction[]) _functions)[_index];
+      }
+      if (function instanceof ParameterizedFunction) {
+        return (ParameterizedFunction) function;
+      }
+      final CompiledFunctionDefinition functionDefinition = context.getFunctionDefinition(function.getFunctionId());
+      if (functionDefinition == null) {
+        return null;
       }
-      return ((ParameterizedFunction[]) _functions)[_index];
+      return new ParameterizedFunction(functionDefinition, function.getParameters());
     }
 
   }
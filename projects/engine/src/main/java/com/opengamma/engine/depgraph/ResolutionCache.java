@@ -0,0 +1,576 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.depgraph;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.fudgemsg.FudgeContext;
+import org.fudgemsg.MutableFudgeMsg;
+import org.fudgemsg.mapping.FudgeSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.Lifecycle;
+
+import com.google.common.collect.Iterables;
+import com.opengamma.OpenGammaRuntimeException;
+import com.opengamma.core.change.ChangeEvent;
+import com.opengamma.core.change.ChangeListener;
+import com.opengamma.engine.depgraph.impl.DependencyNodeFunctionImpl;
+import com.opengamma.engine.function.EmptyFunctionParameters;
+import com.opengamma.engine.function.FunctionDefinition;
+import com.opengamma.engine.function.FunctionParameters;
+import com.opengamma.engine.function.FunctionRepository;
+import com.opengamma.engine.function.InMemoryFunctionRepository;
+import com.opengamma.engine.function.config.FunctionConfiguration;
+import com.opengamma.engine.value.ValueProperties;
+import com.opengamma.engine.value.ValueSpecification;
+import com.opengamma.util.ArgumentChecker;
+import com.opengamma.util.fudgemsg.OpenGammaFudgeContext;
+import com.opengamma.util.tuple.Pair;
+import com.opengamma.util.tuple.Pairs;
+
+/**
+ * A resolution cache that can be shared by a number of {@link DependencyGraphBuilder} instances and persisted between engine restarts.
+ * <p>
+ * This holds the same information as the target digest map maintained by each builder - the properties and functions that previously
+ * satisfied a value name on a target with a given digest - and is keyed by the digest objects in the same way. A builder consults it only
+ * when its own map has no candidates, and any candidate it offers is validated against the current function repository by
+ * {@link TargetDigestStep} in the same way as a locally produced one. A stale entry will therefore cost some wasted resolution time but
+ * not produce an incorrect graph.
+ * <p>
+ * When persisted, each digest is written as its class name and string form (see {@link #getDigestId}). Entries read back are held against
+ * that identifier until a digest with the same identifier is looked up, so the string form of a digest must be unique amongst the digests
+ * of its class for the entries to survive a restart.
+ * <p>
+ * Entries are only meaningful for the function repository that produced them. The cache holds a repository version (see
+ * {@link #getRepositoryVersion(FunctionRepository)}) and is emptied whenever a different version is set. Re-initialization of individual
+ * functions discards the entries they produced. The cache may also be registered as a {@link ChangeListener} with any master whose
+ * changes should discard all entries.
+ * <p>
+ * If constructed with a file, the cache will be loaded from it when started and written back to it when stopped.
+ */
+public class ResolutionCache implements ChangeListener, Lifecycle {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ResolutionCache.class);
+
+  /**
+   * The maximum number of candidates to hold for each digest and value name.
+   */
+  private static final int MAX_DATA_PER_DIGEST = 4;
+
+  /**
+   * The format version written at the start of a persisted cache.
+   */
+  private static final int FILE_FORMAT = 2;
+
+  /**
+   * An immutable set of candidates for a digest and value name, most recent first.
+   */
+  private static final class Candidates {
+
+    private final ValueProperties[] _properties;
+    private final DependencyNodeFunction[] _functions;
+
+    Candidates(final ValueProperties[] properties, final DependencyNodeFunction[] functions) {
+      _properties = properties;
+      _functions = functions;
+    }
+
+    Pair<?, ?> toPair() {
+      if (_properties.length == 1) {
+        return Pairs.of(_properties[0], _functions[0]);
+      }
+      return Pairs.of(_properties, _functions);
+    }
+
+    Candidates with(final ValueProperties properties, final DependencyNodeFunction function) {
+      for (final ValueProperties existing : _properties) {
+        if (properties.equals(existing)) {
+          return this;
+        }
+      }
+      final int length = Math.min(_properties.length + 1, MAX_DATA_PER_DIGEST);
+      final ValueProperties[] newProperties = new ValueProperties[length];
+      newProperties[0] = properties;
+      System.arraycopy(_properties, 0, newProperties, 1, length - 1);
+      final DependencyNodeFunction[] newFunctions = new DependencyNodeFunction[length];
+      newFunctions[0] = function;
+      System.arraycopy(_functions, 0, newFunctions, 1, length - 1);
+      return new Candidates(newProperties, newFunctions);
+    }
+
+    Candidates without(final Collection<String> functionIds) {
+      int count = 0;
+      for (final DependencyNodeFunction function : _functions) {
+        if (!functionIds.contains(function.getFunctionId())) {
+          count++;
+        }
+      }
+      if (count == _functions.length) {
+        return this;
+      }
+      if (count == 0) {
+        return null;
+      }
+      final ValueProperties[] newProperties = new ValueProperties[count];
+      final DependencyNodeFunction[] newFunctions = new DependencyNodeFunction[count];
+      count = 0;
+      for (int i = 0; i < _functions.length; i++) {
+        if (!functionIds.contains(_functions[i].getFunctionId())) {
+          newProperties[count] = _properties[i];
+          newFunctions[count++] = _functions[i];
+        }
+      }
+      return new Candidates(newProperties, newFunctions);
+    }
+
+  }
+
+  private final File _file;
+
+  private final ConcurrentMap<Object, ConcurrentMap<String, Candidates>> _data = new ConcurrentHashMap<>();
+
+  /**
+   * Entries read from a file, keyed by digest identifier, that have not yet been claimed by a digest.
+   */
+  private final ConcurrentMap<String, ConcurrentMap<String, Candidates>> _persisted = new ConcurrentHashMap<>();
+
+  private volatile String _repositoryVersion;
+
+  private volatile boolean _running;
+
+  private final AtomicLong _hits = new AtomicLong();
+
+  private final AtomicLong _misses = new AtomicLong();
+
+  private final AtomicLong _invalidations = new AtomicLong();
+
+  /**
+   * Creates a cache that is held in memory only.
+   */
+  public ResolutionCache() {
+    _file = null;
+  }
+
+  /**
+   * Creates a cache that is loaded from, and saved to, a file when started and stopped.
+   *
+   * @param file
+   *          the file to persist the cache in, not null
+   */
+  public ResolutionCache(final File file) {
+    ArgumentChecker.notNull(file, "file");
+    _file = file;
+  }
+
+  /**
+   * Calculates a version string for a function repository. This is a hash of the identifiers, implementation classes and default
+   * parameters of the functions, and of the configuration each was constructed from if the repository records it, so is the same for
+   * equivalent repositories constructed by different processes.
+   *
+   * @param repository
+   *          the function repository, not null
+   * @return the version string, not null
+   */
+  public static String getRepositoryVersion(final FunctionRepository repository) {
+    ArgumentChecker.notNull(repository, "repository");
+    final Map<String, String> configurations = new HashMap<>();
+    if (repository instanceof InMemoryFunctionRepository) {
+      final InMemoryFunctionRepository functions = (InMemoryFunctionRepository) repository;
+      for (final FunctionDefinition function : repository.getAllFunctions()) {
+        final FunctionConfiguration configuration = functions.getFunctionConfiguration(function.getUniqueId());
+        if (configuration != null) {
+          configurations.put(function.getUniqueId(), configuration.toString());
+        }
+      }
+    }
+    return getRepositoryVersion(repository.getAllFunctions(), configurations);
+  }
+
+  /**
+   * Calculates a version string for a collection of functions. This is a hash of the identifiers, implementation classes and default
+   * parameters of the functions. The configuration the functions were constructed from is not known, so functions that differ only in
+   * their construction arguments will not be distinguished; use {@link #getRepositoryVersion(FunctionRepository)} where possible.
+   *
+   * @param functions
+   *          the functions in the repository, not null
+   * @return the version string, not null
+   */
+  public static String getRepositoryVersion(final Collection<? extends FunctionDefinition> functions) {
+    ArgumentChecker.notNull(functions, "functions");
+    return getRepositoryVersion(functions, Collections.<String, String>emptyMap());
+  }
+
+  private static String getRepositoryVersion(final Collection<? extends FunctionDefinition> functions, final Map<String, String> configurations) {
+    final Map<String, FunctionDefinition> sorted = new TreeMap<>();
+    for (final FunctionDefinition function : functions) {
+      sorted.put(function.getUniqueId(), function);
+    }
+    final FudgeContext fudgeContext = OpenGammaFudgeContext.getInstance();
+    try {
+      final MessageDigest digest = MessageDigest.getInstance("SHA-1");
+      for (final FunctionDefinition function : sorted.values()) {
+        digest.update((function.getUniqueId() + "=" + function.getClass().getName()).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        final String configuration = configurations.get(function.getUniqueId());
+        if (configuration != null) {
+          digest.update(configuration.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) 0);
+        final FunctionParameters parameters = function.getDefaultParameters();
+        if (parameters != null && !(parameters instanceof EmptyFunctionParameters)) {
+          // Parameters must be Fudge-serializable but need not have a stable string form
+          final FudgeSerializer serializer = new FudgeSerializer(fudgeContext);
+          final MutableFudgeMsg msg = serializer.newMessage();
+          serializer.addToMessageWithClassHeaders(msg, "parameters", null, parameters, FunctionParameters.class);
+          digest.update(fudgeContext.toByteArray(msg));
+        }
+        digest.update((byte) 0);
+      }
+      final StringBuilder sb = new StringBuilder();
+      for (final byte b : digest.digest()) {
+        sb.append(Character.forDigit(b >> 4 & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+      }
+      return sb.toString();
+    } catch (final NoSuchAlgorithmException e) {
+      throw new OpenGammaRuntimeException("Couldn't calculate repository version", e);
+    }
+  }
+
+  /**
+   * Returns the identifier a digest is persisted under. This is the class name of the digest and its string form.
+   *
+   * @param targetDigest
+   *          the target digest, not null
+   * @return the identifier, not null
+   */
+  public static String getDigestId(final Object targetDigest) {
+    return targetDigest.getClass().getName() + ":" + targetDigest;
+  }
+
+  /**
+   * Returns the version of the function repository the entries are valid for.
+   *
+   * @return the repository version, null if none has been set
+   */
+  public String getRepositoryVersion() {
+    return _repositoryVersion;
+  }
+
+  /**
+   * Sets the version of the function repository that subsequent entries will be valid for. If this differs from the current version,
+   * all entries are discarded.
+   *
+   * @param repositoryVersion
+   *          the repository version, not null
+   */
+  public synchronized void setRepositoryVersion(final String repositoryVersion) {
+    ArgumentChecker.notNull(repositoryVersion, "repositoryVersion");
+    if (!repositoryVersion.equals(_repositoryVersion)) {
+      if (_repositoryVersion != null) {
+        LOGGER.info("Function repository version changed from {} to {}", _repositoryVersion, repositoryVersion);
+        invalidate();
+      }
+      _repositoryVersion = repositoryVersion;
+    }
+  }
+
+  /**
+   * Returns the candidate resolutions for a value name on a target digest. The result is in the same form as held in the builder's own
+   * target digest map; either a single {@link ValueProperties} and {@link DependencyNodeFunction} or arrays of them.
+   *
+   * @param targetDigest
+   *          the target digest, not null
+   * @param valueName
+   *          the value name, not null
+   * @return the candidates, null if there are none
+   */
+  public Pair<?, ?> getResolutions(final Object targetDigest, final String valueName) {
+    Map<String, Candidates> info = _data.get(targetDigest);
+    if (info == null && !_persisted.isEmpty()) {
+      info = claimPersisted(targetDigest);
+    }
+    if (info != null) {
+      final Candidates candidates = info.get(valueName);
+      if (candidates != null) {
+        _hits.incrementAndGet();
+        return candidates.toPair();
+      }
+    }
+    _misses.incrementAndGet();
+    return null;
+  }
+
+  /**
+   * Stores a resolution against a target digest.
+   *
+   * @param targetDigest
+   *          the target digest, not null
+   * @param resolvedValue
+   *          the resolved value, not null
+   * @param function
+   *          the function that produced the value, not null
+   */
+  public void storeResolution(final Object targetDigest, final ValueSpecification resolvedValue, final DependencyNodeFunction function) {
+    ConcurrentMap<String, Candidates> info = _data.get(targetDigest);
+    if (info == null && !_persisted.isEmpty()) {
+      info = claimPersisted(targetDigest);
+    }
+    if (info == null) {
+      info = new ConcurrentHashMap<>();
+      final ConcurrentMap<String, Candidates> existing = _data.putIfAbsent(targetDigest, info);
+      if (existing != null) {
+        info = existing;
+      }
+    }
+    final ValueProperties properties = resolvedValue.getProperties();
+    // Only the identifier and parameters are held; a compiled function would tie the entry to one repository instance
+    final DependencyNodeFunction storedFunction = DependencyNodeFunctionImpl.of(function.getFunctionId(), function.getParameters());
+    final String valueName = resolvedValue.getValueName();
+    Candidates oldCandidates = info.get(valueName);
+    do {
+      if (oldCandidates == null) {
+        oldCandidates = info.putIfAbsent(valueName, new Candidates(new ValueProperties[] {properties }, new DependencyNodeFunction[] {storedFunction }));
+        if (oldCandidates == null) {
+          return;
+        }
+      } else {
+        final Candidates newCandidates = oldCandidates.with(properties, storedFunction);
+        if (newCandidates == oldCandidates || info.replace(valueName, oldCandidates, newCandidates)) {
+          return;
+        }
+        oldCandidates = info.get(valueName);
+      }
+    } while (true);
+  }
+
+  /**
+   * Moves any entries read from a file for a digest into the main map.
+   *
+   * @param targetDigest
+   *          the target digest, not null
+   * @return the entries for the digest, null if there are none
+   */
+  private ConcurrentMap<String, Candidates> claimPersisted(final Object targetDigest) {
+    final ConcurrentMap<String, Candidates> persisted = _persisted.remove(getDigestId(targetDigest));
+    if (persisted == null) {
+      return _data.get(targetDigest);
+    }
+    final ConcurrentMap<String, Candidates> existing = _data.putIfAbsent(targetDigest, persisted);
+    return existing != null ? existing : persisted;
+  }
+
+  /**
+   * Discards all entries.
+   */
+  public void invalidate() {
+    LOGGER.debug("Discarding all resolutions");
+    _invalidations.incrementAndGet();
+    _data.clear();
+    _persisted.clear();
+  }
+
+  /**
+   * Discards any entries produced by the given functions. This is called when the functions are re-initialized as their behavior may
+   * have changed.
+   *
+   * @param functionIds
+   *          the identifiers of the functions, not null
+   */
+  public void invalidateFunctions(final Collection<String> functionIds) {
+    ArgumentChecker.notNull(functionIds, "functionIds");
+    if (functionIds.isEmpty()) {
+      return;
+    }
+    LOGGER.debug("Discarding resolutions from {} functions", functionIds.size());
+    _invalidations.incrementAndGet();
+    for (final ConcurrentMap<String, Candidates> info : Iterables.concat(_data.values(), _persisted.values())) {
+      for (final Map.Entry<String, Candidates> entry : info.entrySet()) {
+        final Candidates oldCandidates = entry.getValue();
+        final Candidates newCandidates = oldCandidates.without(functionIds);
+        if (newCandidates == null) {
+          info.remove(entry.getKey(), oldCandidates);
+        } else if (newCandidates != oldCandidates) {
+          info.replace(entry.getKey(), oldCandidates, newCandidates);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the number of target digests that have entries.
+   *
+   * @return the number of digests
+   */
+  public int getDigestCount() {
+    return _data.size() + _persisted.size();
+  }
+
+  /**
+   * Returns the number of lookups that returned candidates.
+   *
+   * @return the hit count
+   */
+  public long getHits() {
+    return _hits.get();
+  }
+
+  /**
+   * Returns the number of lookups that found no candidates.
+   *
+   * @return the miss count
+   */
+  public long getMisses() {
+    return _misses.get();
+  }
+
+  /**
+   * Returns the number of times that entries have been invalidated.
+   *
+   * @return the invalidation count
+   */
+  public long getInvalidations() {
+    return _invalidations.get();
+  }
+
+  // Persistence
+
+  /**
+   * Writes the entries to a file.
+   *
+   * @param file
+   *          the file to write to, not null
+   */
+  public synchronized void save(final File file) {
+    ArgumentChecker.notNull(file, "file");
+    final File temp = new File(file.getPath() + ".tmp");
+    int count = 0;
+    try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+      out.writeInt(FILE_FORMAT);
+      out.writeObject(_repositoryVersion);
+      for (final Map.Entry<Object, ConcurrentMap<String, Candidates>> digest : _data.entrySet()) {
+        count += write(out, getDigestId(digest.getKey()), digest.getValue());
+      }
+      // Entries read previously whose digests have not been seen by this process are kept for the next
+      for (final Map.Entry<String, ConcurrentMap<String, Candidates>> digest : _persisted.entrySet()) {
+        count += write(out, digest.getKey(), digest.getValue());
+      }
+      out.writeBoolean(false);
+    } catch (final IOException e) {
+      throw new OpenGammaRuntimeException("Couldn't write resolution cache to " + file, e);
+    }
+    if (file.exists() && !file.delete() || !temp.renameTo(file)) {
+      throw new OpenGammaRuntimeException("Couldn't replace resolution cache " + file);
+    }
+    LOGGER.info("Wrote {} resolutions to {}", count, file);
+  }
+
+  private static int write(final ObjectOutputStream out, final String digestId, final Map<String, Candidates> info) throws IOException {
+    int count = 0;
+    for (final Map.Entry<String, Candidates> entry : info.entrySet()) {
+      out.writeBoolean(true);
+      out.writeUTF(digestId);
+      out.writeUTF(entry.getKey());
+      out.writeObject(entry.getValue()._properties);
+      out.writeObject(entry.getValue()._functions);
+      count++;
+    }
+    return count;
+  }
+
+  /**
+   * Reads entries from a file, replacing any currently held. If the file was written for a different repository version to the one
+   * currently set, the entries are ignored.
+   *
+   * @param file
+   *          the file to read from, not null
+   */
+  public synchronized void load(final File file) {
+    ArgumentChecker.notNull(file, "file");
+    try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+      if (in.readInt() != FILE_FORMAT) {
+        LOGGER.warn("Ignoring resolution cache {} with unsupported format", file);
+        return;
+      }
+      final String repositoryVersion = (String) in.readObject();
+      if (_repositoryVersion != null && !_repositoryVersion.equals(repositoryVersion)) {
+        LOGGER.info("Ignoring resolution cache {} for repository version {}", file, repositoryVersion);
+        return;
+      }
+      _data.clear();
+      _persisted.clear();
+      int count = 0;
+      while (in.readBoolean()) {
+        final String digest = in.readUTF();
+        final String valueName = in.readUTF();
+        final Candidates candidates = new Candidates((ValueProperties[]) in.readObject(), (DependencyNodeFunction[]) in.readObject());
+        ConcurrentMap<String, Candidates> info = _persisted.get(digest);
+        if (info == null) {
+          info = new ConcurrentHashMap<>();
+          _persisted.put(digest, info);
+        }
+        info.put(valueName, candidates);
+        count++;
+      }
+      _repositoryVersion = repositoryVersion;
+      LOGGER.info("Read {} resolutions from {}", count, file);
+    } catch (final IOException | ClassNotFoundException | ClassCastException e) {
+      LOGGER.warn("Couldn't read resolution cache from {} - {}", file, e.getMessage());
+      _data.clear();
+      _persisted.clear();
+    }
+  }
+
+  // ChangeListener
+
+  @Override
+  public void entityChanged(final ChangeEvent event) {
+    LOGGER.info("Discarding resolutions on change to {}", event.getObjectId());
+    invalidate();
+  }
+
+  // Lifecycle
+
+  @Override
+  public synchronized void start() {
+    if (_file != null && _file.exists()) {
+      load(_file);
+    }
+    _running = true;
+  }
+
+  @Override
+  public synchronized void stop() {
+    if (_running && _file != null) {
+      save(_file);
+    }
+    _running = false;
+  }
+
+  @Override
+  public boolean isRunning() {
+    return _running;
+  }
+
+}
@@ -56,7 +56,11 @@ import com.opengamma.util.tuple.Triple;
           final ValueProperties properties = _resolutions.getValueProperties();
           if (constraints.isSatisfiedBy(properties)) {
             LOGGER.info("Trying digest resolution {} for {}", properties, requirement);
-            final ParameterizedFunction function = _resolutions.getFunction();
+            final ParameterizedFunction function = _resolutions.getFunction(context);
+            if (function == null) {
+              LOGGER.debug("Function for {} is not available", properties);
+              continue;
+            }
             final CompiledFunctionDefinition functionDef = function.getFunction();
             if (!functionDef.getTargetType().isCompatible(target.getType())) {
               LOGGER.debug("Function {} type is not compatible with {}", functionDef, target);
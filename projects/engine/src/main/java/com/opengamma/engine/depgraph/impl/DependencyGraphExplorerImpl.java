@@ -28,6 +28,7 @@ public class DependencyGraphExplorerImpl implements DependencyGraphExplorer {
   private final DependencyGraph _graph;
   private volatile Map<ValueSpecification, DependencyNode> _nodesBySpecification;
   private volatile Set<ComputationTargetSpecification> _allTargets;
+  private volatile DependencyGraphIndex _index;
 
   public DependencyGraphExplorerImpl(final DependencyGraph graph) {
     ArgumentChecker.notNull(graph, "graph");
@@ -41,6 +42,33 @@ public class DependencyGraphExplorerImpl implements DependencyGraphExplorer {
     return _nodesBySpecification;
   }
 
+  /**
+   * Returns the integer index of the graph, building it on first use.
+   *
+   * @return the index, not null
+   */
+  public DependencyGraphIndex getIndex() {
+    DependencyGraphIndex index = _index;
+    if (index == null) {
+      index = new DependencyGraphIndex(_graph);
+      _index = index;
+    }
+    return index;
+  }
+
+  /**
+   * Returns the integer index of the graph held by an explorer, building a new one if the explorer cannot hold it.
+   *
+   * @param explorer the explorer, not null
+   * @return the index, not null
+   */
+  public static DependencyGraphIndex getIndex(final DependencyGraphExplorer explorer) {
+    if (explorer instanceof DependencyGraphExplorerImpl) {
+      return ((DependencyGraphExplorerImpl) explorer).getIndex();
+    }
+    return new DependencyGraphIndex(explorer.getWholeGraph());
+  }
+
   @Override
   public String getCalculationConfigurationName() {
     return _graph.getCalculationConfigurationName();
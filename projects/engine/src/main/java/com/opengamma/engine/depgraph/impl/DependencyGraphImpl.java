@@ -11,15 +11,21 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.opengamma.engine.depgraph.DependencyGraph;
 import com.opengamma.engine.depgraph.DependencyNode;
+import com.opengamma.engine.depgraph.DependencyNodeFunction;
 import com.opengamma.engine.function.MarketDataSourcingFunction;
 import com.opengamma.engine.value.ValueRequirement;
 import com.opengamma.engine.value.ValueSpecification;
@@ -37,6 +43,8 @@ public class DependencyGraphImpl implements DependencyGraph, Serializable {
 
   private static final long serialVersionUID = 1L;
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(DependencyGraphImpl.class);
+
   /**
    * The calculation configuration this is the graph for. A view definition may require multiple graphs, one for each configuration.
    */
@@ -341,6 +349,137 @@ public class DependencyGraphImpl implements DependencyGraph, Serializable {
     return new DependencyGraphImpl(graph.getCalculationConfigurationName(), newRoots, calculateSize(newRoots), graph.getTerminalOutputs());
   }
 
+  /**
+   * Key for finding an existing node that is identical to another. The inputs of the node must already have been replaced by shared instances so that
+   * they can be compared by identity rather than recursively.
+   */
+  private static final class SharedNodeKey {
+
+    private final DependencyNode _node;
+    private final Set<ValueSpecification> _outputs;
+    private final Map<ValueSpecification, DependencyNode> _inputs;
+    private final int _hashCode;
+
+    SharedNodeKey(final DependencyNode node) {
+      _node = node;
+      _outputs = DependencyNodeImpl.getOutputValues(node);
+      _inputs = DependencyNodeImpl.getInputs(node);
+      int hc = (DependencyNodeFunction.HASHING_STRATEGY.hashCode(node.getFunction()) * 31 + node.getTarget().hashCode()) * 31 + _outputs.hashCode();
+      for (final Map.Entry<ValueSpecification, DependencyNode> input : _inputs.entrySet()) {
+        hc += input.getKey().hashCode() ^ System.identityHashCode(input.getValue());
+      }
+      _hashCode = hc;
+    }
+
+    @Override
+    public int hashCode() {
+      return _hashCode;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (o == this) {
+        return true;
+      }
+      if (!(o instanceof SharedNodeKey)) {
+        return false;
+      }
+      final SharedNodeKey other = (SharedNodeKey) o;
+      if (_hashCode != other._hashCode || _inputs.size() != other._inputs.size()) {
+        return false;
+      }
+      if (!_node.getTarget().equals(other._node.getTarget()) || !DependencyNodeFunction.HASHING_STRATEGY.equals(_node.getFunction(), other._node.getFunction())
+          || !_outputs.equals(other._outputs)) {
+        return false;
+      }
+      for (final Map.Entry<ValueSpecification, DependencyNode> input : _inputs.entrySet()) {
+        if (other._inputs.get(input.getKey()) != input.getValue()) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+  }
+
+  private static DependencyNode shareNode(final DependencyNode node, final Map<DependencyNode, DependencyNode> visited,
+      final Map<SharedNodeKey, DependencyNode> shared) {
+    DependencyNode result = visited.get(node);
+    if (result != null) {
+      return result;
+    }
+    final int inputs = node.getInputCount();
+    DependencyNode[] newInputNodes = null;
+    for (int i = 0; i < inputs; i++) {
+      final DependencyNode inputNode = node.getInputNode(i);
+      final DependencyNode newInputNode = shareNode(inputNode, visited, shared);
+      if (newInputNode != inputNode) {
+        if (newInputNodes == null) {
+          newInputNodes = DependencyNodeImpl.getInputNodeArray(node);
+        }
+        newInputNodes[i] = newInputNode;
+      }
+    }
+    final DependencyNode candidate;
+    if (newInputNodes == null) {
+      candidate = node;
+    } else {
+      candidate = DependencyNodeImpl.of(node.getFunction(), node.getTarget(), DependencyNodeImpl.getOutputValueArray(node),
+          DependencyNodeImpl.getInputValueArray(node), newInputNodes);
+    }
+    final SharedNodeKey key = new SharedNodeKey(candidate);
+    result = shared.get(key);
+    if (result == null) {
+      shared.put(key, candidate);
+      result = candidate;
+    }
+    visited.put(node, result);
+    return result;
+  }
+
+  /**
+   * Replaces identical nodes in a number of graphs with a single shared instance. Nodes are identical if they have the same function, target and outputs,
+   * and consume the same values from identical nodes. Graphs for different calculation configurations of a view will typically contain the same market data
+   * and curve subgraphs; sharing the nodes reduces the memory needed to hold the compiled view.
+   * <p>
+   * Nodes are immutable so can be referenced from more than one graph. The graphs returned are in the same order as the ones given, with the previous graph
+   * instance returned if none of its nodes were replaced.
+   *
+   * @param graphs the graphs to share nodes between, not null and not containing null
+   * @return the graphs using shared nodes, not null
+   */
+  public static List<DependencyGraph> shareIdenticalNodes(final Collection<DependencyGraph> graphs) {
+    ArgumentChecker.noNulls(graphs, "graphs");
+    final Map<SharedNodeKey, DependencyNode> shared = new HashMap<>();
+    final List<DependencyGraph> result = new ArrayList<>(graphs.size());
+    int count = 0;
+    for (final DependencyGraph graph : graphs) {
+      final Map<DependencyNode, DependencyNode> visited = new IdentityHashMap<>();
+      final int rootCount = graph.getRootCount();
+      final DependencyNode[] newRoots = new DependencyNode[rootCount];
+      boolean same = true;
+      for (int i = 0; i < rootCount; i++) {
+        final DependencyNode root = graph.getRootNode(i);
+        newRoots[i] = shareNode(root, visited, shared);
+        if (newRoots[i] != root) {
+          same = false;
+        }
+      }
+      for (final Map.Entry<DependencyNode, DependencyNode> node : visited.entrySet()) {
+        if (node.getKey() != node.getValue()) {
+          count++;
+        }
+      }
+      if (same) {
+        result.add(graph);
+      } else {
+        result.add(new DependencyGraphImpl(graph.getCalculationConfigurationName(), newRoots, calculateSize(newRoots), graph.getTerminalOutputs()));
+      }
+    }
+    LOGGER.debug("Replaced {} nodes with shared instances", count);
+    return result;
+  }
+
   private static void dumpNodeASCII(final PrintStream out, String indent, final DependencyNode node, final Map<DependencyNode, Integer> uidMap) {
     Integer uid = uidMap.get(node);
     if (uid == null) {
@@ -0,0 +1,276 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.depgraph.impl;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.opengamma.engine.depgraph.DependencyGraph;
+import com.opengamma.engine.depgraph.DependencyNode;
+import com.opengamma.engine.function.MarketDataSourcingFunction;
+import com.opengamma.engine.value.ValueRequirement;
+import com.opengamma.engine.value.ValueSpecification;
+import com.opengamma.util.ArgumentChecker;
+
+/**
+ * Integer indexed form of a {@link DependencyGraph} with a reverse-adjacency (node to dependent nodes) table.
+ * <p>
+ * Each node in the graph is assigned an index in the range {@code [0, getNodeCount())}. Sets of nodes can then be held as {@link BitSet}s
+ * and changes propagated forward to the nodes which consume them in time proportional to the size of the affected subgraph rather than the
+ * whole graph. The index is immutable and may be built once and shared for as long as the graph is in use.
+ */
+public final class DependencyGraphIndex {
+
+  private static final int[] EMPTY = new int[0];
+
+  private final DependencyGraph _graph;
+  private final DependencyNode[] _nodes;
+  private final Object2IntMap<ValueSpecification> _producers;
+  /**
+   * Dependents of node {@code i} are held in {@code _dependents[_dependentOffsets[i]]} to {@code _dependents[_dependentOffsets[i + 1] - 1]}.
+   */
+  private final int[] _dependentOffsets;
+  private final int[] _dependents;
+  private final int[] _marketDataNodes;
+
+  /**
+   * Creates an index of the graph.
+   *
+   * @param graph the graph to index, not null
+   */
+  public DependencyGraphIndex(final DependencyGraph graph) {
+    ArgumentChecker.notNull(graph, "graph");
+    _graph = graph;
+    final int size = graph.getSize();
+    _nodes = new DependencyNode[size];
+    final Map<DependencyNode, Integer> indices = new IdentityHashMap<>(size);
+    _producers = new Object2IntOpenHashMap<>(size);
+    _producers.defaultReturnValue(-1);
+    int marketDataCount = 0;
+    int edgeCount = 0;
+    final Iterator<DependencyNode> itr = graph.nodeIterator();
+    int nodeCount = 0;
+    while (itr.hasNext()) {
+      final DependencyNode node = itr.next();
+      indices.put(node, nodeCount);
+      _nodes[nodeCount] = node;
+      final int outputs = node.getOutputCount();
+      for (int i = 0; i < outputs; i++) {
+        _producers.put(node.getOutputValue(i), nodeCount);
+      }
+      if (isMarketData(node)) {
+        marketDataCount++;
+      }
+      edgeCount += node.getInputCount();
+      nodeCount++;
+    }
+    // Count the dependents of each node, then fill the table
+    _dependentOffsets = new int[size + 1];
+    for (final DependencyNode node : _nodes) {
+      final int inputs = node.getInputCount();
+      for (int i = 0; i < inputs; i++) {
+        _dependentOffsets[indices.get(node.getInputNode(i)) + 1]++;
+      }
+    }
+    for (int i = 0; i < size; i++) {
+      _dependentOffsets[i + 1] += _dependentOffsets[i];
+    }
+    _dependents = edgeCount > 0 ? new int[edgeCount] : EMPTY;
+    final int[] fill = Arrays.copyOf(_dependentOffsets, size);
+    _marketDataNodes = marketDataCount > 0 ? new int[marketDataCount] : EMPTY;
+    marketDataCount = 0;
+    for (int n = 0; n < size; n++) {
+      final DependencyNode node = _nodes[n];
+      final int inputs = node.getInputCount();
+      for (int i = 0; i < inputs; i++) {
+        _dependents[fill[indices.get(node.getInputNode(i))]++] = n;
+      }
+      if (isMarketData(node)) {
+        _marketDataNodes[marketDataCount++] = n;
+      }
+    }
+  }
+
+  private static boolean isMarketData(final DependencyNode node) {
+    return node.getInputCount() == 0 && MarketDataSourcingFunction.UNIQUE_ID.equals(node.getFunction().getFunctionId());
+  }
+
+  /**
+   * Returns the graph that was indexed.
+   *
+   * @return the graph, not null
+   */
+  public DependencyGraph getGraph() {
+    return _graph;
+  }
+
+  /**
+   * Returns the number of nodes in the graph.
+   *
+   * @return the number of nodes
+   */
+  public int getNodeCount() {
+    return _nodes.length;
+  }
+
+  /**
+   * Returns the node with the given index.
+   *
+   * @param index the node index, from 0 (inclusive) to {@link #getNodeCount} (exclusive)
+   * @return the node, not null
+   */
+  public DependencyNode getNode(final int index) {
+    return _nodes[index];
+  }
+
+  /**
+   * Returns the index of the node producing the given value.
+   *
+   * @param output the value produced, not null
+   * @return the node index, or -1 if no node in the graph produces the value
+   */
+  public int getNodeIndex(final ValueSpecification output) {
+    return _producers.getInt(output);
+  }
+
+  /**
+   * Returns the number of nodes that consume the outputs of a node.
+   *
+   * @param index the node index
+   * @return the number of dependent nodes
+   */
+  public int getDependentCount(final int index) {
+    return _dependentOffsets[index + 1] - _dependentOffsets[index];
+  }
+
+  /**
+   * Returns a node that consumes the outputs of a node.
+   *
+   * @param index the node index
+   * @param dependent the dependent index, from 0 (inclusive) to {@link #getDependentCount} (exclusive)
+   * @return the index of the dependent node
+   */
+  public int getDependent(final int index, final int dependent) {
+    return _dependents[_dependentOffsets[index] + dependent];
+  }
+
+  /**
+   * Returns the number of market data sourcing nodes in the graph.
+   *
+   * @return the number of market data nodes
+   */
+  public int getMarketDataNodeCount() {
+    return _marketDataNodes.length;
+  }
+
+  /**
+   * Returns a market data sourcing node.
+   *
+   * @param marketDataNode the market data node, from 0 (inclusive) to {@link #getMarketDataNodeCount} (exclusive)
+   * @return the node index
+   */
+  public int getMarketDataNode(final int marketDataNode) {
+    return _marketDataNodes[marketDataNode];
+  }
+
+  /**
+   * Extends a set of nodes with every node that directly or indirectly consumes the outputs of one of them.
+   * <p>
+   * The cost is proportional to the size of the resulting subgraph, not the size of the whole graph.
+   *
+   * @param nodes the initial node indices, not null, updated in place
+   */
+  public void propagate(final BitSet nodes) {
+    int[] stack = new int[Math.max(nodes.cardinality(), 16)];
+    int sp = 0;
+    for (int i = nodes.nextSetBit(0); i >= 0; i = nodes.nextSetBit(i + 1)) {
+      stack[sp++] = i;
+    }
+    while (sp > 0) {
+      final int node = stack[--sp];
+      final int end = _dependentOffsets[node + 1];
+      for (int i = _dependentOffsets[node]; i < end; i++) {
+        final int dependent = _dependents[i];
+        if (!nodes.get(dependent)) {
+          nodes.set(dependent);
+          if (sp == stack.length) {
+            stack = Arrays.copyOf(stack, sp * 2);
+          }
+          stack[sp++] = dependent;
+        }
+      }
+    }
+  }
+
+  /**
+   * Creates a graph containing only a subset of the nodes.
+   * <p>
+   * The roots of the new graph are the nodes in the subset that have no dependents within the subset, and its terminal outputs are those of the original
+   * graph that are produced by nodes in the subset. Nodes in the subset may still reference input nodes that are not part of it; the values they produce
+   * are given by {@link #getExternalInputs}.
+   *
+   * @param nodes the node indices to include, not null
+   * @return the graph, not null
+   */
+  public DependencyGraph createSubGraph(final BitSet nodes) {
+    final Map<ValueSpecification, Set<ValueRequirement>> graphTerminals = _graph.getTerminalOutputs();
+    final Map<ValueSpecification, Set<ValueRequirement>> terminals = new HashMap<>();
+    final List<DependencyNode> roots = new ArrayList<>();
+    nodeLoop: for (int n = nodes.nextSetBit(0); n >= 0; n = nodes.nextSetBit(n + 1)) { // CSIGNORE
+      final DependencyNode node = _nodes[n];
+      final int outputs = node.getOutputCount();
+      for (int i = 0; i < outputs; i++) {
+        final ValueSpecification output = node.getOutputValue(i);
+        final Set<ValueRequirement> requirements = graphTerminals.get(output);
+        if (requirements != null) {
+          terminals.put(output, requirements);
+        }
+      }
+      final int end = _dependentOffsets[n + 1];
+      for (int i = _dependentOffsets[n]; i < end; i++) {
+        if (nodes.get(_dependents[i])) {
+          continue nodeLoop;
+        }
+      }
+      roots.add(node);
+    }
+    return new DependencyGraphImpl(_graph.getCalculationConfigurationName(), roots, nodes.cardinality(), terminals);
+  }
+
+  /**
+   * Returns the values consumed by a subset of the nodes that are produced by nodes outside of it.
+   *
+   * @param nodes the node indices, not null
+   * @return the input values, not null
+   */
+  public Set<ValueSpecification> getExternalInputs(final BitSet nodes) {
+    final Set<ValueSpecification> inputs = new HashSet<>();
+    for (int n = nodes.nextSetBit(0); n >= 0; n = nodes.nextSetBit(n + 1)) {
+      final DependencyNode node = _nodes[n];
+      final int count = node.getInputCount();
+      for (int i = 0; i < count; i++) {
+        final ValueSpecification input = node.getInputValue(i);
+        final int producer = _producers.getInt(input);
+        if (producer < 0 || !nodes.get(producer)) {
+          inputs.add(input);
+        }
+      }
+    }
+    return inputs;
+  }
+
+}
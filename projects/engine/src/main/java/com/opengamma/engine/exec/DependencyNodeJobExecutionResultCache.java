@@ -19,6 +19,21 @@ public class DependencyNodeJobExecutionResultCache {
 
   private final Map<ValueSpecification, DependencyNodeJobExecutionResult> _resultsBySpec = new ConcurrentHashMap<>();
 
+  /**
+   * Creates an empty cache.
+   */
+  public DependencyNodeJobExecutionResultCache() {
+  }
+
+  /**
+   * Creates a cache holding the same results as another.
+   *
+   * @param copyFrom the cache to copy, not null
+   */
+  public DependencyNodeJobExecutionResultCache(final DependencyNodeJobExecutionResultCache copyFrom) {
+    _resultsBySpec.putAll(copyFrom._resultsBySpec);
+  }
+
   public void put(final ValueSpecification valueSpec, final DependencyNodeJobExecutionResult jobExecutionResult) {
     _resultsBySpec.put(valueSpec, jobExecutionResult);
   }
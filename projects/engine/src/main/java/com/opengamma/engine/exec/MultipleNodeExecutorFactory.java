@@ -10,6 +10,7 @@ import org.springframework.beans.factory.InitializingBean;
 import com.opengamma.engine.calcnode.stats.FunctionCosts;
 import com.opengamma.engine.exec.plan.CachingExecutionPlanner;
 import com.opengamma.engine.exec.plan.MultipleNodeExecutionPlanner;
+import com.opengamma.engine.exec.stats.JobDurationStatistics;
 
 import net.sf.ehcache.CacheManager;
 
@@ -25,6 +26,7 @@ public class MultipleNodeExecutorFactory extends PlanBasedGraphExecutorFactory i
   private MultipleNodeExecutorFactory(final MultipleNodeExecutionPlanner planner) {
     super(planner);
     _basePlanner = planner;
+    setJobDurationStatistics(new JobDurationStatistics());
   }
 
   public MultipleNodeExecutorFactory() {
@@ -153,6 +155,20 @@ public class MultipleNodeExecutorFactory extends PlanBasedGraphExecutorFactory i
     }
   }
 
+  /**
+   * Invalidates any cached execution plans (if caching is enabled) for a single calculation configuration. If the function costs for that
+   * configuration have changed significantly then this should be called so that its graphs are re-planned, leaving the plans for other
+   * configurations in place.
+   *
+   * @param calculationConfiguration the calculation configuration name, not null
+   */
+  public void invalidateCache(final String calculationConfiguration) {
+    final CachingExecutionPlanner planner = _cachingPlanner;
+    if (planner != null) {
+      planner.invalidate(calculationConfiguration);
+    }
+  }
+
   // InitializingBean
 
   @Override
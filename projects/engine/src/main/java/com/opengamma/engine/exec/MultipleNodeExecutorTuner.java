@@ -6,6 +6,7 @@
 package com.opengamma.engine.exec;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 
 import org.fudgemsg.FudgeMsg;
@@ -19,8 +20,12 @@ import com.opengamma.engine.calcnode.Capability;
 import com.opengamma.engine.calcnode.JobDispatcher;
 import com.opengamma.engine.calcnode.PlatformCapabilities;
 import com.opengamma.engine.calcnode.stats.CalculationNodeStatistics;
+import com.opengamma.engine.calcnode.stats.FunctionCosts;
+import com.opengamma.engine.calcnode.stats.FunctionCostsPerConfiguration;
+import com.opengamma.engine.calcnode.stats.FunctionInvocationStatistics;
 import com.opengamma.engine.calcnode.stats.TotallingNodeStatisticsGatherer;
 import com.opengamma.engine.exec.stats.GraphExecutionStatistics;
+import com.opengamma.engine.exec.stats.JobDurationStatistics;
 import com.opengamma.engine.exec.stats.TotallingGraphStatisticsGathererProvider;
 import com.opengamma.util.ArgumentChecker;
 
@@ -33,6 +38,13 @@ import com.opengamma.util.ArgumentChecker;
  * Set maximum concurrency to the average node count of the job invokers. Requires a {@link JobDispatcher}.
  * </p>
  * <p>
+ * Invalidate the cached plans of a calculation configuration when the cost of any of its functions has moved by more than the drift threshold
+ * since the plans were made. Requires {@link FunctionCosts}.
+ * </p>
+ * <p>
+ * Decay the graph execution, job dispatch and job duration statistics so that they follow recent behaviour.
+ * </p>
+ * <p>
  * TODO: [ENG-200] Tuning of job size and cost parameters
  * </p>
  */
@@ -51,6 +63,9 @@ public class MultipleNodeExecutorTuner implements Runnable {
   private TotallingNodeStatisticsGatherer _jobDispatchStatistics;
   private double _statisticDecayRate = 0.1; // 10% decay every schedule
   private int _statisticsKeepAlive = 300; // keep for 5 minutes
+  private FunctionCosts _functionCosts;
+  private double _costDriftThreshold = 0.5; // re-plan after a 50% change
+  private final Map<String, Map<String, double[]>> _plannedCosts = new HashMap<>();
 
   /**
    * @param factory The factory to tune
@@ -104,6 +119,66 @@ public class MultipleNodeExecutorTuner implements Runnable {
     return _statisticDecayRate;
   }
 
+  public void setFunctionCosts(final FunctionCosts functionCosts) {
+    _functionCosts = functionCosts;
+  }
+
+  protected FunctionCosts getFunctionCosts() {
+    return _functionCosts;
+  }
+
+  /**
+   * Sets the relative change in a function's invocation or data cost that will cause the plans for its calculation configuration to be
+   * invalidated.
+   *
+   * @param costDriftThreshold the relative change, for example 0.5 to re-plan when a cost has moved by more than 50%
+   */
+  public void setCostDriftThreshold(final double costDriftThreshold) {
+    ArgumentChecker.isTrue(costDriftThreshold > 0, "costDriftThreshold");
+    _costDriftThreshold = costDriftThreshold;
+  }
+
+  protected double getCostDriftThreshold() {
+    return _costDriftThreshold;
+  }
+
+  private boolean isDrift(final double planned, final double current) {
+    return Math.abs(current - planned) > getCostDriftThreshold() * Math.max(Math.abs(planned), 1.0);
+  }
+
+  /**
+   * Compares the current function costs for a configuration against those seen when its plans were last invalidated. Functions seen for the
+   * first time are assumed to be the costs the current plans were made with.
+   *
+   * @param configuration the calculation configuration name
+   * @return true if the plans for the configuration should be invalidated
+   */
+  private boolean checkCostDrift(final String configuration) {
+    final FunctionCostsPerConfiguration costs = getFunctionCosts().getStatistics(configuration);
+    Map<String, double[]> planned = _plannedCosts.get(configuration);
+    if (planned == null) {
+      planned = new HashMap<>();
+      _plannedCosts.put(configuration, planned);
+    }
+    final Map<String, double[]> current = new HashMap<>();
+    boolean drift = false;
+    for (final String functionId : costs.getFunctions()) {
+      final FunctionInvocationStatistics statistics = costs.getStatistics(functionId);
+      final double[] cost = new double[] {statistics.getInvocationCost(), statistics.getDataInputCost(), statistics.getDataOutputCost() };
+      current.put(functionId, cost);
+      final double[] plannedCost = planned.get(functionId);
+      if (plannedCost == null) {
+        planned.put(functionId, cost);
+      } else if (isDrift(plannedCost[0], cost[0]) || isDrift(plannedCost[1], cost[1]) || isDrift(plannedCost[2], cost[2])) {
+        drift = true;
+      }
+    }
+    if (drift) {
+      _plannedCosts.put(configuration, current);
+    }
+    return drift;
+  }
+
   /**
    * Makes one tuning adjustment.
    */
@@ -137,6 +212,15 @@ public class MultipleNodeExecutorTuner implements Runnable {
         getFactory().invalidateCache();
       }
     }
+    if (getFunctionCosts() != null) {
+      LOGGER.debug("Processing function costs");
+      for (final String configuration : getFunctionCosts().getConfigurations()) {
+        if (checkCostDrift(configuration)) {
+          LOGGER.info("Function costs for {} have drifted, invalidating execution plans", configuration);
+          getFactory().invalidateCache(configuration);
+        }
+      }
+    }
     if (getGraphExecutionStatistics() != null) {
       LOGGER.debug("Processing graph execution statistics");
       for (final TotallingGraphStatisticsGathererProvider.Statistics gatherer : getGraphExecutionStatistics().getViewStatistics()) {
@@ -146,6 +230,11 @@ public class MultipleNodeExecutorTuner implements Runnable {
       }
       getGraphExecutionStatistics().dropStatisticsBefore(Instant.now().minusSeconds(getStatisticsKeepAlive()));
     }
+    final JobDurationStatistics jobDurationStatistics = getFactory().getJobDurationStatistics();
+    if (jobDurationStatistics != null) {
+      LOGGER.debug("Processing job duration statistics");
+      jobDurationStatistics.decay(getStatisticsDecayRate());
+    }
     if (getJobDispatchStatistics() != null) {
       LOGGER.debug("Processing job dispatch statistics");
       for (final CalculationNodeStatistics statistics : getJobDispatchStatistics().getNodeStatistics()) {
@@ -11,6 +11,8 @@ import java.util.Set;
 import com.opengamma.engine.depgraph.DependencyGraph;
 import com.opengamma.engine.exec.plan.GraphExecutionPlan;
 import com.opengamma.engine.exec.plan.GraphExecutionPlanner;
+import com.opengamma.engine.exec.stats.JobDurationStatistics;
+import com.opengamma.engine.exec.trace.CycleTrace;
 import com.opengamma.engine.function.FunctionParameters;
 import com.opengamma.engine.value.ValueSpecification;
 import com.opengamma.engine.view.cycle.SingleComputationCycle;
@@ -23,12 +25,18 @@ public class PlanBasedGraphExecutor implements DependencyGraphExecutor {
 
   private final GraphExecutionPlanner _planner;
   private final SingleComputationCycle _cycle;
+  private final JobDurationStatistics _jobDurationStatistics;
 
   public PlanBasedGraphExecutor(final GraphExecutionPlanner planner, final SingleComputationCycle cycle) {
+    this(planner, cycle, null);
+  }
+
+  public PlanBasedGraphExecutor(final GraphExecutionPlanner planner, final SingleComputationCycle cycle, final JobDurationStatistics jobDurationStatistics) {
     ArgumentChecker.notNull(planner, "planner");
     ArgumentChecker.notNull(cycle, "cycle");
     _planner = planner;
     _cycle = cycle;
+    _jobDurationStatistics = jobDurationStatistics;
   }
 
   protected GraphExecutionPlanner getPlanner() {
@@ -39,14 +47,23 @@ public class PlanBasedGraphExecutor implements DependencyGraphExecutor {
     return _cycle;
   }
 
+  protected JobDurationStatistics getJobDurationStatistics() {
+    return _jobDurationStatistics;
+  }
+
   // DependencyGraphExecutor
 
   @Override
   public DependencyGraphExecutionFuture execute(final DependencyGraph graph, final Set<ValueSpecification> sharedValues,
       final Map<ValueSpecification, FunctionParameters> parameters) {
+    final CycleTrace trace = getCycle().getTrace();
+    final long start = trace != null ? System.nanoTime() : 0;
     final GraphExecutionPlan plan = getPlanner().createPlan(graph, getCycle().getViewProcessContext().getExecutionLogModeSource(),
         getCycle().getFunctionInitId(), sharedValues, parameters);
-    final PlanExecutor executor = new PlanExecutor(getCycle(), plan);
+    if (trace != null) {
+      trace.record(CycleTrace.PLAN, graph.getCalculationConfigurationName() + " plan", start);
+    }
+    final PlanExecutor executor = new PlanExecutor(getCycle(), plan, getJobDurationStatistics());
     executor.start();
     return executor;
   }
@@ -6,6 +6,7 @@
 package com.opengamma.engine.exec;
 
 import com.opengamma.engine.exec.plan.GraphExecutionPlanner;
+import com.opengamma.engine.exec.stats.JobDurationStatistics;
 import com.opengamma.engine.view.cycle.SingleComputationCycle;
 import com.opengamma.util.ArgumentChecker;
 
@@ -15,6 +16,7 @@ import com.opengamma.util.ArgumentChecker;
 public class PlanBasedGraphExecutorFactory implements DependencyGraphExecutorFactory {
 
   private GraphExecutionPlanner _planner;
+  private JobDurationStatistics _jobDurationStatistics;
 
   public PlanBasedGraphExecutorFactory(final GraphExecutionPlanner planner) {
     setPlanner(planner);
@@ -29,11 +31,24 @@ public class PlanBasedGraphExecutorFactory implements DependencyGraphExecutorFac
     return _planner;
   }
 
+  /**
+   * Sets the statistics to update with the predicted and actual duration of each executed job.
+   *
+   * @param jobDurationStatistics the statistics, or null to not record them
+   */
+  public void setJobDurationStatistics(final JobDurationStatistics jobDurationStatistics) {
+    _jobDurationStatistics = jobDurationStatistics;
+  }
+
+  public JobDurationStatistics getJobDurationStatistics() {
+    return _jobDurationStatistics;
+  }
+
   // DependencyGraphExecutorFactory
 
   @Override
   public DependencyGraphExecutor createExecutor(final SingleComputationCycle cycle) {
-    return new PlanBasedGraphExecutor(getPlanner(), cycle);
+    return new PlanBasedGraphExecutor(getPlanner(), cycle, getJobDurationStatistics());
   }
 
 }
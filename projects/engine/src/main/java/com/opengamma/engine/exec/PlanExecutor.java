@@ -24,6 +24,8 @@ import com.opengamma.engine.calcnode.JobResultReceiver;
 import com.opengamma.engine.exec.plan.ExecutingGraph;
 import com.opengamma.engine.exec.plan.GraphExecutionPlan;
 import com.opengamma.engine.exec.stats.GraphExecutorStatisticsGatherer;
+import com.opengamma.engine.exec.stats.JobDurationStatistics;
+import com.opengamma.engine.exec.trace.CycleTrace;
 import com.opengamma.engine.view.cycle.SingleComputationCycle;
 import com.opengamma.util.ArgumentChecker;
 import com.opengamma.util.async.Cancelable;
@@ -76,6 +78,7 @@ public class PlanExecutor implements JobResultReceiver, DependencyGraphExecution
 
   private final SingleComputationCycle _cycle;
   private final ExecutingGraph _graph;
+  private final JobDurationStatistics _jobDurationStatistics;
   private final AtomicInteger _notifyLock = new AtomicInteger();
   private Map<CalculationJobSpecification, ExecutingJob> _executing = new HashMap<>();
   private State _state;
@@ -85,10 +88,22 @@ public class PlanExecutor implements JobResultReceiver, DependencyGraphExecution
   private Listener _listener;
 
   public PlanExecutor(final SingleComputationCycle cycle, final GraphExecutionPlan plan) {
+    this(cycle, plan, null);
+  }
+
+  /**
+   * Creates a new executor.
+   *
+   * @param cycle the cycle the plan is being executed for, not null
+   * @param plan the plan to execute, not null
+   * @param jobDurationStatistics the statistics to update with the predicted and actual duration of each job, or null to not record them
+   */
+  public PlanExecutor(final SingleComputationCycle cycle, final GraphExecutionPlan plan, final JobDurationStatistics jobDurationStatistics) {
     ArgumentChecker.notNull(cycle, "cycle");
     ArgumentChecker.notNull(plan, "plan");
     _cycle = cycle;
-    _graph = plan.createExecution(cycle.getUniqueId(), cycle.getValuationTime(), cycle.getVersionCorrection());
+    _graph = plan.createExecution(cycle.getComputationCacheId(), cycle.getValuationTime(), cycle.getVersionCorrection());
+    _jobDurationStatistics = jobDurationStatistics;
     _state = State.NOT_STARTED;
     plan.reportStatistics(getStatisticsGatherer());
   }
@@ -141,7 +156,12 @@ public class PlanExecutor implements JobResultReceiver, DependencyGraphExecution
         storeTailJobs(job);
       }
     }
+    final CycleTrace trace = getCycle().getTrace();
+    final long start = trace != null ? trace.jobDispatching(job) : 0;
     final Cancelable handle = getCycle().getViewProcessContext().getComputationJobDispatcher().dispatchJob(job, this);
+    if (trace != null) {
+      trace.jobDispatched(job, start);
+    }
     executing.setCancel(handle);
     synchronized (this) {
       if (_executing == null) {
@@ -233,6 +253,10 @@ public class PlanExecutor implements JobResultReceiver, DependencyGraphExecution
 
   @Override
   public void resultReceived(final CalculationJobResult result) {
+    final CycleTrace trace = getCycle().getTrace();
+    if (trace != null) {
+      trace.jobCompleted(result);
+    }
     final ExecutingJob job;
     synchronized (this) {
       if (_executing == null) {
@@ -249,6 +273,9 @@ public class PlanExecutor implements JobResultReceiver, DependencyGraphExecution
       _executionTime += result.getDuration();
     }
     final ExecutingGraph graph = getGraph();
+    if (_jobDurationStatistics != null) {
+      _jobDurationStatistics.recordJob(graph.getEstimatedCost(result.getSpecification()), result.getDuration());
+    }
     _notifyLock.incrementAndGet();
     graph.jobCompleted(result.getSpecification());
     LOGGER.debug("{} completed for {}", result, this);
@@ -14,6 +14,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.opengamma.engine.exec.MultipleNodeExecutorFactory;
+import com.opengamma.engine.exec.stats.JobDurationStatistics;
 
 /**
  * MultipleNodeExecutorMBean implementation.
@@ -22,6 +23,8 @@ public final class MultipleNodeExecutor implements MultipleNodeExecutorMBean {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(MultipleNodeExecutor.class);
 
+  private static final JobDurationStatistics EMPTY_STATISTICS = new JobDurationStatistics();
+
   private final MultipleNodeExecutorFactory _underlying;
 
   private MultipleNodeExecutor(final MultipleNodeExecutorFactory underlying) {
@@ -99,4 +102,39 @@ public final class MultipleNodeExecutor implements MultipleNodeExecutorMBean {
     getUnderlying().invalidateCache();
   }
 
+  private JobDurationStatistics getJobDurationStatistics() {
+    final JobDurationStatistics statistics = getUnderlying().getJobDurationStatistics();
+    return statistics != null ? statistics : EMPTY_STATISTICS;
+  }
+
+  @Override
+  public long getCompletedJobs() {
+    return getJobDurationStatistics().getCompletedJobs();
+  }
+
+  @Override
+  public double getAveragePredictedJobDuration() {
+    return getJobDurationStatistics().getAveragePredictedDuration();
+  }
+
+  @Override
+  public double getAverageActualJobDuration() {
+    return getJobDurationStatistics().getAverageActualDuration();
+  }
+
+  @Override
+  public double getAverageJobDurationError() {
+    return getJobDurationStatistics().getAverageAbsoluteError();
+  }
+
+  @Override
+  public double getActualToPredictedJobDurationRatio() {
+    return getJobDurationStatistics().getActualToPredictedRatio();
+  }
+
+  @Override
+  public void resetJobDurationStatistics() {
+    getJobDurationStatistics().reset();
+  }
+
 }
@@ -21,5 +21,11 @@ public interface MultipleNodeExecutorMBean {
   long getMaximumJobCost();
   void setMaximumConcurrency(int maximumConcurrency);
   int getMaximumConcurrency();
+  long getCompletedJobs();
+  double getAveragePredictedJobDuration();
+  double getAverageActualJobDuration();
+  double getAverageJobDurationError();
+  double getActualToPredictedJobDurationRatio();
+  void resetJobDurationStatistics();
 
 }
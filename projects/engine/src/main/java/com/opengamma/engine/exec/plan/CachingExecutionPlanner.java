@@ -111,6 +111,25 @@ public class CachingExecutionPlanner implements GraphExecutionPlanner {
     }
   }
 
+  /**
+   * Removes the cached plans for graphs of a single calculation configuration.
+   *
+   * @param calculationConfiguration the calculation configuration name, not null
+   */
+  public synchronized void invalidate(final String calculationConfiguration) {
+    ArgumentChecker.notNull(calculationConfiguration, "calculationConfiguration");
+    if (_cache != null) {
+      int count = 0;
+      for (final Object key : _cache.getKeys()) {
+        if (calculationConfiguration.equals(((CacheKey) key)._graph.getCalculationConfigurationName())) {
+          _cache.remove(key);
+          count++;
+        }
+      }
+      LOGGER.info("Cleared {} execution plans for {}", count, calculationConfiguration);
+    }
+  }
+
   // GraphExecutionPlanner
 
   @Override
@@ -139,6 +158,4 @@ public class CachingExecutionPlanner implements GraphExecutionPlanner {
     _cache.getCacheManager().removeCache(CACHE_NAME);
   }
 
-  // TODO [ENG-269] If the function costs change significantly, invalidate the execution plan cache.
-
 }
@@ -5,10 +5,10 @@
  */
 package com.opengamma.engine.exec.plan;
 
-import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 
 import org.threeten.bp.Instant;
 
@@ -76,13 +76,56 @@ public class ExecutingGraph {
 
   }
 
+  /**
+   * A planned job that is available for execution. Jobs on the critical path are dispatched first; jobs of equal priority are dispatched most
+   * recently released first.
+   */
+  private static final class ExecutableJobInfo {
+
+    private static final Comparator<ExecutableJobInfo> PRIORITY = new Comparator<ExecutableJobInfo>() {
+      @Override
+      public int compare(final ExecutableJobInfo a, final ExecutableJobInfo b) {
+        final int c = Long.compare(b._job.getCriticalPathCost(), a._job.getCriticalPathCost());
+        if (c != 0) {
+          return c;
+        }
+        return Long.compare(b._sequence, a._sequence);
+      }
+    };
+
+    private final PlannedJob _job;
+    private final long _sequence;
+
+    ExecutableJobInfo(final PlannedJob job, final long sequence) {
+      _job = job;
+      _sequence = sequence;
+    }
+
+  }
+
+  /**
+   * Information about a job that has been returned for execution but has not yet completed.
+   */
+  private static final class ExecutingJobInfo {
+
+    private final PlannedJob _job;
+    private final BlockedJobInfo[] _dependents;
+
+    ExecutingJobInfo(final PlannedJob job, final BlockedJobInfo[] dependents) {
+      _job = job;
+      _dependents = dependents;
+    }
+
+  }
+
   private final GraphExecutionPlan _plan;
   private final UniqueId _cycleId;
   private final Instant _valuationTime;
   private final VersionCorrection _resolverVersionCorrection;
-  private final List<PlannedJob> _executable;
+  private final PriorityQueue<ExecutableJobInfo> _executable;
   private final Map<PlannedJob, BlockedJobInfo> _blocked;
-  private final Map<CalculationJobSpecification, BlockedJobInfo[]> _executing;
+  private final Map<CalculationJobSpecification, ExecutingJobInfo> _executing;
+  private long _executableSequence;
 
   /**
    * Creates a new execution state.
@@ -106,7 +149,10 @@ public class ExecutingGraph {
     _cycleId = cycleId;
     _valuationTime = valuationTime;
     _resolverVersionCorrection = resolverVersionCorrection;
-    _executable = new ArrayList<>(plan.getLeafJobs());
+    _executable = new PriorityQueue<>(Math.max(plan.getLeafJobs().size(), 1), ExecutableJobInfo.PRIORITY);
+    for (final PlannedJob job : plan.getLeafJobs()) {
+      addExecutable(job);
+    }
     _blocked = new HashMap<>();
     _executing = new HashMap<>();
   }
@@ -187,9 +233,9 @@ public class ExecutingGraph {
         }
         dependentsInfo[i] = dependentInfo;
       }
-      _executing.put(actual.getSpecification(), dependentsInfo);
+      _executing.put(actual.getSpecification(), new ExecutingJobInfo(planned, dependentsInfo));
     } else {
-      _executing.put(actual.getSpecification(), null);
+      _executing.put(actual.getSpecification(), new ExecutingJobInfo(planned, null));
     }
   }
 
@@ -237,20 +283,41 @@ public class ExecutingGraph {
     return actual;
   }
 
+  private void addExecutable(final PlannedJob job) {
+    _executable.add(new ExecutableJobInfo(job, _executableSequence++));
+  }
+
   /**
    * Returns the next job that can be executed, or null if there are none available for execution.
    * <p>
-   * A null return may happen if either the graph has completed execution, or there are jobs pending.
+   * A null return may happen if either the graph has completed execution, or there are jobs pending. If several jobs are available, the one
+   * with the highest {@link PlannedJob#getCriticalPathCost} is returned first.
    *
    * @return an executable job, if one is available
    */
   public synchronized CalculationJob nextExecutableJob() {
-    final int index = _executable.size() - 1;
-    if (index < 0) {
+    final ExecutableJobInfo executable = _executable.poll();
+    if (executable == null) {
       return null;
     }
-    final PlannedJob planned = _executable.remove(index);
-    return createCalculationJob(planned);
+    return createCalculationJob(executable._job);
+  }
+
+  /**
+   * Returns the cost the planner estimated for a job previously returned by {@link #nextExecutableJob} (either directly or as a job's tail).
+   * <p>
+   * This must be called before the job is signaled as complete.
+   *
+   * @param jobSpec
+   *          the job, not null
+   * @return the estimated cost in nanoseconds, or 0 if not known
+   */
+  public synchronized long getEstimatedCost(final CalculationJobSpecification jobSpec) {
+    final ExecutingJobInfo executing = _executing.get(jobSpec);
+    if (executing == null) {
+      return 0;
+    }
+    return executing._job.getEstimatedCost();
   }
 
   /**
@@ -271,12 +338,12 @@ public class ExecutingGraph {
    *          the job that has completed, not null
    */
   public synchronized void jobCompleted(final CalculationJobSpecification jobSpec) {
-    final BlockedJobInfo[] blockedJobs = _executing.remove(jobSpec);
-    if (blockedJobs != null) {
-      for (final BlockedJobInfo blockedJob : blockedJobs) {
+    final ExecutingJobInfo executing = _executing.remove(jobSpec);
+    if (executing != null && executing._dependents != null) {
+      for (final BlockedJobInfo blockedJob : executing._dependents) {
         if (blockedJob.unblock()) {
           final PlannedJob job = blockedJob.getJob();
-          _executable.add(job);
+          addExecutable(job);
           _blocked.remove(job);
         }
       }
@@ -93,6 +93,12 @@ import com.opengamma.engine.view.ExecutionLogMode;
    */
   private long _startTime = -1;
 
+  /**
+   * The estimated cost of this fragment and the most expensive chain of fragments that consume its outputs, used to dispatch jobs on the
+   * critical path first.
+   */
+  private long _criticalPathCost = -1;
+
   /**
    * The execution group identifier, written by the graph coloring algorithm. If an output fragment has the same execution identifier then it will be streamed
    * to the same node.
@@ -221,6 +227,28 @@ import com.opengamma.engine.view.ExecutionLogMode;
     return latest;
   }
 
+  /**
+   * Returns the estimated cost of this fragment and the most expensive chain of fragments that consume its outputs.
+   * <p>
+   * This must be called for all fragments prior to job construction as the output fragments are discarded when the job is created.
+   *
+   * @return the critical path cost
+   */
+  public long getCriticalPathCost() {
+    if (_criticalPathCost >= 0) {
+      return _criticalPathCost;
+    }
+    long longest = 0;
+    for (final GraphFragment output : getOutputFragments()) {
+      final long cost = output.getCriticalPathCost();
+      if (cost > longest) {
+        longest = cost;
+      }
+    }
+    _criticalPathCost = getJobCost() + longest;
+    return _criticalPathCost;
+  }
+
   public int getExecutionId() {
     return _executionId;
   }
@@ -496,7 +524,7 @@ import com.opengamma.engine.view.ExecutionLogMode;
     } else {
       dependentJobs = null;
     }
-    return new PlannedJob(getInputFragments().size(), items, hint, tailJobs, dependentJobs);
+    return new PlannedJob(getInputFragments().size(), items, hint, tailJobs, dependentJobs, getJobCost(), getCriticalPathCost());
   }
 
   public PlannedJob getOrCreateJob(final GraphFragmentContext context) {
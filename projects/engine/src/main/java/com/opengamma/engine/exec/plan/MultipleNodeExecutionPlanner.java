@@ -42,6 +42,9 @@ import com.opengamma.util.tuple.Pairs;
  * <p>
  * Job cost estimates are in nanoseconds. These are using the (normalized) time estimate for the function execution and the estimated input/output data volumes
  * using an approximate data rate. The actual jobs produced may take longer to execute because of additional scheduling and housekeeping overheads.
+ * <p>
+ * Each planned job carries its own estimate and that of the most expensive chain of jobs depending on it so that the executing graph can dispatch jobs on the
+ * critical path first.
  */
 public class MultipleNodeExecutionPlanner implements GraphExecutionPlanner {
 
@@ -490,6 +493,10 @@ public class MultipleNodeExecutionPlanner implements GraphExecutionPlanner {
     } while (true);
     findTailFragments(allFragments);
     exportPrivateValues(context, allFragments);
+    for (final GraphFragment fragment : allFragments) {
+      // Rank before any jobs are created so that leaf and newly unblocked jobs are dispatched critical path first
+      fragment.getCriticalPathCost();
+    }
     long totalSize = 0;
     long totalInvocationCost = 0;
     long totalDataCost = 0;
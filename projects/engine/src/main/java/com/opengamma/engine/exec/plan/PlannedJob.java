@@ -29,14 +29,34 @@ public class PlannedJob implements Serializable {
   private final CacheSelectHint _cacheSelectHint;
   private final PlannedJob[] _tails;
   private final PlannedJob[] _dependents;
+  private final long _estimatedCost;
+  private final long _criticalPathCost;
 
   public PlannedJob(final int inputJobs, final List<CalculationJobItem> items, final CacheSelectHint cacheSelectHint, final PlannedJob[] tails,
       final PlannedJob[] dependents) {
+    this(inputJobs, items, cacheSelectHint, tails, dependents, 0, 0);
+  }
+
+  /**
+   * Creates a planned job with cost estimates.
+   *
+   * @param inputJobs the number of input jobs that this job is dependent on
+   * @param items the job items, not null
+   * @param cacheSelectHint the cache select hint, not null
+   * @param tails the jobs that can run as tails to this job, or null for none
+   * @param dependents the jobs that may become runnable after this job completes, or null for none
+   * @param estimatedCost the estimated cost of this job in nanoseconds, or 0 if not known
+   * @param criticalPathCost the estimated cost in nanoseconds of this job and the most expensive chain of jobs that depend on it, or 0 if not known
+   */
+  public PlannedJob(final int inputJobs, final List<CalculationJobItem> items, final CacheSelectHint cacheSelectHint, final PlannedJob[] tails,
+      final PlannedJob[] dependents, final long estimatedCost, final long criticalPathCost) {
     _inputJobs = inputJobs;
     _items = items;
     _cacheSelectHint = cacheSelectHint;
     _tails = tails;
     _dependents = dependents;
+    _estimatedCost = estimatedCost;
+    _criticalPathCost = criticalPathCost;
   }
 
   /**
@@ -86,6 +106,25 @@ public class PlannedJob implements Serializable {
     return _dependents;
   }
 
+  /**
+   * Returns the estimated cost of the job, as predicted by the planner.
+   *
+   * @return the estimated cost in nanoseconds, or 0 if not known
+   */
+  public long getEstimatedCost() {
+    return _estimatedCost;
+  }
+
+  /**
+   * Returns the estimated cost of the job and the most expensive chain of jobs that depend on it. Jobs with the highest value are on the
+   * critical path of the graph and should be dispatched first.
+   *
+   * @return the critical path cost in nanoseconds, or 0 if not known
+   */
+  public long getCriticalPathCost() {
+    return _criticalPathCost;
+  }
+
   /**
    * Creates a concrete calculation job that can be executed.
    * <p>
@@ -0,0 +1,117 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+
+package com.opengamma.engine.exec.stats;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.threeten.bp.Instant;
+
+/**
+ * Holds statistics comparing the job durations predicted by an execution planner with the durations reported by the calculation nodes.
+ */
+public class JobDurationStatistics {
+
+  private final AtomicLong _completedJobs = new AtomicLong();
+  private final AtomicLong _predictedTime = new AtomicLong();
+  private final AtomicLong _actualTime = new AtomicLong();
+  private final AtomicLong _absoluteError = new AtomicLong();
+  private volatile Instant _lastCompletedTime;
+
+  public long getCompletedJobs() {
+    return _completedJobs.get();
+  }
+
+  public long getPredictedTime() {
+    return _predictedTime.get();
+  }
+
+  public long getActualTime() {
+    return _actualTime.get();
+  }
+
+  public long getAbsoluteError() {
+    return _absoluteError.get();
+  }
+
+  public Instant getLastCompletedTime() {
+    return _lastCompletedTime;
+  }
+
+  public double getAveragePredictedDuration() {
+    final long jobs = getCompletedJobs();
+    if (jobs > 0) {
+      return (double) getPredictedTime() / (double) jobs / 1e9;
+    }
+    return 0;
+  }
+
+  public double getAverageActualDuration() {
+    final long jobs = getCompletedJobs();
+    if (jobs > 0) {
+      return (double) getActualTime() / (double) jobs / 1e9;
+    }
+    return 0;
+  }
+
+  public double getAverageAbsoluteError() {
+    final long jobs = getCompletedJobs();
+    if (jobs > 0) {
+      return (double) getAbsoluteError() / (double) jobs / 1e9;
+    }
+    return 0;
+  }
+
+  /**
+   * Returns the ratio of actual to predicted time. A value above 1 means that jobs take longer than the planner expects.
+   *
+   * @return the ratio, or 0 if no jobs have completed
+   */
+  public double getActualToPredictedRatio() {
+    final long predicted = getPredictedTime();
+    if (predicted > 0) {
+      return (double) getActualTime() / (double) predicted;
+    }
+    return 0;
+  }
+
+  /**
+   * Records a completed job. Jobs without an estimate, for example from a planner that does not cost its jobs, are ignored.
+   *
+   * @param predictedDuration the duration estimated by the planner in nanoseconds, or 0 if not known
+   * @param actualDuration the duration reported by the calculation node in nanoseconds
+   */
+  public void recordJob(final long predictedDuration, final long actualDuration) {
+    if (predictedDuration <= 0) {
+      return;
+    }
+    _completedJobs.incrementAndGet();
+    _predictedTime.addAndGet(predictedDuration);
+    _actualTime.addAndGet(actualDuration);
+    _absoluteError.addAndGet(Math.abs(actualDuration - predictedDuration));
+    _lastCompletedTime = Instant.now();
+  }
+
+  public void reset() {
+    _completedJobs.set(0);
+    _predictedTime.set(0);
+    _actualTime.set(0);
+    _absoluteError.set(0);
+    _lastCompletedTime = null;
+  }
+
+  private static void decay(final AtomicLong value, final double factor) {
+    value.addAndGet(-(long) (value.get() * factor));
+  }
+
+  public void decay(final double factor) {
+    decay(_completedJobs, factor);
+    decay(_predictedTime, factor);
+    decay(_actualTime, factor);
+    decay(_absoluteError, factor);
+  }
+
+}
@@ -0,0 +1,547 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.exec.trace;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+
+import com.opengamma.engine.calcnode.CalculationJob;
+import com.opengamma.engine.calcnode.CalculationJobResult;
+import com.opengamma.engine.calcnode.CalculationJobSpecification;
+import com.opengamma.id.UniqueId;
+import com.opengamma.util.ArgumentChecker;
+
+/**
+ * Records where the wall-clock time of a single view cycle is spent.
+ * <p>
+ * Each phase of the cycle - preparing the inputs, planning, dispatching jobs, executing them on the calculation nodes, cache reads and writes, and
+ * assembling the results - is recorded as a span on the thread, or calculation node, it ran on. Recording a span costs a call to {@link System#nanoTime} and
+ * a queue insertion, and nothing is recorded at all for a cycle that isn't being traced.
+ * <p>
+ * The job timings reported by calculation nodes are placed on the timeline of the process that dispatched the job, so jobs executed by remote nodes appear
+ * with their queueing and execution time even though their internal spans are not available. While a trace is {@link #activate active} calculation nodes in
+ * the same process record their function invocations and cache operations into it.
+ * <p>
+ * The recorded trace can be written in the Chrome trace event format, which can be loaded into {@code chrome://tracing}, Perfetto or other flame graph tools,
+ * and summarized as the critical path through the executed jobs.
+ */
+public final class CycleTrace {
+
+  /**
+   * Category for the preparation of the cycle inputs, such as market data.
+   */
+  public static final String PREPARE = "prepare";
+  /**
+   * Category for building execution plans.
+   */
+  public static final String PLAN = "plan";
+  /**
+   * Category for submitting jobs to the dispatcher.
+   */
+  public static final String DISPATCH = "dispatch";
+  /**
+   * Category for the time between a job being dispatched and starting to execute on a calculation node.
+   */
+  public static final String QUEUE = "queue";
+  /**
+   * Category for the execution of a job on a calculation node.
+   */
+  public static final String JOB = "job";
+  /**
+   * Category for a function invocation.
+   */
+  public static final String FUNCTION = "function";
+  /**
+   * Category for computation cache reads, writes and flushes.
+   */
+  public static final String CACHE = "cache";
+  /**
+   * Category for building the result model from executed jobs.
+   */
+  public static final String RESULTS = "results";
+
+  private static final ConcurrentMap<UniqueId, CycleTrace> ACTIVE = new ConcurrentHashMap<>();
+
+  /**
+   * A timed span of a cycle.
+   */
+  public static final class Span {
+
+    private final String _category;
+    private final String _name;
+    private final String _lane;
+    private final long _start;
+    private final long _end;
+
+    private Span(final String category, final String name, final String lane, final long start, final long end) {
+      _category = category;
+      _name = name;
+      _lane = lane;
+      _start = start;
+      _end = end;
+    }
+
+    /**
+     * Returns the category of the span.
+     *
+     * @return the category, not null
+     */
+    public String getCategory() {
+      return _category;
+    }
+
+    /**
+     * Returns the name of the span.
+     *
+     * @return the name, not null
+     */
+    public String getName() {
+      return _name;
+    }
+
+    /**
+     * Returns the thread, or calculation node, the span was executed by.
+     *
+     * @return the lane, not null
+     */
+    public String getLane() {
+      return _lane;
+    }
+
+    /**
+     * Returns the start of the span.
+     *
+     * @return the {@link System#nanoTime} at the start
+     */
+    public long getStart() {
+      return _start;
+    }
+
+    /**
+     * Returns the end of the span.
+     *
+     * @return the {@link System#nanoTime} at the end
+     */
+    public long getEnd() {
+      return _end;
+    }
+
+    /**
+     * Returns the duration of the span.
+     *
+     * @return the duration in nanoseconds
+     */
+    public long getDuration() {
+      return _end - _start;
+    }
+
+    @Override
+    public String toString() {
+      return _category + ":" + _name + "@" + _lane + "[" + getDuration() + "ns]";
+    }
+
+  }
+
+  /**
+   * The timings of a dispatched job.
+   */
+  private static final class JobTiming {
+
+    private final long[] _requiredJobIds;
+    private final long _dispatched;
+    private volatile long _completed;
+    private volatile long _executionTime;
+
+    JobTiming(final long[] requiredJobIds, final long dispatched) {
+      _requiredJobIds = requiredJobIds;
+      _dispatched = dispatched;
+    }
+
+  }
+
+  private final UniqueId _cycleId;
+  private final long _startTime;
+  private final Queue<Span> _spans = new ConcurrentLinkedQueue<>();
+  private final Map<CalculationJobSpecification, JobTiming> _jobs = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a trace for a cycle.
+   *
+   * @param cycleId
+   *          the unique identifier of the cycle, not null
+   */
+  public CycleTrace(final UniqueId cycleId) {
+    ArgumentChecker.notNull(cycleId, "cycleId");
+    _cycleId = cycleId;
+    _startTime = System.nanoTime();
+  }
+
+  /**
+   * Returns the active trace for a cycle.
+   *
+   * @param cycleId
+   *          the unique identifier of the cycle, not null
+   * @return the trace, or null if the cycle is not being traced in this process
+   */
+  public static CycleTrace getActive(final UniqueId cycleId) {
+    if (ACTIVE.isEmpty()) {
+      return null;
+    }
+    return ACTIVE.get(cycleId);
+  }
+
+  /**
+   * Makes the trace available to calculation nodes in this process that execute jobs for the cycle.
+   */
+  public void activate() {
+    ACTIVE.put(_cycleId, this);
+  }
+
+  /**
+   * Stops calculation nodes recording into the trace.
+   */
+  public void deactivate() {
+    ACTIVE.remove(_cycleId, this);
+  }
+
+  /**
+   * Returns the unique identifier of the traced cycle.
+   *
+   * @return the cycle identifier, not null
+   */
+  public UniqueId getCycleId() {
+    return _cycleId;
+  }
+
+  /**
+   * Records a span that ends now on the current thread.
+   *
+   * @param category
+   *          the category, not null
+   * @param name
+   *          the name, not null
+   * @param start
+   *          the {@link System#nanoTime} at the start of the span
+   */
+  public void record(final String category, final String name, final long start) {
+    record(category, name, Thread.currentThread().getName(), start, System.nanoTime());
+  }
+
+  /**
+   * Records a span.
+   *
+   * @param category
+   *          the category, not null
+   * @param name
+   *          the name, not null
+   * @param lane
+   *          the thread, or calculation node, the span was executed by, not null
+   * @param start
+   *          the {@link System#nanoTime} at the start of the span
+   * @param end
+   *          the {@link System#nanoTime} at the end of the span
+   */
+  public void record(final String category, final String name, final String lane, final long start, final long end) {
+    _spans.add(new Span(category, name, lane, start, end));
+  }
+
+  /**
+   * Records that a job, and any tail jobs that will execute after it on the same node, is about to be dispatched. This must be called before the job is
+   * passed to the dispatcher so that its completion can't be reported first.
+   *
+   * @param job
+   *          the job, not null
+   * @return the {@link System#nanoTime} at which the dispatch started
+   */
+  public long jobDispatching(final CalculationJob job) {
+    final long start = System.nanoTime();
+    storeJob(job, start);
+    return start;
+  }
+
+  /**
+   * Records the time taken to pass a job to the dispatcher.
+   *
+   * @param job
+   *          the job, not null
+   * @param start
+   *          the {@link System#nanoTime} returned by {@link #jobDispatching}
+   */
+  public void jobDispatched(final CalculationJob job, final long start) {
+    record(DISPATCH, jobName(job.getSpecification()), start);
+  }
+
+  private void storeJob(final CalculationJob job, final long dispatched) {
+    _jobs.put(job.getSpecification(), new JobTiming(job.getRequiredJobIds(), dispatched));
+    if (job.getTail() != null) {
+      for (final CalculationJob tail : job.getTail()) {
+        storeJob(tail, dispatched);
+      }
+    }
+  }
+
+  /**
+   * Records the completion of a job. The execution time reported by the calculation node is placed immediately before the receipt of the result, and the
+   * rest of the time since dispatch is recorded as queueing.
+   *
+   * @param result
+   *          the job result, not null
+   */
+  public void jobCompleted(final CalculationJobResult result) {
+    final long completed = System.nanoTime();
+    final JobTiming timing = _jobs.get(result.getSpecification());
+    if (timing == null) {
+      return;
+    }
+    final long executionTime = Math.min(Math.max(result.getDuration(), 0), completed - timing._dispatched);
+    timing._executionTime = executionTime;
+    timing._completed = completed;
+    final String name = jobName(result.getSpecification());
+    final String lane = "node " + result.getComputeNodeId();
+    final long started = completed - executionTime;
+    if (started > timing._dispatched) {
+      record(QUEUE, name, lane, timing._dispatched, started);
+    }
+    record(JOB, name, lane, started, completed);
+  }
+
+  private static String jobName(final CalculationJobSpecification spec) {
+    return spec.getCalcConfigName() + " job " + spec.getJobId();
+  }
+
+  /**
+   * Returns the spans recorded so far.
+   *
+   * @return the spans, ordered by start time, not null
+   */
+  public List<Span> getSpans() {
+    final List<Span> spans = new ArrayList<>(_spans);
+    Collections.sort(spans, new Comparator<Span>() {
+      @Override
+      public int compare(final Span o1, final Span o2) {
+        return Long.compare(o1._start, o2._start);
+      }
+    });
+    return spans;
+  }
+
+  /**
+   * Returns the total time recorded against each category. Spans in the same category on different threads or nodes may overlap, so the totals can exceed
+   * the duration of the cycle.
+   *
+   * @return the total duration in nanoseconds of each category, not null
+   */
+  public Map<String, Long> getCategoryTotals() {
+    final Map<String, Long> totals = new TreeMap<>();
+    for (final Span span : _spans) {
+      final Long total = totals.get(span._category);
+      totals.put(span._category, (total != null ? total : 0L) + span.getDuration());
+    }
+    return totals;
+  }
+
+  /**
+   * Returns the critical path through the completed jobs. The path ends with the job that completed last and is followed back through, at each step, the
+   * required job that completed last. Each element is the queueing and execution time of a job on the path.
+   *
+   * @return the jobs on the critical path, in execution order, not null
+   */
+  public List<CriticalPathJob> getCriticalPath() {
+    CalculationJobSpecification last = null;
+    JobTiming lastTiming = null;
+    for (final Map.Entry<CalculationJobSpecification, JobTiming> job : _jobs.entrySet()) {
+      final JobTiming timing = job.getValue();
+      if (timing._completed != 0 && (lastTiming == null || timing._completed > lastTiming._completed)) {
+        last = job.getKey();
+        lastTiming = timing;
+      }
+    }
+    final List<CriticalPathJob> path = new ArrayList<>();
+    while (last != null) {
+      path.add(new CriticalPathJob(jobName(last), lastTiming._completed - lastTiming._executionTime - lastTiming._dispatched, lastTiming._executionTime));
+      final CalculationJobSpecification job = last;
+      last = null;
+      final long[] required = lastTiming._requiredJobIds;
+      lastTiming = null;
+      if (required != null) {
+        for (final long requiredJobId : required) {
+          final CalculationJobSpecification requiredJob = job.withJobId(requiredJobId);
+          final JobTiming timing = _jobs.get(requiredJob);
+          if (timing != null && timing._completed != 0 && (lastTiming == null || timing._completed > lastTiming._completed)) {
+            last = requiredJob;
+            lastTiming = timing;
+          }
+        }
+      }
+    }
+    Collections.reverse(path);
+    return path;
+  }
+
+  /**
+   * A job on the critical path of a cycle.
+   */
+  public static final class CriticalPathJob {
+
+    private final String _name;
+    private final long _queueTime;
+    private final long _executionTime;
+
+    private CriticalPathJob(final String name, final long queueTime, final long executionTime) {
+      _name = name;
+      _queueTime = queueTime;
+      _executionTime = executionTime;
+    }
+
+    /**
+     * Returns the name of the job.
+     *
+     * @return the calculation configuration and job identifier, not null
+     */
+    public String getName() {
+      return _name;
+    }
+
+    /**
+     * Returns the time between the job being dispatched and starting to execute.
+     *
+     * @return the queueing time in nanoseconds
+     */
+    public long getQueueTime() {
+      return _queueTime;
+    }
+
+    /**
+     * Returns the time the job took to execute on its calculation node.
+     *
+     * @return the execution time in nanoseconds
+     */
+    public long getExecutionTime() {
+      return _executionTime;
+    }
+
+    @Override
+    public String toString() {
+      return _name + " (queued " + _queueTime / 1000000 + "ms, executed " + _executionTime / 1000000 + "ms)";
+    }
+
+  }
+
+  /**
+   * Summarizes the trace as the total time in each category and the critical path through the jobs.
+   *
+   * @return the summary, not null
+   */
+  public String getSummary() {
+    final StringBuilder sb = new StringBuilder("Trace of ").append(_cycleId);
+    for (final Map.Entry<String, Long> total : getCategoryTotals().entrySet()) {
+      sb.append("\n  ").append(total.getKey()).append(": ").append(total.getValue() / 1000000).append("ms");
+    }
+    final List<CriticalPathJob> path = getCriticalPath();
+    long queueTime = 0;
+    long executionTime = 0;
+    for (final CriticalPathJob job : path) {
+      queueTime += job.getQueueTime();
+      executionTime += job.getExecutionTime();
+    }
+    sb.append("\n  critical path of ").append(path.size()).append(" jobs: queued ").append(queueTime / 1000000).append("ms, executed ")
+        .append(executionTime / 1000000).append("ms");
+    for (final CriticalPathJob job : path) {
+      sb.append("\n    ").append(job);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Writes the trace in the Chrome trace event format. Each thread or calculation node is a separate track, with times relative to the creation of the trace.
+   *
+   * @param writer
+   *          the writer to write the JSON to, not null
+   * @throws IOException
+   *           if the writer fails
+   */
+  public void writeChromeTrace(final Writer writer) throws IOException {
+    final Map<String, Integer> lanes = new HashMap<>();
+    writer.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+    writer.write("{\"name\":\"process_name\",\"ph\":\"M\",\"pid\":1,\"args\":{\"name\":");
+    writeString(writer, _cycleId.toString());
+    writer.write("}}");
+    for (final Span span : getSpans()) {
+      Integer lane = lanes.get(span._lane);
+      if (lane == null) {
+        lane = lanes.size() + 1;
+        lanes.put(span._lane, lane);
+        writer.write(",\n{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":");
+        writer.write(lane.toString());
+        writer.write(",\"args\":{\"name\":");
+        writeString(writer, span._lane);
+        writer.write("}}");
+      }
+      writer.write(",\n{\"name\":");
+      writeString(writer, span._name);
+      writer.write(",\"cat\":");
+      writeString(writer, span._category);
+      writer.write(",\"ph\":\"X\",\"pid\":1,\"tid\":");
+      writer.write(lane.toString());
+      writer.write(",\"ts\":");
+      writer.write(Double.toString((span._start - _startTime) / 1000d));
+      writer.write(",\"dur\":");
+      writer.write(Double.toString(span.getDuration() / 1000d));
+      writer.write("}");
+    }
+    writer.write("]}\n");
+    writer.flush();
+  }
+
+  private static void writeString(final Writer writer, final String str) throws IOException {
+    writer.write('"');
+    for (int i = 0; i < str.length(); i++) {
+      final char c = str.charAt(i);
+      switch (c) {
+        case '"':
+          writer.write("\\\"");
+          break;
+        case '\\':
+          writer.write("\\\\");
+          break;
+        case '\n':
+          writer.write("\\n");
+          break;
+        case '\r':
+          writer.write("\\r");
+          break;
+        case '\t':
+          writer.write("\\t");
+          break;
+        default:
+          if (c < ' ') {
+            writer.write(String.format("\\u%04x", (int) c));
+          } else {
+            writer.write(c);
+          }
+          break;
+      }
+    }
+    writer.write('"');
+  }
+
+  @Override
+  public String toString() {
+    return "CycleTrace[" + _cycleId + "]";
+  }
+
+}
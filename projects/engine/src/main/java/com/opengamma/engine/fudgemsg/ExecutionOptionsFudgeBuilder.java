@@ -45,6 +45,10 @@ public class ExecutionOptionsFudgeBuilder implements FudgeBuilder<ExecutionOptio
   private static final String MARKET_DATA_TIMEOUT_MILLIS_FIELD = "marketDataTimeoutMillis";
   private static final String DEFAULT_EXECUTION_OPTIONS_FIELD = "defaultExecutionOptions";
   private static final String BATCH_FIELD = "batch";
+  private static final String INCREMENTAL_CYCLE_ON_MARKET_DATA_CHANGED_FIELD = "incrementalCycleOnMarketDataChanged";
+  private static final String BATCHED_SCENARIOS_FIELD = "batchedScenarios";
+  private static final String TRACE_CYCLES_FIELD = "traceCycles";
+  private static final String PIPELINED_CYCLES_FIELD = "pipelinedCycles";
 
   private static final Collection<Pair<String, ViewExecutionFlags>> FLAGS = Arrays.<Pair<String, ViewExecutionFlags>> asList(
       Pairs.of(AWAIT_MARKET_DATA_FIELD, ViewExecutionFlags.AWAIT_MARKET_DATA),
@@ -55,7 +59,11 @@ public class ExecutionOptionsFudgeBuilder implements FudgeBuilder<ExecutionOptio
       Pairs.of(FETCH_MARKET_DATA_ONLY_FIELD, ViewExecutionFlags.FETCH_MARKET_DATA_ONLY),
       Pairs.of(SKIP_CYCLE_ON_NO_MARKET_DATA_FIELD, ViewExecutionFlags.SKIP_CYCLE_ON_NO_MARKET_DATA),
       Pairs.of(WAIT_FOR_INITIAL_TRIGGER_FIELD, ViewExecutionFlags.WAIT_FOR_INITIAL_TRIGGER),
-      Pairs.of(BATCH_FIELD, ViewExecutionFlags.BATCH));
+      Pairs.of(BATCH_FIELD, ViewExecutionFlags.BATCH),
+      Pairs.of(INCREMENTAL_CYCLE_ON_MARKET_DATA_CHANGED_FIELD, ViewExecutionFlags.INCREMENTAL_CYCLE_ON_MARKET_DATA_CHANGED),
+      Pairs.of(BATCHED_SCENARIOS_FIELD, ViewExecutionFlags.BATCHED_SCENARIOS),
+      Pairs.of(TRACE_CYCLES_FIELD, ViewExecutionFlags.TRACE_CYCLES),
+      Pairs.of(PIPELINED_CYCLES_FIELD, ViewExecutionFlags.PIPELINED_CYCLES));
 
   @Override
   public MutableFudgeMsg buildMessage(final FudgeSerializer serializer, final ExecutionOptions object) {
@@ -0,0 +1,52 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.fudgemsg;
+
+import java.util.List;
+
+import org.fudgemsg.FudgeField;
+import org.fudgemsg.FudgeMsg;
+import org.fudgemsg.MutableFudgeMsg;
+import org.fudgemsg.mapping.FudgeBuilder;
+import org.fudgemsg.mapping.FudgeBuilderFor;
+import org.fudgemsg.mapping.FudgeDeserializer;
+import org.fudgemsg.mapping.FudgeSerializer;
+
+import com.opengamma.engine.value.ScenarioVector;
+import com.opengamma.util.fudgemsg.WriteReplaceHelper;
+
+/**
+ * Fudge message builder for {@code ScenarioVector}. The elements are written in scenario order as repeated fields.
+ */
+@FudgeBuilderFor(ScenarioVector.class)
+public class ScenarioVectorFudgeBuilder implements FudgeBuilder<ScenarioVector> {
+
+  /**
+   * Fudge field name.
+   */
+  private static final String VALUE_KEY = "value";
+
+  @Override
+  public MutableFudgeMsg buildMessage(final FudgeSerializer serializer, final ScenarioVector object) {
+    final MutableFudgeMsg msg = serializer.newMessage();
+    final int size = object.size();
+    for (int i = 0; i < size; i++) {
+      serializer.addToMessageWithClassHeaders(msg, VALUE_KEY, null, WriteReplaceHelper.writeReplace(object.get(i)));
+    }
+    return msg;
+  }
+
+  @Override
+  public ScenarioVector buildObject(final FudgeDeserializer deserializer, final FudgeMsg msg) {
+    final List<FudgeField> fields = msg.getAllByName(VALUE_KEY);
+    final Object[] values = new Object[fields.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = deserializer.fieldValueToObject(fields.get(i));
+    }
+    return ScenarioVector.of(values);
+  }
+
+}
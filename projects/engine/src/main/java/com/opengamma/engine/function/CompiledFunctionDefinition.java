@@ -107,6 +107,19 @@ public interface CompiledFunctionDefinition {
    */
   boolean canHandleMissingRequirements();
 
+  /**
+   * Tests whether the function's invoker accepts {@link com.opengamma.engine.value.ScenarioVector} inputs, evaluating every scenario in a single invocation
+   * and returning vectors for any outputs that differ between them. If not, the engine invokes the function once for each scenario with the corresponding
+   * elements of its inputs and combines the outputs into vectors.
+   * <p>
+   * The default implementation returns false.
+   *
+   * @return true if the function handles scenario vectors, false otherwise
+   */
+  default boolean canHandleScenarioVectors() {
+    return false;
+  }
+
   /**
    * Determine which result values can be produced by this function when applied to the specified target given the resolved inputs.
    * Should return the <b>maximal</b> set of potential outputs. <b>Actual</b> computed values will be trimmed. The default
@@ -20,6 +20,7 @@ import org.threeten.bp.Instant;
 
 import com.google.common.collect.Maps;
 import com.opengamma.OpenGammaRuntimeException;
+import com.opengamma.engine.depgraph.ResolutionCache;
 import com.opengamma.engine.function.config.FunctionConfigurationSource;
 import com.opengamma.engine.function.config.FunctionRepositoryFactory;
 import com.opengamma.id.ObjectId;
@@ -43,6 +44,7 @@ public class CompiledFunctionService implements Lifecycle {
   private final FunctionCompilationContext _functionCompilationContext;
   private final Set<FunctionDefinition> _reinitializingFunctionDefinitions = new HashSet<>();
   private final Set<ObjectId> _reinitializingFunctionRequirements = new HashSet<>();
+  private ResolutionCache _resolutionCache;
 
   /**
    * A pool executor for general use by the engine. This should be used for tasks that should saturate the available processors.
@@ -283,6 +285,7 @@ public class CompiledFunctionService implements Lifecycle {
     _rawFunctionRepository = getFunctionRepositoryFactory().constructRepository(Instant.ofEpochMilli(initId));
     _initializedFunctionRepository = null;
     initializeImpl(initId, _rawFunctionRepository.getAllFunctions());
+    updateResolutionCache();
     return _reinitializingFunctionRequirements;
   }
 
@@ -295,6 +298,14 @@ public class CompiledFunctionService implements Lifecycle {
         LOGGER.warn("No functions registered for re-initialization");
         getFunctionCompilationContext().setFunctionInitId(initId);
       } else {
+        final ResolutionCache resolutionCache = getResolutionCache();
+        if (resolutionCache != null) {
+          final Set<String> functionIds = new HashSet<>();
+          for (final FunctionDefinition function : reinitialize) {
+            functionIds.add(function.getUniqueId());
+          }
+          resolutionCache.invalidateFunctions(functionIds);
+        }
         initializeImpl(initId, new ArrayList<>(reinitialize));
       }
     } else {
@@ -302,6 +313,14 @@ public class CompiledFunctionService implements Lifecycle {
       _rawFunctionRepository = newFunctionRepository;
       _initializedFunctionRepository = null;
       initializeImpl(initId, newFunctionRepository.getAllFunctions());
+      updateResolutionCache();
+    }
+  }
+
+  private void updateResolutionCache() {
+    final ResolutionCache resolutionCache = getResolutionCache();
+    if (resolutionCache != null) {
+      resolutionCache.setRepositoryVersion(ResolutionCache.getRepositoryVersion(_rawFunctionRepository));
     }
   }
 
@@ -388,9 +407,26 @@ public class CompiledFunctionService implements Lifecycle {
     return _executorService;
   }
 
+  /**
+   * Sets a resolution cache to notify of function repository changes. The cache's repository version is updated whenever the full
+   * repository is initialized, and entries from functions are discarded when those functions are re-initialized.
+   *
+   * @param resolutionCache the cache, or null for none
+   */
+  public synchronized void setResolutionCache(final ResolutionCache resolutionCache) {
+    _resolutionCache = resolutionCache;
+  }
+
+  public synchronized ResolutionCache getResolutionCache() {
+    return _resolutionCache;
+  }
+
   @Override
   public CompiledFunctionService clone() {
-    return new CompiledFunctionService(getFunctionRepositoryFactory(), getFunctionRepositoryCompiler(), getFunctionCompilationContext().clone());
+    final CompiledFunctionService clone = new CompiledFunctionService(getFunctionRepositoryFactory(), getFunctionRepositoryCompiler(),
+        getFunctionCompilationContext().clone());
+    clone.setResolutionCache(getResolutionCache());
+    return clone;
   }
 
   // Lifecycle
@@ -15,6 +15,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.threeten.bp.Instant;
 
+import com.opengamma.engine.function.config.FunctionConfiguration;
 import com.opengamma.engine.view.ViewProcessor;
 import com.opengamma.util.ArgumentChecker;
 
@@ -27,6 +28,7 @@ public class InMemoryFunctionRepository implements FunctionRepository {
   private static final Logger LOGGER = LoggerFactory.getLogger(InMemoryFunctionRepository.class);
 
   private final Map<String, FunctionDefinition> _functions = new HashMap<>();
+  private final Map<String, FunctionConfiguration> _configurations = new HashMap<>();
   private final AtomicInteger _nextIdentifier = new AtomicInteger();
 
   public InMemoryFunctionRepository() {
@@ -77,7 +79,25 @@ public class InMemoryFunctionRepository implements FunctionRepository {
     return id;
   }
 
-  public synchronized void addFunction(FunctionDefinition function) {
+  public synchronized void addFunction(final FunctionDefinition function) {
+    addFunctionImpl(function);
+  }
+
+  /**
+   * Adds a function that was constructed from a configuration entry. The configuration is recorded so that repositories constructed from
+   * the same configuration can be recognized, for example by {@link com.opengamma.engine.depgraph.ResolutionCache#getRepositoryVersion(FunctionRepository)}.
+   *
+   * @param function
+   *          the function, not null
+   * @param configuration
+   *          the configuration the function was constructed from, not null
+   */
+  public synchronized void addFunction(final FunctionDefinition function, final FunctionConfiguration configuration) {
+    ArgumentChecker.notNull(configuration, "configuration");
+    _configurations.put(addFunctionImpl(function), configuration);
+  }
+
+  private String addFunctionImpl(FunctionDefinition function) {
     ArgumentChecker.notNull(function, "Function definition");
     if (function.getUniqueId() == null) {
       if (function instanceof AbstractFunction) {
@@ -89,15 +109,29 @@ public class InMemoryFunctionRepository implements FunctionRepository {
       function = new IdentifiedFunction(function, createId(function.getShortName()));
     }
     _functions.put(function.getUniqueId(), function);
+    _configurations.remove(function.getUniqueId());
+    return function.getUniqueId();
   }
 
   public synchronized void replaceFunction(final String functionIdentifier, final FunctionDefinition function) {
     ArgumentChecker.notNull(functionIdentifier, "functionIdentifier");
     ArgumentChecker.notNull(function, "function");
     _functions.remove(functionIdentifier);
+    _configurations.remove(functionIdentifier);
     addFunction(function);
   }
 
+  /**
+   * Returns the configuration a function was constructed from.
+   *
+   * @param uniqueId
+   *          the function identifier, not null
+   * @return the configuration, null if the function was not added with one
+   */
+  public synchronized FunctionConfiguration getFunctionConfiguration(final String uniqueId) {
+    return _configurations.get(uniqueId);
+  }
+
   @Override
   public Collection<FunctionDefinition> getAllFunctions() {
     return Collections.unmodifiableCollection(_functions.values());
@@ -42,6 +42,18 @@ public final class MarketDataAliasingFunction extends IntrinsicFunction {
     super(UNIQUE_ID);
   }
 
+  // CompiledFunctionDefinition
+
+  /**
+   * The input value is passed through unchanged, so a vector is aliased as a whole.
+   *
+   * @return always true
+   */
+  @Override
+  public boolean canHandleScenarioVectors() {
+    return true;
+  }
+
   // FunctionInvoker
 
   @Override
@@ -35,6 +35,18 @@ public final class NoOpFunction extends IntrinsicFunction {
     super(UNIQUE_ID);
   }
 
+  // CompiledFunctionDefinition
+
+  /**
+   * The outputs are the same in every scenario.
+   *
+   * @return always true
+   */
+  @Override
+  public boolean canHandleScenarioVectors() {
+    return true;
+  }
+
   // FunctionInvoker
 
   @Override
@@ -151,7 +151,7 @@ public abstract class FunctionRepositoryFactory implements ChangeProvider {
     try {
       final Class<?> definitionClass = ReflectionUtils.loadClass(functionConfig.getDefinitionClassName());
       final AbstractFunction functionDefinition = createParameterizedFunction(definitionClass, functionConfig.getParameter());
-      repository.addFunction(functionDefinition);
+      repository.addFunction(functionDefinition, functionConfig);
     } catch (final RuntimeException ex) {
       LOGGER.error("Unable to add function definition {}, ignoring", functionConfig);
       LOGGER.info("Caught exception", ex);
@@ -208,7 +208,7 @@ public abstract class FunctionRepositoryFactory implements ChangeProvider {
     try {
       final Class<?> definitionClass = ReflectionUtils.loadClass(functionConfig.getDefinitionClassName());
       final AbstractFunction functionDefinition = createStaticFunction(definitionClass);
-      repository.addFunction(functionDefinition);
+      repository.addFunction(functionDefinition, functionConfig);
     } catch (final RuntimeException ex) {
       LOGGER.error("Unable to add function definition {}, ignoring", functionConfig);
       LOGGER.info("Caught exception", ex);
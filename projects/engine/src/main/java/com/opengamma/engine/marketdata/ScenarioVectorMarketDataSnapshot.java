@@ -0,0 +1,154 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.marketdata;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.threeten.bp.Instant;
+
+import com.google.common.collect.Maps;
+import com.opengamma.engine.cache.MissingInput;
+import com.opengamma.engine.value.ScenarioVector;
+import com.opengamma.engine.value.ValueSpecification;
+import com.opengamma.id.UniqueId;
+import com.opengamma.util.ArgumentChecker;
+
+/**
+ * Combines the snapshots of several scenarios, for example the shifted snapshots of a historical VaR calculation, into a single snapshot that returns a
+ * {@link ScenarioVector} for values that differ between the scenarios. A cycle executed against this snapshot evaluates every scenario in one pass of the
+ * dependency graph.
+ * <p>
+ * The first snapshot provides the snapshot time. A value missing from some of the scenarios is reported as missing market data in those scenarios only.
+ */
+public class ScenarioVectorMarketDataSnapshot extends AbstractMarketDataSnapshot {
+
+  private final List<MarketDataSnapshot> _scenarios;
+
+  /**
+   * Creates an instance.
+   *
+   * @param scenarios
+   *          the snapshot for each scenario, not null or empty
+   */
+  public ScenarioVectorMarketDataSnapshot(final List<MarketDataSnapshot> scenarios) {
+    ArgumentChecker.notEmpty(scenarios, "scenarios");
+    ArgumentChecker.noNulls(scenarios, "scenarios");
+    _scenarios = new ArrayList<>(scenarios);
+  }
+
+  /**
+   * Returns the number of scenarios.
+   *
+   * @return the number of scenarios
+   */
+  public int getScenarioCount() {
+    return _scenarios.size();
+  }
+
+  @Override
+  public UniqueId getUniqueId() {
+    return UniqueId.of(MARKET_DATA_SNAPSHOT_ID_SCHEME, "ScenarioVectorMarketDataSnapshot:" + getSnapshotTime());
+  }
+
+  @Override
+  public Instant getSnapshotTimeIndication() {
+    return _scenarios.get(0).getSnapshotTimeIndication();
+  }
+
+  @Override
+  public void init() {
+    for (final MarketDataSnapshot scenario : _scenarios) {
+      scenario.init();
+    }
+  }
+
+  @Override
+  public void init(final Set<ValueSpecification> values, final long timeout, final TimeUnit unit) {
+    // The timeout applies to the whole initialization, not each scenario
+    final long deadline = System.nanoTime() + unit.toNanos(timeout);
+    for (final MarketDataSnapshot scenario : _scenarios) {
+      scenario.init(values, Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+    }
+  }
+
+  @Override
+  public boolean isInitialized() {
+    for (final MarketDataSnapshot scenario : _scenarios) {
+      if (!scenario.isInitialized()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Tests whether every scenario is empty. A scenario with no data is evaluated as missing market data, so the snapshot is only empty if none of the
+   * scenarios has any data.
+   *
+   * @return true if every scenario is empty
+   */
+  @Override
+  public boolean isEmpty() {
+    assertInitialized();
+    for (final MarketDataSnapshot scenario : _scenarios) {
+      if (!scenario.isEmpty()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public Instant getSnapshotTime() {
+    return _scenarios.get(0).getSnapshotTime();
+  }
+
+  private static Object combine(final Object[] values) {
+    boolean missing = true;
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] == null) {
+        values[i] = MissingInput.MISSING_MARKET_DATA;
+      } else {
+        missing = false;
+      }
+    }
+    return missing ? null : ScenarioVector.valueOf(values);
+  }
+
+  @Override
+  public Object query(final ValueSpecification specification) {
+    final Object[] values = new Object[_scenarios.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = _scenarios.get(i).query(specification);
+    }
+    return combine(values);
+  }
+
+  @Override
+  public Map<ValueSpecification, Object> query(final Set<ValueSpecification> specifications) {
+    final List<Map<ValueSpecification, Object>> scenarioValues = new ArrayList<>(_scenarios.size());
+    for (final MarketDataSnapshot scenario : _scenarios) {
+      scenarioValues.add(scenario.query(specifications));
+    }
+    final Map<ValueSpecification, Object> results = Maps.newHashMapWithExpectedSize(specifications.size());
+    for (final ValueSpecification specification : specifications) {
+      final Object[] values = new Object[scenarioValues.size()];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = scenarioValues.get(i).get(specification);
+      }
+      final Object value = combine(values);
+      if (value != null) {
+        results.put(specification, value);
+      }
+    }
+    return results;
+  }
+
+}
@@ -209,6 +209,7 @@ public class InMemoryLKVLiveMarketDataProvider extends AbstractMarketDataProvide
   @Override
   public void subscribe(final Set<ValueSpecification> valueSpecifications) {
     final Collection<LiveDataSpecification> toSubscribe = new HashSet<>(valueSpecifications.size());
+    final Collection<ValueSpecification> alreadyActive = new HashSet<>();
     _subscriptionWriteLock.lock();
     try {
       for (final ValueSpecification valueSpecification : valueSpecifications) {
@@ -220,8 +221,14 @@ public class InMemoryLKVLiveMarketDataProvider extends AbstractMarketDataProvide
           }
           _pendingSubscriptionsByRequestedSpec.put(requestLiveDataSpec, valueSpecification);
         } else {
+          if (_activeSubscriptionsByQualifiedSpec.containsEntry(fullyQualifiedSpec, valueSpecification)
+              && _underlyingProvider.getCurrentValue(valueSpecification) != null) {
+            // Already have a value in the LKV for this; another reference to it doesn't need a new snapshot from the live data client
+            alreadyActive.add(valueSpecification);
+          } else {
+            toSubscribe.add(requestLiveDataSpec);
+          }
           _activeSubscriptionsByQualifiedSpec.put(fullyQualifiedSpec, valueSpecification);
-          toSubscribe.add(requestLiveDataSpec);
         }
       }
       // Downgrade to read lock, allowing value updates but preventing further subscribes/unsubscribes until we have completely finished subscribing.
@@ -237,6 +244,9 @@ public class InMemoryLKVLiveMarketDataProvider extends AbstractMarketDataProvide
     } finally {
       _subscriptionReadLock.unlock();
     }
+    if (!alreadyActive.isEmpty()) {
+      subscriptionsSucceeded(alreadyActive);
+    }
   }
 
   @Override
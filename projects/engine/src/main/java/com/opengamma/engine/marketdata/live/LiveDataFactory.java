@@ -6,8 +6,10 @@
 package com.opengamma.engine.marketdata.live;
 
 import java.lang.ref.WeakReference;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.slf4j.Logger;
@@ -38,6 +40,11 @@ public class LiveDataFactory {
    * turns out to be a problem then a periodic task to clean out empty references will be needed.
    */
   private final List<WeakReference<InMemoryLKVLiveMarketDataProvider>> _providers = Lists.newArrayList();
+  /**
+   * The provider most recently created for each user. View processes for the same user share the provider, and hence its reference counted
+   * subscriptions to the live data client, for as long as any of them hold it.
+   */
+  private final Map<UserPrincipal, WeakReference<InMemoryLKVLiveMarketDataProvider>> _providersByUser = new HashMap<>();
   /** Lock for accessing the list of providers. */
   private final Object _providerListLock = new Object();
 
@@ -55,12 +62,19 @@ public class LiveDataFactory {
   }
 
   /* package */ LiveMarketDataProvider create(final UserPrincipal user) {
-    final InMemoryLKVLiveMarketDataProvider provider =
-        new InMemoryLKVLiveMarketDataProvider(_liveDataClient, _availabilityFilter, user);
     synchronized (_providerListLock) {
-      _providers.add(new WeakReference<>(provider));
+      final WeakReference<InMemoryLKVLiveMarketDataProvider> existing = _providersByUser.get(user);
+      InMemoryLKVLiveMarketDataProvider provider = existing != null ? existing.get() : null;
+      if (provider == null) {
+        provider = new InMemoryLKVLiveMarketDataProvider(_liveDataClient, _availabilityFilter, user);
+        final WeakReference<InMemoryLKVLiveMarketDataProvider> ref = new WeakReference<>(provider);
+        _providers.add(ref);
+        _providersByUser.put(user, ref);
+      } else {
+        LOGGER.debug("Sharing live data provider for {}", user);
+      }
+      return provider;
     }
-    return provider;
   }
 
   /**
@@ -78,6 +92,7 @@ public class LiveDataFactory {
           provider.resubscribe(schemes);
         } else {
           it.remove();
+          _providersByUser.values().remove(ref);
         }
       }
     }
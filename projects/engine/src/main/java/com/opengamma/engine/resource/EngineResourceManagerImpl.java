@@ -61,6 +61,18 @@ public class EngineResourceManagerImpl<T extends EngineResource> implements Engi
     return true;
   }
 
+  @Override
+  public long getReferenceCount(final UniqueId uniqueId) {
+    ArgumentChecker.notNull(uniqueId, "uniqueId");
+    final ReferenceCountedResource<T> refCountedResource = _resourceMap.get(uniqueId);
+    if (refCountedResource == null) {
+      return 0;
+    }
+    synchronized (refCountedResource) {
+      return refCountedResource.getReferenceCount();
+    }
+  }
+
   @Override
   public int getResourceCount() {
     return _resourceMap.size();
@@ -41,6 +41,14 @@ public interface EngineResourceManagerInternal<T extends EngineResource> extends
    */
   boolean decrementCycleReferenceCount(UniqueId uniqueId);
   
+  /**
+   * Gets the number of references held to a resource.
+   * 
+   * @param uniqueId  the unique identifier of the resource, not null
+   * @return the number of references, zero if the resource is not under management
+   */
+  long getReferenceCount(UniqueId uniqueId);
+  
   /**
    * Gets the number of resources under management.
    * 
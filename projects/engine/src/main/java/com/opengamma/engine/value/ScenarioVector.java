@@ -0,0 +1,131 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.value;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import com.opengamma.util.ArgumentChecker;
+
+/**
+ * A value that differs between the scenarios of a vectorised cycle, holding one element per scenario.
+ * <p>
+ * A market data snapshot can return a vector in place of a value to evaluate several scenarios, for example the historical shocks of a VaR calculation, in a
+ * single cycle. Functions that declare support with {@link com.opengamma.engine.function.CompiledFunctionDefinition#canHandleScenarioVectors} receive and
+ * return vectors directly; other functions are invoked once per scenario by the engine and their outputs combined into vectors. A value that is not a vector is
+ * the same in every scenario.
+ */
+public final class ScenarioVector implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final Object[] _values;
+
+  private ScenarioVector(final Object[] values) {
+    _values = values;
+  }
+
+  /**
+   * Creates a vector from the values for each scenario.
+   *
+   * @param values
+   *          the value for each scenario, not null and not containing null
+   * @return the vector, not null
+   */
+  public static ScenarioVector of(final Object... values) {
+    ArgumentChecker.notEmpty(values, "values");
+    ArgumentChecker.noNulls(values, "values");
+    for (final Object value : values) {
+      ArgumentChecker.isFalse(value instanceof ScenarioVector, "values must not be vectors");
+    }
+    return new ScenarioVector(values.clone());
+  }
+
+  /**
+   * Creates a value from the values for each scenario. If the values are the same in every scenario the single value is returned rather than a vector.
+   *
+   * @param values
+   *          the value for each scenario, not null and not containing null
+   * @return the value or vector, not null
+   */
+  public static Object valueOf(final Object... values) {
+    ArgumentChecker.notEmpty(values, "values");
+    ArgumentChecker.noNulls(values, "values");
+    final Object first = values[0];
+    for (int i = 1; i < values.length; i++) {
+      if (!first.equals(values[i])) {
+        return of(values);
+      }
+    }
+    return first;
+  }
+
+  /**
+   * Returns the number of scenarios a value is for.
+   *
+   * @param value
+   *          the value, may be null
+   * @return the number of elements if the value is a vector, zero otherwise
+   */
+  public static int getScenarioCount(final Object value) {
+    return value instanceof ScenarioVector ? ((ScenarioVector) value).size() : 0;
+  }
+
+  /**
+   * Returns the value for a given scenario. A value that is not a vector is returned unchanged.
+   *
+   * @param value
+   *          the value, may be null
+   * @param scenario
+   *          the scenario index
+   * @return the value for the scenario
+   */
+  public static Object getScenarioValue(final Object value, final int scenario) {
+    return value instanceof ScenarioVector ? ((ScenarioVector) value).get(scenario) : value;
+  }
+
+  /**
+   * Returns the number of scenarios.
+   *
+   * @return the number of scenarios
+   */
+  public int size() {
+    return _values.length;
+  }
+
+  /**
+   * Returns the value for a scenario.
+   *
+   * @param scenario
+   *          the scenario index
+   * @return the value, not null
+   */
+  public Object get(final int scenario) {
+    return _values[scenario];
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (o == this) {
+      return true;
+    }
+    if (!(o instanceof ScenarioVector)) {
+      return false;
+    }
+    return Arrays.equals(_values, ((ScenarioVector) o)._values);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(_values);
+  }
+
+  @Override
+  public String toString() {
+    return "ScenarioVector" + Arrays.toString(_values);
+  }
+
+}
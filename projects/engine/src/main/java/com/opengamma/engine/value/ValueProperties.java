@@ -225,6 +225,12 @@ public abstract class ValueProperties implements Serializable, Comparable<ValueP
 
     private final int _hashCode;
 
+    /**
+     * The hash size from which the results of {@link #compose} and {@link #isSatisfiedBy} are memoised. Below this the
+     * operations are cheaper than the memo lookup.
+     */
+    private static final int MEMO_THRESHOLD = AbstractValueProperty.getDesiredHashSize(8);
+
     /**
      * Creates a new instance, backed by the property array.
      *
@@ -618,7 +624,16 @@ public abstract class ValueProperties implements Serializable, Comparable<ValueP
       if (properties == this) {
         return true;
       }
-      return properties.isSatisfySimple(this);
+      if (_properties.length < MEMO_THRESHOLD) {
+        return properties.isSatisfySimple(this);
+      }
+      final Boolean memo = ValuePropertiesMemo.getSatisfiedBy(this, properties);
+      if (memo != null) {
+        return memo;
+      }
+      final boolean result = properties.isSatisfySimple(this);
+      ValuePropertiesMemo.putSatisfiedBy(this, properties, result);
+      return result;
     }
 
     @Override
@@ -634,7 +649,15 @@ public abstract class ValueProperties implements Serializable, Comparable<ValueP
       if (properties == this) {
         return this;
       }
-      return properties.rightIntersectSimple(this);
+      if (_properties.length < MEMO_THRESHOLD) {
+        return properties.rightIntersectSimple(this);
+      }
+      ValueProperties result = ValuePropertiesMemo.getCompose(this, properties);
+      if (result == null) {
+        result = properties.rightIntersectSimple(this);
+        ValuePropertiesMemo.putCompose(this, properties, result);
+      }
+      return result;
     }
 
     @Override
@@ -672,6 +695,9 @@ public abstract class ValueProperties implements Serializable, Comparable<ValueP
 
     @Override
     public ValueProperties withoutAny(final String propertyName) {
+      if (!isDefined(propertyName)) {
+        return this;
+      }
       return copy().withoutAny(propertyName).get();
     }
 
@@ -0,0 +1,119 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.value;
+
+/**
+ * Bounded memo of the results of {@link ValueProperties#compose} and {@link ValueProperties#isSatisfiedBy} operations.
+ * <p>
+ * Graph building repeatedly composes and tests the same (typically {@link com.opengamma.util.MemoryUtils} canonical)
+ * property instances against each other. The memo is a direct-mapped table keyed on the identity of both operands, so a
+ * lookup never allocates and a collision simply replaces the previous entry. Entries are immutable and published
+ * through final fields, so the tables may be read and written by any thread without locking; a lost update only costs
+ * a recalculation.
+ */
+/* package */final class ValuePropertiesMemo {
+
+  /**
+   * The number of entries in each table; must be a power of two.
+   */
+  private static final int SIZE = 1024;
+
+  private static final int MASK = SIZE - 1;
+
+  /**
+   * An immutable memo entry.
+   */
+  private static final class Entry {
+
+    private final ValueProperties _left;
+
+    private final ValueProperties _right;
+
+    private final Object _result;
+
+    Entry(final ValueProperties left, final ValueProperties right, final Object result) {
+      _left = left;
+      _right = right;
+      _result = result;
+    }
+
+  }
+
+  private static final Entry[] COMPOSE = new Entry[SIZE];
+
+  private static final Entry[] SATISFY = new Entry[SIZE];
+
+  private ValuePropertiesMemo() {
+  }
+
+  private static int index(final ValueProperties left, final ValueProperties right) {
+    final int hc = System.identityHashCode(left) * 31 + System.identityHashCode(right);
+    return (hc ^ hc >>> 16) & MASK;
+  }
+
+  /**
+   * Returns a memoised result of {@code left.compose(right)}.
+   *
+   * @param left the properties to compose, not null
+   * @param right the properties to compose against, not null
+   * @return the memoised result, or null if there is none
+   */
+  /* package */static ValueProperties getCompose(final ValueProperties left, final ValueProperties right) {
+    final Entry entry = COMPOSE[index(left, right)];
+    if (entry != null && entry._left == left && entry._right == right) {
+      return (ValueProperties) entry._result;
+    }
+    return null;
+  }
+
+  /**
+   * Stores the result of {@code left.compose(right)}.
+   *
+   * @param left the properties composed, not null
+   * @param right the properties composed against, not null
+   * @param result the result of the composition, not null
+   */
+  /* package */static void putCompose(final ValueProperties left, final ValueProperties right, final ValueProperties result) {
+    COMPOSE[index(left, right)] = new Entry(left, right, result);
+  }
+
+  /**
+   * Returns a memoised result of {@code left.isSatisfiedBy(right)}.
+   *
+   * @param left the constraints, not null
+   * @param right the properties tested, not null
+   * @return the memoised result, or null if there is none
+   */
+  /* package */static Boolean getSatisfiedBy(final ValueProperties left, final ValueProperties right) {
+    final Entry entry = SATISFY[index(left, right)];
+    if (entry != null && entry._left == left && entry._right == right) {
+      return (Boolean) entry._result;
+    }
+    return null;
+  }
+
+  /**
+   * Stores the result of {@code left.isSatisfiedBy(right)}.
+   *
+   * @param left the constraints, not null
+   * @param right the properties tested, not null
+   * @param result the result of the test
+   */
+  /* package */static void putSatisfiedBy(final ValueProperties left, final ValueProperties right, final boolean result) {
+    SATISFY[index(left, right)] = new Entry(left, right, result);
+  }
+
+  /**
+   * Discards all memoised results.
+   */
+  /* package */static void clear() {
+    for (int i = 0; i < SIZE; i++) {
+      COMPOSE[i] = null;
+      SATISFY[i] = null;
+    }
+  }
+
+}
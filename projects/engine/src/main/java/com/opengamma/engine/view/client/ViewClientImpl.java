@@ -11,6 +11,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
@@ -31,7 +32,9 @@ import com.opengamma.engine.view.ViewComputationResultModel;
 import com.opengamma.engine.view.ViewDefinition;
 import com.opengamma.engine.view.ViewDeltaResultModel;
 import com.opengamma.engine.view.ViewProcess;
+import com.opengamma.engine.view.client.merging.QueueingViewProcessListener;
 import com.opengamma.engine.view.client.merging.RateLimitingMergingViewProcessListener;
+import com.opengamma.engine.view.client.merging.ResultDeliveryPolicy;
 import com.opengamma.engine.view.compilation.CompiledViewDefinition;
 import com.opengamma.engine.view.compilation.CompiledViewDefinitionImpl;
 import com.opengamma.engine.view.compilation.CompiledViewDefinitionWithGraphsImpl;
@@ -83,6 +86,10 @@ public class ViewClientImpl implements ViewClient {
   private final AtomicReference<CompiledViewDefinition> _latestCompiledViewDefinition = new AtomicReference<>();
 
   private final RateLimitingMergingViewProcessListener _mergingViewProcessListener;
+  /**
+   * The listener attached to the view process, queuing notifications for {@link #_mergingViewProcessListener} if the delivery is asynchronous.
+   */
+  private final QueueingViewProcessListener _viewProcessListener;
 
   private final AtomicReference<ViewResultListener> _userResultListener = new AtomicReference<>();
   private final Set<Pair<String, ValueSpecification>> _elevatedLogSpecs = new HashSet<>();
@@ -98,13 +105,28 @@ public class ViewClientImpl implements ViewClient {
    * @param id the unique identifier assigned to this view client
    * @param viewProcessor the parent view processor to which this client belongs
    * @param user the user who owns this client
-   * @param timer the timer to use for scheduled tasks
+   * @param timer the timer to use for scheduled tasks, also used for asynchronous result delivery
    */
   public ViewClientImpl(final UniqueId id, final ViewProcessorImpl viewProcessor, final UserPrincipal user, final ScheduledExecutorService timer) {
+    this(id, viewProcessor, user, timer, timer);
+  }
+
+  /**
+   * Constructs an instance.
+   *
+   * @param id the unique identifier assigned to this view client
+   * @param viewProcessor the parent view processor to which this client belongs
+   * @param user the user who owns this client
+   * @param timer the timer to use for scheduled tasks
+   * @param resultExecutor the executor to deliver results from if the delivery is asynchronous, see {@link #setResultDeliveryPolicy}
+   */
+  public ViewClientImpl(final UniqueId id, final ViewProcessorImpl viewProcessor, final UserPrincipal user, final ScheduledExecutorService timer,
+      final Executor resultExecutor) {
     ArgumentChecker.notNull(id, "id");
     ArgumentChecker.notNull(viewProcessor, "viewProcessor");
     ArgumentChecker.notNull(user, "user");
     ArgumentChecker.notNull(timer, "timer");
+    ArgumentChecker.notNull(resultExecutor, "resultExecutor");
 
     _id = id;
     _viewProcessor = viewProcessor;
@@ -180,13 +202,20 @@ public class ViewClientImpl implements ViewClient {
 
       @Override
       public void cycleCompleted(final ViewComputationResultModel fullResult, final ViewDeltaResultModel deltaResult) {
-        final boolean isFirstResult = updateLatestResult(fullResult);
+        final ViewComputationResultModel previousResult = updateLatestResult(fullResult);
+        final boolean isFirstResult = previousResult == null;
         final ViewResultListener listener = _userResultListener.get();
         if (listener != null) {
           final ViewResultMode resultMode = getResultMode();
           if (!resultMode.equals(ViewResultMode.NONE)) {
-            final ViewComputationResultModel userFullResult = isFullResultRequired(resultMode, isFirstResult) ? fullResult : null;
-            final ViewDeltaResultModel userDeltaResult = isDeltaResultRequired(resultMode, isFirstResult) ? deltaResult : null;
+            // A full result without a delta is a resynchronization after earlier results were dropped; treat it like the first result
+            final boolean isResync = isFirstResult || deltaResult == null;
+            final ViewComputationResultModel userFullResult = isFullResultRequired(resultMode, isResync) ? fullResult : null;
+            ViewDeltaResultModel userDeltaResult = null;
+            if (isDeltaResultRequired(resultMode, isFirstResult)) {
+              // A delta-only client would otherwise see nothing of a resynchronization, so give it the changes since the last result it received
+              userDeltaResult = deltaResult != null || isFirstResult ? deltaResult : getResyncDelta(previousResult, fullResult);
+            }
             if (userFullResult != null || userDeltaResult != null) {
               listener.cycleCompleted(userFullResult, userDeltaResult);
             } else if (!isFirstResult || resultMode != ViewResultMode.DELTA_ONLY) {
@@ -261,6 +290,7 @@ public class ViewClientImpl implements ViewClient {
 
     _mergingViewProcessListener = new RateLimitingMergingViewProcessListener(mergedViewProcessListener, getViewProcessor().getViewCycleManager(), timer);
     _mergingViewProcessListener.setPaused(true);
+    _viewProcessListener = new QueueingViewProcessListener(_mergingViewProcessListener, resultExecutor, "ViewClient." + id + ".results");
   }
 
   @Override
@@ -309,9 +339,9 @@ public class ViewClientImpl implements ViewClient {
       final ViewProcessorImpl viewProcessor = getViewProcessor();
       final ViewPermissionContext context = privateProcess
           ? viewProcessor
-              .attachClientToPrivateViewProcess(getUniqueId(), _mergingViewProcessListener, viewDefinitionId, executionOptions, _viewProcessContextMap)
+              .attachClientToPrivateViewProcess(getUniqueId(), _viewProcessListener, viewDefinitionId, executionOptions, _viewProcessContextMap)
           : viewProcessor
-              .attachClientToSharedViewProcess(getUniqueId(), _mergingViewProcessListener, viewDefinitionId, executionOptions, _viewProcessContextMap);
+              .attachClientToSharedViewProcess(getUniqueId(), _viewProcessListener, viewDefinitionId, executionOptions, _viewProcessContextMap);
       isPaused = attachToViewProcessCore(context);
     } finally {
       _clientLock.unlock();
@@ -327,7 +357,7 @@ public class ViewClientImpl implements ViewClient {
       checkNotTerminated();
       checkNotAttached();
       // See concurrency notes in {@link #attachToViewProcess(UniqueId,ViewExecutionOptions,boolean)}.
-      final ViewPermissionContext context = getViewProcessor().attachClientToViewProcess(getUniqueId(), _mergingViewProcessListener, processId);
+      final ViewPermissionContext context = getViewProcessor().attachClientToViewProcess(getUniqueId(), _viewProcessListener, processId);
       isPaused = attachToViewProcessCore(context);
     } finally {
       _clientLock.unlock();
@@ -354,6 +384,7 @@ public class ViewClientImpl implements ViewClient {
       processCompleted();
       getViewProcessor().detachClientFromViewProcess(getUniqueId());
       getLatestCycleRetainer().replaceRetainedCycle(null);
+      _viewProcessListener.reset();
       _mergingViewProcessListener.setPaused(true);
       _mergingViewProcessListener.reset();
       _latestResult.set(null);
@@ -397,6 +428,43 @@ public class ViewClientImpl implements ViewClient {
     _mergingViewProcessListener.setMinimumUpdatePeriodMillis(periodMillis);
   }
 
+  /**
+   * Gets how results are delivered from the view process to this client.
+   *
+   * @return the delivery policy, not null
+   */
+  public ResultDeliveryPolicy getResultDeliveryPolicy() {
+    return _viewProcessListener.getPolicy();
+  }
+
+  /**
+   * Sets how results are delivered from the view process to this client. The default is {@link ResultDeliveryPolicy#SYNCHRONOUS}; a client with a
+   * slow listener should use one of the other policies so that it doesn't hold up the view process.
+   *
+   * @param policy the delivery policy, not null
+   */
+  public void setResultDeliveryPolicy(final ResultDeliveryPolicy policy) {
+    _viewProcessListener.setPolicy(policy);
+  }
+
+  /**
+   * Sets the maximum number of notifications queued for this client when the result delivery is asynchronous.
+   *
+   * @param capacity the queue capacity, at least 1
+   */
+  public void setResultDeliveryCapacity(final int capacity) {
+    _viewProcessListener.setCapacity(capacity);
+  }
+
+  /**
+   * Sets the maximum number of results merged into a single delivery with {@link ResultDeliveryPolicy#MERGED_DELTAS}.
+   *
+   * @param maxMerges the maximum number of merges, not negative
+   */
+  public void setResultDeliveryMaxMerges(final int maxMerges) {
+    _viewProcessListener.setMaxMerges(maxMerges);
+  }
+
   @Override
   public ViewResultMode getResultMode() {
     return _resultMode.get();
@@ -579,6 +647,7 @@ public class ViewClientImpl implements ViewClient {
       detachFromViewProcess();
       getViewProcessor().removeViewClient(getUniqueId());
       _mergingViewProcessListener.terminate();
+      _viewProcessListener.close();
       _state = ViewClientState.TERMINATED;
       final ViewResultListener listener = _userResultListener.get();
       if (listener != null) {
@@ -628,12 +697,27 @@ public class ViewClientImpl implements ViewClient {
    * @param result the new result
    * @return true if the new result was the first
    */
-  private boolean updateLatestResult(final ViewComputationResultModel result) {
+  private ViewComputationResultModel updateLatestResult(final ViewComputationResultModel result) {
     if (isViewCycleAccessSupported()) {
       getLatestCycleRetainer().replaceRetainedCycle(result.getViewCycleId());
     }
-    final ViewComputationResultModel oldResult = _latestResult.getAndSet(result);
-    return oldResult == null;
+    return _latestResult.getAndSet(result);
+  }
+
+  /**
+   * Computes the delta for a resynchronization, which the result queue delivers without one, from the last full result delivered.
+   *
+   * @param previousResult the last full result delivered, not null
+   * @param fullResult the resynchronizing full result, not null
+   * @return the delta, null if there is no compiled view definition to compute it with
+   */
+  private ViewDeltaResultModel getResyncDelta(final ViewComputationResultModel previousResult, final ViewComputationResultModel fullResult) {
+    final CompiledViewDefinition compiledViewDefinition = _latestCompiledViewDefinition.get();
+    if (compiledViewDefinition == null) {
+      LOGGER.warn("No compiled view definition to compute the delta for resynchronization at {}", fullResult.getCalculationTime());
+      return null;
+    }
+    return ViewDeltaResultCalculator.computeDeltaModel(compiledViewDefinition.getViewDefinition(), previousResult, fullResult);
   }
 
   private void updateLatestCompiledViewDefinition(final CompiledViewDefinition compiledViewDefinition) {
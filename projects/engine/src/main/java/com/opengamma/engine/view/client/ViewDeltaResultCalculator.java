@@ -18,6 +18,7 @@ import com.opengamma.engine.view.ViewComputationResultModel;
 import com.opengamma.engine.view.ViewDefinition;
 import com.opengamma.engine.view.ViewDeltaResultModel;
 import com.opengamma.engine.view.ViewResultModel;
+import com.opengamma.engine.view.impl.ColumnarViewComputationResultModel;
 import com.opengamma.engine.view.impl.InMemoryViewDeltaResultModel;
 import com.opengamma.util.tuple.Pair;
 
@@ -48,6 +49,12 @@ public class ViewDeltaResultCalculator {
     }
     for (final String calcConfigName : result.getCalculationConfigurationNames()) {
       final DeltaDefinition deltaDefinition = viewDefinition.getCalculationConfiguration(calcConfigName).getDeltaDefinition();
+      if (result instanceof ColumnarViewComputationResultModel && previousResult instanceof ColumnarViewComputationResultModel) {
+        // Compare the columns directly rather than building the per-target maps
+        ((ColumnarViewComputationResultModel) result).addDeltas(calcConfigName, deltaDefinition, (ColumnarViewComputationResultModel) previousResult,
+            deltaModel);
+        continue;
+      }
       final ViewCalculationResultModel resultCalcModel = result.getCalculationResult(calcConfigName);
       final ViewCalculationResultModel previousCalcModel = previousResult != null ? previousResult.getCalculationResult(calcConfigName) : null;
       for (final ComputationTargetSpecification targetSpec : resultCalcModel.getAllTargets()) {
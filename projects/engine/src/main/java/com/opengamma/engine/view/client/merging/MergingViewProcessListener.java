@@ -290,7 +290,13 @@ public class MergingViewProcessListener implements ViewResultListener {
           // There's a previous cycle completed call in the queue - move to end
           putCallToEnd(_cycleCompleted);
           // Merge new cycle completed call into old one
-          _cycleCompleted.getFunction().update(fullResult, deltaResult);
+          final CycleCompletedCall call = _cycleCompleted.getFunction();
+          if (call.getFullResult() != null && call.getDeltaResult() == null) {
+            // A resynchronization from the result queue; a delta would only cover the new cycle so just replace the full result
+            call.update(fullResult, null);
+          } else {
+            call.update(fullResult, deltaResult);
+          }
         } else {
           // No existing cycle completed call - add new one
           _cycleCompleted = addCall(new CycleCompletedCall(fullResult, deltaResult));
@@ -0,0 +1,485 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.view.client.merging;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.threeten.bp.Instant;
+
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.base.Function;
+import com.opengamma.engine.view.ViewComputationResultModel;
+import com.opengamma.engine.view.ViewDeltaResultModel;
+import com.opengamma.engine.view.compilation.CompiledViewDefinition;
+import com.opengamma.engine.view.cycle.ViewCycleMetadata;
+import com.opengamma.engine.view.execution.ViewCycleExecutionOptions;
+import com.opengamma.engine.view.listener.ClientShutdownCall;
+import com.opengamma.engine.view.listener.CycleCompletedCall;
+import com.opengamma.engine.view.listener.CycleExecutionFailedCall;
+import com.opengamma.engine.view.listener.CycleFragmentCompletedCall;
+import com.opengamma.engine.view.listener.CycleStartedCall;
+import com.opengamma.engine.view.listener.ProcessCompletedCall;
+import com.opengamma.engine.view.listener.ProcessTerminatedCall;
+import com.opengamma.engine.view.listener.ViewDefinitionCompilationFailedCall;
+import com.opengamma.engine.view.listener.ViewDefinitionCompiledCall;
+import com.opengamma.engine.view.listener.ViewResultListener;
+import com.opengamma.livedata.UserPrincipal;
+import com.opengamma.util.ArgumentChecker;
+import com.opengamma.util.metric.OpenGammaMetricRegistry;
+
+/**
+ * Decouples a view process from a potentially slow listener by queuing its notifications and delivering them from an executor.
+ * <p>
+ * The queue is bounded. How results are coalesced when the listener falls behind is controlled by the {@link ResultDeliveryPolicy}. Notifications
+ * that are not results, such as compilations or process termination, are always delivered and in the order they were received. Cycle started and
+ * fragment notifications are dropped when the queue is full, or when a later full result supersedes them.
+ * <p>
+ * If a metrics name is given, the queue depth, merge, resynchronization and drop counts and the delivery lag are published under that name to the
+ * {@link OpenGammaMetricRegistry} summary instance, so that the backlog of each client can be seen. They are removed when the listener is closed.
+ */
+public class QueueingViewProcessListener implements ViewResultListener {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(QueueingViewProcessListener.class);
+
+  /**
+   * The default maximum number of queued notifications.
+   */
+  public static final int DEFAULT_CAPACITY = 16;
+
+  /**
+   * The default maximum number of results that can be merged into a single delivery with {@link ResultDeliveryPolicy#MERGED_DELTAS}.
+   */
+  public static final int DEFAULT_MAX_MERGES = 64;
+
+  /**
+   * A queued notification.
+   */
+  private static final class Pending {
+
+    private final Function<ViewResultListener, ?> _call;
+    private final boolean _result;
+    private final long _queuedNanos;
+    private int _merges;
+
+    Pending(final Function<ViewResultListener, ?> call, final boolean result) {
+      _call = call;
+      _result = result;
+      _queuedNanos = System.nanoTime();
+    }
+
+  }
+
+  private final ViewResultListener _underlying;
+  private final Executor _executor;
+  private final ReentrantLock _lock = new ReentrantLock();
+  private final Deque<Pending> _queue = new ArrayDeque<>();
+  private final Runnable _drain = new Runnable() {
+    @Override
+    public void run() {
+      drain();
+    }
+  };
+  private final Histogram _depth;
+  private final Meter _merges;
+  private final Meter _resyncs;
+  private final Meter _dropped;
+  private final Timer _lag;
+  private final String _metricsName;
+
+  private volatile ResultDeliveryPolicy _policy = ResultDeliveryPolicy.SYNCHRONOUS;
+  private volatile int _capacity = DEFAULT_CAPACITY;
+  private volatile int _maxMerges = DEFAULT_MAX_MERGES;
+  /**
+   * Whether a drain task has been submitted to the executor and not yet completed. Guarded by {@link #_lock}.
+   */
+  private boolean _draining;
+  /**
+   * The number of times the queue has been reset. A drain task stops delivering if this changes. Guarded by {@link #_lock}.
+   */
+  private int _generation;
+
+  /**
+   * Creates a new instance that does not publish its metrics.
+   *
+   * @param underlying the listener to deliver notifications to, not null
+   * @param executor the executor to deliver notifications from, not null
+   */
+  public QueueingViewProcessListener(final ViewResultListener underlying, final Executor executor) {
+    this(underlying, executor, null);
+  }
+
+  /**
+   * Creates a new instance.
+   *
+   * @param underlying the listener to deliver notifications to, not null
+   * @param executor the executor to deliver notifications from, not null
+   * @param metricsName the prefix of the names to publish the metrics under, for example identifying the view client, null to not publish them
+   */
+  public QueueingViewProcessListener(final ViewResultListener underlying, final Executor executor, final String metricsName) {
+    ArgumentChecker.notNull(underlying, "underlying");
+    ArgumentChecker.notNull(executor, "executor");
+    _underlying = underlying;
+    _executor = executor;
+    _metricsName = metricsName;
+    if (metricsName != null) {
+      final MetricRegistry registry = OpenGammaMetricRegistry.getSummaryInstance();
+      _depth = registry.histogram(MetricRegistry.name(metricsName, "depth"));
+      _merges = registry.meter(MetricRegistry.name(metricsName, "merges"));
+      _resyncs = registry.meter(MetricRegistry.name(metricsName, "resyncs"));
+      _dropped = registry.meter(MetricRegistry.name(metricsName, "dropped"));
+      _lag = registry.timer(MetricRegistry.name(metricsName, "lag"));
+    } else {
+      _depth = new Histogram(new ExponentiallyDecayingReservoir());
+      _merges = new Meter();
+      _resyncs = new Meter();
+      _dropped = new Meter();
+      _lag = new Timer();
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the delivery policy.
+   *
+   * @return the policy, not null
+   */
+  public ResultDeliveryPolicy getPolicy() {
+    return _policy;
+  }
+
+  /**
+   * Sets the delivery policy. Notifications already queued are still delivered asynchronously, and in order, if the policy changes to
+   * {@link ResultDeliveryPolicy#SYNCHRONOUS}.
+   *
+   * @param policy the policy, not null
+   */
+  public void setPolicy(final ResultDeliveryPolicy policy) {
+    ArgumentChecker.notNull(policy, "policy");
+    _policy = policy;
+  }
+
+  /**
+   * Gets the maximum number of queued notifications.
+   *
+   * @return the capacity
+   */
+  public int getCapacity() {
+    return _capacity;
+  }
+
+  /**
+   * Sets the maximum number of queued notifications.
+   *
+   * @param capacity the capacity, at least 1
+   */
+  public void setCapacity(final int capacity) {
+    ArgumentChecker.notNegativeOrZero(capacity, "capacity");
+    _capacity = capacity;
+  }
+
+  /**
+   * Gets the maximum number of results that will be merged into a single delivery.
+   *
+   * @return the maximum number of merges
+   */
+  public int getMaxMerges() {
+    return _maxMerges;
+  }
+
+  /**
+   * Sets the maximum number of results that will be merged into a single delivery with {@link ResultDeliveryPolicy#MERGED_DELTAS}.
+   *
+   * @param maxMerges the maximum number of merges, not negative
+   */
+  public void setMaxMerges(final int maxMerges) {
+    ArgumentChecker.notNegative(maxMerges, "maxMerges");
+    _maxMerges = maxMerges;
+  }
+
+  /**
+   * Gets the number of notifications waiting to be delivered.
+   *
+   * @return the queue depth
+   */
+  public int getQueueDepth() {
+    _lock.lock();
+    try {
+      return _queue.size();
+    } finally {
+      _lock.unlock();
+    }
+  }
+
+  /**
+   * Discards any notifications waiting to be delivered.
+   */
+  public void reset() {
+    _lock.lock();
+    try {
+      _queue.clear();
+      _generation++;
+    } finally {
+      _lock.unlock();
+    }
+  }
+
+  /**
+   * Discards any notifications waiting to be delivered and removes the published metrics. The listener must not be used afterwards.
+   */
+  public void close() {
+    reset();
+    if (_metricsName != null) {
+      final MetricRegistry registry = OpenGammaMetricRegistry.getSummaryInstance();
+      for (final String metric : new String[] {"depth", "merges", "resyncs", "dropped", "lag" }) {
+        registry.remove(MetricRegistry.name(_metricsName, metric));
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public UserPrincipal getUser() {
+    return _underlying.getUser();
+  }
+
+  @Override
+  public void viewDefinitionCompiled(final CompiledViewDefinition compiledViewDefinition, final boolean hasMarketDataPermissions) {
+    deliver(new ViewDefinitionCompiledCall(compiledViewDefinition, hasMarketDataPermissions));
+  }
+
+  @Override
+  public void viewDefinitionCompilationFailed(final Instant valuationTime, final Exception exception) {
+    deliver(new ViewDefinitionCompilationFailedCall(valuationTime, exception));
+  }
+
+  @Override
+  public void cycleStarted(final ViewCycleMetadata cycleMetadata) {
+    deliverAdvisory(new CycleStartedCall(cycleMetadata));
+  }
+
+  @Override
+  public void cycleFragmentCompleted(final ViewComputationResultModel fullFragment, final ViewDeltaResultModel deltaFragment) {
+    deliverAdvisory(new CycleFragmentCompletedCall(fullFragment, deltaFragment));
+  }
+
+  @Override
+  public void cycleCompleted(final ViewComputationResultModel fullResult, final ViewDeltaResultModel deltaResult) {
+    final ResultDeliveryPolicy policy = _policy;
+    _lock.lock();
+    try {
+      if (!isDirect(policy)) {
+        enqueueResult(policy, fullResult, deltaResult);
+        return;
+      }
+    } finally {
+      _lock.unlock();
+    }
+    _underlying.cycleCompleted(fullResult, deltaResult);
+  }
+
+  @Override
+  public void cycleExecutionFailed(final ViewCycleExecutionOptions executionOptions, final Exception exception) {
+    deliver(new CycleExecutionFailedCall(executionOptions, exception));
+  }
+
+  @Override
+  public void processCompleted() {
+    deliver(new ProcessCompletedCall());
+  }
+
+  @Override
+  public void processTerminated(final boolean executionInterrupted) {
+    deliver(new ProcessTerminatedCall(executionInterrupted));
+  }
+
+  @Override
+  public void clientShutdown(final Exception e) {
+    deliver(new ClientShutdownCall(e));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Tests whether a notification can be passed straight to the underlying listener. The caller must hold {@link #_lock}.
+   */
+  private boolean isDirect(final ResultDeliveryPolicy policy) {
+    return policy == ResultDeliveryPolicy.SYNCHRONOUS && !_draining && _queue.isEmpty();
+  }
+
+  /**
+   * Delivers a notification that must not be discarded.
+   */
+  private void deliver(final Function<ViewResultListener, ?> call) {
+    _lock.lock();
+    try {
+      if (!isDirect(_policy)) {
+        enqueue(call, false);
+        return;
+      }
+    } finally {
+      _lock.unlock();
+    }
+    call.apply(_underlying);
+  }
+
+  /**
+   * Delivers a notification that can be discarded if the listener is falling behind.
+   */
+  private void deliverAdvisory(final Function<ViewResultListener, ?> call) {
+    _lock.lock();
+    try {
+      if (!isDirect(_policy)) {
+        if (_queue.size() < _capacity) {
+          enqueue(call, true);
+        } else {
+          _dropped.mark();
+        }
+        return;
+      }
+    } finally {
+      _lock.unlock();
+    }
+    call.apply(_underlying);
+  }
+
+  /**
+   * Queues a cycle completed notification according to the policy. The caller must hold {@link #_lock}.
+   */
+  private void enqueueResult(final ResultDeliveryPolicy policy, final ViewComputationResultModel fullResult, final ViewDeltaResultModel deltaResult) {
+    switch (policy) {
+      case LATEST_FULL_RESULT:
+        if (findCompleted() != null) {
+          resync(fullResult);
+          return;
+        }
+        break;
+      case MERGED_DELTAS: {
+        final Pending completed = findCompleted();
+        if (completed != null) {
+          if (completed._merges < _maxMerges) {
+            // Merge into the waiting result and move it to the end so that it follows any notifications queued since
+            final CycleCompletedCall call = (CycleCompletedCall) completed._call;
+            if (call.getDeltaResult() != null) {
+              call.update(fullResult, deltaResult);
+            } else {
+              // A resynchronization has no delta to merge into; the delta would only cover the latest cycle, so just replace the full result
+              call.update(fullResult, null);
+            }
+            completed._merges++;
+            _queue.remove(completed);
+            _queue.add(completed);
+            _merges.mark();
+          } else {
+            resync(fullResult);
+          }
+          return;
+        }
+        break;
+      }
+      case DROP_AND_RESYNC:
+        if (_queue.size() >= _capacity) {
+          resync(fullResult);
+          return;
+        }
+        break;
+      default:
+        break;
+    }
+    enqueue(new CycleCompletedCall(fullResult, deltaResult), true);
+  }
+
+  /**
+   * Finds the queued cycle completed notification, if there is one. The caller must hold {@link #_lock}.
+   */
+  private Pending findCompleted() {
+    final Iterator<Pending> itr = _queue.descendingIterator();
+    while (itr.hasNext()) {
+      final Pending pending = itr.next();
+      if (pending._call instanceof CycleCompletedCall) {
+        return pending;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Replaces all queued result notifications with the latest full result. The caller must hold {@link #_lock}.
+   */
+  private void resync(final ViewComputationResultModel fullResult) {
+    int count = 0;
+    final Iterator<Pending> itr = _queue.iterator();
+    while (itr.hasNext()) {
+      if (itr.next()._result) {
+        itr.remove();
+        count++;
+      }
+    }
+    _dropped.mark(count);
+    _resyncs.mark();
+    enqueue(new CycleCompletedCall(fullResult, null), true);
+  }
+
+  /**
+   * Adds a notification to the queue, starting a drain task if there isn't one. The caller must hold {@link #_lock}.
+   */
+  private void enqueue(final Function<ViewResultListener, ?> call, final boolean result) {
+    _queue.add(new Pending(call, result));
+    _depth.update(_queue.size());
+    if (!_draining) {
+      _draining = true;
+      _executor.execute(_drain);
+    }
+  }
+
+  /**
+   * Delivers queued notifications until the queue is empty or reset.
+   */
+  private void drain() {
+    final int generation;
+    _lock.lock();
+    try {
+      generation = _generation;
+    } finally {
+      _lock.unlock();
+    }
+    while (true) {
+      final Pending pending;
+      _lock.lock();
+      try {
+        pending = _generation == generation ? _queue.poll() : null;
+        if (pending == null) {
+          _draining = false;
+          if (!_queue.isEmpty()) {
+            // Reset while draining, and new notifications queued since
+            _draining = true;
+            _executor.execute(_drain);
+          }
+          return;
+        }
+      } finally {
+        _lock.unlock();
+      }
+      _lag.update(System.nanoTime() - pending._queuedNanos, TimeUnit.NANOSECONDS);
+      try {
+        pending._call.apply(_underlying);
+      } catch (final RuntimeException e) {
+        LOGGER.error("Error notifying underlying of {}: {}", pending._call, e.getMessage());
+        LOGGER.warn("Caught exception", e);
+      }
+    }
+  }
+
+}
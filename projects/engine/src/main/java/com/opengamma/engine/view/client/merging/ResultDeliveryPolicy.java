@@ -0,0 +1,36 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.view.client.merging;
+
+/**
+ * How a {@link QueueingViewProcessListener} delivers results, and what it does with them when the listener can't keep up.
+ * <p>
+ * A full result delivered without a delta is a resynchronization. A view client that needs deltas computes the delta for it from the last
+ * full result it received, so a client in {@link com.opengamma.engine.view.client.ViewResultMode#DELTA_ONLY} mode still sees every change.
+ */
+public enum ResultDeliveryPolicy {
+
+  /**
+   * Notifications are passed to the listener on the calling thread, blocking the view process until the listener returns.
+   */
+  SYNCHRONOUS,
+  /**
+   * Only the most recent result is kept. A result still waiting for delivery is replaced by a newer one, and the delta is discarded with it, so
+   * this is only suitable for listeners that use the full results.
+   */
+  LATEST_FULL_RESULT,
+  /**
+   * The deltas of results waiting for delivery are merged into the newest one. Once the maximum number of merges is reached the waiting result
+   * is replaced by the latest full result without a delta. Later results waiting behind that resynchronization only replace its full result.
+   */
+  MERGED_DELTAS,
+  /**
+   * Results are queued individually. If the queue is full, all waiting results are dropped and the listener is resynchronized with the latest
+   * full result, without a delta.
+   */
+  DROP_AND_RESYNC
+
+}
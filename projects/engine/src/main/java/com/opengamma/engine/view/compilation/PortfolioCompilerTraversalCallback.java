@@ -48,7 +48,7 @@ import com.opengamma.util.tuple.Pairs;
  * an empty requirements container for that node, which is filled up as its children are traversed (if aggregation is specified in the result model definition),
  * and then added to the dependency graph's list of targets in the post-order method for that portfolio node.
  */
-/* package */final class PortfolioCompilerTraversalCallback extends AbstractPortfolioNodeTraversalCallback {
+/* package */class PortfolioCompilerTraversalCallback extends AbstractPortfolioNodeTraversalCallback {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(PortfolioCompilerTraversalCallback.class);
 
@@ -209,16 +209,23 @@ import com.opengamma.util.tuple.Pairs;
     // this portfolio node's post-order traversal.
     final NodeData nodeData = new NodeData(node, nodeExcluded);
     _nodeData.put(node.getUniqueId(), nodeData);
-    if (_outputAggregates && !nodeExcluded) {
-      // Retrieve the required aggregate outputs (by 'aggregate' sec type) for the current calc configuration
-      final Set<Pair<String, ValueProperties>> requiredOutputs = _portfolioRequirementsBySecurityType
-          .get(ViewCalculationConfiguration.SECURITY_TYPE_AGGREGATE_ONLY);
-      if (requiredOutputs != null && !requiredOutputs.isEmpty()) {
-        // Add the aggregate value requirements for the current portfolio node to the graph builder's set of value requirements,
-        // building them using the retrieved required aggregate outputs and the newly created computation target spec
-        // for this portfolio node.
-        final ComputationTargetSpecification targetSpec = nodeData.getTargetSpecification();
-        for (final Pair<String, ValueProperties> requiredOutput : requiredOutputs) {
+    if (_outputAggregates && !nodeExcluded && _includeEvents == null) {
+      addAggregateOnlyRequirements(nodeData.getTargetSpecification(), null);
+    }
+  }
+
+  /**
+   * Adds the aggregate value requirements for a portfolio node to the graph builder's set of value requirements, building them using the required aggregate
+   * outputs (by 'aggregate' sec type) for the current calc configuration.
+   *
+   * @param targetSpec the portfolio node target
+   * @param alreadyAdded the requirements already added for the node, null if none
+   */
+  private void addAggregateOnlyRequirements(final ComputationTargetSpecification targetSpec, final Set<Pair<String, ValueProperties>> alreadyAdded) {
+    final Set<Pair<String, ValueProperties>> requiredOutputs = _portfolioRequirementsBySecurityType.get(ViewCalculationConfiguration.SECURITY_TYPE_AGGREGATE_ONLY);
+    if (requiredOutputs != null && !requiredOutputs.isEmpty()) {
+      for (final Pair<String, ValueProperties> requiredOutput : requiredOutputs) {
+        if (alreadyAdded == null || !alreadyAdded.contains(requiredOutput)) {
           addValueRequirement(new ValueRequirement(requiredOutput.getFirst(), targetSpec, requiredOutput.getSecond()));
         }
       }
@@ -363,6 +370,10 @@ import com.opengamma.util.tuple.Pairs;
       for (final Pair<String, ValueProperties> requiredOutput : nodeRequirements) {
         addValueRequirement(new ValueRequirement(requiredOutput.getFirst(), targetSpec, requiredOutput.getSecond()));
       }
+      if (_outputAggregates && _includeEvents != null && !nodeRequirements.isEmpty()) {
+        // Only the nodes above a changed position need their aggregates resolving again; the others are already in the previous graph
+        addAggregateOnlyRequirements(targetSpec, nodeRequirements);
+      }
     }
   }
 
@@ -6,11 +6,14 @@
 package com.opengamma.engine.view.compilation;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.ConcurrentModificationException;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -19,7 +22,9 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,6 +33,7 @@ import org.threeten.bp.Instant;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.opengamma.DataNotFoundException;
@@ -42,6 +48,7 @@ import com.opengamma.engine.ComputationTargetResolver;
 import com.opengamma.engine.ComputationTargetSpecification;
 import com.opengamma.engine.depgraph.DependencyGraph;
 import com.opengamma.engine.depgraph.DependencyGraphBuilder;
+import com.opengamma.engine.depgraph.DependencyGraphExplorer;
 import com.opengamma.engine.depgraph.DependencyNode;
 import com.opengamma.engine.depgraph.Housekeeper;
 import com.opengamma.engine.depgraph.impl.DependencyGraphImpl;
@@ -58,6 +65,9 @@ import com.opengamma.engine.view.ViewCalculationConfiguration;
 import com.opengamma.engine.view.ViewDefinition;
 import com.opengamma.id.UniqueId;
 import com.opengamma.id.VersionCorrection;
+import com.opengamma.util.ArgumentChecker;
+import com.opengamma.util.PoolExecutor;
+import com.opengamma.util.PoolExecutor.CompletionListener;
 import com.opengamma.util.tuple.Pair;
 
 /**
@@ -71,9 +81,13 @@ public final class ViewDefinitionCompiler {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ViewDefinitionCompiler.class);
   private static boolean s_striped;
+  private static int s_maxConcurrentCalculationConfigurations = Integer.parseInt(System.getProperty(
+      "ViewDefinitionCompiler.maxConcurrentCalculationConfigurations", Integer.toString(Math.max(Runtime.getRuntime().availableProcessors() / 2, 1))));
   private static Timer s_fullTimer = new Timer(); // timer for full graph compilation (replaced if registerMetrics called)
   private static Timer s_deltaTimer = new Timer(); // timer for delta graph compilation (replaced if registerMetrics called)
 
+  private static final Supplier<Double> BUILD_COMPLETE = Suppliers.ofInstance(1d);
+
   private static final Supplier<String> UNIQUE_IDENTIFIERS = new Supplier<String>() {
 
     private final String _prefix = UUID.randomUUID().toString() + "-";
@@ -158,10 +172,14 @@ public final class ViewDefinitionCompiler {
     private final ViewCompilationContext _viewCompilationContext;
     private volatile CompiledViewDefinitionWithGraphsImpl _result;
     private final boolean _portfolioOutputs;
+    private final Map<String, Supplier<Double>> _buildEstimates = Collections.synchronizedMap(new LinkedHashMap<String, Supplier<Double>>());
     private Portfolio _portfolio;
 
     protected CompilationTask(final ViewCompilationContext context) {
       _viewCompilationContext = context;
+      for (final DependencyGraphBuilder builder : context.getBuilders()) {
+        _buildEstimates.put(builder.getCalculationConfigurationName(), builder.buildFractionEstimate());
+      }
       if (LOGGER.isDebugEnabled()) {
         new CompilationCompletionEstimate(_viewCompilationContext);
       }
@@ -176,21 +194,111 @@ public final class ViewDefinitionCompiler {
 
     protected abstract void compile(DependencyGraphBuilder builder);
 
+    /**
+     * Tests whether the calculation configurations can be compiled concurrently. This is only possible if {@link #compile(DependencyGraphBuilder)} does not
+     * update any state shared between the configurations.
+     *
+     * @return true if the configurations can be compiled concurrently, false to compile them in sequence
+     */
+    protected boolean isConcurrentCompilation() {
+      return false;
+    }
+
+    private DependencyGraph build(final DependencyGraphBuilder builder) {
+      compile(builder);
+      // Wait for the config's dependency graph to be built
+      final DependencyGraph graph = DependencyGraphImpl.removeUnnecessaryValues(builder.getDependencyGraph());
+      _buildEstimates.put(builder.getCalculationConfigurationName(), BUILD_COMPLETE);
+      LOGGER.debug("Built {}", graph);
+      return graph;
+    }
+
     protected void compile() {
+      final int concurrency = Math.min(getContext().getBuilders().size(), getMaxConcurrentCalculationConfigurations());
+      if (concurrency > 1 && isConcurrentCompilation()) {
+        compileConcurrently(concurrency);
+        return;
+      }
       final Iterator<DependencyGraphBuilder> builders = getContext().getBuilders().iterator();
       while (builders.hasNext()) {
         final DependencyGraphBuilder builder = builders.next();
-        compile(builder);
-        // TODO: Use a heuristic to decide whether to let the graph builds run in parallel, or sequentially. We will force sequential builds for the time being.
-        // Wait for the current config's dependency graph to be built before moving to the next view calc config
-        DependencyGraph graph = builder.getDependencyGraph();
+        final DependencyGraph graph = build(builder);
         builders.remove();
-        graph = DependencyGraphImpl.removeUnnecessaryValues(graph);
         getContext().getGraphs().add(graph);
-        LOGGER.debug("Built {}", graph);
       }
     }
 
+    /**
+     * Compiles the calculation configurations concurrently. Each configuration is built by a separate job, with at most {@code concurrency} running at
+     * any one time. The background threads used by the builders are drawn from the allowance shared by all builders from the same
+     * {@link com.opengamma.engine.depgraph.DependencyGraphBuilderFactory} so the total thread count stays bounded.
+     *
+     * @param concurrency the maximum number of configurations to build at once
+     */
+    private void compileConcurrently(final int concurrency) {
+      LOGGER.info("Compiling {} calculation configurations with up to {} concurrent builds", getContext().getBuilders().size(), concurrency);
+      final List<DependencyGraphBuilder> builders = new ArrayList<>(getContext().getBuilders());
+      final DependencyGraph[] graphs = new DependencyGraph[builders.size()];
+      final AtomicInteger next = new AtomicInteger();
+      final AtomicReference<Throwable> error = new AtomicReference<>();
+      final PoolExecutor.Service<Void> jobs = getContext().getServices().getExecutorService().createService(new CompletionListener<Void>() {
+
+        @Override
+        public void success(final Void result) {
+          // No-op
+        }
+
+        @Override
+        public void failure(final Throwable e) {
+          error.compareAndSet(null, e);
+        }
+
+      });
+      for (int i = 0; i < concurrency; i++) {
+        jobs.execute(new Runnable() {
+          @Override
+          public void run() {
+            int index = next.getAndIncrement();
+            while (index < graphs.length && error.get() == null) {
+              final DependencyGraphBuilder builder = builders.get(index);
+              graphs[index] = build(builder);
+              synchronized (getContext().getBuilders()) {
+                getContext().getBuilders().remove(builder);
+              }
+              index = next.getAndIncrement();
+            }
+          }
+        });
+      }
+      try {
+        jobs.join();
+      } catch (final InterruptedException e) {
+        throw new OpenGammaRuntimeException("Interrupted during concurrent compilation", e);
+      }
+      final Throwable e = error.get();
+      if (e != null) {
+        if (e instanceof RuntimeException) {
+          throw (RuntimeException) e;
+        }
+        throw new OpenGammaRuntimeException("Error during concurrent compilation", e);
+      }
+      // Keep the graphs in calculation configuration order
+      getContext().getGraphs().addAll(Arrays.asList(graphs));
+    }
+
+    /**
+     * Returns the progress of each calculation configuration's graph build.
+     *
+     * @return the build fraction estimates, keyed by calculation configuration name
+     */
+    public Map<String, Double> getBuildFractionEstimates() {
+      final Map<String, Double> estimates = new LinkedHashMap<>();
+      for (final Map.Entry<String, Supplier<Double>> estimate : _buildEstimates.entrySet()) {
+        estimates.put(estimate.getKey(), estimate.getValue().get());
+      }
+      return estimates;
+    }
+
     private void removeUnusedResolutions(final Collection<DependencyGraph> graphs) {
       final Set<UniqueId> validIdentifiers = new HashSet<>(getContext().getActiveResolutions().size());
       if (_portfolio != null) {
@@ -261,8 +369,10 @@ public final class ViewDefinitionCompiler {
       do {
         boolean result = true;
         try {
-          for (final DependencyGraphBuilder builder : getContext().getBuilders()) {
-            result &= builder.cancel(mayInterruptIfRunning);
+          synchronized (getContext().getBuilders()) {
+            for (final DependencyGraphBuilder builder : getContext().getBuilders()) {
+              result &= builder.cancel(mayInterruptIfRunning);
+            }
           }
           return result;
         } catch (final ConcurrentModificationException e) {
@@ -279,8 +389,10 @@ public final class ViewDefinitionCompiler {
       do {
         boolean result = false;
         try {
-          for (final DependencyGraphBuilder builder : getContext().getBuilders()) {
-            result |= builder.isCancelled();
+          synchronized (getContext().getBuilders()) {
+            for (final DependencyGraphBuilder builder : getContext().getBuilders()) {
+              result |= builder.isCancelled();
+            }
           }
           return result;
         } catch (final ConcurrentModificationException e) {
@@ -327,6 +439,11 @@ public final class ViewDefinitionCompiler {
       long t = -System.nanoTime();
       compile();
       final Collection<DependencyGraph> graphs = getContext().getGraphs();
+      if (graphs.size() > 1) {
+        final List<DependencyGraph> sharedGraphs = DependencyGraphImpl.shareIdenticalNodes(graphs);
+        graphs.clear();
+        graphs.addAll(sharedGraphs);
+      }
       t += System.nanoTime();
       LOGGER.info("Processed dependency graphs after {}ms", t / 1e6);
       removeUnusedResolutions(graphs);
@@ -369,6 +486,12 @@ public final class ViewDefinitionCompiler {
       addPortfolioRequirements(builder, specificRequirements, getContext(), config, null, null);
     }
 
+    @Override
+    protected boolean isConcurrentCompilation() {
+      // Each configuration only touches its own builder and the thread-safe resolution map
+      return true;
+    }
+
     @Override
     protected void compile() {
       LOGGER.info("Performing full compilation");
@@ -583,6 +706,78 @@ public final class ViewDefinitionCompiler {
         previousGraphs, changedPositions, unchangedNodes);
   }
 
+  /**
+   * Compiles a view definition by patching the graphs from a previous compilation with a known set of changes, for example those reported by a
+   * {@link com.opengamma.core.change.ChangeManager}.
+   * <p>
+   * Any nodes with a changed target, and anything dependent on them, are removed from the previous graphs and their terminal outputs are resolved again.
+   * Requirements are then added only for the changed positions; the rest of the previous graph, and the resolutions used to build it, are reused. The
+   * identifiers of any portfolio nodes that have gained or lost positions must be included in the changed target set so that their aggregates are
+   * recalculated, as must the previous portfolio identifier if its resolution has changed.
+   *
+   * @param previous the previous compilation, not null
+   * @param compilationServices compilation infrastructure, not null
+   * @param valuationTime the valuation time, not null
+   * @param versionCorrection the target resolution v/c, not null
+   * @param changedTargets the previous identifiers of any positions, trades or portfolio nodes that have been changed or removed, not null
+   * @param changedPositions the new identifiers of any positions that have been added or changed, not null
+   * @return a future for controlling/monitoring the compilation
+   */
+  public static Future<CompiledViewDefinitionWithGraphsImpl> deltaCompileTask(final CompiledViewDefinitionWithGraphsImpl previous,
+      final ViewCompilationServices compilationServices, final Instant valuationTime, final VersionCorrection versionCorrection,
+      final Set<UniqueId> changedTargets, final Set<UniqueId> changedPositions) {
+    ArgumentChecker.notNull(previous, "previous");
+    ArgumentChecker.notNull(changedTargets, "changedTargets");
+    ArgumentChecker.notNull(changedPositions, "changedPositions");
+    final Map<String, PartiallyCompiledGraph> previousGraphs = getPreviousGraphs(previous, changedTargets);
+    final Map<ComputationTargetReference, UniqueId> previousResolutions = previous.getResolvedIdentifiers();
+    final ConcurrentMap<ComputationTargetReference, UniqueId> resolutions = new ConcurrentHashMap<>(previousResolutions.size());
+    for (final Map.Entry<ComputationTargetReference, UniqueId> resolution : previousResolutions.entrySet()) {
+      if (!changedTargets.contains(resolution.getValue())) {
+        resolutions.put(resolution.getKey(), resolution.getValue());
+      }
+    }
+    LOGGER.info("Delta compile of {} for {} changed targets and {} changed positions", new Object[] {previous.getViewDefinition().getName(),
+        changedTargets.size(), changedPositions.size() });
+    return incrementalCompileTask(previous.getViewDefinition(), compilationServices, valuationTime, versionCorrection, previousGraphs, resolutions,
+        changedPositions.isEmpty() ? null : new HashSet<>(changedPositions), null);
+  }
+
+  /**
+   * Prunes the graphs from a previous compilation for a delta compilation. Any nodes with a changed target, and anything dependent on them, are removed and
+   * their terminal output requirements are added to the missing requirements. The nodes that remain are those of the previous graph.
+   *
+   * @param previous the previous compilation, not null
+   * @param changedTargets the previous identifiers of any changed or removed targets, not null
+   * @return the pruned graphs, keyed by calculation configuration name, not null
+   */
+  /* package */ static Map<String, PartiallyCompiledGraph> getPreviousGraphs(final CompiledViewDefinitionWithGraphsImpl previous,
+      final Set<UniqueId> changedTargets) {
+    final Collection<DependencyGraphExplorer> explorers = previous.getDependencyGraphExplorers();
+    final Map<String, PartiallyCompiledGraph> previousGraphs = Maps.newHashMapWithExpectedSize(explorers.size());
+    final RootDiscardingSubgrapher filter = changedTargets.isEmpty() ? null : new InvalidTargetDependencyNodeFilter(changedTargets);
+    for (final DependencyGraphExplorer explorer : explorers) {
+      final DependencyGraph wholeGraph = explorer.getWholeGraph();
+      final PartiallyCompiledGraph graph = new PartiallyCompiledGraph(wholeGraph);
+      if (filter != null) {
+        final Set<DependencyNode> roots = filter.subGraph(graph.getRoots(), graph.getTerminalOutputs(), graph.getMissingRequirements());
+        graph.getRoots().clear();
+        if (roots != null) {
+          graph.getRoots().addAll(roots);
+        } else {
+          // Keep the empty graph so that all of the previous terminal outputs are resolved again
+          LOGGER.info("Discarded total dependency graph for {}", wholeGraph.getCalculationConfigurationName());
+          for (final Set<ValueRequirement> requirements : graph.getTerminalOutputs().values()) {
+            graph.getMissingRequirements().addAll(requirements);
+          }
+          graph.getTerminalOutputs().clear();
+        }
+      }
+      previousGraphs.put(wholeGraph.getCalculationConfigurationName(), graph);
+    }
+    return previousGraphs;
+  }
+
   public static CompiledViewDefinitionWithGraphsImpl compile(final ViewDefinition viewDefinition, final ViewCompilationServices compilationServices,
       final Instant valuationTime, final VersionCorrection versionCorrection) {
     try {
@@ -594,6 +789,21 @@ public final class ViewDefinitionCompiler {
     }
   }
 
+  /**
+   * Returns the progress of each calculation configuration's graph build for a compilation task.
+   *
+   * @param task
+   *          a task returned by one of the compilation methods, not null
+   * @return the build fraction estimates (from 0 to 1), keyed by calculation configuration name, or null if the task was not created by this class
+   */
+  public static Map<String, Double> getBuildFractionEstimates(final Future<CompiledViewDefinitionWithGraphsImpl> task) {
+    ArgumentChecker.notNull(task, "task");
+    if (task instanceof CompilationTask) {
+      return ((CompilationTask) task).getBuildFractionEstimates();
+    }
+    return null;
+  }
+
   private static Set<Pair<String, ValueProperties>> getStripes(final Map<String, Set<Pair<String, ValueProperties>>> portfolioRequirementsBySecurityType) {
     final Set<Pair<String, ValueProperties>> stripes = new HashSet<>();
     for (final Set<Pair<String, ValueProperties>> stripe : portfolioRequirementsBySecurityType.values()) {
@@ -630,6 +840,30 @@ public final class ViewDefinitionCompiler {
     s_striped = useStripes;
   }
 
+  /**
+   * Returns the maximum number of calculation configurations that a full compilation will build concurrently. The default is half the number of available
+   * processors, or the value of the {@code ViewDefinitionCompiler.maxConcurrentCalculationConfigurations} system property if set.
+   *
+   * @return the maximum number of concurrent builds, 1 to build configurations in sequence
+   */
+  public static int getMaxConcurrentCalculationConfigurations() {
+    return s_maxConcurrentCalculationConfigurations;
+  }
+
+  /**
+   * Sets the maximum number of calculation configurations that a full compilation will build concurrently.
+   * <p>
+   * Each concurrent build uses the compiling thread plus background threads from the dependency graph builder factory's shared allowance. Building
+   * configurations concurrently will require more memory than building them in sequence.
+   *
+   * @param maxConcurrentCalculationConfigurations
+   *          the maximum number of concurrent builds, 1 to build configurations in sequence
+   */
+  public static void setMaxConcurrentCalculationConfigurations(final int maxConcurrentCalculationConfigurations) {
+    ArgumentChecker.notNegativeOrZero(maxConcurrentCalculationConfigurations, "maxConcurrentCalculationConfigurations");
+    s_maxConcurrentCalculationConfigurations = maxConcurrentCalculationConfigurations;
+  }
+
   private static void addPortfolioRequirements(final DependencyGraphBuilder builder, final Set<ValueRequirement> alreadyAdded,
       final ViewCompilationContext context, final ViewCalculationConfiguration calcConfig, final Set<UniqueId> includeEvents,
       final Set<UniqueId> excludeEvents) {
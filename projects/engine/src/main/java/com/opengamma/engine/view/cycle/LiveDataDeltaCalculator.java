@@ -5,6 +5,7 @@
  */
 package com.opengamma.engine.view.cycle;
 
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -14,25 +15,28 @@ import com.opengamma.engine.cache.CacheSelectHint;
 import com.opengamma.engine.cache.ViewComputationCache;
 import com.opengamma.engine.depgraph.DependencyGraph;
 import com.opengamma.engine.depgraph.DependencyNode;
-import com.opengamma.engine.function.MarketDataSourcingFunction;
+import com.opengamma.engine.depgraph.impl.DependencyGraphIndex;
 import com.opengamma.engine.value.ValueSpecification;
 import com.opengamma.util.ArgumentChecker;
 
 /**
  * Determines which nodes in a graph have changed. A node has 'changed' if and only if its subtree contains a node for which
  * PreviousLiveDataInput != CurrentLiveDataInput. Note that this excludes changes due to passage of the system clock.
+ * <p>
+ * Rather than walking the whole graph, the market data nodes and the nodes producing the dirty specifications are checked and the
+ * changes propagated forward through a {@link DependencyGraphIndex}, so the cost is proportional to the number of market data nodes and the
+ * size of the affected subgraph.
  */
 public class LiveDataDeltaCalculator {
 
-  private final DependencyGraph _graph;
+  private final DependencyGraphIndex _index;
   private final ViewComputationCache _cache;
   private final ViewComputationCache _previousCache;
   private final Set<ValueSpecification> _changedSpecifications;
 
-  private final Set<DependencyNode> _changedNodes = new HashSet<>();
-  private final Set<DependencyNode> _unchangedNodes = new HashSet<>();
-
-  private boolean _done; // = false
+  private BitSet _changed;
+  private Set<DependencyNode> _changedNodes;
+  private Set<DependencyNode> _unchangedNodes;
 
   /**
    * For the delta calculation to be meaningful, the caches should be populated with LiveData inputs required to compute the given dependency graph. See
@@ -49,85 +53,117 @@ public class LiveDataDeltaCalculator {
    */
   public LiveDataDeltaCalculator(final DependencyGraph graph, final ViewComputationCache cache, final ViewComputationCache previousCache,
       final Set<ValueSpecification> dirtySpecifications) {
-    ArgumentChecker.notNull(graph, "Graph");
+    this(new DependencyGraphIndex(ArgumentChecker.notNull(graph, "Graph")), cache, previousCache, dirtySpecifications);
+  }
+
+  /**
+   * For the delta calculation to be meaningful, the caches should be populated with LiveData inputs required to compute the given dependency graph. See
+   * {@link DependencyNode#getInputValue(int)} and {@link ViewComputationCache#getValue(ValueSpecification)}.
+   *
+   * @param index
+   *          Index of the dependency graph, typically built once for the compiled view definition
+   * @param cache
+   *          Contains CurrentLiveDataInputs (for the given graph)
+   * @param previousCache
+   *          Contains PreviousLiveDataInputs (for the given graph)
+   * @param dirtySpecifications
+   *          Value specifications that are to be considered "changed"
+   */
+  public LiveDataDeltaCalculator(final DependencyGraphIndex index, final ViewComputationCache cache, final ViewComputationCache previousCache,
+      final Set<ValueSpecification> dirtySpecifications) {
+    ArgumentChecker.notNull(index, "Index");
     ArgumentChecker.notNull(cache, "Cache");
     ArgumentChecker.notNull(previousCache, "Previous cache");
     ArgumentChecker.notNull(dirtySpecifications, "dirtySpecifications");
-    _graph = graph;
+    _index = index;
     _cache = cache;
     _previousCache = previousCache;
     _changedSpecifications = dirtySpecifications.isEmpty() ? null : dirtySpecifications;
   }
 
-  public Set<DependencyNode> getChangedNodes() {
-    if (!_done) {
+  /**
+   * Returns the index of the graph the delta is calculated for.
+   *
+   * @return the index, not null
+   */
+  public DependencyGraphIndex getIndex() {
+    return _index;
+  }
+
+  /**
+   * Returns the indices of the nodes which have changed. A clear bit for a node index means the node is unchanged.
+   *
+   * @return the changed nodes, not null. This must not be modified.
+   */
+  public BitSet getChangedNodeIndices() {
+    if (_changed == null) {
       throw new IllegalStateException("Call computeDelta() first");
     }
+    return _changed;
+  }
+
+  public Set<DependencyNode> getChangedNodes() {
+    if (_changedNodes == null) {
+      final BitSet changed = getChangedNodeIndices();
+      final Set<DependencyNode> nodes = new HashSet<>();
+      for (int i = changed.nextSetBit(0); i >= 0; i = changed.nextSetBit(i + 1)) {
+        nodes.add(_index.getNode(i));
+      }
+      _changedNodes = nodes;
+    }
     return _changedNodes;
   }
 
   public Set<DependencyNode> getUnchangedNodes() {
-    if (!_done) {
-      throw new IllegalStateException("Call computeDelta() first");
+    if (_unchangedNodes == null) {
+      final BitSet changed = getChangedNodeIndices();
+      final int count = _index.getNodeCount();
+      final Set<DependencyNode> nodes = new HashSet<>();
+      for (int i = changed.nextClearBit(0); i < count; i = changed.nextClearBit(i + 1)) {
+        nodes.add(_index.getNode(i));
+      }
+      _unchangedNodes = nodes;
     }
     return _unchangedNodes;
   }
 
   public void computeDelta() {
-    if (_done) {
+    if (_changed != null) {
       throw new IllegalStateException("Cannot determine delta twice");
     }
-    final int count = _graph.getRootCount();
+    final BitSet changed = new BitSet(_index.getNodeCount());
+    int count = _index.getMarketDataNodeCount();
     for (int i = 0; i < count; i++) {
-      computeDelta(_graph.getRootNode(i));
-    }
-    _done = true;
-  }
-
-  private boolean computeDelta(final DependencyNode node) {
-    if (_changedNodes.contains(node)) {
-      return true;
-    }
-    if (_unchangedNodes.contains(node)) {
-      return false;
-    }
-    boolean hasChanged = false;
-    int count = node.getInputCount();
-    if (count == 0) {
-      if (MarketDataSourcingFunction.UNIQUE_ID.equals(node.getFunction().getFunctionId())) {
-        // This is a graph leaf, but market data changes may affect the function of the node.
-        count = node.getOutputCount();
-        for (int i = 0; i < count; i++) {
-          final ValueSpecification liveData = node.getOutputValue(i);
-          // Market data is always in the shared cache
-          final Object oldValue = _previousCache.getValue(liveData, CacheSelectHint.allShared());
-          final Object newValue = _cache.getValue(liveData, CacheSelectHint.allShared());
-          if (!ObjectUtils.equals(oldValue, newValue)) {
-            hasChanged = true;
-            break;
-          }
-        }
-      }
-    } else {
-      for (int i = 0; i < count; i++) {
-        // if any children changed, this node requires recalculation
-        hasChanged |= computeDelta(node.getInputNode(i));
+      final int index = _index.getMarketDataNode(i);
+      if (isMarketDataChanged(_index.getNode(index))) {
+        changed.set(index);
       }
-      if (!hasChanged && _changedSpecifications != null) {
-        count = node.getOutputCount();
-        for (int i = 0; i < count; i++) {
-          if (_changedSpecifications.contains(node.getOutputValue(i))) {
-            hasChanged = true;
-            break;
-          }
+    }
+    if (_changedSpecifications != null) {
+      for (final ValueSpecification specification : _changedSpecifications) {
+        final int index = _index.getNodeIndex(specification);
+        // Dirty specifications only affect the functions which consume them, not graph leaves
+        if (index >= 0 && _index.getNode(index).getInputCount() > 0) {
+          changed.set(index);
         }
       }
     }
-    if (hasChanged) {
-      _changedNodes.add(node);
-    } else {
-      _unchangedNodes.add(node);
+    _index.propagate(changed);
+    _changed = changed;
+  }
+
+  private boolean isMarketDataChanged(final DependencyNode node) {
+    final int count = node.getOutputCount();
+    for (int i = 0; i < count; i++) {
+      final ValueSpecification liveData = node.getOutputValue(i);
+      // Market data is always in the shared cache
+      final Object oldValue = _previousCache.getValue(liveData, CacheSelectHint.allShared());
+      final Object newValue = _cache.getValue(liveData, CacheSelectHint.allShared());
+      if (!ObjectUtils.equals(oldValue, newValue)) {
+        return true;
+      }
     }
-    return hasChanged;
+    return false;
   }
+
 }
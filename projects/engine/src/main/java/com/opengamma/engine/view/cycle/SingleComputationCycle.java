@@ -9,6 +9,7 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumSet;
@@ -17,10 +18,12 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.apache.commons.lang.ObjectUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.threeten.bp.Duration;
@@ -29,6 +32,7 @@ import org.threeten.bp.Instant;
 import com.google.common.collect.Maps;
 import com.opengamma.DataNotFoundException;
 import com.opengamma.engine.ComputationTargetResolver;
+import com.opengamma.engine.cache.CacheSelectHint;
 import com.opengamma.engine.cache.MissingInput;
 import com.opengamma.engine.cache.MissingOutput;
 import com.opengamma.engine.cache.ViewComputationCache;
@@ -40,10 +44,13 @@ import com.opengamma.engine.calcnode.MutableExecutionLog;
 import com.opengamma.engine.depgraph.DependencyGraph;
 import com.opengamma.engine.depgraph.DependencyGraphExplorer;
 import com.opengamma.engine.depgraph.DependencyNode;
+import com.opengamma.engine.depgraph.impl.DependencyGraphExplorerImpl;
 import com.opengamma.engine.depgraph.impl.DependencyGraphImpl;
+import com.opengamma.engine.depgraph.impl.DependencyGraphIndex;
 import com.opengamma.engine.exec.DefaultAggregatedExecutionLog;
 import com.opengamma.engine.exec.DependencyNodeJobExecutionResult;
 import com.opengamma.engine.exec.DependencyNodeJobExecutionResultCache;
+import com.opengamma.engine.exec.trace.CycleTrace;
 import com.opengamma.engine.function.EmptyFunctionParameters;
 import com.opengamma.engine.function.FunctionParameters;
 import com.opengamma.engine.function.MarketDataSourcingFunction;
@@ -55,6 +62,8 @@ import com.opengamma.engine.marketdata.manipulator.DistinctMarketDataSelector;
 import com.opengamma.engine.resource.EngineResource;
 import com.opengamma.engine.value.ComputedValue;
 import com.opengamma.engine.value.ComputedValueResult;
+import com.opengamma.engine.value.ScenarioVector;
+import com.opengamma.engine.value.ValueRequirement;
 import com.opengamma.engine.value.ValueSpecification;
 import com.opengamma.engine.view.AggregatedExecutionLog;
 import com.opengamma.engine.view.ExecutionLogMode;
@@ -118,6 +127,28 @@ public class SingleComputationCycle implements ViewCycle, EngineResource {
   private final Map<String, ViewComputationCache> _cachesByCalculationConfiguration = new HashMap<>();
   private volatile SingleComputationCycleExecutor _executor;
 
+  /**
+   * The identifier the computation caches are held under. This is the identifier of the cycle unless the caches were taken over from a previous cycle by
+   * {@link #preExecuteIncremental}.
+   */
+  private volatile UniqueId _cacheId;
+  /**
+   * Whether the computation caches are released with this cycle. This is cleared when an incremental cycle takes them over.
+   */
+  private volatile boolean _cacheOwner = true;
+  /**
+   * The parts of the dependency graphs to execute in an incremental cycle, keyed by calculation configuration, or null if this is not an incremental cycle.
+   */
+  private Map<String, IncrementalExecution> _incrementalExecution;
+  /**
+   * Whether the computation caches hold only the values recomputed by a scenario cycle.
+   */
+  private volatile boolean _partialCaches;
+  /**
+   * The trace recording where the time of the cycle is spent, or null if the cycle is not being traced.
+   */
+  private volatile CycleTrace _trace;
+
   // Output
   private final InMemoryViewComputationResultModel _resultModel;
 
@@ -137,16 +168,68 @@ public class SingleComputationCycle implements ViewCycle, EngineResource {
     _cycleFragmentResultListener = cycleFragmentResultListener;
     _executionOptions = executionOptions;
     _versionCorrection = versionCorrection;
+    _cacheId = cycleId;
     _resultModel = constructTemplateResultModel();
   }
 
+  /**
+   * The subset of a dependency graph executed by an incremental cycle.
+   */
+  private static final class IncrementalExecution {
+
+    private final DependencyGraphIndex _index;
+    private final BitSet _nodes;
+    private final DependencyGraph _graph;
+    private final Set<ValueSpecification> _inputs;
+
+    IncrementalExecution(final DependencyGraphIndex index, final BitSet nodes) {
+      _index = index;
+      _nodes = nodes;
+      _graph = index.createSubGraph(nodes);
+      _inputs = index.getExternalInputs(nodes);
+    }
+
+    Iterator<DependencyNode> nodeIterator() {
+      return new Iterator<DependencyNode>() {
+
+        private int _next = _nodes.nextSetBit(0);
+
+        @Override
+        public boolean hasNext() {
+          return _next >= 0;
+        }
+
+        @Override
+        public DependencyNode next() {
+          if (_next < 0) {
+            throw new NoSuchElementException();
+          }
+          final DependencyNode node = _index.getNode(_next);
+          _next = _nodes.nextSetBit(_next + 1);
+          return node;
+        }
+
+        @Override
+        public void remove() {
+          throw new UnsupportedOperationException();
+        }
+
+      };
+    }
+
+  }
+
   protected InMemoryViewComputationResultModel constructTemplateResultModel() {
     final InMemoryViewComputationResultModel result = new InMemoryViewComputationResultModel();
+    setResultModelIdentity(result);
+    return result;
+  }
+
+  private void setResultModelIdentity(final InMemoryViewComputationResultModel result) {
     result.setViewCycleId(getCycleId());
     result.setViewProcessId(getViewProcessId());
     result.setViewCycleExecutionOptions(getExecutionOptions());
     result.setVersionCorrection(getVersionCorrection());
-    return result;
   }
 
   // -------------------------------------------------------------------------
@@ -202,6 +285,26 @@ public class SingleComputationCycle implements ViewCycle, EngineResource {
     return Collections.unmodifiableMap(_cachesByCalculationConfiguration);
   }
 
+  /**
+   * Returns the identifier the computation caches used by this cycle are held under. Calculation jobs must reference this identifier rather than the
+   * cycle's own.
+   *
+   * @return the cache identifier, not null
+   */
+  public UniqueId getComputationCacheId() {
+    return _cacheId;
+  }
+
+  /**
+   * Tests whether this cycle still owns the computation caches it used. Ownership passes to an incremental cycle that takes the caches over, after which
+   * the values in them no longer correspond to this cycle and it can't be the basis of a delta or incremental cycle.
+   *
+   * @return true if the caches are owned by this cycle, false otherwise
+   */
+  public boolean isComputationCacheOwner() {
+    return _cacheOwner;
+  }
+
   public ViewProcessContext getViewProcessContext() {
     return _viewProcessContext;
   }
@@ -263,6 +366,25 @@ public class SingleComputationCycle implements ViewCycle, EngineResource {
     return _resultModel;
   }
 
+  /**
+   * Returns the trace recording where the time of this cycle is spent.
+   *
+   * @return the trace, or null if the cycle is not being traced
+   */
+  public CycleTrace getTrace() {
+    return _trace;
+  }
+
+  /**
+   * Sets the trace to record where the time of this cycle is spent. This must be set before the cycle is prepared for execution.
+   *
+   * @param trace
+   *          the trace, or null to not trace the cycle
+   */
+  public void setTrace(final CycleTrace trace) {
+    _trace = trace;
+  }
+
   @Override
   public ComputationCacheResponse queryComputationCaches(final ComputationCycleQuery query) {
     ArgumentChecker.notNull(query, "query");
@@ -327,16 +449,380 @@ public class SingleComputationCycle implements ViewCycle, EngineResource {
     _startTime = Instant.now();
     _state = ViewCycleState.EXECUTING;
     createAllCaches();
+    final CycleTrace trace = getTrace();
+    long start = trace != null ? System.nanoTime() : 0;
     if (!prepareInputs(marketDataSnapshot, suppressExecutionOnNoMarketData)) {
       generateSuppressedOutputs();
       return false;
     }
+    if (trace != null) {
+      trace.record(CycleTrace.PREPARE, "Market data", start);
+      start = System.nanoTime();
+    }
     if (previousCycle != null) {
       computeDelta(previousCycle);
+      if (trace != null) {
+        trace.record(CycleTrace.PREPARE, "Delta", start);
+      }
     }
     return true;
   }
 
+  /**
+   * Prepares the cycle for incremental execution following a previous cycle for the same compiled view definition.
+   * <p>
+   * The computation caches of the previous cycle are taken over and updated in place. Only the market data that has changed is written to them, and only
+   * the nodes that depend on it, directly or indirectly, will be executed. The full result model starts as a copy of the previous one. After this call the
+   * previous cycle no longer owns its caches; they are released with this cycle.
+   * <p>
+   * The caches can only be taken over if nothing but the caller holds a reference to the previous cycle, as anything else reading from it would see the
+   * values of this cycle, and if the values the recomputed nodes consume from the rest of the graph can all be read from them. Values that were private to
+   * a job on a remote calculation node can't be. If either condition isn't met, the cycle is prepared as a delta cycle against the previous cycle instead.
+   *
+   * @param previousCycle
+   *          the previous cycle, not null. It must have executed and still own its caches.
+   * @param marketDataSnapshot
+   *          the market data snapshot with which to execute the cycle, not null
+   * @param changedMarketData
+   *          the market data that has changed since the previous cycle, not null
+   * @param suppressExecutionOnNoMarketData
+   *          true if execution is to be suppressed when input data is entirely missing, false otherwise. This only applies to a delta cycle.
+   * @return true if there are nodes to execute, false if the cycle is complete
+   */
+  public boolean preExecuteIncremental(final SingleComputationCycle previousCycle, final MarketDataSnapshot marketDataSnapshot,
+      final Collection<ValueSpecification> changedMarketData, final boolean suppressExecutionOnNoMarketData) {
+    ArgumentChecker.notNull(previousCycle, "previousCycle");
+    ArgumentChecker.notNull(marketDataSnapshot, "marketDataSnapshot");
+    ArgumentChecker.notNull(changedMarketData, "changedMarketData");
+    checkBaseCycle(previousCycle);
+    final long start = System.nanoTime();
+    if (getViewProcessContext().getCycleManager() != null && getViewProcessContext().getCycleManager().getReferenceCount(previousCycle.getUniqueId()) > 1) {
+      LOGGER.info("Performing delta computation; previous cycle {} is referenced elsewhere", previousCycle.getUniqueId());
+      return preExecute(previousCycle, marketDataSnapshot, suppressExecutionOnNoMarketData);
+    }
+    final Set<ValueSpecification> allRequiredMarketData = getCompiledViewDefinition().getMarketDataRequirements();
+    final Set<ValueSpecification> marketDataChanges = new HashSet<>();
+    for (final ValueSpecification marketData : changedMarketData) {
+      if (allRequiredMarketData.contains(marketData)) {
+        marketDataChanges.add(marketData);
+      }
+    }
+    // Work out what to execute, and that its inputs are available, before anything is written to the previous cycle's caches
+    final Map<String, BitSet> marketDataNodes = new HashMap<>();
+    for (final DependencyGraphExplorer depGraphExplorer : getCompiledViewDefinition().getDependencyGraphExplorers()) {
+      final DependencyGraphIndex index = DependencyGraphExplorerImpl.getIndex(depGraphExplorer);
+      final BitSet nodes = new BitSet(index.getNodeCount());
+      for (final ValueSpecification marketDataSpec : marketDataChanges) {
+        final int node = index.getNodeIndex(marketDataSpec);
+        if (node >= 0 && index.getNode(node).getInputCount() == 0) {
+          nodes.set(node);
+        }
+      }
+      marketDataNodes.put(depGraphExplorer.getCalculationConfigurationName(), nodes);
+    }
+    final Map<String, IncrementalExecution> incrementalExecution = createIncrementalExecution(previousCycle, marketDataNodes, "Incremental");
+    final Map<String, Collection<ComputedValue>> inputValues = getIncrementalInputs(previousCycle, incrementalExecution);
+    if (inputValues == null) {
+      LOGGER.info("Performing delta computation; values needed from previous cycle {} are held by remote calculation nodes", previousCycle.getUniqueId());
+      return preExecute(previousCycle, marketDataSnapshot, suppressExecutionOnNoMarketData);
+    }
+    _startTime = Instant.now();
+    _state = ViewCycleState.EXECUTING;
+    _cacheId = previousCycle.getComputationCacheId();
+    _cachesByCalculationConfiguration.putAll(previousCycle._cachesByCalculationConfiguration);
+    for (final Map.Entry<String, DependencyNodeJobExecutionResultCache> jobResultCache : previousCycle._jobResultCachesByCalculationConfiguration.entrySet()) {
+      // The previous cycle's results must still describe the previous cycle
+      _jobResultCachesByCalculationConfiguration.put(jobResultCache.getKey(), new DependencyNodeJobExecutionResultCache(jobResultCache.getValue()));
+    }
+    previousCycle._cacheOwner = false;
+    final InMemoryViewComputationResultModel fullResultModel = getResultModel();
+    fullResultModel.update(previousCycle.getResultModel());
+    setResultModelIdentity(fullResultModel);
+    final Map<ValueSpecification, Object> marketDataValues = marketDataSnapshot.query(marketDataChanges);
+    final InMemoryViewComputationResultModel fragmentResultModel = constructTemplateResultModel();
+    final ResultModelDefinition resultModel = getViewDefinition().getResultModelDefinition();
+    int missingMarketData = 0;
+    for (final DependencyGraphExplorer depGraphExplorer : getCompiledViewDefinition().getDependencyGraphExplorers()) {
+      final String calcConfig = depGraphExplorer.getCalculationConfigurationName();
+      final DependencyGraphIndex index = DependencyGraphExplorerImpl.getIndex(depGraphExplorer);
+      final OverrideOperation operation = getCacheMarketDataOperation(getViewDefinition().getCalculationConfiguration(calcConfig));
+      final Set<ValueSpecification> terminalOutputs = index.getGraph().getTerminalOutputs().keySet();
+      final BitSet nodes = marketDataNodes.get(calcConfig);
+      final Collection<ComputedValueResult> valuesToLoad = new ArrayList<>();
+      for (final ValueSpecification marketDataSpec : marketDataChanges) {
+        final int node = index.getNodeIndex(marketDataSpec);
+        if (node < 0 || !nodes.get(node)) {
+          continue;
+        }
+        final ComputedValueResult computedValueResult = createMarketDataResult(calcConfig, marketDataSpec, marketDataValues.get(marketDataSpec), operation,
+            terminalOutputs, resultModel, fragmentResultModel);
+        if (computedValueResult.getValue() == MissingInput.MISSING_MARKET_DATA) {
+          missingMarketData++;
+        }
+        valuesToLoad.add(computedValueResult);
+      }
+      final ViewComputationCache cache = getComputationCache(calcConfig);
+      if (!valuesToLoad.isEmpty()) {
+        cache.putSharedValues(valuesToLoad);
+      }
+      // Values that were private to a job in the previous cycle must be available to the jobs in this one
+      final Collection<ComputedValue> inputs = inputValues.get(calcConfig);
+      if (inputs != null && !inputs.isEmpty()) {
+        cache.putSharedValues(inputs);
+      }
+    }
+    if (missingMarketData > 0) {
+      LOGGER.info("Missing {} market data elements", missingMarketData);
+    }
+    if (!fragmentResultModel.isEmpty() || !fragmentResultModel.getAllMarketData().isEmpty()) {
+      fragmentResultModel.setCalculationTime(Instant.now());
+      notifyFragmentCompleted(fragmentResultModel);
+    }
+    return setIncrementalExecution(incrementalExecution, start);
+  }
+
+  /**
+   * Reads the values that the nodes of an incremental cycle consume from the rest of the graph but that were private to a job in the previous cycle.
+   *
+   * @param previousCycle
+   *          the previous cycle, not null
+   * @param incrementalExecution
+   *          the nodes to execute, keyed by calculation configuration, not null
+   * @return the private values, keyed by calculation configuration, or null if a value produced by the previous cycle can't be read from its caches
+   */
+  private static Map<String, Collection<ComputedValue>> getIncrementalInputs(final SingleComputationCycle previousCycle,
+      final Map<String, IncrementalExecution> incrementalExecution) {
+    final Map<String, Collection<ComputedValue>> result = new HashMap<>();
+    for (final Map.Entry<String, IncrementalExecution> execution : incrementalExecution.entrySet()) {
+      final Set<ValueSpecification> inputs = execution.getValue()._inputs;
+      if (inputs.isEmpty()) {
+        continue;
+      }
+      final ViewComputationCache cache = previousCycle.getComputationCache(execution.getKey());
+      final Collection<ComputedValue> values = new ArrayList<>(inputs.size());
+      final Set<ValueSpecification> missing = new HashSet<>();
+      for (final Pair<ValueSpecification, Object> value : cache.getValues(inputs, CacheSelectHint.allPrivate())) {
+        if (value.getSecond() != null) {
+          values.add(new ComputedValue(value.getFirst(), value.getSecond()));
+        } else {
+          missing.add(value.getFirst());
+        }
+      }
+      if (!missing.isEmpty()) {
+        final DependencyNodeJobExecutionResultCache jobResults = previousCycle.getJobExecutionResultCache(execution.getKey());
+        for (final Pair<ValueSpecification, Object> value : cache.getValues(missing, CacheSelectHint.allShared())) {
+          if (value.getSecond() != null) {
+            continue;
+          }
+          // Not in either cache; this is only expected if the node didn't produce it
+          final DependencyNodeJobExecutionResult jobResult = jobResults != null ? jobResults.get(value.getFirst()) : null;
+          if (jobResult != null && !jobResult.getJobResultItem().isFailed() && !jobResult.getJobResultItem().getMissingOutputs().contains(value.getFirst())) {
+            return null;
+          }
+        }
+      }
+      result.put(execution.getKey(), values);
+    }
+    return result;
+  }
+
+  /**
+   * Prepares the cycle for execution as a scenario of a base cycle for the same compiled view definition.
+   * <p>
+   * The cycle has its own computation caches, but only the nodes affected by the scenario are executed. These are the nodes that depend, directly or
+   * indirectly, on market data whose value in the snapshot differs from the base cycle's or on function parameters that differ between the execution options
+   * of the two cycles. The values produced by unaffected nodes that these nodes consume are copied from the base cycle's caches, and the full result model
+   * starts as a copy of the base cycle's. The base cycle is only read, so any number of scenario cycles may be prepared and executed against it concurrently.
+   * It must not be released until they have all completed.
+   * <p>
+   * The caches of a scenario cycle hold only the values that were recomputed, so it can't be the basis of a delta, incremental or scenario cycle.
+   *
+   * @param baseCycle
+   *          the base cycle, not null. It must have executed and still own its caches.
+   * @param marketDataSnapshot
+   *          the market data snapshot for the scenario, not null
+   * @return true if there are nodes to execute, false if the cycle is complete
+   */
+  public boolean preExecuteScenario(final SingleComputationCycle baseCycle, final MarketDataSnapshot marketDataSnapshot) {
+    ArgumentChecker.notNull(baseCycle, "baseCycle");
+    ArgumentChecker.notNull(marketDataSnapshot, "marketDataSnapshot");
+    checkBaseCycle(baseCycle);
+    _startTime = Instant.now();
+    _state = ViewCycleState.EXECUTING;
+    final long start = System.nanoTime();
+    createAllCaches();
+    _partialCaches = true;
+    final InMemoryViewComputationResultModel fullResultModel = getResultModel();
+    fullResultModel.update(baseCycle.getResultModel());
+    setResultModelIdentity(fullResultModel);
+    final Map<ValueSpecification, Object> marketDataValues = marketDataSnapshot.query(getCompiledViewDefinition().getMarketDataRequirements());
+    final InMemoryViewComputationResultModel fragmentResultModel = constructTemplateResultModel();
+    final ResultModelDefinition resultModel = getViewDefinition().getResultModelDefinition();
+    final Map<String, BitSet> marketDataNodes = new HashMap<>();
+    int shockedMarketData = 0;
+    for (final DependencyGraphExplorer depGraphExplorer : getCompiledViewDefinition().getDependencyGraphExplorers()) {
+      final String calcConfig = depGraphExplorer.getCalculationConfigurationName();
+      final DependencyGraphIndex index = DependencyGraphExplorerImpl.getIndex(depGraphExplorer);
+      final OverrideOperation operation = getCacheMarketDataOperation(getViewDefinition().getCalculationConfiguration(calcConfig));
+      final Set<ValueSpecification> terminalOutputs = index.getGraph().getTerminalOutputs().keySet();
+      final Collection<ValueSpecification> marketDataRequirements = getCompiledViewDefinition().getCompiledCalculationConfiguration(calcConfig)
+          .getMarketDataRequirements();
+      final BitSet nodes = new BitSet(index.getNodeCount());
+      final Collection<ComputedValueResult> valuesToLoad = new ArrayList<>();
+      for (final Pair<ValueSpecification, Object> baseValue : baseCycle.getComputationCache(calcConfig).getValues(marketDataRequirements,
+          CacheSelectHint.allShared())) {
+        final ValueSpecification marketDataSpec = baseValue.getFirst();
+        Object value = marketDataValues.get(marketDataSpec);
+        if (operation != null && value != null) {
+          value = applyOperation(operation, marketDataSpec, value);
+        }
+        if (ObjectUtils.equals(value != null ? value : MissingInput.MISSING_MARKET_DATA, baseValue.getSecond())) {
+          continue;
+        }
+        final int node = index.getNodeIndex(marketDataSpec);
+        if (node < 0 || index.getNode(node).getInputCount() > 0) {
+          continue;
+        }
+        nodes.set(node);
+        valuesToLoad.add(createMarketDataResult(calcConfig, marketDataSpec, value, null, terminalOutputs, resultModel, fragmentResultModel));
+      }
+      if (!valuesToLoad.isEmpty()) {
+        getComputationCache(calcConfig).putSharedValues(valuesToLoad);
+        shockedMarketData += valuesToLoad.size();
+      }
+      marketDataNodes.put(calcConfig, nodes);
+    }
+    LOGGER.debug("{} market data elements differ from base cycle {}", shockedMarketData, baseCycle.getUniqueId());
+    if (!fragmentResultModel.isEmpty() || !fragmentResultModel.getAllMarketData().isEmpty()) {
+      fragmentResultModel.setCalculationTime(Instant.now());
+      notifyFragmentCompleted(fragmentResultModel);
+    }
+    final Map<String, IncrementalExecution> incrementalExecution = createIncrementalExecution(baseCycle, marketDataNodes, "Scenario");
+    copyScenarioInputs(baseCycle, marketDataNodes, incrementalExecution);
+    return setIncrementalExecution(incrementalExecution, start);
+  }
+
+  private void checkBaseCycle(final SingleComputationCycle baseCycle) {
+    if (_state != ViewCycleState.AWAITING_EXECUTION) {
+      throw new IllegalStateException("State must be " + ViewCycleState.AWAITING_EXECUTION);
+    }
+    if (baseCycle.getState() != ViewCycleState.EXECUTED || !baseCycle.isComputationCacheOwner() || baseCycle._partialCaches) {
+      throw new IllegalArgumentException("Base cycle must be " + ViewCycleState.EXECUTED + " and own complete computation caches");
+    }
+    if (!getCompiledViewDefinition().getCompilationIdentifier().equals(baseCycle.getCompiledViewDefinition().getCompilationIdentifier())) {
+      throw new IllegalArgumentException("Base cycle must be for the same compiled view definition");
+    }
+  }
+
+  /**
+   * Determines the nodes to execute for an incremental or scenario cycle. These are the nodes that depend on the replaced market data, or whose function
+   * parameters differ from those of the base cycle.
+   *
+   * @param baseCycle
+   *          the cycle the unaffected values come from, not null
+   * @param marketDataNodes
+   *          the market data nodes whose values have been replaced, keyed by calculation configuration, not null
+   * @param description
+   *          the kind of cycle, for logging
+   * @return the nodes to execute, keyed by calculation configuration, not null
+   */
+  private Map<String, IncrementalExecution> createIncrementalExecution(final SingleComputationCycle baseCycle, final Map<String, BitSet> marketDataNodes,
+      final String description) {
+    final CompiledViewDefinitionWithGraphs viewDefinition = getCompiledViewDefinition();
+    final CompiledViewDefinition baseViewDefinition = baseCycle.getCompiledViewDefinition();
+    final FunctionParametersDelta parameterDelta = FunctionParametersDelta.of(baseCycle.getExecutionOptions(), getExecutionOptions());
+    final Map<String, IncrementalExecution> incrementalExecution = new HashMap<>();
+    for (final DependencyGraphExplorer depGraphExplorer : viewDefinition.getDependencyGraphExplorers()) {
+      final String calcConfig = depGraphExplorer.getCalculationConfigurationName();
+      final DependencyGraphIndex index = DependencyGraphExplorerImpl.getIndex(depGraphExplorer);
+      final BitSet marketData = marketDataNodes.get(calcConfig);
+      final BitSet nodes = (BitSet) marketData.clone();
+      for (final ValueSpecification dirty : parameterDelta.getValueSpecifications(calcConfig, baseViewDefinition, viewDefinition)) {
+        final int node = index.getNodeIndex(dirty);
+        if (node >= 0 && index.getNode(node).getInputCount() > 0) {
+          nodes.set(node);
+        }
+      }
+      index.propagate(nodes);
+      // The market data nodes are not executed; their values have already been written to the cache
+      nodes.andNot(marketData);
+      LOGGER.info("{} cycle for calculation configuration '{}'. {} nodes out of {} require recomputation.", description, calcConfig, nodes.cardinality(),
+          index.getNodeCount());
+      incrementalExecution.put(calcConfig, new IncrementalExecution(index, nodes));
+    }
+    return incrementalExecution;
+  }
+
+  /**
+   * Copies the values the nodes of a scenario cycle consume from the rest of the graph from the base cycle's caches into the shared parts of this cycle's.
+   *
+   * @param baseCycle
+   *          the cycle the unaffected values come from, not null
+   * @param marketDataNodes
+   *          the market data nodes whose values have been replaced, keyed by calculation configuration, not null
+   * @param incrementalExecution
+   *          the nodes to execute, keyed by calculation configuration, not null
+   */
+  private void copyScenarioInputs(final SingleComputationCycle baseCycle, final Map<String, BitSet> marketDataNodes,
+      final Map<String, IncrementalExecution> incrementalExecution) {
+    for (final Map.Entry<String, IncrementalExecution> execution : incrementalExecution.entrySet()) {
+      final String calcConfig = execution.getKey();
+      if (execution.getValue()._inputs.isEmpty()) {
+        continue;
+      }
+      final DependencyGraphIndex index = execution.getValue()._index;
+      final BitSet marketData = marketDataNodes.get(calcConfig);
+      final Set<ValueSpecification> inputs = new HashSet<>(execution.getValue()._inputs);
+      for (int node = marketData.nextSetBit(0); node >= 0; node = marketData.nextSetBit(node + 1)) {
+        final DependencyNode marketDataNode = index.getNode(node);
+        for (int i = marketDataNode.getOutputCount() - 1; i >= 0; i--) {
+          inputs.remove(marketDataNode.getOutputValue(i));
+        }
+      }
+      final Collection<ComputedValue> values = new ArrayList<>(inputs.size());
+      for (final Pair<ValueSpecification, Object> value : baseCycle.getComputationCache(calcConfig).getValues(inputs)) {
+        if (value.getSecond() != null) {
+          values.add(new ComputedValue(value.getFirst(), value.getSecond()));
+        }
+      }
+      if (!values.isEmpty()) {
+        getComputationCache(calcConfig).putSharedValues(values);
+      }
+    }
+  }
+
+  /**
+   * Sets the nodes to execute for an incremental or scenario cycle.
+   *
+   * @param incrementalExecution
+   *          the nodes to execute, keyed by calculation configuration, not null
+   * @param start
+   *          the {@link System#nanoTime} at which the preparation of the cycle started, for tracing
+   * @return true if there are nodes to execute, false otherwise
+   */
+  private boolean setIncrementalExecution(final Map<String, IncrementalExecution> incrementalExecution, final long start) {
+    _incrementalExecution = incrementalExecution;
+    final CycleTrace trace = getTrace();
+    if (trace != null) {
+      trace.record(CycleTrace.PREPARE, "Subgraph", start);
+    }
+    for (final IncrementalExecution execution : incrementalExecution.values()) {
+      if (!execution._nodes.isEmpty()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Tests whether this cycle is executing only part of the dependency graphs, as an incremental or scenario cycle.
+   *
+   * @return true if only the affected nodes are executed, false if this is a full or delta cycle
+   */
+  public boolean isIncremental() {
+    return _incrementalExecution != null;
+  }
+
   protected Map<ValueSpecification, FunctionParameters> createFunctionParameters(final String calcConfigurationName) {
     final CompiledViewCalculationConfiguration calculationConfiguration = _compiledViewDefinition.getCompiledCalculationConfiguration(calcConfigurationName);
     final Map<DistinctMarketDataSelector, Set<ValueSpecification>> marketDataSelections = calculationConfiguration.getMarketDataSelections();
@@ -395,6 +881,10 @@ public class SingleComputationCycle implements ViewCycle, EngineResource {
    */
   public void execute() throws InterruptedException {
     _executor = new SingleComputationCycleExecutor(this);
+    final CycleTrace trace = getTrace();
+    if (trace != null) {
+      trace.activate();
+    }
     try {
       _executor.execute();
     } catch (final InterruptedException e) {
@@ -403,6 +893,9 @@ public class SingleComputationCycle implements ViewCycle, EngineResource {
       LOGGER.info("Execution interrupted before completion.");
     } finally {
       _executor = null;
+      if (trace != null) {
+        trace.deactivate();
+      }
     }
   }
 
@@ -469,7 +962,6 @@ public class SingleComputationCycle implements ViewCycle, EngineResource {
     final Set<ValueSpecification> allRequiredMarketData = getCompiledViewDefinition().getMarketDataRequirements();
     LOGGER.debug("Populating {} market data items using snapshot {}", allRequiredMarketData.size(), snapshot);
     final InMemoryViewComputationResultModel fragmentResultModel = constructTemplateResultModel();
-    final InMemoryViewComputationResultModel fullResultModel = getResultModel();
     final Map<ValueSpecification, Object> marketDataValues = snapshot.query(allRequiredMarketData);
     if (suppressExecutionOnNoMarketData && allRequiredMarketData.size() > 0 && marketDataValues.size() == 0) {
       // Market data was expected but the snapshot was empty. Don't bother doing anything else, and indicate that
@@ -484,32 +976,10 @@ public class SingleComputationCycle implements ViewCycle, EngineResource {
       final Set<ValueSpecification> terminalOutputs = calcConfig.getTerminalOutputSpecifications().keySet();
       final Collection<ComputedValueResult> valuesToLoad = new ArrayList<>(marketDataRequirements.size());
       for (final ValueSpecification marketDataSpec : marketDataRequirements) {
-        Object marketDataValue = marketDataValues.get(marketDataSpec);
-        ComputedValueResult computedValueResult;
-        if (operation != null) {
-          if (marketDataValue != null) {
-            marketDataValue = operation.apply(marketDataSpec.toRequirementSpecification(), marketDataValue);
-            if (marketDataValue == null) {
-              LOGGER.debug("Market data {} discarded by override operation", marketDataSpec);
-            }
-          }
-        }
-        if (marketDataValue == null) {
-          LOGGER.debug("Unable to load market data value for {} from snapshot {}", marketDataSpec, getValuationTime());
+        final ComputedValueResult computedValueResult = createMarketDataResult(calcConfig.getName(), marketDataSpec, marketDataValues.get(marketDataSpec),
+            operation, terminalOutputs, resultModel, fragmentResultModel);
+        if (computedValueResult.getValue() == MissingInput.MISSING_MARKET_DATA) {
           missingMarketData++;
-          // TODO provide elevated logs if requested from market data providers
-          computedValueResult = new ComputedValueResult(marketDataSpec, MissingInput.MISSING_MARKET_DATA, MARKET_DATA_LOG);
-          final ComputedValueResult resultModelValueResult = new ComputedValueResult(marketDataSpec, null, AggregatedExecutionLog.EMPTY);
-          fragmentResultModel.addMarketData(resultModelValueResult);
-          fullResultModel.addMarketData(resultModelValueResult);
-        } else {
-          computedValueResult = new ComputedValueResult(marketDataSpec, marketDataValue, AggregatedExecutionLog.EMPTY);
-          fragmentResultModel.addMarketData(computedValueResult);
-          fullResultModel.addMarketData(computedValueResult);
-        }
-        if (terminalOutputs.contains(marketDataSpec) && resultModel.getOutputMode(marketDataSpec.getTargetSpecification().getType()) != ResultOutputMode.NONE) {
-          fragmentResultModel.addValue(calcConfig.getName(), computedValueResult);
-          fullResultModel.addValue(calcConfig.getName(), computedValueResult);
         }
         valuesToLoad.add(computedValueResult);
       }
@@ -526,12 +996,96 @@ public class SingleComputationCycle implements ViewCycle, EngineResource {
     return true;
   }
 
+  /**
+   * Applies an override operation to a market data value. The operation is applied to each element of a {@link ScenarioVector}, with an element discarded by
+   * the operation becoming missing market data for that scenario.
+   *
+   * @param operation
+   *          the override operation, not null
+   * @param marketDataSpec
+   *          the market data specification, not null
+   * @param value
+   *          the value from the snapshot, not null
+   * @return the value after the operation, or null if discarded
+   */
+  /* package */static Object applyOperation(final OverrideOperation operation, final ValueSpecification marketDataSpec, final Object value) {
+    final ValueRequirement requirement = marketDataSpec.toRequirementSpecification();
+    final int scenarios = ScenarioVector.getScenarioCount(value);
+    if (scenarios == 0) {
+      return operation.apply(requirement, value);
+    }
+    final Object[] values = new Object[scenarios];
+    boolean discarded = true;
+    for (int i = 0; i < scenarios; i++) {
+      final Object element = ScenarioVector.getScenarioValue(value, i);
+      values[i] = element instanceof MissingInput ? element : operation.apply(requirement, element);
+      if (values[i] == null) {
+        values[i] = MissingInput.MISSING_MARKET_DATA;
+      } else {
+        discarded = false;
+      }
+    }
+    return discarded ? null : ScenarioVector.valueOf(values);
+  }
+
+  /**
+   * Creates the result for a market data value, adding it to the result models.
+   *
+   * @param calcConfigName
+   *          the calculation configuration name, not null
+   * @param marketDataSpec
+   *          the market data specification, not null
+   * @param marketDataValue
+   *          the value from the snapshot, or null if missing
+   * @param operation
+   *          the override operation to apply to the value, or null for none
+   * @param terminalOutputs
+   *          the terminal outputs of the calculation configuration, not null
+   * @param resultModel
+   *          the result model definition, not null
+   * @param fragmentResultModel
+   *          the fragment result model to update, not null
+   * @return the value to write to the computation cache, not null
+   */
+  private ComputedValueResult createMarketDataResult(final String calcConfigName, final ValueSpecification marketDataSpec, final Object marketDataValue,
+      final OverrideOperation operation, final Set<ValueSpecification> terminalOutputs, final ResultModelDefinition resultModel,
+      final InMemoryViewComputationResultModel fragmentResultModel) {
+    final InMemoryViewComputationResultModel fullResultModel = getResultModel();
+    Object value = marketDataValue;
+    if (operation != null) {
+      if (value != null) {
+        value = applyOperation(operation, marketDataSpec, value);
+        if (value == null) {
+          LOGGER.debug("Market data {} discarded by override operation", marketDataSpec);
+        }
+      }
+    }
+    final ComputedValueResult computedValueResult;
+    if (value == null) {
+      LOGGER.debug("Unable to load market data value for {} from snapshot {}", marketDataSpec, getValuationTime());
+      // TODO provide elevated logs if requested from market data providers
+      computedValueResult = new ComputedValueResult(marketDataSpec, MissingInput.MISSING_MARKET_DATA, MARKET_DATA_LOG);
+      final ComputedValueResult resultModelValueResult = new ComputedValueResult(marketDataSpec, null, AggregatedExecutionLog.EMPTY);
+      fragmentResultModel.addMarketData(resultModelValueResult);
+      fullResultModel.addMarketData(resultModelValueResult);
+    } else {
+      computedValueResult = new ComputedValueResult(marketDataSpec, value, AggregatedExecutionLog.EMPTY);
+      fragmentResultModel.addMarketData(computedValueResult);
+      fullResultModel.addMarketData(computedValueResult);
+    }
+    if (terminalOutputs.contains(marketDataSpec) && resultModel.getOutputMode(marketDataSpec.getTargetSpecification().getType()) != ResultOutputMode.NONE) {
+      fragmentResultModel.addValue(calcConfigName, computedValueResult);
+      fullResultModel.addValue(calcConfigName, computedValueResult);
+    }
+    return computedValueResult;
+  }
+
   /**
    * Ensures that a computation cache exists for for each calculation configuration.
    */
   private void createAllCaches() {
     for (final String calcConfigurationName : getAllCalculationConfigurationNames()) {
-      final ViewComputationCache cache = getViewProcessContext().getComputationCacheSource().getCache(getUniqueId(), calcConfigurationName);
+      final ViewComputationCache cache = getViewProcessContext().getComputationCacheSource().getCache(getComputationCacheId(), calcConfigurationName);
       _cachesByCalculationConfiguration.put(calcConfigurationName, cache);
       _jobResultCachesByCalculationConfiguration.put(calcConfigurationName, new DependencyNodeJobExecutionResultCache());
     }
@@ -567,15 +1121,19 @@ public class SingleComputationCycle implements ViewCycle, EngineResource {
       final ViewComputationCache previousCache = previousCycle.getComputationCache(calcConfig);
       final DependencyNodeJobExecutionResultCache jobExecutionResultCache = getJobExecutionResultCache(calcConfig);
       final DependencyNodeJobExecutionResultCache previousJobExecutionResultCache = previousCycle.getJobExecutionResultCache(calcConfig);
-      final LiveDataDeltaCalculator deltaCalculator = new LiveDataDeltaCalculator(depGraph, cache, previousCache,
+      final DependencyGraphIndex index = DependencyGraphExplorerImpl.getIndex(depGraphExplorer);
+      final LiveDataDeltaCalculator deltaCalculator = new LiveDataDeltaCalculator(index, cache, previousCache,
           parameterDelta.getValueSpecifications(calcConfig, previousViewDefinition,
               viewDefinition));
       deltaCalculator.computeDelta();
+      final BitSet changedNodes = deltaCalculator.getChangedNodeIndices();
+      final int nodeCount = index.getNodeCount();
       LOGGER.info("Computed delta for calculation configuration '{}'. {} nodes out of {} require recomputation.",
-          calcConfig, deltaCalculator.getChangedNodes().size(), depGraph.getSize());
+          calcConfig, changedNodes.cardinality(), nodeCount);
       final Collection<ValueSpecification> specsToCopy = new LinkedList<>();
       final Collection<ComputedValue> errors = new LinkedList<>();
-      for (final DependencyNode unchangedNode : deltaCalculator.getUnchangedNodes()) {
+      for (int n = changedNodes.nextClearBit(0); n < nodeCount; n = changedNodes.nextClearBit(n + 1)) {
+        final DependencyNode unchangedNode = index.getNode(n);
         if (MarketDataSourcingFunction.UNIQUE_ID.equals(unchangedNode.getFunction().getFunctionId())) {
           // Market data is already in the cache, so don't need to copy it across again
           continue;
@@ -655,6 +1213,24 @@ public class SingleComputationCycle implements ViewCycle, EngineResource {
     return getCompiledViewDefinition().getDependencyGraphExplorer(calcConfName).getWholeGraph();
   }
 
+  private IncrementalExecution getIncrementalExecution(final String calcConfName) {
+    final Map<String, IncrementalExecution> incrementalExecution = _incrementalExecution;
+    return incrementalExecution != null ? incrementalExecution.get(calcConfName) : null;
+  }
+
+  /**
+   * Returns the dependency graph to be executed by this cycle for the given calculation configuration. This is the whole graph unless this is an
+   * incremental cycle, in which case it contains only the nodes that require recomputation.
+   *
+   * @param calcConfName
+   *          calculation configuration name
+   * @return the dependency graph to execute
+   */
+  protected DependencyGraph getExecutionGraph(final String calcConfName) {
+    final IncrementalExecution incremental = getIncrementalExecution(calcConfName);
+    return incremental != null ? incremental._graph : getDependencyGraph(calcConfName);
+  }
+
   /**
    * Returns the set of values already calculated and in the shared cache at execution of the graph, or that have been blacklisted. This will control the subset
    * of the graph that is used to create the jobs.
@@ -664,17 +1240,23 @@ public class SingleComputationCycle implements ViewCycle, EngineResource {
    * @return the values in the shared cache, not null
    */
   protected Set<ValueSpecification> getSharedValues(final String calcConfName) {
-    // Get the market data
-    final Set<ValueSpecification> sharedValues = new HashSet<>(
-        getCompiledViewDefinition().getCompiledCalculationConfiguration(calcConfName).getMarketDataRequirements());
-    // Add anything kept as part of a delta cycle
     final DependencyNodeJobExecutionResultCache jobCache = getJobExecutionResultCache(calcConfName);
-    sharedValues.addAll(jobCache.getExecutedData());
+    final IncrementalExecution incremental = getIncrementalExecution(calcConfName);
+    final Set<ValueSpecification> sharedValues;
+    if (incremental != null) {
+      // Everything produced outside of the nodes being executed is already in the cache
+      sharedValues = new HashSet<>(incremental._inputs);
+    } else {
+      // Get the market data
+      sharedValues = new HashSet<>(getCompiledViewDefinition().getCompiledCalculationConfiguration(calcConfName).getMarketDataRequirements());
+      // Add anything kept as part of a delta cycle
+      sharedValues.addAll(jobCache.getExecutedData());
+    }
     // Handle blacklisted nodes
     final FunctionBlacklistQuery blacklist = getViewProcessContext().getFunctionCompilationService().getFunctionCompilationContext()
         .getGraphExecutionBlacklist();
     if (!blacklist.isEmpty()) {
-      final Iterator<DependencyNode> nodes = getDependencyGraph(calcConfName).nodeIterator();
+      final Iterator<DependencyNode> nodes = incremental != null ? incremental.nodeIterator() : getDependencyGraph(calcConfName).nodeIterator();
       Collection<ComputedValue> errors = null;
       while (nodes.hasNext()) {
         final DependencyNode node = nodes.next();
@@ -708,7 +1290,9 @@ public class SingleComputationCycle implements ViewCycle, EngineResource {
     if (getViewDefinition().isDumpComputationCacheToDisk()) {
       dumpComputationCachesToDisk();
     }
-    getViewProcessContext().getComputationCacheSource().releaseCaches(getUniqueId());
+    if (isComputationCacheOwner()) {
+      getViewProcessContext().getComputationCacheSource().releaseCaches(getComputationCacheId());
+    }
     _state = ViewCycleState.DESTROYED;
   }
 
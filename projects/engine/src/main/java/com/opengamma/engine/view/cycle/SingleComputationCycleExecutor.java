@@ -33,6 +33,7 @@ import com.opengamma.engine.exec.DependencyGraphExecutionFuture;
 import com.opengamma.engine.exec.DependencyGraphExecutor;
 import com.opengamma.engine.exec.DependencyNodeJobExecutionResult;
 import com.opengamma.engine.exec.DependencyNodeJobExecutionResultCache;
+import com.opengamma.engine.exec.trace.CycleTrace;
 import com.opengamma.engine.function.FunctionDefinition;
 import com.opengamma.engine.function.FunctionParameters;
 import com.opengamma.engine.value.ComputedValueResult;
@@ -77,11 +78,16 @@ import com.opengamma.util.tuple.Pair;
 
       if (calcConfig != null) {
         final SingleComputationCycle cycle = executor.getCycle();
+        final CycleTrace trace = cycle.getTrace();
+        final long start = trace != null ? System.nanoTime() : 0;
         final InMemoryViewComputationResultModel fragmentResultModel = cycle.constructTemplateResultModel();
         calcConfig.buildResults(fragmentResultModel, cycle.getResultModel());
         // TODO: Populate with durations from the component jobs
         fragmentResultModel.setCalculationTime(Instant.now());
         cycle.notifyFragmentCompleted(fragmentResultModel);
+        if (trace != null) {
+          trace.record(CycleTrace.RESULTS, _calculationConfiguration + " results", start);
+        }
       }
     }
 
@@ -100,7 +106,14 @@ import com.opengamma.util.tuple.Pair;
     @Override
     public void run(final SingleComputationCycleExecutor executor) {
       LOGGER.debug("Execution of {} complete", _job);
-      executor.buildResults(_job, _jobResult);
+      final CycleTrace trace = executor.getCycle().getTrace();
+      if (trace != null) {
+        final long start = System.nanoTime();
+        executor.buildResults(_job, _jobResult);
+        trace.record(CycleTrace.RESULTS, "Job " + _job.getSpecification().getJobId() + " results", start);
+      } else {
+        executor.buildResults(_job, _jobResult);
+      }
     }
 
   }
@@ -172,7 +185,11 @@ import com.opengamma.util.tuple.Pair;
     final DependencyGraphExecutor executor = getCycle().getViewProcessContext().getDependencyGraphExecutorFactory().createExecutor(getCycle());
     for (final String calcConfigurationName : getCycle().getAllCalculationConfigurationNames()) {
       LOGGER.info("Executing plans for calculation configuration {}", calcConfigurationName);
-      final DependencyGraph depGraph = getCycle().getDependencyGraph(calcConfigurationName);
+      final DependencyGraph depGraph = getCycle().getExecutionGraph(calcConfigurationName);
+      if (depGraph.getSize() == 0) {
+        LOGGER.info("Nothing to execute for calculation configuration {}", calcConfigurationName);
+        continue;
+      }
       final Set<ValueSpecification> sharedData = getCycle().getSharedValues(calcConfigurationName);
       final Map<ValueSpecification, FunctionParameters> parameters = getCycle().createFunctionParameters(calcConfigurationName);
       LOGGER.info("Submitting {} for execution by {}", depGraph, executor);
@@ -195,6 +212,8 @@ import com.opengamma.util.tuple.Pair;
             LOGGER.info("Discarding fragment completion message - overall execution is complete");
           } else {
             LOGGER.debug("Building result fragment");
+            final CycleTrace trace = getCycle().getTrace();
+            final long start = trace != null ? System.nanoTime() : 0;
             final InMemoryViewComputationResultModel fragmentResultModel = getCycle().constructTemplateResultModel();
             final InMemoryViewComputationResultModel fullResultModel = getCycle().getResultModel();
             for (final ExecutingCalculationConfiguration calcConfig : _executing.values()) {
@@ -204,6 +223,9 @@ import com.opengamma.util.tuple.Pair;
             // TODO: Populate the calculation duration with information from the component jobs
             fragmentResultModel.setCalculationTime(Instant.now());
             getCycle().notifyFragmentCompleted(fragmentResultModel);
+            if (trace != null) {
+              trace.record(CycleTrace.RESULTS, "Fragment results", start);
+            }
           }
           _issueFragmentResults = false;
         }
@@ -47,6 +47,46 @@ public final class ExecutionFlags {
     return this;
   }
 
+  /**
+   * Adds {@link ViewExecutionFlags#INCREMENTAL_CYCLE_ON_MARKET_DATA_CHANGED}.
+   *
+   * @return this
+   */
+  public ExecutionFlags incrementalOnMarketData() {
+    _flags.add(ViewExecutionFlags.INCREMENTAL_CYCLE_ON_MARKET_DATA_CHANGED);
+    return this;
+  }
+
+  /**
+   * Adds {@link ViewExecutionFlags#BATCHED_SCENARIOS}.
+   *
+   * @return this
+   */
+  public ExecutionFlags batchedScenarios() {
+    _flags.add(ViewExecutionFlags.BATCHED_SCENARIOS);
+    return this;
+  }
+
+  /**
+   * Adds {@link ViewExecutionFlags#TRACE_CYCLES}.
+   *
+   * @return this
+   */
+  public ExecutionFlags traceCycles() {
+    _flags.add(ViewExecutionFlags.TRACE_CYCLES);
+    return this;
+  }
+
+  /**
+   * Adds {@link ViewExecutionFlags#PIPELINED_CYCLES}.
+   *
+   * @return this
+   */
+  public ExecutionFlags pipelinedCycles() {
+    _flags.add(ViewExecutionFlags.PIPELINED_CYCLES);
+    return this;
+  }
+
   /**
    * Adds {@link ViewExecutionFlags#TRIGGER_CYCLE_ON_TIME_ELAPSED}.
    *
@@ -122,6 +122,39 @@ public enum ViewExecutionFlags {
   /**
    * Indicates that the results should be stored in batch database.
    */
-  BATCH
+  BATCH,
+
+  /**
+   * Indicates that a delta cycle triggered by market data changes should be performed as an incremental cycle. Only the nodes in the dependency graph
+   * affected by the market data that has ticked since the previous cycle are executed, and the computation caches of the previous cycle are reused in place
+   * rather than unchanged values being copied into new ones.
+   * <p>
+   * This implies {@link #TRIGGER_CYCLE_ON_MARKET_DATA_CHANGED}. Full cycles, and delta cycles forced for any other reason such as a change in the
+   * compiled view, are performed as normal.
+   */
+  INCREMENTAL_CYCLE_ON_MARKET_DATA_CHANGED,
+
+  /**
+   * Indicates that the cycles in the execution sequence are scenarios of a common base, for example historical shocks or market data manipulations, and
+   * should be executed concurrently. The first cycle for a compiled view definition is executed in full and becomes the base. Each following cycle for the
+   * same compilation executes only the nodes affected by the market data and function parameters that differ from the base, reusing the base cycle's values
+   * for the rest of the graph. The results of each scenario are delivered as it completes, so may arrive out of sequence order.
+   */
+  BATCHED_SCENARIOS,
+
+  /**
+   * Indicates that each cycle should be profiled. A trace of where the cycle's wall-clock time is spent, from preparing its inputs through job execution to
+   * assembling its results, is written in the Chrome trace event format and a summary of its critical path is logged when the cycle completes.
+   */
+  TRACE_CYCLES,
+
+  /**
+   * Indicates that successive cycles should overlap. While one cycle executes, the market data snapshot and any compilation or target resolution for the
+   * next cycle are prepared, and the results of the previous cycle are delivered. Cycles still execute, and their results are delivered, in sequence
+   * order; a listener is told that a cycle has started, and receives its fragments, only after the previous cycle has completed. The number of cycles
+   * that may be executing or delivering results at once is set by {@link com.opengamma.engine.view.worker.SingleThreadViewProcessWorker#setPipelineDepth}.
+   * This is ignored for batched scenarios, which already overlap.
+   */
+  PIPELINED_CYCLES
 
 }
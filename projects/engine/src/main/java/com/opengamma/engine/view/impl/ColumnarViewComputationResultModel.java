@@ -0,0 +1,554 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.view.impl;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang.ObjectUtils;
+import org.threeten.bp.Duration;
+import org.threeten.bp.Instant;
+
+import com.opengamma.engine.ComputationTargetSpecification;
+import com.opengamma.engine.calcnode.InvocationResult;
+import com.opengamma.engine.value.ComputedValue;
+import com.opengamma.engine.value.ComputedValueResult;
+import com.opengamma.engine.value.ValueProperties;
+import com.opengamma.engine.value.ValueSpecification;
+import com.opengamma.engine.view.AggregatedExecutionLog;
+import com.opengamma.engine.view.DeltaComparer;
+import com.opengamma.engine.view.DeltaDefinition;
+import com.opengamma.engine.view.ViewCalculationResultModel;
+import com.opengamma.engine.view.ViewComputationResultModel;
+import com.opengamma.engine.view.ViewResultEntry;
+import com.opengamma.engine.view.ViewTargetResultModel;
+import com.opengamma.engine.view.execution.ViewCycleExecutionOptions;
+import com.opengamma.id.UniqueId;
+import com.opengamma.id.VersionCorrection;
+import com.opengamma.util.ArgumentChecker;
+import com.opengamma.util.tuple.Pair;
+import com.opengamma.util.tuple.Pairs;
+
+/**
+ * Column oriented, immutable implementation of {@link ViewComputationResultModel}.
+ * <p>
+ * Each calculation configuration holds one column for each distinct value name. The columns are indexed by a target row that is shared by all of
+ * the configurations. Each row of a column refers to its value properties, which are interned so that rows with the same properties share an
+ * instance. A target with more than one value of the same name, for example with different currencies, has the extra values in further layers of
+ * the column. Double values are held unboxed and the value specification of each result is reconstructed from the row's target, the column's name
+ * and the row's properties, so a large result costs a few arrays per value name rather than several objects per value. The
+ * {@link ComputedValueResult} instances returned by the query methods are created on demand.
+ * <p>
+ * A model created from the result of a cycle re-uses the row index of the previous model when the targets are unchanged. The columns of the two
+ * models can then be compared position by position to find the delta, see {@link #addDeltas}.
+ */
+public final class ColumnarViewComputationResultModel implements ViewComputationResultModel, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final UniqueId _viewProcessId;
+  private final UniqueId _viewCycleId;
+  private final ViewCycleExecutionOptions _viewCycleExecutionOptions;
+  private final Instant _calculationTime;
+  private final Duration _calculationDuration;
+  private final VersionCorrection _versionCorrection;
+  private final Rows _rows;
+  private final Map<String, Configuration> _configurations;
+  private final Set<ComputedValue> _allMarketData;
+
+  /**
+   * The row index, mapping targets to the positions in the columns.
+   */
+  private static final class Rows implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ComputationTargetSpecification[] _targets;
+    private final Object2IntOpenHashMap<ComputationTargetSpecification> _index;
+
+    Rows(final Collection<ComputationTargetSpecification> targets) {
+      _targets = targets.toArray(new ComputationTargetSpecification[targets.size()]);
+      _index = new Object2IntOpenHashMap<>(_targets.length);
+      _index.defaultReturnValue(-1);
+      for (int i = 0; i < _targets.length; i++) {
+        _index.put(_targets[i], i);
+      }
+    }
+
+    int size() {
+      return _targets.length;
+    }
+
+    int indexOf(final ComputationTargetSpecification target) {
+      return _index.getInt(target);
+    }
+
+    ComputationTargetSpecification getTarget(final int row) {
+      return _targets[row];
+    }
+
+    boolean matches(final Collection<ComputationTargetSpecification> targets) {
+      if (targets.size() != _targets.length) {
+        return false;
+      }
+      for (final ComputationTargetSpecification target : targets) {
+        if (!_index.containsKey(target)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+  }
+
+  /**
+   * The results for one value name within a calculation configuration.
+   */
+  private static final class Column implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String _valueName;
+    private final int _size;
+    private final BitSet _present = new BitSet();
+    private final ValueProperties[] _properties;
+    /**
+     * The rows that have their value in {@link #_doubleValues} rather than {@link #_values}.
+     */
+    private final BitSet _doubles = new BitSet();
+    private double[] _doubleValues;
+    private Object[] _values;
+    private final AggregatedExecutionLog[] _logs;
+    private String[] _computeNodeIds;
+    private Object[] _missingInputs;
+    private InvocationResult[] _invocationResults;
+    /**
+     * The next layer of the column, holding the values for rows that already have a value of this name with different properties.
+     */
+    private Column _next;
+
+    Column(final String valueName, final int size) {
+      _valueName = valueName;
+      _size = size;
+      _properties = new ValueProperties[size];
+      _logs = new AggregatedExecutionLog[size];
+    }
+
+    void set(final int row, final ValueProperties properties, final ComputedValueResult result) {
+      if (_present.get(row) && !_properties[row].equals(properties)) {
+        if (_next == null) {
+          _next = new Column(_valueName, _size);
+        }
+        _next.set(row, properties, result);
+        return;
+      }
+      _present.set(row);
+      _properties[row] = properties;
+      final Object value = result.getValue();
+      if (value instanceof Double) {
+        if (_doubleValues == null) {
+          _doubleValues = new double[_size];
+        }
+        _doubles.set(row);
+        _doubleValues[row] = (Double) value;
+      } else if (value != null) {
+        if (_values == null) {
+          _values = new Object[_size];
+        }
+        _values[row] = value;
+      }
+      _logs[row] = result.getAggregatedExecutionLog();
+      if (result.getComputeNodeId() != null) {
+        if (_computeNodeIds == null) {
+          _computeNodeIds = new String[_size];
+        }
+        _computeNodeIds[row] = result.getComputeNodeId();
+      }
+      if (result.getMissingInputs() != null) {
+        if (_missingInputs == null) {
+          _missingInputs = new Object[_size];
+        }
+        _missingInputs[row] = result.getMissingInputs();
+      }
+      if (result.getInvocationResult() != null) {
+        if (_invocationResults == null) {
+          _invocationResults = new InvocationResult[_size];
+        }
+        _invocationResults[row] = result.getInvocationResult();
+      }
+    }
+
+    Object getValue(final int row) {
+      if (_doubles.get(row)) {
+        return _doubleValues[row];
+      }
+      return _values != null ? _values[row] : null;
+    }
+
+    /**
+     * Finds the layer of this column holding the value of a row with the given properties.
+     */
+    Column find(final int row, final ValueProperties properties) {
+      for (Column layer = this; layer != null; layer = layer._next) {
+        if (layer._present.get(row) && layer._properties[row].equals(properties)) {
+          return layer;
+        }
+      }
+      return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    ComputedValueResult get(final int row, final ComputationTargetSpecification target) {
+      return new ComputedValueResult(new ValueSpecification(_valueName, target, _properties[row]), getValue(row), _logs[row],
+          _computeNodeIds != null ? _computeNodeIds[row] : null,
+          _missingInputs != null ? (Set<ValueSpecification>) _missingInputs[row] : null,
+          _invocationResults != null ? _invocationResults[row] : null);
+    }
+
+    /**
+     * Tests whether a value differs from one in a previous column, following the same rules as {@link DeltaDefinition#isDelta} and without
+     * boxing the values if neither is a double or the definition does not have a number comparer.
+     */
+    boolean isDelta(final int row, final Column previous, final int previousRow, final DeltaDefinition deltaDefinition) {
+      if (!ObjectUtils.equals(previous._logs[previousRow], _logs[row])) {
+        return true;
+      }
+      final DeltaComparer<Number> comparer = deltaDefinition.getNumberComparer();
+      if (_doubles.get(row) && previous._doubles.get(previousRow)) {
+        final double previousValue = previous._doubleValues[previousRow];
+        final double value = _doubleValues[row];
+        if (comparer != null) {
+          return comparer.isDelta(previousValue, value);
+        }
+        return Double.doubleToLongBits(previousValue) != Double.doubleToLongBits(value);
+      }
+      final Object previousValue = previous.getValue(previousRow);
+      final Object value = getValue(row);
+      if (comparer != null && previousValue instanceof Number && value instanceof Number) {
+        return comparer.isDelta((Number) previousValue, (Number) value);
+      }
+      return !ObjectUtils.equals(previousValue, value);
+    }
+
+  }
+
+  /**
+   * The results for a calculation configuration.
+   */
+  private static final class Configuration implements ViewCalculationResultModel, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Rows _rows;
+    private final Map<String, Column> _columns = new LinkedHashMap<>();
+    private final BitSet _targetRows = new BitSet();
+
+    Configuration(final Rows rows) {
+      _rows = rows;
+    }
+
+    void addValue(final int row, final ComputedValueResult value, final Map<ValueProperties, ValueProperties> internedProperties) {
+      final ValueSpecification specification = value.getSpecification();
+      ValueProperties properties = internedProperties.get(specification.getProperties());
+      if (properties == null) {
+        properties = specification.getProperties();
+        internedProperties.put(properties, properties);
+      }
+      Column column = _columns.get(specification.getValueName());
+      if (column == null) {
+        column = new Column(specification.getValueName(), _rows.size());
+        _columns.put(specification.getValueName(), column);
+      }
+      column.set(row, properties, value);
+      _targetRows.set(row);
+    }
+
+    int getRow(final ComputationTargetSpecification target) {
+      final int row = _rows.indexOf(target);
+      if (row < 0 || !_targetRows.get(row)) {
+        return -1;
+      }
+      return row;
+    }
+
+    Map<Pair<String, ValueProperties>, ComputedValueResult> getValues(final int row) {
+      final ComputationTargetSpecification target = _rows.getTarget(row);
+      final Map<Pair<String, ValueProperties>, ComputedValueResult> values = new HashMap<>();
+      for (final Column column : _columns.values()) {
+        for (Column layer = column; layer != null; layer = layer._next) {
+          if (layer._present.get(row)) {
+            values.put(Pairs.of(layer._valueName, layer._properties[row]), layer.get(row, target));
+          }
+        }
+      }
+      return values;
+    }
+
+    int getColumnCount() {
+      int count = 0;
+      for (final Column column : _columns.values()) {
+        for (Column layer = column; layer != null; layer = layer._next) {
+          count++;
+        }
+      }
+      return count;
+    }
+
+    @Override
+    public Collection<ComputationTargetSpecification> getAllTargets() {
+      final List<ComputationTargetSpecification> targets = new ArrayList<>(_targetRows.cardinality());
+      for (int row = _targetRows.nextSetBit(0); row >= 0; row = _targetRows.nextSetBit(row + 1)) {
+        targets.add(_rows.getTarget(row));
+      }
+      return Collections.unmodifiableList(targets);
+    }
+
+    @Override
+    public Map<Pair<String, ValueProperties>, ComputedValueResult> getValues(final ComputationTargetSpecification target) {
+      final int row = getRow(target);
+      if (row < 0) {
+        return null;
+      }
+      return Collections.unmodifiableMap(getValues(row));
+    }
+
+    @Override
+    public Collection<ComputedValueResult> getAllValues(final ComputationTargetSpecification target) {
+      final int row = getRow(target);
+      if (row < 0) {
+        return null;
+      }
+      return Collections.unmodifiableCollection(getValues(row).values());
+    }
+
+  }
+
+  private ColumnarViewComputationResultModel(final ViewComputationResultModel copyFrom, final Rows rows) {
+    _viewProcessId = copyFrom.getViewProcessId();
+    _viewCycleId = copyFrom.getViewCycleId();
+    _viewCycleExecutionOptions = copyFrom.getViewCycleExecutionOptions();
+    _calculationTime = copyFrom.getCalculationTime();
+    _calculationDuration = copyFrom.getCalculationDuration();
+    _versionCorrection = copyFrom.getVersionCorrection();
+    _rows = rows;
+    _configurations = new LinkedHashMap<>();
+    final Map<ValueProperties, ValueProperties> internedProperties = new HashMap<>();
+    for (final String calcConfigName : copyFrom.getCalculationConfigurationNames()) {
+      final ViewCalculationResultModel calcResults = copyFrom.getCalculationResult(calcConfigName);
+      final Configuration configuration = new Configuration(rows);
+      for (final ComputationTargetSpecification target : calcResults.getAllTargets()) {
+        final Collection<ComputedValueResult> values = calcResults.getAllValues(target);
+        if (values != null && !values.isEmpty()) {
+          final int row = rows.indexOf(target);
+          ArgumentChecker.isTrue(row >= 0, "Target {} of {} not in result model targets", target, calcConfigName);
+          for (final ComputedValueResult value : values) {
+            configuration.addValue(row, value, internedProperties);
+          }
+        }
+      }
+      _configurations.put(calcConfigName, configuration);
+    }
+    _allMarketData = copyFrom.getAllMarketData();
+  }
+
+  /**
+   * Creates a columnar copy of a result model.
+   *
+   * @param result the result to copy, not null
+   * @return the columnar form, not null
+   */
+  public static ColumnarViewComputationResultModel of(final ViewComputationResultModel result) {
+    return of(result, null);
+  }
+
+  /**
+   * Creates a columnar copy of a result model, re-using the row index of a previous model if it has the same targets.
+   * <p>
+   * Models that share a row index can be compared column by column without any lookups, see {@link #addDeltas}.
+   *
+   * @param result the result to copy, not null
+   * @param previousResult the previous result, null if none or not available
+   * @return the columnar form, not null
+   */
+  public static ColumnarViewComputationResultModel of(final ViewComputationResultModel result, final ViewComputationResultModel previousResult) {
+    ArgumentChecker.notNull(result, "result");
+    if (result instanceof ColumnarViewComputationResultModel) {
+      return (ColumnarViewComputationResultModel) result;
+    }
+    final Set<ComputationTargetSpecification> targets = result.getAllTargets();
+    Rows rows = null;
+    if (previousResult instanceof ColumnarViewComputationResultModel) {
+      rows = ((ColumnarViewComputationResultModel) previousResult)._rows;
+      if (!rows.matches(targets)) {
+        rows = null;
+      }
+    }
+    if (rows == null) {
+      rows = new Rows(targets);
+    }
+    return new ColumnarViewComputationResultModel(result, rows);
+  }
+
+  /**
+   * Adds the values of a calculation configuration that differ from those in a previous result to a delta model.
+   * <p>
+   * This gives the same delta as comparing the values individually but, when the two models share a row index, walks the columns of each in step.
+   * Values which are doubles in both models are compared without boxing unless the delta definition has a number comparer.
+   *
+   * @param calcConfigName the calculation configuration name, not null
+   * @param deltaDefinition the delta definition for the configuration, not null
+   * @param previousResult the previous result, not null
+   * @param deltaModel the delta model to update, not null
+   */
+  public void addDeltas(final String calcConfigName, final DeltaDefinition deltaDefinition, final ColumnarViewComputationResultModel previousResult,
+      final InMemoryViewDeltaResultModel deltaModel) {
+    final Configuration configuration = _configurations.get(calcConfigName);
+    if (configuration == null) {
+      return;
+    }
+    final Configuration previousConfiguration = previousResult._configurations.get(calcConfigName);
+    final boolean sharedRows = previousResult._rows == _rows;
+    for (final Map.Entry<String, Column> entry : configuration._columns.entrySet()) {
+      final Column previousColumn = previousConfiguration != null ? previousConfiguration._columns.get(entry.getKey()) : null;
+      for (Column column = entry.getValue(); column != null; column = column._next) {
+        final BitSet present = column._present;
+        for (int row = present.nextSetBit(0); row >= 0; row = present.nextSetBit(row + 1)) {
+          final ComputationTargetSpecification target = _rows.getTarget(row);
+          final boolean delta;
+          if (previousColumn == null) {
+            delta = true;
+          } else {
+            final int previousRow = sharedRows ? row : previousResult._rows.indexOf(target);
+            final Column previousLayer = previousRow >= 0 ? previousColumn.find(previousRow, column._properties[row]) : null;
+            delta = previousLayer == null || column.isDelta(row, previousLayer, previousRow, deltaDefinition);
+          }
+          if (delta) {
+            deltaModel.addValue(calcConfigName, column.get(row, target));
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the number of columns, including the extra layers for targets with more than one value of the same name, held for a calculation
+   * configuration.
+   *
+   * @param calcConfigName the calculation configuration name, not null
+   * @return the number of columns, zero if the configuration is not in the result
+   */
+  /* package */ int getColumnCount(final String calcConfigName) {
+    final Configuration configuration = _configurations.get(calcConfigName);
+    return configuration != null ? configuration.getColumnCount() : 0;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public UniqueId getViewProcessId() {
+    return _viewProcessId;
+  }
+
+  @Override
+  public UniqueId getViewCycleId() {
+    return _viewCycleId;
+  }
+
+  @Override
+  public ViewCycleExecutionOptions getViewCycleExecutionOptions() {
+    return _viewCycleExecutionOptions;
+  }
+
+  @Override
+  public Instant getCalculationTime() {
+    return _calculationTime;
+  }
+
+  @Override
+  public Duration getCalculationDuration() {
+    return _calculationDuration;
+  }
+
+  @Override
+  public VersionCorrection getVersionCorrection() {
+    return _versionCorrection;
+  }
+
+  @Override
+  public Set<ComputationTargetSpecification> getAllTargets() {
+    return Collections.unmodifiableSet(_rows._index.keySet());
+  }
+
+  @Override
+  public Collection<String> getCalculationConfigurationNames() {
+    return Collections.unmodifiableSet(_configurations.keySet());
+  }
+
+  @Override
+  public ViewCalculationResultModel getCalculationResult(final String calcConfigurationName) {
+    return _configurations.get(calcConfigurationName);
+  }
+
+  @Override
+  public ViewTargetResultModel getTargetResult(final ComputationTargetSpecification targetSpecification) {
+    ViewTargetResultModelImpl result = null;
+    for (final Map.Entry<String, Configuration> configuration : _configurations.entrySet()) {
+      final int row = configuration.getValue().getRow(targetSpecification);
+      if (row >= 0) {
+        if (result == null) {
+          result = new ViewTargetResultModelImpl();
+        }
+        for (final ComputedValueResult value : configuration.getValue().getValues(row).values()) {
+          result.addValue(configuration.getKey(), value);
+        }
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public List<ViewResultEntry> getAllResults() {
+    final List<ViewResultEntry> results = new ArrayList<>();
+    for (final Map.Entry<String, Configuration> configuration : _configurations.entrySet()) {
+      for (final Column column : configuration.getValue()._columns.values()) {
+        for (Column layer = column; layer != null; layer = layer._next) {
+          final BitSet present = layer._present;
+          for (int row = present.nextSetBit(0); row >= 0; row = present.nextSetBit(row + 1)) {
+            results.add(new ViewResultEntry(configuration.getKey(), layer.get(row, _rows.getTarget(row))));
+          }
+        }
+      }
+    }
+    return results;
+  }
+
+  @Override
+  public Set<String> getAllOutputValueNames() {
+    final Set<String> outputValueNames = new HashSet<>();
+    for (final Configuration configuration : _configurations.values()) {
+      for (final Column column : configuration._columns.values()) {
+        outputValueNames.add(column._valueName);
+      }
+    }
+    return outputValueNames;
+  }
+
+  @Override
+  public Set<ComputedValue> getAllMarketData() {
+    return new HashSet<>(_allMarketData);
+  }
+
+}
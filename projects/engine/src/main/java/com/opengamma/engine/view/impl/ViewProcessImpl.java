@@ -448,9 +448,23 @@ public class ViewProcessImpl implements ViewProcessInternal, Lifecycle, ViewProc
     ViewDeltaResultModel deltaResult = null;
     final ViewResultListener[] listeners;
     Pair<CompiledViewDefinitionWithGraphs, MarketDataPermissionProvider> latest;
+    final boolean hasListeners;
     _internalLock.lock();
     try {
+      hasListeners = !_listeners.isEmpty();
+    } finally {
+      _internalLock.unlock();
+    }
+    if (hasListeners) {
+      // The columnar form is created once here, outside the lock, and shared by every client; it also makes the delta calculation a column comparison.
+      // If another cycle completes meanwhile the row index of the previous result might not be re-used, but the delta is still against the right result.
+      result = ColumnarViewComputationResultModel.of(cycle.getResultModel(), _latestResult.get());
+    } else {
+      // Nothing to deliver the result to; a listener that attaches later is given the result as it is
       result = cycle.getResultModel();
+    }
+    _internalLock.lock();
+    try {
       // We swap these first so that in the callback the process is consistent.
       final ViewComputationResultModel previousResult = _latestResult.getAndSet(result);
       if (_mustCalculateDeltas.get()) {
@@ -90,6 +90,7 @@ public class ViewProcessorImpl implements ViewProcessorInternal {
   private final AtomicLong _clientIdSource = new AtomicLong();
   private final ReentrantLock _lifecycleLock = new ReentrantLock();
   private ScheduledExecutorService _clientResultTimer;
+  private ExecutorService _clientResultExecutor;
 
   private final EngineResourceManagerInternal<SingleComputationCycle> _cycleManager = new EngineResourceManagerImpl<>();
 
@@ -600,7 +601,7 @@ public class ViewProcessorImpl implements ViewProcessorInternal {
     ArgumentChecker.notNull(clientUser, "clientUser");
     final String idValue = generateIdValue(_clientIdSource);
     final UniqueId clientId = UniqueId.of(CLIENT_SCHEME, idValue);
-    final ViewClientImpl client = new ViewClientImpl(clientId, this, clientUser, _clientResultTimer);
+    final ViewClientImpl client = new ViewClientImpl(clientId, this, clientUser, _clientResultTimer, _clientResultExecutor);
     _allClientsById.put(clientId, client);
     _viewProcessorEventListenerRegistry.notifyViewClientAdded(clientId);
     return client;
@@ -714,6 +715,7 @@ public class ViewProcessorImpl implements ViewProcessorInternal {
       }
       LOGGER.info("Starting on lifecycle call.");
       _clientResultTimer = Executors.newScheduledThreadPool(1, new NamedThreadFactory("Shared ViewClient result timer"));
+      _clientResultExecutor = Executors.newCachedThreadPool(new NamedThreadFactory("ViewClient result delivery"));
       _viewAutoStartManager.initialize();
       for (final Map.Entry<String, AutoStartViewDefinition> entry : _viewAutoStartManager.getAutoStartViews().entrySet()) {
         autoStartView(entry.getKey(), entry.getValue());
@@ -802,6 +804,7 @@ public class ViewProcessorImpl implements ViewProcessorInternal {
   @Override
   public void stop() {
     final ScheduledExecutorService clientResultTimer;
+    final ExecutorService clientResultExecutor;
     _processLock.lock();
     _lifecycleLock.lock();
     try {
@@ -821,6 +824,8 @@ public class ViewProcessorImpl implements ViewProcessorInternal {
       _allClientsById.clear();
       clientResultTimer = _clientResultTimer;
       _clientResultTimer = null;
+      clientResultExecutor = _clientResultExecutor;
+      _clientResultExecutor = null;
       _isStarted = false;
 
       // REVIEW Andrew 2010-03-25 -- It might be coincidence, but if this gets called during undeploy/stop within a container the Bloomberg API
@@ -833,6 +838,9 @@ public class ViewProcessorImpl implements ViewProcessorInternal {
     if (clientResultTimer != null) {
       clientResultTimer.shutdown();
     }
+    if (clientResultExecutor != null) {
+      clientResultExecutor.shutdown();
+    }
   }
 
   // -------------------------------------------------------------------------
@@ -13,6 +13,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
@@ -34,6 +35,8 @@ import org.threeten.bp.Duration;
 import org.threeten.bp.ZonedDateTime;
 import org.threeten.bp.temporal.ChronoUnit;
 
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Timer;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Sets;
@@ -46,7 +49,10 @@ import com.opengamma.engine.value.ValueSpecification;
 import com.opengamma.livedata.UserPrincipal;
 import com.opengamma.util.ArgumentChecker;
 import com.opengamma.util.NamedThreadPoolFactory;
+import com.opengamma.util.metric.OpenGammaMetricRegistry;
 import com.opengamma.util.monitor.OperationTimer;
+import com.opengamma.util.tuple.Pair;
+import com.opengamma.util.tuple.Pairs;
 
 import net.sf.ehcache.CacheException;
 
@@ -61,9 +67,9 @@ public class MarketDataManager implements MarketDataListener, Lifecycle, Subscri
   private static final Logger LOGGER = LoggerFactory.getLogger(MarketDataManager.class);
 
   /**
-   * Maximum number of subscriptions to make in a single request.
+   * Maximum number of subscriptions to make or remove in a single request.
    */
-  private static final int MAX_SUBSCRIPTION_BATCH_SIZE = 10000;
+  private static int s_subscriptionBatchSize = Integer.parseInt(System.getProperty("MarketDataManager.subscriptionBatchSize", "10000"));
 
   /**
    * How long do wait for a subscription response to come back before giving up on it. Note that retries may well have occurred depending
@@ -109,6 +115,11 @@ public class MarketDataManager implements MarketDataListener, Lifecycle, Subscri
    */
   private final Map<ValueSpecification, ZonedDateTime> _removedSubscriptions = new HashMap<>();
 
+  /**
+   * Subscriptions which have been requested but for which no value has yet been received. The value is the {@link System#nanoTime} of the request.
+   */
+  private final Map<ValueSpecification, Long> _awaitingFirstTick = new ConcurrentHashMap<>();
+
   /**
    * Lock for safely adding and removing items from the subscription collections.
    */
@@ -156,6 +167,21 @@ public class MarketDataManager implements MarketDataListener, Lifecycle, Subscri
    */
   private final MBeanServer _jmxServer;
 
+  /**
+   * Time from a subscription being requested to it becoming active.
+   */
+  private final Timer _subscriptionTimer;
+
+  /**
+   * Time from a subscription being requested to the first value being received.
+   */
+  private final Timer _firstTickTimer;
+
+  /**
+   * The number of pending subscriptions, sampled whenever a request is made or satisfied.
+   */
+  private final Histogram _pendingSubscriptionsHistogram;
+
   /**
    * Create the manager for the market data.
    *
@@ -182,6 +208,30 @@ public class MarketDataManager implements MarketDataListener, Lifecycle, Subscri
 
         _jmxServer = setupJmxServer();
         registerJmx();
+    _subscriptionTimer = OpenGammaMetricRegistry.getSummaryInstance().timer("MarketDataManager.subscription.active");
+    _firstTickTimer = OpenGammaMetricRegistry.getSummaryInstance().timer("MarketDataManager.subscription.firstTick");
+    _pendingSubscriptionsHistogram = OpenGammaMetricRegistry.getSummaryInstance().histogram("MarketDataManager.subscription.pending");
+  }
+
+  /**
+   * Returns the maximum number of subscriptions made or removed in a single request to the market data provider.
+   *
+   * @return the batch size
+   */
+  public static int getSubscriptionBatchSize() {
+    return s_subscriptionBatchSize;
+  }
+
+  /**
+   * Sets the maximum number of subscriptions made or removed in a single request to the market data provider. The default is 10,000 and can be set
+   * with the {@code MarketDataManager.subscriptionBatchSize} system property.
+   *
+   * @param subscriptionBatchSize
+   *          the batch size, at least one
+   */
+  public static void setSubscriptionBatchSize(final int subscriptionBatchSize) {
+    ArgumentChecker.isTrue(subscriptionBatchSize > 0, "subscriptionBatchSize");
+    s_subscriptionBatchSize = subscriptionBatchSize;
   }
 
   private MBeanServer setupJmxServer() {
@@ -324,6 +374,7 @@ public class MarketDataManager implements MarketDataListener, Lifecycle, Subscri
   @Override
   public void subscriptionsSucceeded(final Collection<ValueSpecification> valueSpecifications) {
     removePendingSubscriptions(valueSpecifications, true);
+    _pendingSubscriptionsHistogram.update(_pendingSubscriptions.size());
     LOGGER.info("{} subscription succeeded - {} pending subscriptions remaining", valueSpecifications.size(), _pendingSubscriptions.size());
   }
 
@@ -342,15 +393,30 @@ public class MarketDataManager implements MarketDataListener, Lifecycle, Subscri
   @Override
   public void valuesChanged(final Collection<ValueSpecification> specifications) {
     LOGGER.debug("Received change notification for {} specifications", specifications.size());
+    if (!_awaitingFirstTick.isEmpty()) {
+      final long now = System.nanoTime();
+      for (final ValueSpecification specification : specifications) {
+        final Long requested = _awaitingFirstTick.remove(specification);
+        if (requested != null) {
+          _firstTickTimer.update(now - requested, TimeUnit.NANOSECONDS);
+        }
+      }
+    }
     _marketDataChangeListener.onMarketDataValuesChanged(specifications);
   }
 
   private void makeSubscriptionRequest(final Set<ValueSpecification> requiredSubscriptions) {
-    for (final Set<ValueSpecification> batch : partitionSet(requiredSubscriptions, MAX_SUBSCRIPTION_BATCH_SIZE)) {
+    for (final Set<ValueSpecification> batch : partitionSet(requiredSubscriptions, s_subscriptionBatchSize)) {
       _marketDataProvider.subscribe(batch);
     }
   }
 
+  private void makeUnsubscriptionRequest(final Set<ValueSpecification> unusedSubscriptions) {
+    for (final Set<ValueSpecification> batch : partitionSet(unusedSubscriptions, s_subscriptionBatchSize)) {
+      _marketDataProvider.unsubscribe(batch);
+    }
+  }
+
   private <T> Set<Set<T>> partitionSet(final Set<T> originalSet, final int maxBatchSize) {
     ArgumentChecker.notNegativeOrZero(maxBatchSize, "maxBatchSize");
     final int expectedNumberOfBatches = originalSet.size() / maxBatchSize + 1;
@@ -374,11 +440,15 @@ public class MarketDataManager implements MarketDataListener, Lifecycle, Subscri
       final boolean subscriptionSucceeded) {
     _subscriptionsLock.lock();
     try {
+      final ZonedDateTime now = ZonedDateTime.now();
       for (final ValueSpecification specification : specifications) {
-        final boolean expected = _pendingSubscriptions.remove(specification) != null;
+        final ZonedDateTime requested = _pendingSubscriptions.remove(specification);
+        final boolean expected = requested != null;
         if (expected && subscriptionSucceeded) {
-          _activeSubscriptions.put(specification, ZonedDateTime.now());
+          _activeSubscriptions.put(specification, now);
+          _subscriptionTimer.update(Duration.between(requested, now).toMillis(), TimeUnit.MILLISECONDS);
         } else if (!subscriptionSucceeded) {
+          _awaitingFirstTick.remove(specification);
           // Even it wasn't expected because something else triggered the subscription, use the information to mark any
           // active subscription as failed
           if (_activeSubscriptions.remove(specification) != null || expected) {
@@ -396,9 +466,10 @@ public class MarketDataManager implements MarketDataListener, Lifecycle, Subscri
     final OperationTimer timer = new OperationTimer(LOGGER, "Removing {} market data subscriptions", unusedSubscriptions.size());
     _subscriptionsLock.lock();
     try {
-      _marketDataProvider.unsubscribe(unusedSubscriptions);
+      makeUnsubscriptionRequest(unusedSubscriptions);
       final ZonedDateTime removalTime = ZonedDateTime.now();
       for (final ValueSpecification subscription : unusedSubscriptions) {
+        _awaitingFirstTick.remove(subscription);
         if (!_removedSubscriptions.containsKey(subscription)) {
           _activeSubscriptions.remove(subscription);
           _pendingSubscriptions.remove(subscription);
@@ -452,6 +523,7 @@ public class MarketDataManager implements MarketDataListener, Lifecycle, Subscri
       removeMarketDataSubscriptions(ImmutableSet.copyOf(_activeSubscriptions.keySet()));
       removeMarketDataSubscriptions(ImmutableSet.copyOf(_pendingSubscriptions.keySet()));
       _marketDataProvider.removeListener(this);
+      _marketDataProvider.close();
       _marketDataProvider = null;
       _marketDataProviderDirty = true;
     } finally {
@@ -477,13 +549,20 @@ public class MarketDataManager implements MarketDataListener, Lifecycle, Subscri
    * Request subscriptions for required market data. The request is checked against current
    * subscriptions ensuring subscriptions are only sent for new requests. Any previously
    * requested subscriptions that are no longer required will be removed.
+   * <p>
+   * New subscriptions are requested before unused ones are removed. When a recompilation
+   * replaces one value specification with another for the same underlying market data, the
+   * provider's reference count never drops to zero and the line is not dropped and re-made.
    *
    * @param requiredSubscriptions the required subscriptions, not null
    */
   public void requestMarketDataSubscriptions(final Set<ValueSpecification> requiredSubscriptions) {
 
     ArgumentChecker.notNull(requiredSubscriptions, "requiredSubscriptions");
-    final Set<ValueSpecification> newSubscriptions = manageOngoingSubscriptions(requiredSubscriptions);
+    final Pair<Set<ValueSpecification>, Set<ValueSpecification>> changes = manageOngoingSubscriptions(requiredSubscriptions);
+    final Set<ValueSpecification> newSubscriptions = changes.getFirst();
+    final Set<ValueSpecification> unusedSubscriptions = changes.getSecond();
+    _pendingSubscriptionsHistogram.update(_pendingSubscriptions.size());
 
     // As the market data provider calls back to ALL listeners (i.e. potentially multiple
     // views), we need to make the subscription request outside the scope of the subscriptions
@@ -494,17 +573,22 @@ public class MarketDataManager implements MarketDataListener, Lifecycle, Subscri
       makeSubscriptionRequest(newSubscriptions);
       timer.finished();
     }
+    if (!unusedSubscriptions.isEmpty()) {
+      LOGGER.info("{} unused market data subscriptions", unusedSubscriptions.size());
+      removeMarketDataSubscriptions(unusedSubscriptions);
+    }
   }
 
   /**
-   * Checks the required subscriptions against the currently held subscriptions, removing ones that are
-   * no longer required and returning the set of new subscriptions that are required.
+   * Checks the required subscriptions against the currently held subscriptions, marking new ones as pending
+   * and returning both the set of new subscriptions that are required and the set of ones that are no longer
+   * required.
    *
    * @param requiredSubscriptions the current set of required subscriptions (some of
    * which may already be subscribed)
-   * @return the set of new subscriptions required
+   * @return the set of new subscriptions required and the set of unused subscriptions to remove
    */
-  private Set<ValueSpecification> manageOngoingSubscriptions(final Set<ValueSpecification> requiredSubscriptions) {
+  private Pair<Set<ValueSpecification>, Set<ValueSpecification>> manageOngoingSubscriptions(final Set<ValueSpecification> requiredSubscriptions) {
     _subscriptionsLock.lock();
     try {
       final Set<ValueSpecification> currentSubscriptions =
@@ -515,22 +599,20 @@ public class MarketDataManager implements MarketDataListener, Lifecycle, Subscri
           .build();
 
       final Set<ValueSpecification> unusedSubscriptions = Sets.difference(currentSubscriptions, requiredSubscriptions).immutableCopy();
-      if (!unusedSubscriptions.isEmpty()) {
-        LOGGER.info("{} unused market data subscriptions", unusedSubscriptions.size());
-        removeMarketDataSubscriptions(unusedSubscriptions);
-      }
 
       final Set<ValueSpecification> newMarketData = Sets.difference(requiredSubscriptions, currentSubscriptions).immutableCopy();
       if (!newMarketData.isEmpty()) {
         LOGGER.info("{} new market data requirements", newMarketData.size());
         final ZonedDateTime now = ZonedDateTime.now();
+        final Long requested = System.nanoTime();
         for (final ValueSpecification specification : newMarketData) {
           _pendingSubscriptions.put(specification, now);
+          _awaitingFirstTick.put(specification, requested);
           _failedSubscriptions.remove(specification);
           _removedSubscriptions.remove(specification);
         }
       }
-      return newMarketData;
+      return Pairs.of(newMarketData, unusedSubscriptions);
     } finally {
       _subscriptionsLock.unlock();
     }
@@ -553,7 +635,7 @@ public class MarketDataManager implements MarketDataListener, Lifecycle, Subscri
     }
     if (!subscriptions.isEmpty()) {
       final OperationTimer timer = new OperationTimer(LOGGER, "Retrying {} market data subscriptions which have previously failed", subscriptions.size());
-      _marketDataProvider.unsubscribe(subscriptions);
+      makeUnsubscriptionRequest(subscriptions);
       makeSubscriptionRequest(subscriptions);
       timer.finished();
     }
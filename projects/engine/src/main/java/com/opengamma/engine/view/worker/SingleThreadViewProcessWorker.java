@@ -5,6 +5,11 @@
  */
 package com.opengamma.engine.view.worker;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -18,8 +23,12 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -33,6 +42,7 @@ import org.threeten.bp.Duration;
 import org.threeten.bp.Instant;
 
 import com.codahale.metrics.Timer;
+import com.google.common.base.Charsets;
 import com.google.common.base.Predicate;
 import com.google.common.base.Supplier;
 import com.google.common.collect.ImmutableMap;
@@ -54,6 +64,7 @@ import com.opengamma.engine.depgraph.DependencyGraphExplorer;
 import com.opengamma.engine.depgraph.DependencyNode;
 import com.opengamma.engine.depgraph.impl.DependencyNodeImpl;
 import com.opengamma.engine.depgraph.impl.RootDiscardingSubgrapher;
+import com.opengamma.engine.exec.trace.CycleTrace;
 import com.opengamma.engine.function.FunctionParameters;
 import com.opengamma.engine.marketdata.MarketDataSnapshot;
 import com.opengamma.engine.marketdata.manipulator.DistinctMarketDataSelector;
@@ -124,6 +135,15 @@ public class SingleThreadViewProcessWorker implements ViewProcessWorker, MarketD
 
   private static final ExecutorService EXECUTOR = NamedThreadPoolFactory.newCachedThreadPool("Worker");
 
+  private static final ExecutorService SCENARIO_EXECUTOR = NamedThreadPoolFactory.newCachedThreadPool("Scenario");
+
+  private static int s_maxConcurrentScenarios = Integer.parseInt(System.getProperty(
+      "SingleThreadViewProcessWorker.maxConcurrentScenarios", Integer.toString(Runtime.getRuntime().availableProcessors())));
+
+  private static String s_traceDirectory = System.getProperty("SingleThreadViewProcessWorker.traceDirectory", System.getProperty("java.io.tmpdir"));
+
+  private static int s_pipelineDepth = Integer.parseInt(System.getProperty("SingleThreadViewProcessWorker.pipelineDepth", "2"));
+
   /**
    * Wrapper that allows a thread to be "borrowed" from an executor service.
    */
@@ -199,6 +219,31 @@ public class SingleThreadViewProcessWorker implements ViewProcessWorker, MarketD
   private final boolean _executeGraphs;
   private final boolean _ignoreCompilationValidity;
   private final boolean _suppressExecutionOnNoMarketData;
+  private final boolean _incrementalCycles;
+  private final boolean _batchedScenarios;
+  private final boolean _traceCycles;
+  private final boolean _pipelinedCycles;
+  /**
+   * Limits the number of scenario cycles executing concurrently when batching scenarios. All permits are held while waiting for the outstanding scenarios to
+   * complete.
+   */
+  private final int _scenarioPermitCount;
+  private final Semaphore _scenarioPermits;
+  /**
+   * Limits the number of pipelined cycles that are executing or delivering results while the worker thread prepares the next one. A permit is taken when a
+   * cycle is passed to the execution stage and returned when its results have been delivered.
+   */
+  private final int _pipelinePermitCount;
+  private final Semaphore _pipelinePermits;
+  /**
+   * Executes pipelined cycles, one at a time and in sequence order, so each can be a delta or incremental cycle of the one before.
+   */
+  private final ExecutorService _executionStage;
+  /**
+   * Delivers the notifications and results of pipelined cycles, one at a time and in sequence order. The start of a cycle and its streamed fragments are
+   * delivered here too so that they follow the completion of the cycle before it.
+   */
+  private final ExecutorService _publicationStage;
   /**
    * The changes to the master trigger that must be made during the next cycle.
    * <p>
@@ -209,7 +254,11 @@ public class SingleThreadViewProcessWorker implements ViewProcessWorker, MarketD
 
   private int _cycleCount;
 
-  private EngineResourceReference<SingleComputationCycle> _previousCycleReference;
+  /**
+   * The last cycle to execute. When cycles are pipelined this is updated by the execution stage, but only read by the worker thread to decide whether a delta
+   * cycle is possible.
+   */
+  private volatile EngineResourceReference<SingleComputationCycle> _previousCycleReference;
   /**
    * The current view definition the worker must calculate on.
    */
@@ -233,6 +282,16 @@ public class SingleThreadViewProcessWorker implements ViewProcessWorker, MarketD
   private volatile boolean _cycleRequested;
   private volatile boolean _forceTriggerCycle;
 
+  /**
+   * The market data that has changed since the last cycle was triggered, if performing incremental cycles. Guarded by this.
+   */
+  private Set<ValueSpecification> _marketDataChanges = new HashSet<>();
+
+  /**
+   * The market data changes to be applied by the current cycle if it is an incremental one.
+   */
+  private Set<ValueSpecification> _incrementalChanges = Collections.emptySet();
+
   /**
    * An updated view definition pushed in by the execution coordinator. When the next cycle runs, this should be used instead of the previous one.
    */
@@ -278,10 +337,18 @@ public class SingleThreadViewProcessWorker implements ViewProcessWorker, MarketD
    * Timer to track delta cycle execution time.
    */
   private Timer _deltaCycleTimer;
+  /**
+   * Timer to track incremental cycle execution time.
+   */
+  private Timer _incrementalCycleTimer;
   /**
    * Timer to track full cycle execution time.
    */
   private Timer _fullCycleTimer;
+  /**
+   * Timer to track scenario cycle execution time.
+   */
+  private Timer _scenarioCycleTimer;
 
   /**
    * An invalidation call is made by the market data layer to request that a full graph rebuild take place on the next cycle. This is to allow for resolutions
@@ -322,6 +389,23 @@ public class SingleThreadViewProcessWorker implements ViewProcessWorker, MarketD
     _executeGraphs = !executionOptions.getFlags().contains(ViewExecutionFlags.FETCH_MARKET_DATA_ONLY);
     _suppressExecutionOnNoMarketData = executionOptions.getFlags().contains(ViewExecutionFlags.SKIP_CYCLE_ON_NO_MARKET_DATA);
     _ignoreCompilationValidity = executionOptions.getFlags().contains(ViewExecutionFlags.IGNORE_COMPILATION_VALIDITY);
+    _incrementalCycles = executionOptions.getFlags().contains(ViewExecutionFlags.INCREMENTAL_CYCLE_ON_MARKET_DATA_CHANGED);
+    _batchedScenarios = executionOptions.getFlags().contains(ViewExecutionFlags.BATCHED_SCENARIOS);
+    _traceCycles = executionOptions.getFlags().contains(ViewExecutionFlags.TRACE_CYCLES);
+    _scenarioPermitCount = getMaxConcurrentScenarios();
+    _scenarioPermits = new Semaphore(_scenarioPermitCount);
+    _pipelinedCycles = executionOptions.getFlags().contains(ViewExecutionFlags.PIPELINED_CYCLES) && !_batchedScenarios;
+    if (_pipelinedCycles) {
+      _pipelinePermitCount = getPipelineDepth();
+      _pipelinePermits = new Semaphore(_pipelinePermitCount);
+      _executionStage = Executors.newSingleThreadExecutor(new NamedThreadPoolFactory("Pipeline-execute"));
+      _publicationStage = Executors.newSingleThreadExecutor(new NamedThreadPoolFactory("Pipeline-publish"));
+    } else {
+      _pipelinePermitCount = 0;
+      _pipelinePermits = null;
+      _executionStage = null;
+      _publicationStage = null;
+    }
     _viewDefinition = viewDefinition;
     _specificMarketDataSelectors = extractSpecificSelectors(viewDefinition);
     _marketDataManager = createMarketDataManager(context);
@@ -329,10 +413,78 @@ public class SingleThreadViewProcessWorker implements ViewProcessWorker, MarketD
     _job = new Job();
     _thread = new BorrowedThread(context.toString(), _job);
     _deltaCycleTimer = OpenGammaMetricRegistry.getSummaryInstance().timer("SingleThreadViewProcessWorker.cycle.delta");
+    _incrementalCycleTimer = OpenGammaMetricRegistry.getSummaryInstance().timer("SingleThreadViewProcessWorker.cycle.incremental");
     _fullCycleTimer = OpenGammaMetricRegistry.getSummaryInstance().timer("SingleThreadViewProcessWorker.cycle.full");
+    _scenarioCycleTimer = OpenGammaMetricRegistry.getSummaryInstance().timer("SingleThreadViewProcessWorker.cycle.scenario");
     EXECUTOR.submit(_thread);
   }
 
+  /**
+   * Returns the maximum number of scenario cycles a worker will execute concurrently when batching scenarios.
+   *
+   * @return the maximum number of concurrent scenario cycles
+   */
+  public static int getMaxConcurrentScenarios() {
+    return s_maxConcurrentScenarios;
+  }
+
+  /**
+   * Sets the maximum number of scenario cycles a worker will execute concurrently when batching scenarios. This affects workers created after the call.
+   * The default is the number of available processors, and can be set with the {@code SingleThreadViewProcessWorker.maxConcurrentScenarios} system
+   * property.
+   *
+   * @param maxConcurrentScenarios
+   *          the maximum number of concurrent scenario cycles, at least one
+   */
+  public static void setMaxConcurrentScenarios(final int maxConcurrentScenarios) {
+    ArgumentChecker.isTrue(maxConcurrentScenarios > 0, "maxConcurrentScenarios");
+    s_maxConcurrentScenarios = maxConcurrentScenarios;
+  }
+
+  /**
+   * Returns the directory traces of cycles are written to when {@link ViewExecutionFlags#TRACE_CYCLES} is set.
+   *
+   * @return the trace directory
+   */
+  public static String getTraceDirectory() {
+    return s_traceDirectory;
+  }
+
+  /**
+   * Sets the directory traces of cycles are written to when {@link ViewExecutionFlags#TRACE_CYCLES} is set. The default is the temporary directory, and can
+   * be set with the {@code SingleThreadViewProcessWorker.traceDirectory} system property.
+   *
+   * @param traceDirectory
+   *          the trace directory, not null
+   */
+  public static void setTraceDirectory(final String traceDirectory) {
+    ArgumentChecker.notNull(traceDirectory, "traceDirectory");
+    s_traceDirectory = traceDirectory;
+  }
+
+  /**
+   * Returns the maximum number of cycles a worker will have executing or delivering results while it prepares the next cycle when cycles are pipelined.
+   *
+   * @return the pipeline depth
+   */
+  public static int getPipelineDepth() {
+    return s_pipelineDepth;
+  }
+
+  /**
+   * Sets the maximum number of cycles a worker will have executing or delivering results while it prepares the next cycle when cycles are pipelined. With a
+   * depth of one, the next cycle is prepared while the current one executes and delivers its results; with two, the results of one cycle may be delivered
+   * while the next executes and the one after is prepared. This affects workers created after the call. The default is two, and can be set with the
+   * {@code SingleThreadViewProcessWorker.pipelineDepth} system property.
+   *
+   * @param pipelineDepth
+   *          the pipeline depth, at least one
+   */
+  public static void setPipelineDepth(final int pipelineDepth) {
+    ArgumentChecker.isTrue(pipelineDepth > 0, "pipelineDepth");
+    s_pipelineDepth = pipelineDepth;
+  }
+
   private MarketDataManager createMarketDataManager(final ViewProcessWorkerContext context) {
     final String processId = context.getProcessContext().getProcessId().getValue();
     AtomicInteger currentEntry = MDM_COUNT.putIfAbsent(processId, new AtomicInteger());
@@ -575,7 +727,11 @@ public class SingleThreadViewProcessWorker implements ViewProcessWorker, MarketD
           cycleExecutionFailed(executionOptions, new OpenGammaRuntimeException("Error initializing snapshot " + snapshotManager, e));
         }
 
-        if (_executeCycles) {
+        if (_executeCycles && isScenarioCycle(compiledViewDefinition)) {
+          executeScenarioCycle(executionOptions, compiledViewDefinition, versionCorrection, snapshotManager);
+        } else if (_executeCycles && _pipelinedCycles) {
+          executePipelinedCycle(cycleType, executionOptions, compiledViewDefinition, versionCorrection, snapshotManager);
+        } else if (_executeCycles) {
           EngineResourceReference<SingleComputationCycle> cycleReference;
           try {
             cycleReference = createCycle(executionOptions, compiledViewDefinition, versionCorrection);
@@ -585,29 +741,18 @@ public class SingleThreadViewProcessWorker implements ViewProcessWorker, MarketD
           }
           try {
             try {
-              final SingleComputationCycle singleComputationCycle = cycleReference.get();
-              final Map<String, Collection<ComputationTargetSpecification>> configToComputationTargets = new HashMap<>();
-              final Map<String, Map<ValueSpecification, Set<ValueRequirement>>> configToTerminalOutputs = new HashMap<>();
               final MarketDataSnapshot marketDataSnapshot = snapshotManager.getSnapshot();
-
-              for (final DependencyGraphExplorer graphExp : compiledViewDefinition.getDependencyGraphExplorers()) {
-                configToComputationTargets.put(graphExp.getCalculationConfigurationName(), graphExp.getComputationTargets());
-                configToTerminalOutputs.put(graphExp.getCalculationConfigurationName(), graphExp.getTerminalOutputs());
-              }
               if (isTerminated()) {
                 return;
               }
-              cycleStarted(new DefaultViewCycleMetadata(cycleReference.get().getUniqueId(), marketDataSnapshot.getUniqueId(),
-                  compiledViewDefinition.getViewDefinition().getUniqueId(), versionCorrection, executionOptions.getValuationTime(),
-                  singleComputationCycle.getAllCalculationConfigurationNames(), configToComputationTargets, configToTerminalOutputs,
-                  executionOptions.getName()));
+              cycleStarted(createCycleMetadata(cycleReference.get(), marketDataSnapshot));
               if (isTerminated()) {
                 return;
               }
               // We may have started the cycle without setting up market data subscriptions, so we
               // now need to set them up so that the data will start to be populated in future cycles
               snapshotManager.requestSubscriptions();
-              executeViewCycle(cycleType, cycleReference, marketDataSnapshot);
+              executeViewCycle(cycleType, cycleReference, marketDataSnapshot, _incrementalChanges);
             } catch (final InterruptedException e) {
               // Execution interrupted - don't propagate as failure
               LOGGER.info("View cycle execution interrupted for {}", getWorkerContext());
@@ -630,6 +775,8 @@ public class SingleThreadViewProcessWorker implements ViewProcessWorker, MarketD
               return;
             }
             if (_previousCycleReference != null) {
+              // Any scenarios still executing against the previous cycle must complete before it is released
+              awaitScenarioCycles();
               _previousCycleReference.release();
             }
             _previousCycleReference = cycleReference;
@@ -650,6 +797,8 @@ public class SingleThreadViewProcessWorker implements ViewProcessWorker, MarketD
 
     @Override
     protected void postRunCycle() {
+      drainPipeline();
+      awaitScenarioCycles();
       if (_previousCycleReference != null) {
         _previousCycleReference.release();
       }
@@ -694,7 +843,20 @@ public class SingleThreadViewProcessWorker implements ViewProcessWorker, MarketD
     }
   }
 
+  /**
+   * Notifies the listeners of a failed cycle from the worker thread, after any pipelined cycles already in flight have delivered their results.
+   *
+   * @param executionOptions
+   *          the execution options of the failed cycle, not null
+   * @param exception
+   *          the cause of the failure, not null
+   */
   private void cycleExecutionFailed(final ViewCycleExecutionOptions executionOptions, final Exception exception) {
+    awaitPipeline();
+    notifyCycleExecutionFailed(executionOptions, exception);
+  }
+
+  private void notifyCycleExecutionFailed(final ViewCycleExecutionOptions executionOptions, final Exception exception) {
     try {
       getWorkerContext().cycleExecutionFailed(executionOptions, exception);
     } catch (final Exception vpe) {
@@ -703,6 +865,8 @@ public class SingleThreadViewProcessWorker implements ViewProcessWorker, MarketD
   }
 
   private void viewDefinitionCompiled(final CompiledViewDefinitionWithGraphs compiledViewDefinition) {
+    // Results from the previous compilation must reach the listeners before the new one does
+    awaitPipeline();
     try {
       getWorkerContext().viewDefinitionCompiled(_marketDataManager.getMarketDataProvider(), compiledViewDefinition);
     } catch (final Exception vpe) {
@@ -711,6 +875,7 @@ public class SingleThreadViewProcessWorker implements ViewProcessWorker, MarketD
   }
 
   private void viewDefinitionCompilationFailed(final Instant compilationTime, final Exception e) {
+    awaitPipeline();
     try {
       getWorkerContext().viewDefinitionCompilationFailed(compilationTime, e);
     } catch (final Exception vpe) {
@@ -734,7 +899,12 @@ public class SingleThreadViewProcessWorker implements ViewProcessWorker, MarketD
           if (_previousCycleReference == null) {
             // Cannot do a delta if we have no previous cycle
             cycleType = ViewCycleType.FULL;
+          } else if (cycleType == ViewCycleType.DELTA && _incrementalCycles) {
+            cycleType = ViewCycleType.INCREMENTAL;
           }
+          // Changes before this point are applied by an incremental cycle, or found by a delta or full one comparing against the previous cycle
+          _incrementalChanges = _marketDataChanges;
+          _marketDataChanges = new HashSet<>();
           try {
             getMasterCycleTrigger().cycleTriggered(currentTimeNanos, cycleType);
           } catch (final Exception e) {
@@ -826,22 +996,28 @@ public class SingleThreadViewProcessWorker implements ViewProcessWorker, MarketD
   }
 
   private void executeViewCycle(final ViewCycleType cycleType, final EngineResourceReference<SingleComputationCycle> cycleReference,
-      final MarketDataSnapshot marketDataSnapshot) throws Exception {
+      final MarketDataSnapshot marketDataSnapshot, final Set<ValueSpecification> incrementalChanges) throws Exception {
     SingleComputationCycle deltaCycle;
     if (cycleType == ViewCycleType.FULL) {
       LOGGER.info("Performing full computation");
       deltaCycle = null;
     } else {
       deltaCycle = _previousCycleReference.get();
-      if (deltaCycle != null && deltaCycle.getState() != ViewCycleState.EXECUTED) {
+      if (deltaCycle != null && (deltaCycle.getState() != ViewCycleState.EXECUTED || !deltaCycle.isComputationCacheOwner())) {
         // Can only do a delta cycle if the previous was valid
         LOGGER.info("Performing full computation; no previous cycle");
         deltaCycle = null;
       } else {
-        LOGGER.info("Performing delta computation");
+        LOGGER.info("Performing {} computation", cycleType == ViewCycleType.INCREMENTAL ? "incremental" : "delta");
       }
     }
-    final boolean continueExecution = cycleReference.get().preExecute(deltaCycle, marketDataSnapshot, _suppressExecutionOnNoMarketData);
+    final boolean incremental = deltaCycle != null && cycleType == ViewCycleType.INCREMENTAL;
+    final boolean continueExecution;
+    if (incremental) {
+      continueExecution = cycleReference.get().preExecuteIncremental(deltaCycle, marketDataSnapshot, incrementalChanges, _suppressExecutionOnNoMarketData);
+    } else {
+      continueExecution = cycleReference.get().preExecute(deltaCycle, marketDataSnapshot, _suppressExecutionOnNoMarketData);
+    }
     if (_executeGraphs && continueExecution) {
       try {
         cycleReference.get().execute();
@@ -860,8 +1036,10 @@ public class SingleThreadViewProcessWorker implements ViewProcessWorker, MarketD
       LOGGER.debug("Skipping graph execution");
     }
     cycleReference.get().postExecute();
+    writeTrace(cycleReference.get());
     final long durationNanos = cycleReference.get().getDuration().toNanos();
-    final Timer timer = deltaCycle != null ? _deltaCycleTimer : _fullCycleTimer;
+    // An incremental cycle falls back to a delta cycle if it can't take over the previous cycle's caches
+    final Timer timer = cycleReference.get().isIncremental() ? _incrementalCycleTimer : deltaCycle != null ? _deltaCycleTimer : _fullCycleTimer;
     if (timer != null) {
       timer.update(durationNanos, TimeUnit.NANOSECONDS);
     }
@@ -872,6 +1050,8 @@ public class SingleThreadViewProcessWorker implements ViewProcessWorker, MarketD
   }
 
   private void jobCompleted() {
+    awaitPipeline();
+    awaitScenarioCycles();
     LOGGER.info("Computation job completed for {}", getWorkerContext());
     try {
       getWorkerContext().workerCompleted();
@@ -898,15 +1078,381 @@ public class SingleThreadViewProcessWorker implements ViewProcessWorker, MarketD
     final ComputationResultListener streamingResultListener = new ComputationResultListener() {
       @Override
       public void resultAvailable(final ViewComputationResultModel result) {
-        cycleFragmentCompleted(result);
+        if (_pipelinedCycles) {
+          publish(new Runnable() {
+            @Override
+            public void run() {
+              cycleFragmentCompleted(result);
+            }
+          });
+        } else {
+          cycleFragmentCompleted(result);
+        }
       }
     };
     final SingleComputationCycle cycle = new SingleComputationCycle(cycleId, executionOptions.getName(), streamingResultListener, getProcessContext(),
         compiledViewDefinition,
         executionOptions, versionCorrection);
+    if (_traceCycles) {
+      cycle.setTrace(new CycleTrace(cycleId));
+    }
     return getProcessContext().getCycleManager().manage(cycle);
   }
 
+  /**
+   * Logs the summary of a traced cycle and writes the trace to the trace directory.
+   *
+   * @param cycle
+   *          the executed cycle, not null
+   */
+  private static void writeTrace(final SingleComputationCycle cycle) {
+    final CycleTrace trace = cycle.getTrace();
+    if (trace == null) {
+      return;
+    }
+    LOGGER.info("{}", trace.getSummary());
+    final File file = new File(getTraceDirectory(), "cycle-" + cycle.getUniqueId().toString().replaceAll("[^A-Za-z0-9._-]", "_") + ".json");
+    try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), Charsets.UTF_8)) {
+      trace.writeChromeTrace(writer);
+      LOGGER.info("Wrote trace of {} to {}", cycle.getUniqueId(), file);
+    } catch (final IOException e) {
+      LOGGER.warn("Couldn't write trace of {} to {}: {}", cycle.getUniqueId(), file, e.getMessage());
+    }
+  }
+
+  private static ViewCycleMetadata createCycleMetadata(final SingleComputationCycle cycle, final MarketDataSnapshot marketDataSnapshot) {
+    final CompiledViewDefinitionWithGraphs compiledViewDefinition = cycle.getCompiledViewDefinition();
+    final Map<String, Collection<ComputationTargetSpecification>> configToComputationTargets = new HashMap<>();
+    final Map<String, Map<ValueSpecification, Set<ValueRequirement>>> configToTerminalOutputs = new HashMap<>();
+    for (final DependencyGraphExplorer graphExp : compiledViewDefinition.getDependencyGraphExplorers()) {
+      configToComputationTargets.put(graphExp.getCalculationConfigurationName(), graphExp.getComputationTargets());
+      configToTerminalOutputs.put(graphExp.getCalculationConfigurationName(), graphExp.getTerminalOutputs());
+    }
+    final ViewCycleExecutionOptions executionOptions = cycle.getExecutionOptions();
+    return new DefaultViewCycleMetadata(cycle.getUniqueId(), marketDataSnapshot.getUniqueId(), compiledViewDefinition.getViewDefinition().getUniqueId(),
+        cycle.getVersionCorrection(), executionOptions.getValuationTime(), cycle.getAllCalculationConfigurationNames(), configToComputationTargets,
+        configToTerminalOutputs, executionOptions.getName());
+  }
+
+  /**
+   * Tests whether the next cycle can be executed as a scenario of the previous one. This requires batched scenarios to be enabled and the previous cycle to
+   * have executed, in full, for the same compilation.
+   *
+   * @param compiledViewDefinition
+   *          the compiled view definition for the next cycle, not null
+   * @return true to execute the next cycle as a scenario, false otherwise
+   */
+  private boolean isScenarioCycle(final CompiledViewDefinitionWithGraphs compiledViewDefinition) {
+    if (!_batchedScenarios || !_executeGraphs || _previousCycleReference == null) {
+      return false;
+    }
+    final SingleComputationCycle baseCycle = _previousCycleReference.get();
+    return baseCycle.getState() == ViewCycleState.EXECUTED && baseCycle.isComputationCacheOwner()
+        && baseCycle.getCompiledViewDefinition().getCompilationIdentifier().equals(compiledViewDefinition.getCompilationIdentifier());
+  }
+
+  /**
+   * Starts a scenario cycle against the previous cycle. The cycle is executed by the scenario thread pool and its results are delivered as soon as it
+   * completes; this returns as soon as there is capacity for the next scenario.
+   *
+   * @param executionOptions
+   *          the execution options for the scenario, not null
+   * @param compiledViewDefinition
+   *          the compiled view definition, not null
+   * @param versionCorrection
+   *          the resolution version-correction, not null
+   * @param snapshotManager
+   *          the snapshot manager holding the scenario's market data, not null
+   */
+  private void executeScenarioCycle(final ViewCycleExecutionOptions executionOptions, final CompiledViewDefinitionWithGraphs compiledViewDefinition,
+      final VersionCorrection versionCorrection, final SnapshotManager snapshotManager) {
+    final EngineResourceReference<SingleComputationCycle> cycleReference;
+    try {
+      cycleReference = createCycle(executionOptions, compiledViewDefinition, versionCorrection);
+    } catch (final Exception e) {
+      LOGGER.error("Error creating next view cycle for " + getWorkerContext(), e);
+      return;
+    }
+    final SingleComputationCycle baseCycle = _previousCycleReference.get();
+    final MarketDataSnapshot marketDataSnapshot = snapshotManager.getSnapshot();
+    cycleStarted(createCycleMetadata(cycleReference.get(), marketDataSnapshot));
+    snapshotManager.requestSubscriptions();
+    _scenarioPermits.acquireUninterruptibly();
+    // The resolutions must remain valid until the scenario completes, after the caller has released its own lock
+    VersionCorrectionUtils.lock(versionCorrection);
+    try {
+      SCENARIO_EXECUTOR.execute(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            executeScenarioCycle(cycleReference.get(), baseCycle, marketDataSnapshot);
+          } finally {
+            cycleReference.release();
+            VersionCorrectionUtils.unlock(versionCorrection);
+            _scenarioPermits.release();
+          }
+        }
+      });
+    } catch (final RuntimeException e) {
+      cycleReference.release();
+      VersionCorrectionUtils.unlock(versionCorrection);
+      _scenarioPermits.release();
+      LOGGER.error("Error submitting scenario cycle for " + getWorkerContext(), e);
+      cycleExecutionFailed(executionOptions, e);
+    }
+  }
+
+  private void executeScenarioCycle(final SingleComputationCycle cycle, final SingleComputationCycle baseCycle, final MarketDataSnapshot marketDataSnapshot) {
+    if (getJob().isTerminated()) {
+      return;
+    }
+    LOGGER.info("Performing scenario computation for {} against {}", cycle.getUniqueId(), baseCycle.getUniqueId());
+    try {
+      if (cycle.preExecuteScenario(baseCycle, marketDataSnapshot)) {
+        cycle.execute();
+      }
+      cycle.postExecute();
+      writeTrace(cycle);
+    } catch (final InterruptedException e) {
+      Thread.interrupted();
+      LOGGER.info("Interrupted while executing scenario cycle {}. No results will be output from it.", cycle.getUniqueId());
+      return;
+    } catch (final Exception e) {
+      LOGGER.error("Scenario cycle execution failed for " + getWorkerContext(), e);
+      cycleExecutionFailed(cycle.getExecutionOptions(), e);
+      return;
+    }
+    final long durationNanos = cycle.getDuration().toNanos();
+    if (_scenarioCycleTimer != null) {
+      _scenarioCycleTimer.update(durationNanos, TimeUnit.NANOSECONDS);
+    }
+    LOGGER.info("Scenario cycle {} latency was {} ms", cycle.getUniqueId(), durationNanos / NANOS_PER_MILLISECOND);
+    if (cycle.getState() == ViewCycleState.EXECUTED && !getJob().isTerminated()) {
+      cycleCompleted(cycle);
+    }
+  }
+
+  /**
+   * Blocks until any scenario cycles started by this worker have completed.
+   */
+  private void awaitScenarioCycles() {
+    if (_batchedScenarios) {
+      _scenarioPermits.acquireUninterruptibly(_scenarioPermitCount);
+      _scenarioPermits.release(_scenarioPermitCount);
+    }
+  }
+
+  /**
+   * Passes a cycle to the execution stage of the pipeline. The worker thread has already initialized the market data snapshot, and done any compilation, for
+   * the cycle so can return to prepare the next one while this one executes. This blocks while the pipeline is full.
+   *
+   * @param cycleType
+   *          the type of cycle to execute, not null
+   * @param executionOptions
+   *          the execution options for the cycle, not null
+   * @param compiledViewDefinition
+   *          the compiled view definition, not null
+   * @param versionCorrection
+   *          the resolution version-correction, not null
+   * @param snapshotManager
+   *          the snapshot manager holding the cycle's market data, not null
+   */
+  private void executePipelinedCycle(final ViewCycleType cycleType, final ViewCycleExecutionOptions executionOptions,
+      final CompiledViewDefinitionWithGraphs compiledViewDefinition, final VersionCorrection versionCorrection, final SnapshotManager snapshotManager) {
+    try {
+      _pipelinePermits.acquire();
+    } catch (final InterruptedException e) {
+      LOGGER.info("Interrupted waiting for pipelined cycles to complete for {}", getWorkerContext());
+      return;
+    }
+    final EngineResourceReference<SingleComputationCycle> cycleReference;
+    final MarketDataSnapshot marketDataSnapshot;
+    try {
+      cycleReference = createCycle(executionOptions, compiledViewDefinition, versionCorrection);
+      marketDataSnapshot = snapshotManager.getSnapshot();
+    } catch (final Exception e) {
+      _pipelinePermits.release();
+      LOGGER.error("Error creating next view cycle for " + getWorkerContext(), e);
+      return;
+    }
+    snapshotManager.requestSubscriptions();
+    // The field is replaced when the next cycle is triggered, which may be before this one executes
+    final Set<ValueSpecification> incrementalChanges = _incrementalChanges;
+    // The resolutions must remain valid until the cycle has executed, after the caller has released its own lock
+    VersionCorrectionUtils.lock(versionCorrection);
+    try {
+      _executionStage.execute(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            executePipelinedCycle(cycleType, cycleReference, marketDataSnapshot, incrementalChanges);
+          } finally {
+            VersionCorrectionUtils.unlock(versionCorrection);
+          }
+        }
+      });
+    } catch (final RuntimeException e) {
+      cycleReference.release();
+      VersionCorrectionUtils.unlock(versionCorrection);
+      _pipelinePermits.release();
+      LOGGER.error("Error submitting pipelined cycle for " + getWorkerContext(), e);
+      cycleExecutionFailed(executionOptions, e);
+    }
+  }
+
+  /**
+   * Executes a pipelined cycle on the execution stage and passes it to the publication stage. The cycle becomes the previous cycle as soon as it has executed
+   * so that the next cycle can be executed against it while its results are delivered.
+   *
+   * @param cycleType
+   *          the type of cycle to execute, not null
+   * @param cycleReference
+   *          the cycle to execute, not null
+   * @param marketDataSnapshot
+   *          the initialized market data snapshot, not null
+   * @param incrementalChanges
+   *          the market data changes for an incremental cycle, not null
+   */
+  private void executePipelinedCycle(final ViewCycleType cycleType, final EngineResourceReference<SingleComputationCycle> cycleReference,
+      final MarketDataSnapshot marketDataSnapshot, final Set<ValueSpecification> incrementalChanges) {
+    EngineResourceReference<SingleComputationCycle> publishReference = null;
+    try {
+      if (getJob().isTerminated()) {
+        return;
+      }
+      final SingleComputationCycle cycle = cycleReference.get();
+      final ViewCycleMetadata cycleMetadata = createCycleMetadata(cycle, marketDataSnapshot);
+      publish(new Runnable() {
+        @Override
+        public void run() {
+          cycleStarted(cycleMetadata);
+        }
+      });
+      if (getJob().isTerminated()) {
+        return;
+      }
+      try {
+        executeViewCycle(cycleType, cycleReference, marketDataSnapshot, incrementalChanges);
+      } catch (final InterruptedException e) {
+        // Execution interrupted - don't propagate as failure
+        LOGGER.info("View cycle execution interrupted for {}", getWorkerContext());
+        return;
+      } catch (final Exception e) {
+        LOGGER.error("View cycle execution failed for " + getWorkerContext(), e);
+        publish(new Runnable() {
+          @Override
+          public void run() {
+            notifyCycleExecutionFailed(cycle.getExecutionOptions(), e);
+          }
+        });
+        return;
+      }
+      if (getJob().isTerminated()) {
+        return;
+      }
+      publishReference = getProcessContext().getCycleManager().createReference(cycle.getUniqueId());
+      final EngineResourceReference<SingleComputationCycle> previousCycleReference = _previousCycleReference;
+      _previousCycleReference = cycleReference;
+      if (previousCycleReference != null) {
+        previousCycleReference.release();
+      }
+    } finally {
+      if (publishReference == null) {
+        cycleReference.release();
+        _pipelinePermits.release();
+      }
+    }
+    final EngineResourceReference<SingleComputationCycle> reference = publishReference;
+    try {
+      _publicationStage.execute(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            // Don't push the results through if we've been terminated; the view is no longer interested in them
+            if (!getJob().isTerminated()) {
+              cycleCompleted(reference.get());
+            }
+          } finally {
+            reference.release();
+            _pipelinePermits.release();
+          }
+        }
+      });
+    } catch (final RuntimeException e) {
+      reference.release();
+      _pipelinePermits.release();
+      LOGGER.error("Error submitting pipelined cycle results for " + getWorkerContext(), e);
+    }
+  }
+
+  /**
+   * Passes a notification for a pipelined cycle to the publication stage. Notifications raised by the execution stage are delivered after those already
+   * queued, so a listener sees the completion of one cycle before the start, and any fragments, of the next.
+   *
+   * @param notification
+   *          the notification to deliver, not null
+   */
+  private void publish(final Runnable notification) {
+    try {
+      _publicationStage.execute(new Runnable() {
+        @Override
+        public void run() {
+          // Don't push the notification through if we've been terminated; the view is no longer interested in it
+          if (!getJob().isTerminated()) {
+            notification.run();
+          }
+        }
+      });
+    } catch (final RejectedExecutionException e) {
+      LOGGER.warn("Discarding pipelined cycle notification for {} after the pipeline has stopped", getWorkerContext());
+    }
+  }
+
+  /**
+   * Blocks until any pipelined cycles started by this worker have executed and delivered their results. The worker thread calls this before raising a
+   * notification of its own, such as a new compilation, so that listeners receive it after the results of the cycles already in the pipeline. It must not be
+   * called from either stage of the pipeline.
+   */
+  private void awaitPipeline() {
+    if (_pipelinedCycles) {
+      _pipelinePermits.acquireUninterruptibly(_pipelinePermitCount);
+      _pipelinePermits.release(_pipelinePermitCount);
+      // A cycle that failed or was abandoned releases its permit before its queued notifications have been delivered
+      final Future<?> published;
+      try {
+        published = _publicationStage.submit(new Runnable() {
+          @Override
+          public void run() {
+            // No-op; marks the end of the notifications already queued
+          }
+        });
+      } catch (final RejectedExecutionException e) {
+        return;
+      }
+      try {
+        published.get();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (final ExecutionException e) {
+        LOGGER.warn("Error waiting for pipelined cycle notifications for {}", getWorkerContext());
+      }
+    }
+  }
+
+  /**
+   * Stops the pipeline when the worker terminates. A cycle that is executing is interrupted and any that have not started are discarded.
+   */
+  private void drainPipeline() {
+    if (_pipelinedCycles) {
+      for (final Runnable task : _executionStage.shutdownNow()) {
+        // The job has terminated, so this just releases the cycle
+        task.run();
+      }
+      awaitPipeline();
+      _publicationStage.shutdown();
+    }
+  }
+
   private void subscribeToTargetResolverChanges() {
     if (_targetResolverChanges == null) {
       _targetResolverChanges = new TargetResolverChangeListener() {
@@ -1746,7 +2292,7 @@ public class SingleThreadViewProcessWorker implements ViewProcessWorker, MarketD
 
   @Override
   public void onMarketDataValuesChanged(final Collection<ValueSpecification> valueSpecifications) {
-    if (!getExecutionOptions().getFlags().contains(ViewExecutionFlags.TRIGGER_CYCLE_ON_MARKET_DATA_CHANGED)) {
+    if (!_incrementalCycles && !getExecutionOptions().getFlags().contains(ViewExecutionFlags.TRIGGER_CYCLE_ON_MARKET_DATA_CHANGED)) {
       return;
     }
     // Don't want to query the cache for this; always use the last one
@@ -1754,7 +2300,21 @@ public class SingleThreadViewProcessWorker implements ViewProcessWorker, MarketD
     if (compiledView == null) {
       return;
     }
-    if (CollectionUtils.containsAny(compiledView.getMarketDataRequirements(), valueSpecifications)) {
+    if (_incrementalCycles) {
+      final Set<ValueSpecification> requirements = compiledView.getMarketDataRequirements();
+      boolean changed = false;
+      synchronized (this) {
+        for (final ValueSpecification valueSpecification : valueSpecifications) {
+          if (requirements.contains(valueSpecification)) {
+            _marketDataChanges.add(valueSpecification);
+            changed = true;
+          }
+        }
+      }
+      if (changed) {
+        requestCycle();
+      }
+    } else if (CollectionUtils.containsAny(compiledView.getMarketDataRequirements(), valueSpecifications)) {
       requestCycle();
     }
   }
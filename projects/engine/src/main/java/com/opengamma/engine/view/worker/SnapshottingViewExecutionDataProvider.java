@@ -43,6 +43,7 @@ public class SnapshottingViewExecutionDataProvider extends ViewExecutionDataProv
 
   private final MarketDataAvailabilityProvider _availabilityProvider;
   private final CopyOnWriteArraySet<MarketDataListener> _listeners = new CopyOnWriteArraySet<>();
+  private final List<MarketDataListener> _providerListeners = new ArrayList<>();
 
   /**
    * @param user
@@ -62,11 +63,14 @@ public class SnapshottingViewExecutionDataProvider extends ViewExecutionDataProv
     if (getSpecifications().size() == 1) {
       final MarketDataProvider provider = getProviders().get(0);
       provider.addListener(listener);
+      _providerListeners.add(listener);
       _availabilityProvider = provider.getAvailabilityProvider(getSpecifications().get(0));
     } else {
       int index = 0;
       for (final MarketDataProvider provider : getProviders()) {
-        provider.addListener(new CompositeListener(index++, listener));
+        final MarketDataListener providerListener = new CompositeListener(index++, listener);
+        provider.addListener(providerListener);
+        _providerListeners.add(providerListener);
       }
       _availabilityProvider = new CompositeAvailabilityProvider(getProviders(), getSpecifications());
     }
@@ -93,6 +97,18 @@ public class SnapshottingViewExecutionDataProvider extends ViewExecutionDataProv
     _listeners.remove(listener);
   }
 
+  /**
+   * Detaches this instance from the underlying providers. The underlying providers may be shared with other view processes so must not retain a listener
+   * after the view process has finished with them.
+   */
+  public void close() {
+    final List<MarketDataProvider> providers = getProviders();
+    for (int i = 0; i < providers.size(); i++) {
+      providers.get(i).removeListener(_providerListeners.get(i));
+    }
+    _listeners.clear();
+  }
+
   /**
    * Sets up subscriptions for market data.
    *
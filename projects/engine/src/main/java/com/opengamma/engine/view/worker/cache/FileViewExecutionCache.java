@@ -0,0 +1,312 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.view.worker.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.threeten.bp.Instant;
+
+import com.google.common.collect.MapMaker;
+import com.opengamma.OpenGammaRuntimeException;
+import com.opengamma.core.position.Portfolio;
+import com.opengamma.engine.ComputationTarget;
+import com.opengamma.engine.ComputationTargetResolver;
+import com.opengamma.engine.ComputationTargetSpecification;
+import com.opengamma.engine.depgraph.DependencyGraph;
+import com.opengamma.engine.depgraph.DependencyGraphExplorer;
+import com.opengamma.engine.depgraph.ResolutionCache;
+import com.opengamma.engine.function.CompiledFunctionService;
+import com.opengamma.engine.function.FunctionRepository;
+import com.opengamma.engine.target.ComputationTargetReference;
+import com.opengamma.engine.target.ComputationTargetType;
+import com.opengamma.engine.view.ViewDefinition;
+import com.opengamma.engine.view.compilation.CompiledViewCalculationConfiguration;
+import com.opengamma.engine.view.compilation.CompiledViewDefinitionWithGraphs;
+import com.opengamma.engine.view.compilation.CompiledViewDefinitionWithGraphsImpl;
+import com.opengamma.id.UniqueId;
+import com.opengamma.id.VersionCorrection;
+import com.opengamma.util.ArgumentChecker;
+
+/**
+ * A {@link ViewExecutionCache} that writes each compiled view definition to a file so that it survives an engine restart. A view process
+ * started after a restart can then use the stored dependency graphs, target resolutions and market data requirements rather than
+ * compiling the view again.
+ * <p>
+ * Each key is held in its own compressed file in the cache directory, named from a hash of the key. The file also records the version of
+ * the function repository (see {@link ResolutionCache#getRepositoryVersion(FunctionRepository)}) that compiled the graphs, which covers the
+ * configuration and parameters of the functions as well as their identities. A file is only used if that version matches the current
+ * repository, the view definition still resolves to the same version and the portfolio can still be resolved at the version/correction the
+ * view was compiled for; otherwise it is deleted and treated as a cache miss. The restored view is given the current function
+ * initialization identifier so the worker will not recompile it for that reason alone. The normal checks the worker makes against changed
+ * targets and the validity period of the compilation still apply.
+ */
+public class FileViewExecutionCache implements ViewExecutionCache {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(FileViewExecutionCache.class);
+
+  /**
+   * The format of the files written. This must change if the file layout changes.
+   */
+  private static final int FILE_FORMAT = 1;
+
+  private static final String FILE_SUFFIX = ".cvd";
+
+  private final File _directory;
+
+  private final CompiledFunctionService _functions;
+
+  private final ConcurrentMap<ViewExecutionCacheKey, CompiledViewDefinitionWithGraphs> _compiledViewDefinitionsFrontCache = new MapMaker().weakValues()
+      .makeMap();
+
+  /**
+   * Creates a new instance.
+   *
+   * @param directory
+   *          the directory to hold the cache files, created if it does not exist, not null
+   * @param cfs
+   *          the compiled function service, holding the function repository and a computation target resolver, not null
+   */
+  public FileViewExecutionCache(final File directory, final CompiledFunctionService cfs) {
+    ArgumentChecker.notNull(directory, "directory");
+    ArgumentChecker.notNull(cfs, "cfs");
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      throw new OpenGammaRuntimeException("Couldn't create cache directory " + directory);
+    }
+    _directory = directory;
+    _functions = cfs;
+  }
+
+  /**
+   * For testing only.
+   */
+  /* package */void clearFrontCache() {
+    _compiledViewDefinitionsFrontCache.clear();
+  }
+
+  public File getDirectory() {
+    return _directory;
+  }
+
+  public ComputationTargetResolver getTargetResolver() {
+    return _functions.getFunctionCompilationContext().getRawComputationTargetResolver();
+  }
+
+  /**
+   * Returns the version of the current function repository, including the configuration the functions were constructed from.
+   *
+   * @return the repository version, not null
+   */
+  protected String getRepositoryVersion() {
+    return ResolutionCache.getRepositoryVersion(_functions.getFunctionRepository());
+  }
+
+  /**
+   * Returns the file used to hold the compiled view definition for a key.
+   *
+   * @param key
+   *          the cache key, not null
+   * @return the file, not null
+   */
+  /* package */File getFile(final ViewExecutionCacheKey key) {
+    final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(baos)) {
+      out.writeObject(key);
+    } catch (final IOException e) {
+      throw new OpenGammaRuntimeException("Couldn't serialize cache key " + key, e);
+    }
+    try {
+      final StringBuilder sb = new StringBuilder();
+      for (final byte b : MessageDigest.getInstance("SHA-1").digest(baos.toByteArray())) {
+        sb.append(Character.forDigit(b >> 4 & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+      }
+      return new File(_directory, sb.append(FILE_SUFFIX).toString());
+    } catch (final NoSuchAlgorithmException e) {
+      throw new OpenGammaRuntimeException("Couldn't hash cache key " + key, e);
+    }
+  }
+
+  private ComputationTarget resolve(final ComputationTargetType type, final UniqueId uniqueId, final VersionCorrection versionCorrection) {
+    return getTargetResolver().resolve(new ComputationTargetSpecification(type, uniqueId), versionCorrection);
+  }
+
+  /**
+   * Writes a compiled view definition to a file. The file is written under a temporary name and then renamed so that a partially written
+   * file is never read. Failures are logged rather than propagated as the view can always be compiled again.
+   *
+   * @param key
+   *          the cache key, not null
+   * @param viewDefinition
+   *          the compiled view definition, not null
+   * @param file
+   *          the file to write, not null
+   */
+  /* package */void save(final ViewExecutionCacheKey key, final CompiledViewDefinitionWithGraphs viewDefinition, final File file) {
+    File temp = null;
+    try {
+      temp = File.createTempFile(file.getName(), ".tmp", _directory);
+      try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(temp))))) {
+        out.writeInt(FILE_FORMAT);
+        out.writeObject(key);
+        out.writeObject(getRepositoryVersion());
+        out.writeObject(viewDefinition.getResolverVersionCorrection());
+        out.writeObject(viewDefinition.getCompilationIdentifier());
+        out.writeObject(viewDefinition.getViewDefinition().getUniqueId());
+        out.writeObject(viewDefinition.getPortfolio() != null ? viewDefinition.getPortfolio().getUniqueId() : null);
+        final Collection<DependencyGraphExplorer> explorers = viewDefinition.getDependencyGraphExplorers();
+        final ArrayList<DependencyGraph> graphs = new ArrayList<>(explorers.size());
+        for (final DependencyGraphExplorer explorer : explorers) {
+          graphs.add(explorer.getWholeGraph());
+        }
+        out.writeObject(graphs);
+        out.writeObject(new HashMap<>(viewDefinition.getResolvedIdentifiers()));
+        out.writeObject(new ArrayList<>(viewDefinition.getCompiledCalculationConfigurations()));
+        out.writeObject(viewDefinition.getValidFrom());
+        out.writeObject(viewDefinition.getValidTo());
+      }
+    } catch (final IOException e) {
+      LOGGER.warn("Couldn't write compiled view definition to {} - {}", file, e.getMessage());
+      if (temp != null) {
+        temp.delete();
+      }
+      return;
+    }
+    if (file.exists() && !file.delete() || !temp.renameTo(file)) {
+      LOGGER.warn("Couldn't replace compiled view definition {}", file);
+      temp.delete();
+      return;
+    }
+    LOGGER.info("Wrote CompiledViewDefinitionWithGraphs for {} to {}", key, file);
+  }
+
+  /**
+   * Reads a compiled view definition from a file, checking that it is still valid.
+   *
+   * @param key
+   *          the cache key, not null
+   * @param file
+   *          the file to read, not null
+   * @param functionInitId
+   *          the current function initialization identifier
+   * @return the compiled view definition, null if the file is not valid for the key or is out of date
+   */
+  @SuppressWarnings("unchecked")
+  /* package */CompiledViewDefinitionWithGraphs load(final ViewExecutionCacheKey key, final File file, final long functionInitId) {
+    try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))))) {
+      if (in.readInt() != FILE_FORMAT) {
+        LOGGER.info("Ignoring compiled view definition {} with unsupported format", file);
+        return null;
+      }
+      if (!key.equals(in.readObject())) {
+        LOGGER.info("Ignoring compiled view definition {} written for a different key", file);
+        return null;
+      }
+      final String repositoryVersion = (String) in.readObject();
+      if (!repositoryVersion.equals(getRepositoryVersion())) {
+        LOGGER.info("Ignoring compiled view definition {} for function repository version {}", file, repositoryVersion);
+        return null;
+      }
+      final VersionCorrection versionCorrection = (VersionCorrection) in.readObject();
+      final String compilationId = (String) in.readObject();
+      final UniqueId viewDefinitionId = (UniqueId) in.readObject();
+      final UniqueId portfolioId = (UniqueId) in.readObject();
+      final Collection<DependencyGraph> graphs = (Collection<DependencyGraph>) in.readObject();
+      final Map<ComputationTargetReference, UniqueId> resolutions = (Map<ComputationTargetReference, UniqueId>) in.readObject();
+      final Collection<CompiledViewCalculationConfiguration> calcConfigs = (Collection<CompiledViewCalculationConfiguration>) in.readObject();
+      final Instant validFrom = (Instant) in.readObject();
+      final Instant validTo = (Instant) in.readObject();
+      final ComputationTarget viewDefinition = resolve(ComputationTargetType.of(ViewDefinition.class), viewDefinitionId, VersionCorrection.LATEST);
+      if (viewDefinition == null || !viewDefinitionId.equals(viewDefinition.getUniqueId())) {
+        LOGGER.info("Ignoring compiled view definition {} as view definition {} has changed", file, viewDefinitionId);
+        return null;
+      }
+      Portfolio portfolio = null;
+      if (portfolioId != null) {
+        final ComputationTarget target = resolve(ComputationTargetType.PORTFOLIO, portfolioId, versionCorrection);
+        if (target == null) {
+          LOGGER.info("Ignoring compiled view definition {} as portfolio {} can't be resolved", file, portfolioId);
+          return null;
+        }
+        portfolio = (Portfolio) target.getValue();
+      }
+      return new CompiledViewDefinitionWithGraphsImpl(versionCorrection, compilationId, (ViewDefinition) viewDefinition.getValue(), graphs, resolutions,
+          portfolio, functionInitId, calcConfigs, validFrom, validTo);
+    } catch (final IOException | ClassNotFoundException | ClassCastException e) {
+      LOGGER.warn("Couldn't read compiled view definition from {} - {}", file, e.getMessage());
+      return null;
+    }
+  }
+
+  @Override
+  public CompiledViewDefinitionWithGraphs getCompiledViewDefinitionWithGraphs(final ViewExecutionCacheKey key) {
+    CompiledViewDefinitionWithGraphs graphs = _compiledViewDefinitionsFrontCache.get(key);
+    if (graphs != null) {
+      LOGGER.debug("Front cache hit CompiledViewDefinitionWithGraphs for {}", key);
+      return graphs;
+    }
+    final File file = getFile(key);
+    if (!file.exists()) {
+      LOGGER.debug("File cache miss CompiledViewDefinitionWithGraphs for {}", key);
+      return null;
+    }
+    final Long functionInitId = _functions.getFunctionCompilationContext().getFunctionInitId();
+    if (functionInitId == null) {
+      LOGGER.debug("Functions not initialized; ignoring {}", file);
+      return null;
+    }
+    graphs = load(key, file, functionInitId);
+    if (graphs == null) {
+      // The stored compilation is out of date, or unreadable, so will be replaced when the view is compiled
+      file.delete();
+      return null;
+    }
+    LOGGER.info("Read CompiledViewDefinitionWithGraphs for {} from {}", key, file);
+    final CompiledViewDefinitionWithGraphs existing = _compiledViewDefinitionsFrontCache.putIfAbsent(key, graphs);
+    return existing != null ? existing : graphs;
+  }
+
+  @Override
+  public void setCompiledViewDefinitionWithGraphs(final ViewExecutionCacheKey key, final CompiledViewDefinitionWithGraphs viewDefinition) {
+    final CompiledViewDefinitionWithGraphs existing = _compiledViewDefinitionsFrontCache.put(key, viewDefinition);
+    if (existing == viewDefinition) {
+      return;
+    }
+    save(key, viewDefinition, getFile(key));
+  }
+
+  @Override
+  public void clear() {
+    _compiledViewDefinitionsFrontCache.clear();
+    LOGGER.info("Clearing all CompiledViewDefinitionWithGraphs from {}", _directory);
+    final File[] files = _directory.listFiles();
+    if (files != null) {
+      for (final File file : files) {
+        if (file.getName().endsWith(FILE_SUFFIX)) {
+          file.delete();
+        }
+      }
+    }
+  }
+
+}
@@ -51,7 +51,7 @@ public class RecomputationPeriodTrigger implements ViewCycleTrigger {
 
   @Override
   public void cycleTriggered(final long cycleTimeNanos, final ViewCycleType cycleType) {
-    updateComputationTimes(cycleTimeNanos, cycleType == ViewCycleType.DELTA);
+    updateComputationTimes(cycleTimeNanos, cycleType != ViewCycleType.FULL);
   }
 
   @Override
@@ -26,6 +26,7 @@ public class SuccessiveDeltaLimitTrigger implements ViewCycleTrigger {
   @Override
   public void cycleTriggered(final long cycleTimeNanos, final ViewCycleType cycleType) {
     switch (cycleType) {
+      case INCREMENTAL:
       case DELTA:
         _successiveDeltaCount++;
         break;
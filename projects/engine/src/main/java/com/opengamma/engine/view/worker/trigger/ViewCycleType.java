@@ -10,6 +10,12 @@ package com.opengamma.engine.view.worker.trigger;
  */
 public enum ViewCycleType {
 
+  /**
+   * Indicates a preference to perform an incremental cycle where only the calculations affected by market data changes since the previous cycle are
+   * executed, reusing the previous cycle's computation caches in place.
+   */
+  INCREMENTAL,
+
   /**
    * Indicates a preference to perform a delta cycle where unchanged calculations in the dependency graph are reused.
    */
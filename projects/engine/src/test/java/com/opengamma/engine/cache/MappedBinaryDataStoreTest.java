@@ -0,0 +1,150 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.cache;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.util.test.TestGroup;
+
+/**
+ * Tests {@link MappedBinaryDataStore}.
+ */
+@Test(groups = TestGroup.UNIT)
+public class MappedBinaryDataStoreTest {
+
+  private static MappedBinaryDataStore createDataStore(final int chunkSize, final int indexCapacity) throws IOException {
+    final File file = File.createTempFile("MappedBinaryDataStoreTest", ".arena");
+    file.deleteOnExit();
+    return new MappedBinaryDataStore(file, chunkSize, indexCapacity);
+  }
+
+  private static byte[] randomBytes(final Random random, final int length) {
+    final byte[] data = new byte[length];
+    random.nextBytes(data);
+    return data;
+  }
+
+  public void testPutGet() throws IOException {
+    final MappedBinaryDataStore store = createDataStore(1024, 4);
+    final Random random = new Random(1L);
+    final Map<Long, byte[]> expected = new HashMap<>();
+    for (long i = 0; i < 1000; i++) {
+      final byte[] data = randomBytes(random, random.nextInt(100));
+      store.put(i, data);
+      expected.put(i, data);
+    }
+    for (final Map.Entry<Long, byte[]> entry : expected.entrySet()) {
+      assertTrue(Arrays.equals(entry.getValue(), store.get(entry.getKey())));
+    }
+    assertNull(store.get(1000L));
+    store.delete();
+  }
+
+  public void testBulkPutGet() throws IOException {
+    final MappedBinaryDataStore store = createDataStore(4096, 4);
+    final Random random = new Random(2L);
+    final Map<Long, byte[]> expected = new HashMap<>();
+    for (long i = 0; i < 500; i++) {
+      expected.put(i * 7, randomBytes(random, random.nextInt(200)));
+    }
+    store.put(expected);
+    final Map<Long, byte[]> actual = store.get(Arrays.asList(0L, 7L, 8L, 3493L));
+    assertEquals(3, actual.size());
+    for (final Map.Entry<Long, byte[]> entry : actual.entrySet()) {
+      assertTrue(Arrays.equals(expected.get(entry.getKey()), entry.getValue()));
+    }
+    final Map<Long, ByteBuffer> buffers = store.getBuffers(expected.keySet());
+    assertEquals(expected.size(), buffers.size());
+    final ByteBuffer buffer = buffers.get(14L);
+    final byte[] data = new byte[buffer.remaining()];
+    buffer.get(data);
+    assertTrue(Arrays.equals(expected.get(14L), data));
+    store.delete();
+  }
+
+  public void testOversizedValue() throws IOException {
+    final MappedBinaryDataStore store = createDataStore(64, 16);
+    final Random random = new Random(3L);
+    final byte[] small = randomBytes(random, 10);
+    final byte[] large = randomBytes(random, 1000);
+    store.put(1L, small);
+    store.put(2L, large);
+    store.put(3L, small);
+    assertTrue(Arrays.equals(small, store.get(1L)));
+    assertTrue(Arrays.equals(large, store.get(2L)));
+    assertTrue(Arrays.equals(small, store.get(3L)));
+    store.delete();
+  }
+
+  public void testReplace() throws IOException {
+    final MappedBinaryDataStore store = createDataStore(1024, 16);
+    store.put(1L, new byte[] {1, 2, 3 });
+    store.put(1L, new byte[] {4 });
+    assertTrue(Arrays.equals(new byte[] {4 }, store.get(1L)));
+    store.delete();
+  }
+
+  public void testDelete() throws IOException {
+    final MappedBinaryDataStore store = createDataStore(1024, 16);
+    store.put(1L, new byte[] {1, 2, 3 });
+    final ByteBuffer buffer = store.getBuffer(1L);
+    assertTrue(store.getFile().exists());
+    store.delete();
+    assertFalse(store.getFile().exists());
+    assertNull(store.get(1L));
+    assertEquals(3, buffer.remaining());
+    store.put(2L, new byte[] {1 });
+    assertNull(store.get(2L));
+  }
+
+  public void testConcurrentReads() throws Exception {
+    final MappedBinaryDataStore store = createDataStore(4096, 4);
+    final AtomicBoolean writing = new AtomicBoolean(true);
+    final AtomicReference<String> failure = new AtomicReference<>();
+    final Thread[] readers = new Thread[4];
+    for (int i = 0; i < readers.length; i++) {
+      readers[i] = new Thread() {
+        @Override
+        public void run() {
+          final Random random = new Random();
+          while (writing.get()) {
+            final long identifier = random.nextInt(10000);
+            final byte[] data = store.get(identifier);
+            if (data != null && (data.length != 8 || ByteBuffer.wrap(data).getLong() != identifier)) {
+              failure.set("Bad data for " + identifier);
+            }
+          }
+        }
+      };
+      readers[i].start();
+    }
+    for (long i = 0; i < 10000; i++) {
+      store.put(i, ByteBuffer.allocate(8).putLong(i).array());
+    }
+    writing.set(false);
+    for (final Thread reader : readers) {
+      reader.join();
+    }
+    assertNull(failure.get());
+    store.delete();
+  }
+
+}
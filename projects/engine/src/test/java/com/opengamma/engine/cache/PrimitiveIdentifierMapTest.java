@@ -0,0 +1,82 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.cache;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.engine.value.ValueSpecification;
+import com.opengamma.util.test.TestGroup;
+
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+
+/**
+ * Tests {@link PrimitiveIdentifierMap}.
+ */
+@Test(groups = TestGroup.INTEGRATION)
+public class PrimitiveIdentifierMapTest extends AbstractIdentifierMapTest {
+
+  @Override
+  protected IdentifierMap createIdentifierMap(final String testName) {
+    return new PrimitiveIdentifierMap(4);
+  }
+
+  @Test
+  public void batchAllocatesContiguousRange() {
+    final IdentifierMap idMap = createIdentifierMap("batchAllocatesContiguousRange");
+    final long first = idMap.getIdentifier(getValueSpec("first"));
+    final List<ValueSpecification> specs = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      specs.add(getValueSpec("value-" + i));
+    }
+    specs.add(getValueSpec("first"));
+    specs.add(getValueSpec("value-0"));
+    final Object2LongMap<ValueSpecification> identifiers = idMap.getIdentifiers(specs);
+    assertEquals(101, identifiers.size());
+    assertEquals(first, identifiers.getLong(getValueSpec("first")));
+    for (int i = 0; i < 100; i++) {
+      final ValueSpecification spec = getValueSpec("value-" + i);
+      assertEquals(first + 1 + i, identifiers.getLong(spec));
+      assertEquals(spec, idMap.getValueSpecification(first + 1 + i));
+    }
+    assertNull(idMap.getValueSpecification(first + 101));
+    assertNull(idMap.getValueSpecification(0));
+  }
+
+  @Test
+  public void concurrentAllocation() throws InterruptedException {
+    final IdentifierMap idMap = createIdentifierMap("concurrentAllocation");
+    final long[][] identifiers = new long[4][1000];
+    final Thread[] threads = new Thread[identifiers.length];
+    for (int i = 0; i < threads.length; i++) {
+      final long[] result = identifiers[i];
+      threads[i] = new Thread() {
+        @Override
+        public void run() {
+          for (int j = 0; j < result.length; j++) {
+            result[j] = idMap.getIdentifier(getValueSpec("value-" + j));
+          }
+        }
+      };
+      threads[i].start();
+    }
+    for (final Thread thread : threads) {
+      thread.join();
+    }
+    for (int j = 0; j < 1000; j++) {
+      for (int i = 1; i < identifiers.length; i++) {
+        assertEquals(identifiers[0][j], identifiers[i][j]);
+      }
+      assertEquals(getValueSpec("value-" + j), idMap.getValueSpecification(identifiers[0][j]));
+    }
+  }
+
+}
@@ -206,12 +206,22 @@ public class RemoteCacheRequestResponseTest {
   // @Test(timeout=10000l)
   @Test
   public void singleThreadPutLoad() throws InterruptedException {
+    singleThreadPutLoad(false);
+  }
+
+  @Test
+  public void singleThreadPutLoadPassThrough() throws InterruptedException {
+    singleThreadPutLoad(true);
+  }
+
+  private void singleThreadPutLoad(final boolean passThrough) {
     final InMemoryViewComputationCacheSource cache = new InMemoryViewComputationCacheSource(FUDGE_CONTEXT);
     final ViewComputationCacheServer server = new ViewComputationCacheServer(cache);
     final DirectFudgeConnection conduit = new DirectFudgeConnection(cache.getFudgeContext());
     conduit.connectEnd2(server);
     final RemoteCacheClient client = new RemoteCacheClient(conduit.getEnd1());
-    final FudgeMessageStore dataStore = new RemoteFudgeMessageStore(client, new ViewComputationCacheKey(UniqueId.of("Test", "ViewCycle1"), "Config1"));
+    final FudgeMessageStore dataStore = new RemoteFudgeMessageStore(client, new ViewComputationCacheKey(UniqueId.of("Test", "ViewCycle1"), "Config1"),
+        passThrough);
 
     // Single value
     final MutableFudgeMsg inputValue1 = FUDGE_CONTEXT.newMessage();
@@ -0,0 +1,112 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.calcnode;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.engine.ComputationTarget;
+import com.opengamma.engine.ComputationTargetSpecification;
+import com.opengamma.engine.cache.MissingInput;
+import com.opengamma.engine.cache.MissingOutput;
+import com.opengamma.engine.function.FunctionExecutionContext;
+import com.opengamma.engine.function.FunctionInputs;
+import com.opengamma.engine.function.FunctionInputsImpl;
+import com.opengamma.engine.function.FunctionInvoker;
+import com.opengamma.engine.target.ComputationTargetType;
+import com.opengamma.engine.value.ComputedValue;
+import com.opengamma.engine.value.ScenarioVector;
+import com.opengamma.engine.value.ValueProperties;
+import com.opengamma.engine.value.ValuePropertyNames;
+import com.opengamma.engine.value.ValueRequirement;
+import com.opengamma.engine.value.ValueSpecification;
+import com.opengamma.id.UniqueId;
+import com.opengamma.util.test.TestGroup;
+
+/**
+ * Tests the {@link ScenarioVectorFunctionInvoker} class.
+ */
+@Test(groups = TestGroup.UNIT)
+public class ScenarioVectorFunctionInvokerTest {
+
+  private static final ComputationTarget TARGET = new ComputationTarget(ComputationTargetType.PRIMITIVE, UniqueId.of("Test", "X"));
+  private static final ValueSpecification SPOT = spec("Spot");
+  private static final ValueSpecification NOTIONAL = spec("Notional");
+  private static final ValueSpecification VALUE = spec("Value");
+
+  private static ValueSpecification spec(final String name) {
+    return new ValueSpecification(name, ComputationTargetSpecification.NULL, ValueProperties.with(ValuePropertyNames.FUNCTION, "Test").get());
+  }
+
+  /**
+   * Multiplies the spot by the notional, for a single scenario only.
+   */
+  private static FunctionInvoker multiply() {
+    return new FunctionInvoker() {
+
+      @Override
+      public Set<ComputedValue> execute(final FunctionExecutionContext executionContext, final FunctionInputs inputs, final ComputationTarget target,
+          final Set<ValueRequirement> desiredValues) {
+        final Object spot = inputs.getValue("Spot");
+        final Object notional = inputs.getValue("Notional");
+        if (spot instanceof ScenarioVector || notional instanceof ScenarioVector) {
+          throw new IllegalStateException();
+        }
+        return Collections.singleton(new ComputedValue(VALUE, (Double) spot * (Double) notional));
+      }
+
+      @Override
+      public boolean canHandleMissingInputs() {
+        return false;
+      }
+
+    };
+  }
+
+  private static Set<ComputedValue> execute(final FunctionInvoker invoker, final int scenarios, final ComputedValue... inputs) {
+    final FunctionInputs functionInputs = new FunctionInputsImpl(null, Arrays.asList(inputs), Collections.<ValueSpecification>emptySet());
+    return new ScenarioVectorFunctionInvoker(invoker, scenarios, new ValueSpecification[] {VALUE }, null).execute(null, functionInputs, TARGET,
+        Collections.singleton(new ValueRequirement("Value", TARGET.toSpecification())));
+  }
+
+  public void testScenarioCount() {
+    assertEquals(ScenarioVectorFunctionInvoker.getScenarioCount(Arrays.asList(new ComputedValue(SPOT, 1d), new ComputedValue(NOTIONAL, 2d))), 0);
+    assertEquals(ScenarioVectorFunctionInvoker.getScenarioCount(Arrays.asList(new ComputedValue(SPOT, ScenarioVector.of(1d, 2d)),
+        new ComputedValue(NOTIONAL, 2d))), 2);
+    assertEquals(ScenarioVectorFunctionInvoker.getScenarioCount(Arrays.asList(new ComputedValue(SPOT, ScenarioVector.of(1d, 2d)),
+        new ComputedValue(NOTIONAL, ScenarioVector.of(1d, 2d, 3d)))), -1);
+  }
+
+  public void testPerScenario() {
+    final Set<ComputedValue> result = execute(multiply(), 3, new ComputedValue(SPOT, ScenarioVector.of(1d, 2d, 3d)), new ComputedValue(NOTIONAL, 10d));
+    assertEquals(result, Collections.singleton(new ComputedValue(VALUE, ScenarioVector.of(10d, 20d, 30d))));
+  }
+
+  public void testSameInEveryScenario() {
+    final Set<ComputedValue> result = execute(multiply(), 2, new ComputedValue(SPOT, ScenarioVector.of(2d, 1d)),
+        new ComputedValue(NOTIONAL, ScenarioVector.of(1d, 2d)));
+    assertEquals(result, Collections.singleton(new ComputedValue(VALUE, 2d)));
+  }
+
+  public void testMissingInScenario() {
+    final Set<ComputedValue> result = execute(multiply(), 2, new ComputedValue(SPOT, ScenarioVector.of(MissingInput.MISSING_MARKET_DATA, 2d)),
+        new ComputedValue(NOTIONAL, 10d));
+    assertEquals(result, Collections.singleton(new ComputedValue(VALUE, ScenarioVector.of(MissingOutput.MISSING_INPUTS, 20d))));
+  }
+
+  public void testNoResultInAnyScenario() {
+    final Set<ComputedValue> result = execute(multiply(), 2, new ComputedValue(SPOT, ScenarioVector.of(MissingInput.MISSING_MARKET_DATA, 2d)),
+        new ComputedValue(NOTIONAL, ScenarioVector.of(10d, MissingInput.MISSING_MARKET_DATA)));
+    // The failures are reported against the resolved output rather than the desired value
+    assertEquals(result, Collections.singleton(new ComputedValue(VALUE, MissingOutput.MISSING_INPUTS)));
+  }
+
+}
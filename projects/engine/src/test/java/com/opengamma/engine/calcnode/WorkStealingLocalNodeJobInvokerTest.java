@@ -0,0 +1,243 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.calcnode;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+import static org.testng.AssertJUnit.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.Test;
+import org.threeten.bp.Instant;
+
+import com.opengamma.engine.ComputationTarget;
+import com.opengamma.engine.ComputationTargetSpecification;
+import com.opengamma.engine.cache.CacheSelectHint;
+import com.opengamma.engine.function.EmptyFunctionParameters;
+import com.opengamma.engine.function.InMemoryFunctionRepository;
+import com.opengamma.engine.target.ComputationTargetType;
+import com.opengamma.engine.test.MockFunction;
+import com.opengamma.engine.test.TestCalculationNode;
+import com.opengamma.engine.value.ComputedValue;
+import com.opengamma.engine.value.ValueProperties;
+import com.opengamma.engine.value.ValuePropertyNames;
+import com.opengamma.engine.value.ValueSpecification;
+import com.opengamma.engine.view.ExecutionLogMode;
+import com.opengamma.id.VersionCorrection;
+import com.opengamma.util.money.Currency;
+import com.opengamma.util.test.TestGroup;
+import com.opengamma.util.test.TestLifecycle;
+import com.opengamma.util.test.Timeout;
+
+/**
+ * Tests the {@link WorkStealingLocalNodeJobInvoker} class.
+ */
+@Test(groups = TestGroup.UNIT)
+public class WorkStealingLocalNodeJobInvokerTest {
+
+  private static final long TIMEOUT = Timeout.standardTimeoutMillis();
+  private static final ComputationTarget TARGET = new ComputationTarget(ComputationTargetType.CURRENCY, Currency.USD);
+
+  private static ValueSpecification createValue(final String name) {
+    return new ValueSpecification(name, ComputationTargetSpecification.NULL, ValueProperties.with(ValuePropertyNames.FUNCTION, name).get());
+  }
+
+  private static CalculationJobItem createItem(final List<ValueSpecification> inputs, final ValueSpecification output) {
+    return new CalculationJobItem(output.getValueName(), new EmptyFunctionParameters(), ComputationTargetSpecification.NULL, inputs,
+        Collections.singleton(output), ExecutionLogMode.INDICATORS);
+  }
+
+  private static MockFunction createFunction(final String name, final MockFunction input) {
+    final MockFunction function = new MockFunction(name, TARGET);
+    function.addResult(new ComputedValue(new ValueSpecification(name, TARGET.toSpecification(),
+        ValueProperties.with(ValuePropertyNames.FUNCTION, name).get()), name + " value"));
+    if (input != null) {
+      function.addRequirement(input.getResultSpec().toRequirementSpecification());
+    }
+    return function;
+  }
+
+  private static CalculationJobItem createItem(final MockFunction function, final MockFunction input) {
+    final List<ValueSpecification> inputs = input != null ? Collections.singletonList(input.getResultSpec()) : Collections.<ValueSpecification>emptyList();
+    return new CalculationJobItem(function.getUniqueId(), function.getDefaultParameters(), TARGET.toSpecification(), inputs,
+        function.getResultSpecs(), ExecutionLogMode.INDICATORS);
+  }
+
+  private static TestCalculationNode createNode(final List<MockFunction> functions) {
+    final TestCalculationNode node = new TestCalculationNode();
+    final InMemoryFunctionRepository repository =
+        (InMemoryFunctionRepository) node.getFunctionCompilationService().getFunctionRepositoryFactory().constructRepository(Instant.now());
+    for (final MockFunction function : functions) {
+      repository.addFunction(function);
+    }
+    node.getFunctionCompilationService().initialize();
+    return node;
+  }
+
+  public void testPartitionDependentItems() {
+    final ValueSpecification a = createValue("A");
+    final ValueSpecification b = createValue("B");
+    final ValueSpecification c = createValue("C");
+    final List<CalculationJobItem> items = Arrays.asList(createItem(Collections.<ValueSpecification>emptyList(), a),
+        createItem(Arrays.asList(a), b), createItem(Arrays.asList(b), c));
+    assertNull(WorkStealingLocalNodeJobInvoker.partition(items, 4));
+  }
+
+  public void testPartitionIndependentItems() {
+    final ValueSpecification a = createValue("A");
+    final ValueSpecification b = createValue("B");
+    final ValueSpecification c = createValue("C");
+    final ValueSpecification d = createValue("D");
+    final ValueSpecification e = createValue("E");
+    // A -> C and B -> D are independent chains; E is independent of both
+    final List<CalculationJobItem> items = Arrays.asList(createItem(Collections.<ValueSpecification>emptyList(), a),
+        createItem(Collections.<ValueSpecification>emptyList(), b), createItem(Arrays.asList(a), c), createItem(Arrays.asList(b), d),
+        createItem(Collections.<ValueSpecification>emptyList(), e));
+    final List<int[]> partitions = WorkStealingLocalNodeJobInvoker.partition(items, 2);
+    assertNotNull(partitions);
+    assertEquals(2, partitions.size());
+    int count = 0;
+    for (final int[] partition : partitions) {
+      count += partition.length;
+      for (int i = 1; i < partition.length; i++) {
+        assertTrue(partition[i - 1] < partition[i]);
+      }
+    }
+    assertEquals(5, count);
+    assertEquals(3, WorkStealingLocalNodeJobInvoker.partition(items, 4).size());
+    assertNull(WorkStealingLocalNodeJobInvoker.partition(items, 1));
+  }
+
+  public void testInvokeWithNoNodes() {
+    final WorkStealingLocalNodeJobInvoker invoker = new WorkStealingLocalNodeJobInvoker(1);
+    try {
+      final TestJobInvocationReceiver receiver = new TestJobInvocationReceiver();
+      assertFalse(invoker.invoke(JobDispatcherTest.createTestJob(), receiver));
+      assertNull(receiver.getCompletionResult());
+    } finally {
+      invoker.stop();
+    }
+  }
+
+  public void testInvokeWithTail() throws InterruptedException {
+    TestLifecycle.begin();
+    try {
+      final TestCalculationNode node1 = new TestCalculationNode();
+      TestLifecycle.register(node1);
+      final TestCalculationNode node2 = new TestCalculationNode();
+      TestLifecycle.register(node2);
+      final WorkStealingLocalNodeJobInvoker invoker = new WorkStealingLocalNodeJobInvoker(Arrays.<SimpleCalculationNode>asList(node1, node2));
+      TestLifecycle.register(invoker);
+      assertEquals(2, invoker.getTotalNodeCount());
+      final CalculationJob job = JobDispatcherTest.createTestJob();
+      final CalculationJob tail = new CalculationJob(JobDispatcherTest.createTestJobSpec(), 0L, job.getResolverVersionCorrection(),
+          new long[] {job.getSpecification().getJobId() }, job.getJobItems(), job.getCacheSelectHint());
+      job.addTail(tail);
+      final List<CalculationJobResult> results = new ArrayList<>();
+      final CountDownLatch latch = new CountDownLatch(2);
+      final JobInvocationReceiver receiver = new JobInvocationReceiver() {
+
+        @Override
+        public void jobCompleted(final CalculationJobResult result) {
+          synchronized (results) {
+            results.add(result);
+          }
+          latch.countDown();
+        }
+
+        @Override
+        public void jobFailed(final JobInvoker jobInvoker, final String computeNodeId, final Exception exception) {
+          fail(exception.toString());
+        }
+
+      };
+      assertTrue(invoker.invoke(job, receiver));
+      assertTrue(latch.await(TIMEOUT, TimeUnit.MILLISECONDS));
+      // The tail is only released once the job it requires has completed
+      assertEquals(job.getSpecification(), results.get(0).getSpecification());
+      assertEquals(tail.getSpecification(), results.get(1).getSpecification());
+      assertEquals(0, invoker.getTotalJobCount());
+    } finally {
+      TestLifecycle.end();
+    }
+  }
+
+  public void testInvokeSplitJob() throws InterruptedException {
+    TestLifecycle.begin();
+    try {
+      // A -> C and B -> D are independent chains; E is independent of both
+      final MockFunction a = createFunction("A", null);
+      final MockFunction b = createFunction("B", null);
+      final MockFunction c = createFunction("C", a);
+      final MockFunction d = createFunction("D", b);
+      final MockFunction e = createFunction("E", null);
+      final List<MockFunction> functions = Arrays.asList(a, b, c, d, e);
+      final TestCalculationNode node1 = createNode(functions);
+      TestLifecycle.register(node1);
+      final TestCalculationNode node2 = createNode(functions);
+      TestLifecycle.register(node2);
+      final WorkStealingLocalNodeJobInvoker invoker = new WorkStealingLocalNodeJobInvoker(Arrays.<SimpleCalculationNode>asList(node1, node2));
+      TestLifecycle.register(invoker);
+      final List<CalculationJobItem> items = Arrays.asList(createItem(a, null), createItem(b, null), createItem(c, a), createItem(d, b),
+          createItem(e, null));
+      final CalculationJob job = new CalculationJob(JobDispatcherTest.createTestJobSpec(), 0L, VersionCorrection.LATEST, null, items,
+          CacheSelectHint.allShared());
+      final List<CalculationJobResult> results = new ArrayList<>();
+      final CountDownLatch latch = new CountDownLatch(1);
+      final JobInvocationReceiver receiver = new JobInvocationReceiver() {
+
+        @Override
+        public void jobCompleted(final CalculationJobResult result) {
+          synchronized (results) {
+            results.add(result);
+          }
+          latch.countDown();
+        }
+
+        @Override
+        public void jobFailed(final JobInvoker jobInvoker, final String computeNodeId, final Exception exception) {
+          fail(exception.toString());
+        }
+
+      };
+      assertTrue(invoker.invoke(job, receiver));
+      assertTrue(latch.await(TIMEOUT, TimeUnit.MILLISECONDS));
+      assertEquals(1, invoker.getSplitJobCount());
+      assertEquals(2, invoker.getJobPartCount());
+      final CalculationJobResult result = results.get(0);
+      assertEquals(job.getSpecification(), result.getSpecification());
+      assertNotNull(result.getComputeNodeId());
+      assertTrue(result.getDuration() >= 0);
+      // The result items of the parts are merged back into the order of the job items
+      assertEquals(items.size(), result.getResultItems().size());
+      for (final CalculationJobResultItem resultItem : result.getResultItems()) {
+        assertEquals(InvocationResult.SUCCESS, resultItem.getResult());
+      }
+      for (int i = 0; i < items.size(); i++) {
+        final ValueSpecification output = items.get(i).getOutputs()[0];
+        assertEquals(output.getValueName() + " value", findValue(node1, node2, job, output));
+      }
+    } finally {
+      TestLifecycle.end();
+    }
+  }
+
+  private static Object findValue(final TestCalculationNode node1, final TestCalculationNode node2, final CalculationJob job,
+      final ValueSpecification output) {
+    final Object value = node1.getCache(job.getSpecification()).getValue(output);
+    return value != null ? value : node2.getCache(job.getSpecification()).getValue(output);
+  }
+
+}
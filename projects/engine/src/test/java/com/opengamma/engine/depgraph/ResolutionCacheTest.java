@@ -0,0 +1,225 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.depgraph;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.engine.ComputationTarget;
+import com.opengamma.engine.ComputationTargetSpecification;
+import com.opengamma.engine.depgraph.impl.DependencyNodeFunctionImpl;
+import com.opengamma.engine.function.EmptyFunctionParameters;
+import com.opengamma.engine.function.FunctionDefinition;
+import com.opengamma.engine.function.FunctionParameters;
+import com.opengamma.engine.function.InMemoryFunctionRepository;
+import com.opengamma.engine.function.SimpleFunctionParameters;
+import com.opengamma.engine.function.config.ParameterizedFunctionConfiguration;
+import com.opengamma.engine.test.MockFunction;
+import com.opengamma.engine.value.ValueProperties;
+import com.opengamma.engine.value.ValuePropertyNames;
+import com.opengamma.engine.value.ValueSpecification;
+import com.opengamma.util.test.TestGroup;
+import com.opengamma.util.tuple.Pair;
+
+/**
+ * Tests the {@link ResolutionCache} class.
+ */
+@Test(groups = TestGroup.UNIT)
+public class ResolutionCacheTest {
+
+  private static final String DIGEST = "POSITION(SWAP)";
+
+  /**
+   * A digest that, like those normalized by the target digest implementations, is only equal to itself.
+   */
+  private static final class Digest {
+
+    private final String _label;
+
+    Digest(final String label) {
+      _label = label;
+    }
+
+    @Override
+    public String toString() {
+      return _label;
+    }
+
+  }
+
+  private static ValueSpecification createValue(final String function) {
+    return new ValueSpecification("Value", ComputationTargetSpecification.NULL, ValueProperties.with(ValuePropertyNames.FUNCTION, function).get());
+  }
+
+  private static DependencyNodeFunction createFunction(final String function) {
+    return DependencyNodeFunctionImpl.of(function, new EmptyFunctionParameters());
+  }
+
+  public void testStoreResolution() {
+    final ResolutionCache cache = new ResolutionCache();
+    assertNull(cache.getResolutions(DIGEST, "Value"));
+    cache.storeResolution(DIGEST, createValue("A"), createFunction("A"));
+    Pair<?, ?> resolutions = cache.getResolutions(DIGEST, "Value");
+    assertEquals(resolutions.getFirst(), createValue("A").getProperties());
+    assertEquals(((DependencyNodeFunction) resolutions.getSecond()).getFunctionId(), "A");
+    cache.storeResolution(DIGEST, createValue("A"), createFunction("A"));
+    assertTrue(cache.getResolutions(DIGEST, "Value").getFirst() instanceof ValueProperties);
+    for (final String function : Arrays.asList("B", "C", "D", "E")) {
+      cache.storeResolution(DIGEST, createValue(function), createFunction(function));
+    }
+    resolutions = cache.getResolutions(DIGEST, "Value");
+    final DependencyNodeFunction[] functions = (DependencyNodeFunction[]) resolutions.getSecond();
+    // Capped, with the most recent first
+    assertEquals(functions.length, 4);
+    assertEquals(functions[0].getFunctionId(), "E");
+    assertEquals(functions[3].getFunctionId(), "B");
+    assertNull(cache.getResolutions(DIGEST, "Other"));
+    assertEquals(cache.getHits(), 3);
+    assertEquals(cache.getMisses(), 2);
+  }
+
+  public void testDigestIdentity() {
+    final ResolutionCache cache = new ResolutionCache();
+    // Digests from different maps can have the same string form
+    final Digest a = new Digest("Security(USD)");
+    final Digest b = new Digest("Security(USD)");
+    cache.storeResolution(a, createValue("A"), createFunction("A"));
+    cache.storeResolution(b, createValue("B"), createFunction("B"));
+    assertEquals(((DependencyNodeFunction) cache.getResolutions(a, "Value").getSecond()).getFunctionId(), "A");
+    assertEquals(((DependencyNodeFunction) cache.getResolutions(b, "Value").getSecond()).getFunctionId(), "B");
+    assertNull(cache.getResolutions(new Digest("Security(USD)"), "Value"));
+    assertNull(cache.getResolutions("Security(USD)", "Value"));
+    assertEquals(cache.getDigestCount(), 2);
+  }
+
+  public void testInvalidateFunctions() {
+    final ResolutionCache cache = new ResolutionCache();
+    cache.storeResolution(DIGEST, createValue("A"), createFunction("A"));
+    cache.storeResolution(DIGEST, createValue("B"), createFunction("B"));
+    cache.storeResolution("POSITION(FRA)", createValue("A"), createFunction("A"));
+    cache.invalidateFunctions(Collections.singleton("A"));
+    final Pair<?, ?> resolutions = cache.getResolutions(DIGEST, "Value");
+    assertEquals(((DependencyNodeFunction) resolutions.getSecond()).getFunctionId(), "B");
+    assertNull(cache.getResolutions("POSITION(FRA)", "Value"));
+    cache.invalidate();
+    assertNull(cache.getResolutions(DIGEST, "Value"));
+    assertEquals(cache.getInvalidations(), 2);
+  }
+
+  public void testRepositoryVersion() {
+    final FunctionDefinition a = new MockFunction("A", ComputationTarget.NULL);
+    final FunctionDefinition b = new MockFunction("B", ComputationTarget.NULL);
+    final String version = ResolutionCache.getRepositoryVersion(Arrays.asList(a, b));
+    assertEquals(ResolutionCache.getRepositoryVersion(Arrays.asList(b, a)), version);
+    assertFalse(ResolutionCache.getRepositoryVersion(Arrays.asList(a)).equals(version));
+    final ResolutionCache cache = new ResolutionCache();
+    cache.setRepositoryVersion(version);
+    cache.storeResolution(DIGEST, createValue("A"), createFunction("A"));
+    cache.setRepositoryVersion(version);
+    assertNotNull(cache.getResolutions(DIGEST, "Value"));
+    cache.setRepositoryVersion(ResolutionCache.getRepositoryVersion(Arrays.asList(a)));
+    assertNull(cache.getResolutions(DIGEST, "Value"));
+  }
+
+  public void testRepositoryVersionParameters() {
+    final String className = MockFunction.class.getName();
+    final InMemoryFunctionRepository repository1 = new InMemoryFunctionRepository();
+    repository1.addFunction(new MockFunction("A", ComputationTarget.NULL), new ParameterizedFunctionConfiguration(className, Arrays.asList("1")));
+    final InMemoryFunctionRepository repository2 = new InMemoryFunctionRepository();
+    repository2.addFunction(new MockFunction("A", ComputationTarget.NULL), new ParameterizedFunctionConfiguration(className, Arrays.asList("1")));
+    final InMemoryFunctionRepository repository3 = new InMemoryFunctionRepository();
+    repository3.addFunction(new MockFunction("A", ComputationTarget.NULL), new ParameterizedFunctionConfiguration(className, Arrays.asList("2")));
+    final String version = ResolutionCache.getRepositoryVersion(repository1);
+    assertEquals(ResolutionCache.getRepositoryVersion(repository2), version);
+    // The same function constructed with different arguments
+    assertFalse(ResolutionCache.getRepositoryVersion(repository3).equals(version));
+    // The same function with different default parameters
+    assertFalse(ResolutionCache.getRepositoryVersion(Arrays.asList(createParameterizedFunction(1)))
+        .equals(ResolutionCache.getRepositoryVersion(Arrays.asList(createParameterizedFunction(2)))));
+    assertEquals(ResolutionCache.getRepositoryVersion(Arrays.asList(createParameterizedFunction(1))),
+        ResolutionCache.getRepositoryVersion(Arrays.asList(createParameterizedFunction(1))));
+  }
+
+  private static FunctionDefinition createParameterizedFunction(final int value) {
+    return new MockFunction("A", ComputationTarget.NULL) {
+
+      @Override
+      public FunctionParameters getDefaultParameters() {
+        final SimpleFunctionParameters parameters = new SimpleFunctionParameters();
+        parameters.setValue("Value", value);
+        return parameters;
+      }
+
+    };
+  }
+
+  public void testPersistence() throws IOException {
+    final File file = File.createTempFile("resolutions", ".bin");
+    try {
+      final ResolutionCache cache = new ResolutionCache(file);
+      cache.start();
+      cache.setRepositoryVersion("1");
+      cache.storeResolution(DIGEST, createValue("A"), createFunction("A"));
+      cache.storeResolution(DIGEST, createValue("B"), createFunction("B"));
+      cache.stop();
+      final ResolutionCache copy = new ResolutionCache(file);
+      copy.start();
+      assertEquals(copy.getRepositoryVersion(), "1");
+      assertEquals(copy.getDigestCount(), 1);
+      final DependencyNodeFunction[] functions = (DependencyNodeFunction[]) copy.getResolutions(DIGEST, "Value").getSecond();
+      assertEquals(functions[0].getFunctionId(), "B");
+      assertEquals(functions[1].getFunctionId(), "A");
+      // Entries for a different repository version are ignored
+      final ResolutionCache other = new ResolutionCache();
+      other.setRepositoryVersion("2");
+      other.load(file);
+      assertNull(other.getResolutions(DIGEST, "Value"));
+    } finally {
+      file.delete();
+    }
+  }
+
+  public void testPersistenceByDigestId() throws IOException {
+    final File file = File.createTempFile("resolutions", ".bin");
+    try {
+      final ResolutionCache cache = new ResolutionCache(file);
+      cache.start();
+      cache.setRepositoryVersion("1");
+      cache.storeResolution(new Digest("SWAP"), createValue("A"), createFunction("A"));
+      cache.storeResolution("SWAP", createValue("B"), createFunction("B"));
+      cache.stop();
+      final ResolutionCache copy = new ResolutionCache(file);
+      copy.start();
+      assertEquals(copy.getDigestCount(), 2);
+      // The entries are claimed by the digests of the same class and string form in the new process
+      final Digest digest = new Digest("SWAP");
+      assertEquals(((DependencyNodeFunction) copy.getResolutions(digest, "Value").getSecond()).getFunctionId(), "A");
+      assertEquals(((DependencyNodeFunction) copy.getResolutions(digest, "Value").getSecond()).getFunctionId(), "A");
+      assertEquals(((DependencyNodeFunction) copy.getResolutions("SWAP", "Value").getSecond()).getFunctionId(), "B");
+      assertNull(copy.getResolutions(new Digest("FRA"), "Value"));
+      // Unclaimed entries are written back
+      copy.invalidateFunctions(Collections.singleton("B"));
+      copy.stop();
+      final ResolutionCache again = new ResolutionCache(file);
+      again.start();
+      assertEquals(again.getDigestCount(), 1);
+      assertNotNull(again.getResolutions(new Digest("SWAP"), "Value"));
+    } finally {
+      file.delete();
+    }
+  }
+
+}
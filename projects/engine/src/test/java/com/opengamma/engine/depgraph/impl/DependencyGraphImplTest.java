@@ -10,8 +10,10 @@ import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotSame;
 import static org.testng.Assert.assertSame;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
 import org.testng.annotations.Test;
@@ -205,4 +207,39 @@ public class DependencyGraphImplTest {
     assertEquals(graphB, graphA);
   }
 
+  private static DependencyGraph createSharingGraph(final String calcConfig, final ValueSpecification[] v, final ValueRequirement terminal,
+      final ValueSpecification output) {
+    final DependencyNodeFunction function = DependencyNodeFunctionImpl.of("Test", EmptyFunctionParameters.INSTANCE);
+    final DependencyNode marketData = DependencyNodeImpl.of(function, ComputationTargetSpecification.NULL, new ValueSpecification[] {v[0] },
+        new ValueSpecification[0], new DependencyNode[0]);
+    final DependencyNode curve = DependencyNodeImpl.of(function, ComputationTargetSpecification.NULL, new ValueSpecification[] {v[1] },
+        new ValueSpecification[] {v[0] }, new DependencyNode[] {marketData });
+    final DependencyNode root = DependencyNodeImpl.of(function, ComputationTargetSpecification.NULL, new ValueSpecification[] {output },
+        new ValueSpecification[] {v[1] }, new DependencyNode[] {curve });
+    return new DependencyGraphImpl(calcConfig, Collections.singleton(root), 3, ImmutableMap.of(output, Collections.singleton(terminal)));
+  }
+
+  public void testShareIdenticalNodes() {
+    final ValueSpecification[] v = new ValueSpecification[4];
+    final ValueRequirement[] r = new ValueRequirement[4];
+    for (int i = 0; i < v.length; i++) {
+      v[i] = new ValueSpecification(Integer.toString(i), ComputationTargetSpecification.NULL, ValueProperties.with(ValuePropertyNames.FUNCTION, "Test").get());
+      r[i] = new ValueRequirement(Integer.toString(i), ComputationTargetSpecification.NULL);
+    }
+    final DependencyGraph graphA = createSharingGraph("A", v, r[2], v[2]);
+    final DependencyGraph graphB = createSharingGraph("B", v, r[3], v[3]);
+    assertNotSame(graphA.getRootNode(0).getInputNode(0), graphB.getRootNode(0).getInputNode(0));
+    final List<DependencyGraph> shared = DependencyGraphImpl.shareIdenticalNodes(Arrays.asList(graphA, graphB));
+    assertEquals(shared.size(), 2);
+    // Nothing to replace in the first graph
+    assertSame(shared.get(0), graphA);
+    final DependencyGraph sharedB = shared.get(1);
+    assertNotSame(sharedB, graphB);
+    assertEquals(sharedB, graphB);
+    assertEquals(sharedB.getSize(), 3);
+    assertSame(sharedB.getRootNode(0).getInputNode(0), graphA.getRootNode(0).getInputNode(0));
+    // A graph already using the shared nodes is unchanged
+    assertSame(DependencyGraphImpl.shareIdenticalNodes(Arrays.asList(graphA, sharedB)).get(1), sharedB);
+  }
+
 }
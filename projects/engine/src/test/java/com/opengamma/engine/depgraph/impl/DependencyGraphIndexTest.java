@@ -0,0 +1,134 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.depgraph.impl;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.engine.ComputationTargetSpecification;
+import com.opengamma.engine.depgraph.DependencyGraph;
+import com.opengamma.engine.depgraph.DependencyNode;
+import com.opengamma.engine.depgraph.builder.TestDependencyGraphBuilder;
+import com.opengamma.engine.depgraph.builder.TestDependencyGraphBuilder.NodeBuilder;
+import com.opengamma.engine.function.EmptyFunctionParameters;
+import com.opengamma.engine.function.MarketDataSourcingFunction;
+import com.opengamma.engine.target.ComputationTargetType;
+import com.opengamma.engine.value.ValueProperties;
+import com.opengamma.engine.value.ValueSpecification;
+import com.opengamma.id.UniqueId;
+import com.opengamma.util.test.TestGroup;
+
+/**
+ * Tests the {@link DependencyGraphIndex} class.
+ */
+@Test(groups = TestGroup.UNIT)
+public class DependencyGraphIndexTest {
+
+  private final ValueSpecification[] _value = new ValueSpecification[5];
+
+  private static ComputationTargetSpecification getTarget(final String name) {
+    return new ComputationTargetSpecification(ComputationTargetType.PRIMITIVE, UniqueId.of("testdomain", name));
+  }
+
+  /**
+   * Creates the test graph (data flows downwards - 0 & 1 are market data nodes).
+   *
+   * <pre>
+   *         0   1
+   *          \ / \
+   *           2   3
+   *            \ /
+   *             4
+   * </pre>
+   */
+  private DependencyGraph createGraph() {
+    final TestDependencyGraphBuilder gb = new TestDependencyGraphBuilder("test");
+    final NodeBuilder n0 = gb.addNode(MarketDataSourcingFunction.INSTANCE, getTarget("Node0"));
+    final NodeBuilder n1 = gb.addNode(MarketDataSourcingFunction.INSTANCE, getTarget("Node1"));
+    final NodeBuilder n2 = gb.addNode(DependencyNodeFunctionImpl.of("Mock", EmptyFunctionParameters.INSTANCE), getTarget("Node2"));
+    final NodeBuilder n3 = gb.addNode(DependencyNodeFunctionImpl.of("Mock", EmptyFunctionParameters.INSTANCE), getTarget("Node3"));
+    final NodeBuilder n4 = gb.addNode(DependencyNodeFunctionImpl.of("Mock", EmptyFunctionParameters.INSTANCE), getTarget("Node4"));
+    _value[0] = n0.addOutput("MarketValue");
+    n2.addInput(_value[0]);
+    _value[1] = n1.addOutput("MarketValue");
+    n2.addInput(_value[1]);
+    n3.addInput(_value[1]);
+    _value[2] = n2.addOutput("IntermediateValue");
+    n4.addInput(_value[2]);
+    _value[3] = n3.addOutput("IntermediateValue");
+    n4.addInput(_value[3]);
+    _value[4] = n4.addTerminalOutput("TerminalValue");
+    return gb.buildGraph();
+  }
+
+  private Set<ValueSpecification> outputs(final DependencyGraphIndex index, final BitSet nodes) {
+    final Set<ValueSpecification> outputs = new HashSet<>();
+    for (int i = nodes.nextSetBit(0); i >= 0; i = nodes.nextSetBit(i + 1)) {
+      outputs.add(index.getNode(i).getOutputValue(0));
+    }
+    return outputs;
+  }
+
+  private Set<ValueSpecification> values(final int... ids) {
+    final Set<ValueSpecification> values = new HashSet<>();
+    for (final int id : ids) {
+      values.add(_value[id]);
+    }
+    return values;
+  }
+
+  public void testStructure() {
+    final DependencyGraph graph = createGraph();
+    final DependencyGraphIndex index = new DependencyGraphIndex(graph);
+    assertSame(index.getGraph(), graph);
+    assertEquals(index.getNodeCount(), 5);
+    assertEquals(index.getMarketDataNodeCount(), 2);
+    final Set<ValueSpecification> marketData = new HashSet<>();
+    for (int i = 0; i < index.getMarketDataNodeCount(); i++) {
+      marketData.add(index.getNode(index.getMarketDataNode(i)).getOutputValue(0));
+    }
+    assertEquals(marketData, values(0, 1));
+    for (int i = 0; i < _value.length; i++) {
+      final int node = index.getNodeIndex(_value[i]);
+      assertEquals(index.getNode(node).getOutputValue(0), _value[i]);
+    }
+    assertEquals(index.getNodeIndex(new ValueSpecification("Missing", getTarget("Node0"), ValueProperties.none())), -1);
+    final int n1 = index.getNodeIndex(_value[1]);
+    assertEquals(index.getDependentCount(n1), 2);
+    final Set<DependencyNode> dependents = new HashSet<>();
+    dependents.add(index.getNode(index.getDependent(n1, 0)));
+    dependents.add(index.getNode(index.getDependent(n1, 1)));
+    assertEquals(dependents.size(), 2);
+    assertEquals(index.getDependentCount(index.getNodeIndex(_value[4])), 0);
+  }
+
+  public void testPropagate() {
+    final DependencyGraphIndex index = new DependencyGraphIndex(createGraph());
+    BitSet nodes = new BitSet();
+    nodes.set(index.getNodeIndex(_value[0]));
+    index.propagate(nodes);
+    assertEquals(outputs(index, nodes), values(0, 2, 4));
+    nodes = new BitSet();
+    nodes.set(index.getNodeIndex(_value[1]));
+    index.propagate(nodes);
+    assertEquals(outputs(index, nodes), values(1, 2, 3, 4));
+    nodes = new BitSet();
+    nodes.set(index.getNodeIndex(_value[3]));
+    nodes.set(index.getNodeIndex(_value[4]));
+    index.propagate(nodes);
+    assertEquals(outputs(index, nodes), values(3, 4));
+    nodes = new BitSet();
+    index.propagate(nodes);
+    assertEquals(nodes.cardinality(), 0);
+  }
+
+}
@@ -21,7 +21,9 @@ import org.threeten.bp.Instant;
 import com.opengamma.engine.calcnode.Capability;
 import com.opengamma.engine.calcnode.JobDispatcher;
 import com.opengamma.engine.calcnode.PlatformCapabilities;
+import com.opengamma.engine.calcnode.stats.FunctionCosts;
 import com.opengamma.engine.calcnode.stats.TotallingNodeStatisticsGatherer;
+import com.opengamma.engine.exec.stats.JobDurationStatistics;
 import com.opengamma.engine.exec.stats.TotallingGraphStatisticsGathererProvider;
 import com.opengamma.util.test.TestGroup;
 
@@ -99,4 +101,41 @@ public class MultipleNodeExecutorTunerTest {
     assertTrue(age.get() >= 300);
   }
 
+  public void testJobDurationStatistics() {
+    final MultipleNodeExecutorFactory factory = Mockito.mock(MultipleNodeExecutorFactory.class);
+    final JobDurationStatistics stats = new JobDurationStatistics();
+    Mockito.when(factory.getJobDurationStatistics()).thenReturn(stats);
+    final MultipleNodeExecutorTuner tuner = new MultipleNodeExecutorTuner(factory);
+    tuner.setStatisticsDecayRate(0.5d);
+    stats.recordJob(1000L, 3000L);
+    stats.recordJob(1000L, 3000L);
+    tuner.run();
+    assertEquals(stats.getCompletedJobs(), 1);
+    assertEquals(stats.getActualTime(), 3000L);
+  }
+
+  public void testFunctionCostDrift() {
+    final MultipleNodeExecutorFactory factory = Mockito.mock(MultipleNodeExecutorFactory.class);
+    final MultipleNodeExecutorTuner tuner = new MultipleNodeExecutorTuner(factory);
+    final FunctionCosts costs = new FunctionCosts();
+    tuner.setFunctionCosts(costs);
+    costs.functionInvoked("A", "F1", 1, 1000d, 10d, 10d);
+    costs.functionInvoked("B", "F2", 1, 1000d, 10d, 10d);
+    tuner.run();
+    Mockito.verify(factory, Mockito.never()).invalidateCache(Mockito.anyString());
+    // Small change in A
+    costs.functionInvoked("A", "F1", 100, 100 * 1200d, 10d * 100, 10d * 100);
+    tuner.run();
+    Mockito.verify(factory, Mockito.never()).invalidateCache(Mockito.anyString());
+    // Large change in B
+    costs.functionInvoked("B", "F2", 100, 100 * 5000d, 10d * 100, 10d * 100);
+    tuner.run();
+    Mockito.verify(factory, Mockito.times(1)).invalidateCache("B");
+    Mockito.verify(factory, Mockito.never()).invalidateCache("A");
+    // B's new costs are now the planned costs
+    tuner.run();
+    Mockito.verify(factory, Mockito.times(1)).invalidateCache("B");
+    Mockito.verify(factory, Mockito.never()).invalidateCache();
+  }
+
 }
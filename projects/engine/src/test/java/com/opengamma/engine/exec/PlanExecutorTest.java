@@ -73,6 +73,7 @@ public class PlanExecutorTest {
     final Instant now = Instant.now();
     final SingleComputationCycle cycle = Mockito.mock(SingleComputationCycle.class);
     Mockito.when(cycle.getUniqueId()).thenReturn(UniqueId.of("Cycle", "Test"));
+    Mockito.when(cycle.getComputationCacheId()).thenReturn(UniqueId.of("Cycle", "Test"));
     Mockito.when(cycle.getValuationTime()).thenReturn(now);
     Mockito.when(cycle.getVersionCorrection()).thenReturn(VersionCorrection.of(now, now));
     final ViewProcessContext context = createViewProcessContext(jobDispatcher);
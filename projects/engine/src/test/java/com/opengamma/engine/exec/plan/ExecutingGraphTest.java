@@ -136,4 +136,31 @@ public class ExecutingGraphTest {
     assertNull(executing.nextExecutableJob());
     assertTrue(executing.isFinished());
   }
+
+  public void criticalPathFirst() {
+    final PlannedJob job4 = new PlannedJob(3, createJobItems(4), CacheSelectHint.allShared(), null, null, 10, 10);
+    final PlannedJob job3 = new PlannedJob(0, createJobItems(3), CacheSelectHint.allShared(), null, new PlannedJob[] {job4 }, 5, 15);
+    final PlannedJob job2 = new PlannedJob(0, createJobItems(2), CacheSelectHint.allShared(), null, new PlannedJob[] {job4 }, 50, 60);
+    final PlannedJob job1 = new PlannedJob(0, createJobItems(1), CacheSelectHint.allShared(), null, new PlannedJob[] {job4 }, 20, 30);
+    final GraphExecutionPlan plan = new GraphExecutionPlan("Default", 0, Arrays.asList(job1, job2, job3), 4, 1d, 10d, 0d);
+    final ExecutingGraph executing = new ExecutingGraph(plan, UniqueId.of("Cycle", "Test"), Instant.now(), VersionCorrection.LATEST);
+    final CalculationJob job2Actual = executing.nextExecutableJob();
+    assertJob(job2Actual, 2);
+    assertEquals(executing.getEstimatedCost(job2Actual.getSpecification()), 50);
+    final CalculationJob job1Actual = executing.nextExecutableJob();
+    assertJob(job1Actual, 1);
+    final CalculationJob job3Actual = executing.nextExecutableJob();
+    assertJob(job3Actual, 3);
+    assertNull(executing.nextExecutableJob());
+    executing.jobCompleted(job1Actual.getSpecification());
+    assertEquals(executing.getEstimatedCost(job1Actual.getSpecification()), 0);
+    executing.jobCompleted(job2Actual.getSpecification());
+    executing.jobCompleted(job3Actual.getSpecification());
+    final CalculationJob job4Actual = executing.nextExecutableJob();
+    assertJob(job4Actual, 4);
+    assertEquals(executing.getEstimatedCost(job4Actual.getSpecification()), 10);
+    executing.jobCompleted(job4Actual.getSpecification());
+    assertTrue(executing.isFinished());
+  }
+
 }
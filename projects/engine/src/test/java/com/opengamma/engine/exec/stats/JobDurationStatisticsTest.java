@@ -0,0 +1,53 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.exec.stats;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertNull;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.util.test.TestGroup;
+
+/**
+ * Tests the {@link JobDurationStatistics} class.
+ */
+@Test(groups = TestGroup.UNIT)
+public class JobDurationStatisticsTest {
+
+  public void testRecordJob() {
+    final JobDurationStatistics stats = new JobDurationStatistics();
+    assertEquals(0d, stats.getActualToPredictedRatio());
+    assertNull(stats.getLastCompletedTime());
+    stats.recordJob(1000000000L, 2000000000L);
+    stats.recordJob(3000000000L, 2000000000L);
+    // Jobs without an estimate are ignored
+    stats.recordJob(0, 5000000000L);
+    assertEquals(2, stats.getCompletedJobs());
+    assertEquals(2d, stats.getAveragePredictedDuration(), 1e-9);
+    assertEquals(2d, stats.getAverageActualDuration(), 1e-9);
+    assertEquals(1d, stats.getAverageAbsoluteError(), 1e-9);
+    assertEquals(1d, stats.getActualToPredictedRatio(), 1e-9);
+    assertNotNull(stats.getLastCompletedTime());
+  }
+
+  public void testDecayAndReset() {
+    final JobDurationStatistics stats = new JobDurationStatistics();
+    stats.recordJob(1000L, 3000L);
+    stats.recordJob(1000L, 3000L);
+    stats.decay(0.5);
+    assertEquals(1, stats.getCompletedJobs());
+    assertEquals(1000L, stats.getPredictedTime());
+    assertEquals(3000L, stats.getActualTime());
+    assertEquals(3d, stats.getActualToPredictedRatio(), 1e-9);
+    stats.reset();
+    assertEquals(0, stats.getCompletedJobs());
+    assertEquals(0d, stats.getAverageActualDuration());
+    assertNull(stats.getLastCompletedTime());
+  }
+
+}
@@ -0,0 +1,111 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.exec.trace;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.List;
+
+import org.mockito.Mockito;
+import org.testng.annotations.Test;
+import org.threeten.bp.Instant;
+
+import com.opengamma.engine.calcnode.CalculationJob;
+import com.opengamma.engine.calcnode.CalculationJobResult;
+import com.opengamma.engine.calcnode.CalculationJobResultItem;
+import com.opengamma.engine.calcnode.CalculationJobSpecification;
+import com.opengamma.id.UniqueId;
+import com.opengamma.util.test.TestGroup;
+
+/**
+ * Tests the {@link CycleTrace} class.
+ */
+@Test(groups = TestGroup.UNIT)
+public class CycleTraceTest {
+
+  private static final UniqueId CYCLE_ID = UniqueId.of("Cycle", "1");
+
+  private static CalculationJob job(final long jobId, final long... requiredJobIds) {
+    final CalculationJob job = Mockito.mock(CalculationJob.class);
+    Mockito.when(job.getSpecification()).thenReturn(new CalculationJobSpecification(CYCLE_ID, "Default", Instant.EPOCH, jobId));
+    Mockito.when(job.getRequiredJobIds()).thenReturn(requiredJobIds.length > 0 ? requiredJobIds : null);
+    return job;
+  }
+
+  private static void execute(final CycleTrace trace, final CalculationJob job, final long duration) {
+    trace.jobDispatched(job, trace.jobDispatching(job));
+    trace.jobCompleted(new CalculationJobResult(job.getSpecification(), duration, Collections.<CalculationJobResultItem>emptyList(), "Node"));
+  }
+
+  public void testActive() {
+    final CycleTrace trace = new CycleTrace(CYCLE_ID);
+    assertNull(CycleTrace.getActive(CYCLE_ID));
+    trace.activate();
+    try {
+      assertSame(CycleTrace.getActive(CYCLE_ID), trace);
+    } finally {
+      trace.deactivate();
+    }
+    assertNull(CycleTrace.getActive(CYCLE_ID));
+  }
+
+  public void testCategoryTotals() {
+    final CycleTrace trace = new CycleTrace(CYCLE_ID);
+    trace.record(CycleTrace.CACHE, "Read", "A", 0, 100);
+    trace.record(CycleTrace.CACHE, "Write", "B", 50, 250);
+    trace.record(CycleTrace.FUNCTION, "Foo", "A", 100, 400);
+    assertEquals(trace.getCategoryTotals().get(CycleTrace.CACHE), (Long) 300L);
+    assertEquals(trace.getCategoryTotals().get(CycleTrace.FUNCTION), (Long) 300L);
+    final List<CycleTrace.Span> spans = trace.getSpans();
+    assertEquals(spans.size(), 3);
+    assertEquals(spans.get(1).getName(), "Write");
+  }
+
+  public void testCriticalPath() throws Exception {
+    final CycleTrace trace = new CycleTrace(CYCLE_ID);
+    final CalculationJob job1 = job(1);
+    final CalculationJob job2 = job(2);
+    final CalculationJob job3 = job(3, 1, 2);
+    execute(trace, job1, 0);
+    // Job 2 must complete strictly after job 1
+    Thread.sleep(1);
+    execute(trace, job2, 0);
+    execute(trace, job3, 0);
+    final List<CycleTrace.CriticalPathJob> path = trace.getCriticalPath();
+    assertEquals(path.size(), 2);
+    assertEquals(path.get(0).getName(), "Default job 2");
+    assertEquals(path.get(1).getName(), "Default job 3");
+    assertTrue(trace.getSummary().contains("critical path of 2 jobs"));
+  }
+
+  public void testUndispatchedJob() {
+    final CycleTrace trace = new CycleTrace(CYCLE_ID);
+    final CalculationJob job = job(1);
+    trace.jobCompleted(new CalculationJobResult(job.getSpecification(), 0, Collections.<CalculationJobResultItem>emptyList(), "Node"));
+    assertTrue(trace.getSpans().isEmpty());
+    assertTrue(trace.getCriticalPath().isEmpty());
+  }
+
+  public void testChromeTrace() throws Exception {
+    final CycleTrace trace = new CycleTrace(CYCLE_ID);
+    trace.record(CycleTrace.FUNCTION, "Quote \"x\"", "Thread 1", 0, 2000);
+    trace.record(CycleTrace.CACHE, "Read", "Thread 1", 2000, 3000);
+    final StringWriter writer = new StringWriter();
+    trace.writeChromeTrace(writer);
+    final String json = writer.toString();
+    assertTrue(json.startsWith("{\"displayTimeUnit\":\"ms\",\"traceEvents\":["));
+    assertTrue(json.contains("\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":1,\"args\":{\"name\":\"Thread 1\"}"));
+    assertTrue(json.contains("\"name\":\"Quote \\\"x\\\"\",\"cat\":\"function\",\"ph\":\"X\",\"pid\":1,\"tid\":1"));
+    assertTrue(json.contains("\"dur\":2.0}"));
+    assertTrue(json.trim().endsWith("]}"));
+  }
+
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.marketdata;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.engine.ComputationTargetSpecification;
+import com.opengamma.engine.cache.MissingInput;
+import com.opengamma.engine.marketdata.spec.MarketData;
+import com.opengamma.engine.value.ScenarioVector;
+import com.opengamma.engine.value.ValueProperties;
+import com.opengamma.engine.value.ValuePropertyNames;
+import com.opengamma.engine.value.ValueSpecification;
+import com.opengamma.util.test.TestGroup;
+
+/**
+ * Tests the {@link ScenarioVectorMarketDataSnapshot} class.
+ */
+@Test(groups = TestGroup.UNIT)
+public class ScenarioVectorMarketDataSnapshotTest {
+
+  private static final ValueSpecification FOO = spec("Foo");
+  private static final ValueSpecification BAR = spec("Bar");
+  private static final ValueSpecification BAZ = spec("Baz");
+
+  private static ValueSpecification spec(final String valueName) {
+    return new ValueSpecification(valueName, ComputationTargetSpecification.NULL, ValueProperties.with(ValuePropertyNames.FUNCTION, "Test").get());
+  }
+
+  private static MarketDataSnapshot snapshot(final Object... values) {
+    final InMemoryLKVMarketDataProvider provider = new InMemoryLKVMarketDataProvider();
+    for (int i = 0; i < values.length; i += 2) {
+      provider.addValue((ValueSpecification) values[i], values[i + 1]);
+    }
+    return provider.snapshot(MarketData.live());
+  }
+
+  private static ScenarioVectorMarketDataSnapshot createSnapshot(final MarketDataSnapshot... scenarios) {
+    final ScenarioVectorMarketDataSnapshot snapshot = new ScenarioVectorMarketDataSnapshot(Arrays.asList(scenarios));
+    assertFalse(snapshot.isInitialized());
+    snapshot.init();
+    assertTrue(snapshot.isInitialized());
+    return snapshot;
+  }
+
+  public void testQuery() {
+    final ScenarioVectorMarketDataSnapshot snapshot = createSnapshot(snapshot(FOO, 1d, BAR, 5d), snapshot(FOO, 2d, BAR, 5d), snapshot(BAR, 5d));
+    assertEquals(snapshot.getScenarioCount(), 3);
+    // A value missing from some scenarios is missing market data in those scenarios only
+    assertEquals(snapshot.query(FOO), ScenarioVector.of(1d, 2d, MissingInput.MISSING_MARKET_DATA));
+    // A value that is the same in every scenario is not a vector
+    assertEquals(snapshot.query(BAR), 5d);
+    assertNull(snapshot.query(BAZ));
+    final Map<ValueSpecification, Object> values = snapshot.query(ImmutableSet.of(FOO, BAR, BAZ));
+    assertEquals(values.size(), 2);
+    assertEquals(values.get(FOO), ScenarioVector.of(1d, 2d, MissingInput.MISSING_MARKET_DATA));
+    assertEquals(values.get(BAR), 5d);
+  }
+
+  public void testIsEmpty() {
+    // The empty scenario is evaluated as missing market data; the others still have data
+    assertFalse(createSnapshot(snapshot(FOO, 1d), snapshot()).isEmpty());
+    assertFalse(createSnapshot(snapshot(), snapshot(FOO, 1d)).isEmpty());
+    assertTrue(createSnapshot(snapshot(), snapshot()).isEmpty());
+  }
+
+  public void testSnapshotTime() {
+    final MarketDataSnapshot first = snapshot(FOO, 1d);
+    final ScenarioVectorMarketDataSnapshot snapshot = createSnapshot(first, snapshot(FOO, 2d));
+    assertEquals(snapshot.getSnapshotTimeIndication(), first.getSnapshotTimeIndication());
+    assertEquals(snapshot.getSnapshotTime(), first.getSnapshotTime());
+  }
+
+}
@@ -462,6 +462,37 @@ public class InMemoryLKVLiveMarketDataProviderTest {
     assertEquals(3, sub.getSubscriberCount());
   }
 
+  @Test
+  public void testActiveSubscriptionNotRerequested() {
+    final TestLiveDataClient liveDataClient = new TestLiveDataClient();
+    final InMemoryLKVLiveMarketDataProvider provider =
+        new InMemoryLKVLiveMarketDataProvider(liveDataClient, mock(MarketDataAvailabilityFilter.class), UserPrincipal.getTestUser());
+    final ValueSpecification primitive = createPrimitiveValueSpec("AAPL.");
+    final ValueSpecification sec = createSecurityValueSpec("AAPL.");
+
+    provider.subscribe(primitive);
+    final LiveDataSpecification liveDataSpecification = LiveMarketDataAvailabilityProvider.getLiveDataSpecification(primitive);
+    provider.subscriptionResultReceived(
+        new LiveDataSubscriptionResponse(liveDataSpecification, LiveDataSubscriptionResult.SUCCESS, null, liveDataSpecification, "primitive", null));
+    provider.getUnderlyingProvider().addValue(primitive, 52.07);
+
+    assertEquals(1, provider.getActiveValueSpecificationSubscriptionCount());
+    assertEquals(1, liveDataClient.getSubscriptionRequests().size());
+
+    // A second reference to a value already held needs no request to the live data client
+    provider.subscribe(primitive);
+
+    assertEquals(2, provider.getActiveValueSpecificationSubscriptionCount());
+    assertEquals(1, liveDataClient.getSubscriptionRequests().size());
+
+    // A new value specification for the same live data needs its initial value
+    provider.subscribe(sec);
+
+    assertEquals(3, provider.getActiveValueSpecificationSubscriptionCount());
+    assertEquals(2, liveDataClient.getSubscriptionRequests().size());
+    assertEquals(0, liveDataClient.getCancelRequests().size());
+  }
+
   private ValueSpecification createPrimitiveValueSpec(final String ticker) {
 
     // Create spec of the form
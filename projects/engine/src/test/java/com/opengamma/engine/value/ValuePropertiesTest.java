@@ -369,4 +369,34 @@ public class ValuePropertiesTest {
     assertEquals(builder2.get(), ValueProperties.with("X", "Y").get());
   }
 
+  public void testWithoutAnyUndefined() {
+    final ValueProperties props = ValueProperties.with("A", "1").with("B", "2").get();
+    assertSame(props, props.withoutAny("C"));
+    assertEquals(ValueProperties.with("B", "2").get(), props.withoutAny("A"));
+  }
+
+  private static ValueProperties.Builder createLarge(final int count) {
+    final ValueProperties.Builder builder = ValueProperties.builder();
+    for (int i = 0; i < count; i++) {
+      builder.with("P" + i, "V" + i);
+    }
+    return builder;
+  }
+
+  public void testMemoisedOperations() {
+    final ValueProperties requirement = createLarge(10).with("X", "1").get();
+    final ValueProperties satisfying = createLarge(12).withAny("X").get();
+    final ValueProperties unsatisfying = createLarge(9).with("X", "1").get();
+    for (int i = 0; i < 2; i++) {
+      assertTrue(requirement.isSatisfiedBy(satisfying));
+      assertFalse(requirement.isSatisfiedBy(unsatisfying));
+      final ValueProperties composed = satisfying.compose(requirement);
+      assertEquals(createLarge(12).with("X", "1").get(), composed);
+      assertSame(composed, satisfying.compose(requirement));
+    }
+    ValuePropertiesMemo.clear();
+    assertTrue(requirement.isSatisfiedBy(satisfying));
+    assertEquals(createLarge(12).with("X", "1").get(), satisfying.compose(requirement));
+  }
+
 }
@@ -211,6 +211,20 @@ public class MergingViewProcessListenerTest {
     Mockito.verifyNoMoreInteractions(underlying);
   }
 
+  public void testCycleCompleted_afterResync() {
+    final ViewResultListener underlying = Mockito.mock(ViewResultListener.class);
+    final EngineResourceManagerInternal<?> cycleManager = new EngineResourceManagerImpl<>();
+    final MergingViewProcessListener listener = new MergingViewProcessListener(underlying, cycleManager);
+    listener.setPassThrough(false);
+    // A full result without a delta resynchronizes the listener; the next delta can't be merged into it
+    listener.cycleCompleted(fullResult("A"), null);
+    final ViewComputationResultModel fullResult = fullResult("B");
+    listener.cycleCompleted(fullResult, deltaResult("B"));
+    listener.drain();
+    Mockito.verify(underlying).cycleCompleted(fullResult, null);
+    Mockito.verifyNoMoreInteractions(underlying);
+  }
+
   public void testCycleFragmentCompleted_passThrough() {
     final ViewResultListener underlying = Mockito.mock(ViewResultListener.class);
     final EngineResourceManagerInternal<?> cycleManager = new EngineResourceManagerImpl<>();
@@ -0,0 +1,210 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.view.client.merging;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.testng.annotations.Test;
+import org.threeten.bp.Instant;
+
+import com.codahale.metrics.MetricRegistry;
+import com.opengamma.engine.view.ViewComputationResultModel;
+import com.opengamma.engine.view.ViewDeltaResultModel;
+import com.opengamma.engine.view.compilation.CompiledViewDefinition;
+import com.opengamma.engine.view.impl.InMemoryViewComputationResultModel;
+import com.opengamma.engine.view.impl.InMemoryViewDeltaResultModel;
+import com.opengamma.engine.view.listener.ViewResultListener;
+import com.opengamma.util.metric.OpenGammaMetricRegistry;
+import com.opengamma.util.test.TestGroup;
+
+/**
+ * Tests the {@link QueueingViewProcessListener} class.
+ */
+@Test(groups = TestGroup.UNIT)
+public class QueueingViewProcessListenerTest {
+
+  /**
+   * Executor that holds tasks until they are explicitly run.
+   */
+  private static final class ManualExecutor implements Executor {
+
+    private final Queue<Runnable> _tasks = new ArrayDeque<>();
+
+    @Override
+    public void execute(final Runnable command) {
+      _tasks.add(command);
+    }
+
+    int runAll() {
+      int count = 0;
+      Runnable task;
+      while ((task = _tasks.poll()) != null) {
+        task.run();
+        count++;
+      }
+      return count;
+    }
+
+  }
+
+  private static ViewComputationResultModel full(final long time) {
+    final InMemoryViewComputationResultModel result = new InMemoryViewComputationResultModel();
+    result.setCalculationTime(Instant.ofEpochMilli(time));
+    return result;
+  }
+
+  private static ViewDeltaResultModel delta(final long time) {
+    final InMemoryViewDeltaResultModel result = new InMemoryViewDeltaResultModel();
+    result.setCalculationTime(Instant.ofEpochMilli(time));
+    return result;
+  }
+
+  public void testSynchronous() {
+    final ViewResultListener underlying = Mockito.mock(ViewResultListener.class);
+    final ManualExecutor executor = new ManualExecutor();
+    final QueueingViewProcessListener listener = new QueueingViewProcessListener(underlying, executor);
+    assertEquals(listener.getPolicy(), ResultDeliveryPolicy.SYNCHRONOUS);
+    final ViewComputationResultModel full = full(1);
+    final ViewDeltaResultModel delta = delta(1);
+    listener.cycleCompleted(full, delta);
+    Mockito.verify(underlying).cycleCompleted(full, delta);
+    assertEquals(executor.runAll(), 0);
+  }
+
+  public void testLatestFullResult() {
+    final ViewResultListener underlying = Mockito.mock(ViewResultListener.class);
+    final ManualExecutor executor = new ManualExecutor();
+    final QueueingViewProcessListener listener = new QueueingViewProcessListener(underlying, executor);
+    listener.setPolicy(ResultDeliveryPolicy.LATEST_FULL_RESULT);
+    final ViewComputationResultModel full1 = full(1);
+    final ViewComputationResultModel full2 = full(2);
+    listener.cycleCompleted(full1, delta(1));
+    listener.cycleCompleted(full2, delta(2));
+    Mockito.verifyZeroInteractions(underlying);
+    assertEquals(listener.getQueueDepth(), 1);
+    assertEquals(executor.runAll(), 1);
+    Mockito.verify(underlying).cycleCompleted(full2, null);
+    Mockito.verifyNoMoreInteractions(underlying);
+    assertEquals(listener.getQueueDepth(), 0);
+  }
+
+  public void testMergedDeltas() {
+    final ViewResultListener underlying = Mockito.mock(ViewResultListener.class);
+    final ManualExecutor executor = new ManualExecutor();
+    final QueueingViewProcessListener listener = new QueueingViewProcessListener(underlying, executor);
+    listener.setPolicy(ResultDeliveryPolicy.MERGED_DELTAS);
+    listener.setMaxMerges(1);
+    final ViewComputationResultModel full2 = full(2);
+    listener.cycleCompleted(full(1), delta(1));
+    listener.cycleCompleted(full2, delta(2));
+    assertEquals(listener.getQueueDepth(), 1);
+    executor.runAll();
+    final ArgumentCaptor<ViewDeltaResultModel> merged = ArgumentCaptor.forClass(ViewDeltaResultModel.class);
+    Mockito.verify(underlying).cycleCompleted(Mockito.same(full2), merged.capture());
+    assertNotNull(merged.getValue());
+    // Exceeding the merge limit resynchronizes with the latest full result
+    final ViewComputationResultModel full5 = full(5);
+    listener.cycleCompleted(full(3), delta(3));
+    listener.cycleCompleted(full(4), delta(4));
+    listener.cycleCompleted(full5, delta(5));
+    assertEquals(listener.getQueueDepth(), 1);
+    executor.runAll();
+    Mockito.verify(underlying).cycleCompleted(full5, null);
+  }
+
+  public void testMergeAfterResync() {
+    final ViewResultListener underlying = Mockito.mock(ViewResultListener.class);
+    final ManualExecutor executor = new ManualExecutor();
+    final QueueingViewProcessListener listener = new QueueingViewProcessListener(underlying, executor);
+    listener.setPolicy(ResultDeliveryPolicy.MERGED_DELTAS);
+    listener.setMaxMerges(1);
+    listener.cycleCompleted(full(1), delta(1));
+    listener.cycleCompleted(full(2), delta(2));
+    // Exceeds the merge limit so the waiting result becomes a resynchronization
+    listener.cycleCompleted(full(3), delta(3));
+    // Must not attach its delta to the resynchronization as the changes from cycles 1 to 3 would be lost
+    final ViewComputationResultModel full4 = full(4);
+    listener.cycleCompleted(full4, delta(4));
+    assertEquals(listener.getQueueDepth(), 1);
+    executor.runAll();
+    Mockito.verify(underlying).cycleCompleted(full4, null);
+    Mockito.verifyNoMoreInteractions(underlying);
+  }
+
+  public void testDropAndResync() {
+    final ViewResultListener underlying = Mockito.mock(ViewResultListener.class);
+    final ManualExecutor executor = new ManualExecutor();
+    final QueueingViewProcessListener listener = new QueueingViewProcessListener(underlying, executor);
+    listener.setPolicy(ResultDeliveryPolicy.DROP_AND_RESYNC);
+    listener.setCapacity(2);
+    final CompiledViewDefinition compiled = Mockito.mock(CompiledViewDefinition.class);
+    final ViewComputationResultModel full3 = full(3);
+    listener.viewDefinitionCompiled(compiled, true);
+    listener.cycleCompleted(full(1), delta(1));
+    listener.cycleCompleted(full(2), delta(2));
+    listener.cycleCompleted(full3, delta(3));
+    // The compilation notification is kept, the queued results are replaced
+    assertEquals(listener.getQueueDepth(), 2);
+    executor.runAll();
+    Mockito.verify(underlying).viewDefinitionCompiled(compiled, true);
+    Mockito.verify(underlying).cycleCompleted(full3, null);
+    Mockito.verifyNoMoreInteractions(underlying);
+  }
+
+  public void testReset() {
+    final ViewResultListener underlying = Mockito.mock(ViewResultListener.class);
+    final ManualExecutor executor = new ManualExecutor();
+    final QueueingViewProcessListener listener = new QueueingViewProcessListener(underlying, executor);
+    listener.setPolicy(ResultDeliveryPolicy.DROP_AND_RESYNC);
+    listener.cycleCompleted(full(1), delta(1));
+    listener.reset();
+    assertEquals(listener.getQueueDepth(), 0);
+    executor.runAll();
+    Mockito.verifyZeroInteractions(underlying);
+    // Queued notifications are still delivered in order after switching back to synchronous delivery
+    final ViewComputationResultModel full2 = full(2);
+    final ViewComputationResultModel full3 = full(3);
+    listener.cycleCompleted(full2, null);
+    listener.setPolicy(ResultDeliveryPolicy.SYNCHRONOUS);
+    listener.cycleCompleted(full3, null);
+    Mockito.verifyZeroInteractions(underlying);
+    assertTrue(executor.runAll() > 0);
+    final InOrder order = Mockito.inOrder(underlying);
+    order.verify(underlying).cycleCompleted(full2, null);
+    order.verify(underlying).cycleCompleted(full3, null);
+  }
+
+  public void testMetrics() {
+    final MetricRegistry registry = OpenGammaMetricRegistry.getSummaryInstance();
+    final ManualExecutor executor = new ManualExecutor();
+    final QueueingViewProcessListener listener1 = new QueueingViewProcessListener(Mockito.mock(ViewResultListener.class), executor, "Client1");
+    final QueueingViewProcessListener listener2 = new QueueingViewProcessListener(Mockito.mock(ViewResultListener.class), executor, "Client2");
+    listener1.setPolicy(ResultDeliveryPolicy.DROP_AND_RESYNC);
+    listener1.setCapacity(1);
+    listener1.cycleCompleted(full(1), delta(1));
+    listener1.cycleCompleted(full(2), delta(2));
+    // Each client's backlog is published separately
+    assertEquals(registry.getMeters().get("Client1.dropped").getCount(), 1);
+    assertEquals(registry.getMeters().get("Client2.dropped").getCount(), 0);
+    listener1.close();
+    assertFalse(registry.getMeters().containsKey("Client1.dropped"));
+    assertFalse(registry.getTimers().containsKey("Client1.lag"));
+    assertTrue(registry.getMeters().containsKey("Client2.dropped"));
+    listener2.close();
+    assertFalse(registry.getHistograms().containsKey("Client2.depth"));
+  }
+
+}
@@ -0,0 +1,122 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.view.compilation;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.core.position.PortfolioNode;
+import com.opengamma.core.position.impl.PortfolioNodeTraverser;
+import com.opengamma.core.position.impl.SimplePortfolioNode;
+import com.opengamma.core.position.impl.SimplePosition;
+import com.opengamma.core.security.impl.SimpleSecurity;
+import com.opengamma.engine.ComputationTargetSpecification;
+import com.opengamma.engine.target.ComputationTargetReference;
+import com.opengamma.engine.value.ValueProperties;
+import com.opengamma.engine.value.ValueRequirement;
+import com.opengamma.engine.view.ViewCalculationConfiguration;
+import com.opengamma.engine.view.ViewDefinition;
+import com.opengamma.id.ExternalIdBundle;
+import com.opengamma.id.UniqueId;
+import com.opengamma.util.test.TestGroup;
+
+/**
+ * Tests the {@link PortfolioCompilerTraversalCallback} class.
+ */
+@Test(groups = TestGroup.UNIT)
+public class PortfolioCompilerTraversalCallbackTest {
+
+  private static final String SECURITY_TYPE = "My Sec";
+
+  /**
+   * Records the requirements added instead of passing them to a graph builder.
+   */
+  private static final class RecordingCallback extends PortfolioCompilerTraversalCallback {
+
+    private final Set<ValueRequirement> _added = new HashSet<>();
+
+    RecordingCallback(final ViewCalculationConfiguration calcConfig, final Set<UniqueId> includeEvents) {
+      super(calcConfig, null, null, new ConcurrentHashMap<ComputationTargetReference, UniqueId>(), includeEvents, null);
+    }
+
+    @Override
+    protected synchronized void addValueRequirement(final ValueRequirement valueRequirement) {
+      _added.add(valueRequirement);
+    }
+
+    synchronized Set<ValueRequirement> getAdded() {
+      return _added;
+    }
+
+  }
+
+  private static ViewCalculationConfiguration createCalcConfig() {
+    final ViewDefinition viewDefinition = new ViewDefinition("My View", UniqueId.of("FOO", "BAR"), "kirk");
+    final ViewCalculationConfiguration calcConfig = new ViewCalculationConfiguration(viewDefinition, "Default");
+    calcConfig.addPortfolioRequirement(SECURITY_TYPE, "Value", ValueProperties.none());
+    calcConfig.addPortfolioRequirement(ViewCalculationConfiguration.SECURITY_TYPE_AGGREGATE_ONLY, "Count", ValueProperties.none());
+    viewDefinition.addViewCalculationConfiguration(calcConfig);
+    return calcConfig;
+  }
+
+  private static SimplePosition createPosition(final String id) {
+    final SimpleSecurity security = new SimpleSecurity(UniqueId.of("Sec", id), ExternalIdBundle.EMPTY, SECURITY_TYPE, id);
+    return new SimplePosition(UniqueId.of("Pos", id), BigDecimal.ONE, security);
+  }
+
+  private static SimplePortfolioNode createNode(final String id, final SimplePosition position) {
+    final SimplePortfolioNode node = new SimplePortfolioNode(UniqueId.of("Node", id), id);
+    node.addPosition(position);
+    return node;
+  }
+
+  private static ValueRequirement requirement(final String valueName, final PortfolioNode node) {
+    return new ValueRequirement(valueName, ComputationTargetSpecification.of(node), ValueProperties.none());
+  }
+
+  public void testFullCompilation() {
+    final SimplePortfolioNode root = new SimplePortfolioNode(UniqueId.of("Node", "Root"), "Root");
+    root.addChildNode(createNode("A", createPosition("A")));
+    root.addChildNode(createNode("B", createPosition("B")));
+    final RecordingCallback callback = new RecordingCallback(createCalcConfig(), null);
+    PortfolioNodeTraverser.depthFirst(callback).traverse(root);
+    final Set<ValueRequirement> added = callback.getAdded();
+    // Every node has its aggregate-only requirements added
+    for (final PortfolioNode node : new PortfolioNode[] {root, root.getChildNodes().get(0), root.getChildNodes().get(1) }) {
+      assertEquals(true, added.contains(requirement("Count", node)));
+      assertEquals(true, added.contains(requirement("Value", node)));
+    }
+  }
+
+  public void testIncrementalCompilation() {
+    final SimplePortfolioNode root = new SimplePortfolioNode(UniqueId.of("Node", "Root"), "Root");
+    final SimplePosition changed = createPosition("A");
+    root.addChildNode(createNode("A", changed));
+    root.addChildNode(createNode("B", createPosition("B")));
+    final RecordingCallback callback = new RecordingCallback(createCalcConfig(), new HashSet<>(Collections.singleton(changed.getUniqueId())));
+    PortfolioNodeTraverser.depthFirst(callback).traverse(root);
+    final Set<ValueRequirement> added = callback.getAdded();
+    // Only the nodes above the changed position have their aggregate-only requirements added again
+    final PortfolioNode nodeA = root.getChildNodes().get(0);
+    final PortfolioNode nodeB = root.getChildNodes().get(1);
+    assertEquals(true, added.contains(requirement("Count", root)));
+    assertEquals(true, added.contains(requirement("Value", root)));
+    assertEquals(true, added.contains(requirement("Count", nodeA)));
+    assertEquals(true, added.contains(requirement("Value", nodeA)));
+    assertEquals(false, added.contains(requirement("Count", nodeB)));
+    assertEquals(false, added.contains(requirement("Value", nodeB)));
+    // The changed position's own requirement, and the four node requirements
+    assertEquals(5, added.size());
+  }
+
+}
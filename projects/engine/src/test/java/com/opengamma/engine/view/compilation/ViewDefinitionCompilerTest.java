@@ -8,12 +8,15 @@ package com.opengamma.engine.view.compilation;
 import static org.testng.AssertJUnit.assertEquals;
 import static org.testng.AssertJUnit.assertFalse;
 import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertSame;
 import static org.testng.AssertJUnit.assertTrue;
 import static org.testng.AssertJUnit.fail;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.Future;
@@ -37,6 +40,7 @@ import com.opengamma.engine.DefaultComputationTargetResolver;
 import com.opengamma.engine.InMemorySecuritySource;
 import com.opengamma.engine.depgraph.DependencyGraph;
 import com.opengamma.engine.depgraph.DependencyGraphBuilderFactory;
+import com.opengamma.engine.depgraph.DependencyNode;
 import com.opengamma.engine.depgraph.impl.DependencyGraphImpl;
 import com.opengamma.engine.function.CachingFunctionRepositoryCompiler;
 import com.opengamma.engine.function.CompiledFunctionService;
@@ -175,6 +179,96 @@ public class ViewDefinitionCompilerTest {
     }
   }
 
+  public void testDeltaCompile() throws Exception {
+    TestLifecycle.begin();
+    try {
+      final ExternalId secIdentifier = ExternalId.of("SEC", "1");
+      final ExternalId secIdentifierA = ExternalId.of("SEC", "A");
+      final ExternalId secIdentifierB = ExternalId.of("SEC", "B");
+      final SimplePosition pos = new SimplePosition(new BigDecimal(1), secIdentifier);
+      final SimplePortfolioNode pn = new SimplePortfolioNode("node");
+      pn.addPosition(pos);
+      final SimplePortfolio p = new SimplePortfolio(UniqueId.of("FOO", "BAR"), "portfolio");
+      p.setRootNode(pn);
+      final MockPositionSource positionSource = new MockPositionSource();
+      positionSource.addPortfolio(p);
+      final SimpleSecurity defSec = new SimpleSecurity("My Sec");
+      defSec.addExternalId(secIdentifier);
+      final SimpleSecurity secA = new SimpleSecurity("Your Sec");
+      secA.addExternalId(secIdentifierA);
+      final SimpleSecurity secB = new SimpleSecurity("Your Sec");
+      secB.addExternalId(secIdentifierB);
+      final InMemorySecuritySource securitySource = new InMemorySecuritySource();
+      securitySource.addSecurity(defSec);
+      securitySource.addSecurity(secA);
+      securitySource.addSecurity(secB);
+      // The node's aggregate depends on a value for each of A and B
+      final MockFunction fnA = MockFunction.getMockFunction("fnA", new ComputationTarget(ComputationTargetType.SECURITY, secA), 1.0);
+      final MockFunction fnB = MockFunction.getMockFunction("fnB", new ComputationTarget(ComputationTargetType.SECURITY, secB), 2.0);
+      final MockFunction fn1 = MockFunction.getMockFunction("fn1", new ComputationTarget(ComputationTargetType.PORTFOLIO_NODE, pn), 14.2, fnA);
+      fn1.addRequirement(fnB.getResultSpec().toRequirementSpecification());
+      final InMemoryFunctionRepository functionRepo = new InMemoryFunctionRepository();
+      functionRepo.addFunction(fnA);
+      functionRepo.addFunction(fnB);
+      functionRepo.addFunction(fn1);
+      final FunctionCompilationContext functionCompilationContext = new FunctionCompilationContext();
+      functionCompilationContext.setFunctionInitId(123);
+      functionCompilationContext.setSecuritySource(securitySource);
+      final CompiledFunctionService cfs = new CompiledFunctionService(functionRepo, new CachingFunctionRepositoryCompiler(), functionCompilationContext);
+      TestLifecycle.register(cfs);
+      cfs.initialize();
+      final DefaultFunctionResolver functionResolver = new DefaultFunctionResolver(cfs);
+      final DefaultCachingComputationTargetResolver computationTargetResolver =
+          new DefaultCachingComputationTargetResolver(new DefaultComputationTargetResolver(securitySource,
+          positionSource), _cacheManager);
+      functionCompilationContext.setRawComputationTargetResolver(computationTargetResolver);
+      final ViewCompilationServices vcs =
+          new ViewCompilationServices(new FixedMarketDataAvailabilityProvider(), functionResolver, functionCompilationContext, cfs.getExecutorService(),
+          new DependencyGraphBuilderFactory());
+      final ViewDefinition viewDefinition = new ViewDefinition("My View", UniqueId.of("FOO", "BAR"), "kirk");
+      viewDefinition.getResultModelDefinition().setPositionOutputMode(ResultOutputMode.NONE);
+      final ViewCalculationConfiguration calcConfig = new ViewCalculationConfiguration(viewDefinition, "Fibble");
+      calcConfig.addPortfolioRequirementName("My Sec", "OUTPUT");
+      viewDefinition.addViewCalculationConfiguration(calcConfig);
+      final Instant now = Instant.now();
+      final VersionCorrection versionCorrection = VersionCorrection.of(now, now);
+      final CompiledViewDefinitionWithGraphsImpl compiledViewDefinition = ViewDefinitionCompiler.compile(viewDefinition, vcs, now, versionCorrection);
+      final DependencyGraph graph = compiledViewDefinition.getDependencyGraphExplorer("Fibble").getWholeGraph();
+      assertEquals(3, graph.getSize());
+      assertTargets(compiledViewDefinition, secA.getUniqueId(), secB.getUniqueId(), pn.getUniqueId());
+      final DependencyNode nodeB = findNode(graph, "fnB");
+      final DependencyNode node1 = findNode(graph, "fn1");
+      // No changes; the previous graph is reused as is
+      PartiallyCompiledGraph pruned = ViewDefinitionCompiler.getPreviousGraphs(compiledViewDefinition, Collections.<UniqueId>emptySet()).get("Fibble");
+      assertEquals(1, pruned.getRoots().size());
+      assertSame(node1, pruned.getRoots().iterator().next());
+      assertTrue(pruned.getMissingRequirements().isEmpty());
+      CompiledViewDefinitionWithGraphsImpl delta = ViewDefinitionCompiler.deltaCompileTask(compiledViewDefinition, vcs, now, versionCorrection,
+          Collections.<UniqueId>emptySet(), Collections.<UniqueId>emptySet()).get();
+      assertEquals(3, delta.getDependencyGraphExplorer("Fibble").getWholeGraph().getSize());
+      assertTargets(delta, secA.getUniqueId(), secB.getUniqueId(), pn.getUniqueId());
+      // A has changed; its node and the aggregate that depends on it are replaced while the node for B is kept
+      pruned = ViewDefinitionCompiler.getPreviousGraphs(compiledViewDefinition, Collections.singleton(secA.getUniqueId())).get("Fibble");
+      assertEquals(1, pruned.getRoots().size());
+      assertSame(nodeB, pruned.getRoots().iterator().next());
+      assertFalse(pruned.getTerminalOutputs().containsKey(node1.getOutputValue(0)));
+      assertEquals(graph.getTerminalOutputs().get(node1.getOutputValue(0)), pruned.getMissingRequirements());
+      delta = ViewDefinitionCompiler.deltaCompileTask(compiledViewDefinition, vcs, now, versionCorrection, Collections.singleton(secA.getUniqueId()),
+          Collections.<UniqueId>emptySet()).get();
+      final DependencyGraph deltaGraph = delta.getDependencyGraphExplorer("Fibble").getWholeGraph();
+      assertEquals(3, deltaGraph.getSize());
+      assertTargets(delta, secA.getUniqueId(), secB.getUniqueId(), pn.getUniqueId());
+      assertEquals(graph.getTerminalOutputs().keySet(), deltaGraph.getTerminalOutputs().keySet());
+      assertEquals(nodeB.getTarget(), findNode(deltaGraph, "fnB").getTarget());
+      assertEquals(node1.getInputCount(), findNode(deltaGraph, "fn1").getInputCount());
+      // The original compilation is unaffected
+      assertEquals(3, compiledViewDefinition.getDependencyGraphExplorer("Fibble").getWholeGraph().getSize());
+      assertSame(node1, graph.getRootNode(0));
+    } finally {
+      TestLifecycle.end();
+    }
+  }
+
   public void testSingleValueExternalDependency() {
     TestLifecycle.begin();
     try {
@@ -360,6 +454,18 @@ public class ViewDefinitionCompilerTest {
     }
   }
 
+  private static DependencyNode findNode(final DependencyGraph graph, final String functionId) {
+    final Iterator<DependencyNode> itr = graph.nodeIterator();
+    while (itr.hasNext()) {
+      final DependencyNode node = itr.next();
+      if (functionId.equals(node.getFunction().getFunctionId())) {
+        return node;
+      }
+    }
+    fail("No node for " + functionId);
+    return null;
+  }
+
   private void assertTargets(final CompiledViewDefinitionWithGraphsImpl compiledViewDefinition, final UniqueId... targets) {
     final Set<UniqueId> expectedTargets = new HashSet<>(Arrays.asList(targets));
     final Set<ComputationTargetSpecification> actualTargets = compiledViewDefinition.getComputationTargets();
@@ -5,7 +5,9 @@
  */
 package com.opengamma.engine.view.cycle;
 
+import static org.testng.AssertJUnit.assertEquals;
 import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
 import static org.testng.AssertJUnit.assertTrue;
 
 import java.util.Map;
@@ -19,13 +21,20 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.testng.annotations.Test;
 
+import com.opengamma.engine.ComputationTargetSpecification;
+import com.opengamma.engine.cache.MissingInput;
 import com.opengamma.engine.depgraph.DependencyGraph;
 import com.opengamma.engine.exec.DependencyGraphExecutionFuture;
 import com.opengamma.engine.exec.DependencyGraphExecutor;
 import com.opengamma.engine.exec.DependencyGraphExecutorFactory;
 import com.opengamma.engine.function.FunctionParameters;
+import com.opengamma.engine.marketdata.OverrideOperation;
 import com.opengamma.engine.marketdata.spec.MarketData;
 import com.opengamma.engine.test.ViewProcessorTestEnvironment;
+import com.opengamma.engine.value.ScenarioVector;
+import com.opengamma.engine.value.ValueProperties;
+import com.opengamma.engine.value.ValuePropertyNames;
+import com.opengamma.engine.value.ValueRequirement;
 import com.opengamma.engine.value.ValueSpecification;
 import com.opengamma.engine.view.client.ViewClient;
 import com.opengamma.engine.view.execution.ExecutionOptions;
@@ -45,6 +54,19 @@ public class SingleComputationCycleTest {
 
   private static final long TIMEOUT = Timeout.standardTimeoutMillis();
 
+  /**
+   * Doubles a value, discarding zero.
+   */
+  private static final OverrideOperation DOUBLE_NON_ZERO = new OverrideOperation() {
+
+    @Override
+    public Object apply(final ValueRequirement requirement, final Object original) {
+      final double value = (Double) original;
+      return value == 0 ? null : value * 2;
+    }
+
+  };
+
   public void testInterruptCycle() throws InterruptedException {
     TestLifecycle.begin();
     try {
@@ -79,6 +101,18 @@ public class SingleComputationCycleTest {
     }
   }
 
+  public void testApplyOperation() {
+    final ValueSpecification spec = new ValueSpecification("Foo", ComputationTargetSpecification.NULL,
+        ValueProperties.with(ValuePropertyNames.FUNCTION, "Test").get());
+    assertEquals(6d, SingleComputationCycle.applyOperation(DOUBLE_NON_ZERO, spec, 3d));
+    assertNull(SingleComputationCycle.applyOperation(DOUBLE_NON_ZERO, spec, 0d));
+    // Applied to each scenario, with missing and discarded values missing in that scenario only
+    assertEquals(ScenarioVector.of(2d, MissingInput.MISSING_MARKET_DATA, MissingInput.MISSING_MARKET_DATA),
+        SingleComputationCycle.applyOperation(DOUBLE_NON_ZERO, spec, ScenarioVector.of(1d, MissingInput.MISSING_MARKET_DATA, 0d)));
+    // A value discarded in every scenario is discarded
+    assertNull(SingleComputationCycle.applyOperation(DOUBLE_NON_ZERO, spec, ScenarioVector.of(0d, MissingInput.MISSING_MARKET_DATA)));
+  }
+
   private class BlockingDependencyGraphExecutorFactory implements DependencyGraphExecutorFactory {
 
     private final BlockingDependencyGraphExecutor _instance;
@@ -0,0 +1,151 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.view.impl;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertSame;
+
+import java.util.HashSet;
+
+import org.testng.annotations.Test;
+import org.threeten.bp.Instant;
+
+import com.google.common.collect.Sets;
+import com.opengamma.engine.ComputationTargetSpecification;
+import com.opengamma.engine.target.ComputationTargetType;
+import com.opengamma.engine.value.ComputedValueResult;
+import com.opengamma.engine.value.ValueProperties;
+import com.opengamma.engine.value.ValuePropertyNames;
+import com.opengamma.engine.value.ValueSpecification;
+import com.opengamma.engine.view.AggregatedExecutionLog;
+import com.opengamma.engine.view.ViewCalculationConfiguration;
+import com.opengamma.engine.view.ViewDefinition;
+import com.opengamma.engine.view.ViewDeltaResultModel;
+import com.opengamma.engine.view.ViewResultEntry;
+import com.opengamma.engine.view.client.ViewDeltaResultCalculator;
+import com.opengamma.id.UniqueId;
+import com.opengamma.livedata.UserPrincipal;
+import com.opengamma.util.test.TestGroup;
+
+/**
+ * Tests the {@link ColumnarViewComputationResultModel} class.
+ */
+@Test(groups = TestGroup.UNIT)
+public class ColumnarViewComputationResultModelTest {
+
+  private static final ComputationTargetSpecification TARGET_1 = new ComputationTargetSpecification(ComputationTargetType.PRIMITIVE, UniqueId.of("Test", "1"));
+  private static final ComputationTargetSpecification TARGET_2 = new ComputationTargetSpecification(ComputationTargetType.PRIMITIVE, UniqueId.of("Test", "2"));
+  private static final ValueProperties PROPERTIES = ValueProperties.with(ValuePropertyNames.FUNCTION, "Mock").get();
+
+  private static ComputedValueResult value(final String name, final ComputationTargetSpecification target, final Object value) {
+    return new ComputedValueResult(new ValueSpecification(name, target, PROPERTIES), value, AggregatedExecutionLog.EMPTY);
+  }
+
+  private static InMemoryViewComputationResultModel createResult(final double pv1, final double pv2) {
+    final InMemoryViewComputationResultModel result = new InMemoryViewComputationResultModel();
+    result.setViewCycleId(UniqueId.of("Cycle", "Test"));
+    result.setCalculationTime(Instant.ofEpochMilli(1000));
+    result.addValue("Default", value("PV", TARGET_1, pv1));
+    result.addValue("Default", value("PV", TARGET_2, pv2));
+    result.addValue("Default", value("Name", TARGET_1, "Foo"));
+    return result;
+  }
+
+  private static ViewDefinition createViewDefinition() {
+    final ViewDefinition viewDefinition = new ViewDefinition("Test", UserPrincipal.getTestUser());
+    viewDefinition.addViewCalculationConfiguration(new ViewCalculationConfiguration(viewDefinition, "Default"));
+    return viewDefinition;
+  }
+
+  public void testCopy() {
+    final InMemoryViewComputationResultModel result = createResult(1d, 2d);
+    final ColumnarViewComputationResultModel columnar = ColumnarViewComputationResultModel.of(result);
+    assertEquals(result.getViewCycleId(), columnar.getViewCycleId());
+    assertEquals(result.getCalculationTime(), columnar.getCalculationTime());
+    assertEquals(result.getAllTargets(), columnar.getAllTargets());
+    assertEquals(result.getCalculationConfigurationNames(), columnar.getCalculationConfigurationNames());
+    assertEquals(Sets.newHashSet("PV", "Name"), columnar.getAllOutputValueNames());
+    assertEquals(new HashSet<>(result.getAllResults()), new HashSet<>(columnar.getAllResults()));
+    assertEquals(result.getCalculationResult("Default").getValues(TARGET_1), columnar.getCalculationResult("Default").getValues(TARGET_1));
+    assertEquals(new HashSet<>(result.getTargetResult(TARGET_2).getAllValues("Default")),
+        new HashSet<>(columnar.getTargetResult(TARGET_2).getAllValues("Default")));
+    assertNull(columnar.getCalculationResult("Missing"));
+    assertNull(columnar.getCalculationResult("Default").getValues(new ComputationTargetSpecification(ComputationTargetType.PRIMITIVE, UniqueId.of("Test", "3"))));
+    assertSame(columnar, ColumnarViewComputationResultModel.of(columnar));
+  }
+
+  public void testDelta() {
+    final ViewDefinition viewDefinition = createViewDefinition();
+    final InMemoryViewComputationResultModel previous = createResult(1d, 2d);
+    final InMemoryViewComputationResultModel result = createResult(1d, 3d);
+    final ColumnarViewComputationResultModel previousColumnar = ColumnarViewComputationResultModel.of(previous);
+    final ColumnarViewComputationResultModel resultColumnar = ColumnarViewComputationResultModel.of(result, previousColumnar);
+    final ViewDeltaResultModel expected = ViewDeltaResultCalculator.computeDeltaModel(viewDefinition, previous, result);
+    final ViewDeltaResultModel delta = ViewDeltaResultCalculator.computeDeltaModel(viewDefinition, previousColumnar, resultColumnar);
+    assertEquals(1, delta.getAllResults().size());
+    assertEquals(value("PV", TARGET_2, 3d), delta.getAllResults().get(0).getComputedValue());
+    assertEquals(new HashSet<>(expected.getAllResults()), new HashSet<>(delta.getAllResults()));
+  }
+
+  public void testDeltaNewTarget() {
+    final ViewDefinition viewDefinition = createViewDefinition();
+    final InMemoryViewComputationResultModel previous = new InMemoryViewComputationResultModel();
+    previous.addValue("Default", value("PV", TARGET_1, 1d));
+    final InMemoryViewComputationResultModel result = createResult(1d, 2d);
+    final ViewDeltaResultModel delta = ViewDeltaResultCalculator.computeDeltaModel(viewDefinition, ColumnarViewComputationResultModel.of(previous),
+        ColumnarViewComputationResultModel.of(result));
+    assertEquals(Sets.newHashSet(new ViewResultEntry("Default", value("PV", TARGET_2, 2d)), new ViewResultEntry("Default", value("Name", TARGET_1, "Foo"))),
+        new HashSet<>(delta.getAllResults()));
+    assertEquals(2, delta.getAllResults().size());
+  }
+
+  private static ComputedValueResult value(final String name, final ComputationTargetSpecification target, final String currency, final Object value) {
+    return new ComputedValueResult(new ValueSpecification(name, target, PROPERTIES.copy().with(ValuePropertyNames.CURRENCY, currency).get()), value,
+        AggregatedExecutionLog.EMPTY);
+  }
+
+  private static InMemoryViewComputationResultModel createHeterogeneousResult(final int targets, final double usd) {
+    final InMemoryViewComputationResultModel result = new InMemoryViewComputationResultModel();
+    for (int i = 0; i < targets; i++) {
+      final ComputationTargetSpecification target = new ComputationTargetSpecification(ComputationTargetType.PRIMITIVE, UniqueId.of("Test", "H" + i));
+      // Every target has a different currency
+      result.addValue("Default", value("PV", target, "C" + i, (double) i));
+    }
+    // One target has values in two currencies
+    result.addValue("Default", value("PV", TARGET_1, "GBP", 1d));
+    result.addValue("Default", value("PV", TARGET_1, "USD", usd));
+    return result;
+  }
+
+  public void testHeterogeneousProperties() {
+    final InMemoryViewComputationResultModel result = createHeterogeneousResult(100, 2d);
+    final ColumnarViewComputationResultModel columnar = ColumnarViewComputationResultModel.of(result);
+    // One column for the value name, and a second layer for the target with a second currency, rather than a column per currency
+    assertEquals(2, columnar.getColumnCount("Default"));
+    assertEquals(0, columnar.getColumnCount("Missing"));
+    assertEquals(102, columnar.getAllResults().size());
+    assertEquals(new HashSet<>(result.getAllResults()), new HashSet<>(columnar.getAllResults()));
+    assertEquals(result.getCalculationResult("Default").getValues(TARGET_1), columnar.getCalculationResult("Default").getValues(TARGET_1));
+    assertEquals(new HashSet<>(result.getTargetResult(TARGET_1).getAllValues("Default")),
+        new HashSet<>(columnar.getTargetResult(TARGET_1).getAllValues("Default")));
+  }
+
+  public void testHeterogeneousPropertiesDelta() {
+    final ViewDefinition viewDefinition = createViewDefinition();
+    final InMemoryViewComputationResultModel previous = createHeterogeneousResult(10, 2d);
+    final InMemoryViewComputationResultModel result = createHeterogeneousResult(10, 3d);
+    final ColumnarViewComputationResultModel previousColumnar = ColumnarViewComputationResultModel.of(previous);
+    final ColumnarViewComputationResultModel resultColumnar = ColumnarViewComputationResultModel.of(result, previousColumnar);
+    final ViewDeltaResultModel delta = ViewDeltaResultCalculator.computeDeltaModel(viewDefinition, previousColumnar, resultColumnar);
+    // Only the value in the second layer changed
+    assertEquals(1, delta.getAllResults().size());
+    assertEquals(value("PV", TARGET_1, "USD", 3d), delta.getAllResults().get(0).getComputedValue());
+    assertEquals(new HashSet<>(ViewDeltaResultCalculator.computeDeltaModel(viewDefinition, previous, result).getAllResults()),
+        new HashSet<>(delta.getAllResults()));
+  }
+
+}
@@ -8,7 +8,11 @@ package com.opengamma.engine.view.worker;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anySetOf;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Collection;
@@ -16,6 +20,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.mockito.InOrder;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
@@ -44,6 +49,7 @@ import com.opengamma.util.test.TestGroup;
 public class MarketDataManagerTest {
 
   private MarketDataManager _manager;
+  private MarketDataProvider _provider;
 
   @BeforeMethod
   public void setUp() throws Exception {
@@ -262,6 +268,36 @@ public class MarketDataManagerTest {
     assertThat(_manager.getActiveSubscriptionCount(), is(0));
   }
 
+  @Test
+  public void testNewSubscriptionsMadeBeforeUnusedRemoved() {
+    final Set<ValueSpecification> valueSpecs1 = createMarketDataValueSpecs("AAPL.");
+    _manager.requestMarketDataSubscriptions(valueSpecs1);
+    _manager.subscriptionsSucceeded(valueSpecs1);
+
+    final Set<ValueSpecification> valueSpecs2 = ImmutableSet.of(createValueSpecForDividendYield("AAPL."));
+    _manager.requestMarketDataSubscriptions(valueSpecs2);
+
+    final InOrder inOrder = inOrder(_provider);
+    inOrder.verify(_provider).subscribe(valueSpecs1);
+    inOrder.verify(_provider).subscribe(valueSpecs2);
+    inOrder.verify(_provider).unsubscribe(valueSpecs1);
+  }
+
+  @Test
+  public void testSubscriptionsBatched() {
+    final int batchSize = MarketDataManager.getSubscriptionBatchSize();
+    MarketDataManager.setSubscriptionBatchSize(2);
+    try {
+      _manager.requestMarketDataSubscriptions(createMarketDataValueSpecs("AAPL.", "AAPL/G4NHG.O", "AAPL/G4G3F.", "GOOG.", "GOOG/GsG~K."));
+      verify(_provider, times(3)).subscribe(anySetOf(ValueSpecification.class));
+      _manager.requestMarketDataSubscriptions(ImmutableSet.<ValueSpecification>of());
+      verify(_provider, times(3)).unsubscribe(anySetOf(ValueSpecification.class));
+    } finally {
+      MarketDataManager.setSubscriptionBatchSize(batchSize);
+    }
+    assertThat(_manager.getRemovedSubscriptionCount(), is(5));
+  }
+
   private void checkKeyMatches(final Set<String> keys) {
     boolean mvMatch = false;
     boolean dyMatch = false;
@@ -326,6 +362,7 @@ public class MarketDataManagerTest {
 
         final MarketDataProvider mock = mock(MarketDataProvider.class);
         when(mock.snapshot(any(MarketDataSpecification.class))).thenReturn(mock(CompositeMarketDataSnapshot.class));
+        _provider = mock;
         return mock;
       }
     };
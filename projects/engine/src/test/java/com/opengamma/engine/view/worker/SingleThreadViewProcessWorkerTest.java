@@ -7,19 +7,27 @@ package com.opengamma.engine.view.worker;
 
 import static org.testng.AssertJUnit.assertEquals;
 
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.testng.annotations.Test;
 import org.threeten.bp.Duration;
 import org.threeten.bp.Instant;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.opengamma.OpenGammaRuntimeException;
+import com.opengamma.engine.ComputationTarget;
+import com.opengamma.engine.ComputationTargetSpecification;
 import com.opengamma.engine.cache.MissingInput;
 import com.opengamma.engine.cache.MissingOutput;
+import com.opengamma.engine.function.FunctionExecutionContext;
+import com.opengamma.engine.function.FunctionInputs;
+import com.opengamma.engine.function.InMemoryFunctionRepository;
 import com.opengamma.engine.marketdata.InMemoryLKVMarketDataProvider;
 import com.opengamma.engine.marketdata.MarketDataListener;
 import com.opengamma.engine.marketdata.MarketDataPermissionProvider;
@@ -34,13 +42,21 @@ import com.opengamma.engine.marketdata.resolver.MarketDataProviderResolver;
 import com.opengamma.engine.marketdata.spec.LiveMarketDataSpecification;
 import com.opengamma.engine.marketdata.spec.MarketData;
 import com.opengamma.engine.marketdata.spec.MarketDataSpecification;
+import com.opengamma.engine.target.ComputationTargetType;
+import com.opengamma.engine.test.MockFunction;
 import com.opengamma.engine.test.TestViewResultListener;
 import com.opengamma.engine.test.ViewProcessorTestEnvironment;
 import com.opengamma.engine.value.ComputedValue;
+import com.opengamma.engine.value.ValueProperties;
+import com.opengamma.engine.value.ValuePropertyNames;
+import com.opengamma.engine.value.ValueRequirement;
 import com.opengamma.engine.value.ValueSpecification;
+import com.opengamma.engine.view.ViewCalculationConfiguration;
 import com.opengamma.engine.view.ViewComputationResultModel;
+import com.opengamma.engine.view.ViewDefinition;
 import com.opengamma.engine.view.ViewTargetResultModel;
 import com.opengamma.engine.view.client.ViewClient;
+import com.opengamma.engine.view.client.ViewResultMode;
 import com.opengamma.engine.view.execution.ArbitraryViewCycleExecutionSequence;
 import com.opengamma.engine.view.execution.ExecutionFlags;
 import com.opengamma.engine.view.execution.ExecutionOptions;
@@ -49,10 +65,14 @@ import com.opengamma.engine.view.execution.ViewExecutionFlags;
 import com.opengamma.engine.view.execution.ViewExecutionOptions;
 import com.opengamma.engine.view.impl.ViewProcessImpl;
 import com.opengamma.engine.view.impl.ViewProcessorImpl;
+import com.opengamma.engine.view.listener.CycleCompletedCall;
+import com.opengamma.engine.view.listener.CycleFragmentCompletedCall;
+import com.opengamma.engine.view.listener.ViewDefinitionCompiledCall;
 import com.opengamma.engine.view.worker.SingleThreadViewProcessWorker.BorrowedThread;
 import com.opengamma.id.UniqueId;
 import com.opengamma.livedata.UserPrincipal;
 import com.opengamma.util.ArgumentChecker;
+import com.opengamma.util.money.Currency;
 import com.opengamma.util.test.TestGroup;
 import com.opengamma.util.test.TestLifecycle;
 import com.opengamma.util.test.Timeout;
@@ -69,6 +89,8 @@ public class SingleThreadViewProcessWorkerTest {
   private static final String SOURCE_2_NAME = "source2";
   private static final String SOURCE_3_NAME = "source3";
 
+  private static final ComputationTarget SCALED_TARGET = new ComputationTarget(ComputationTargetType.CURRENCY, Currency.USD);
+
   @Test(expectedExceptions = OpenGammaRuntimeException.class)
   public void testAttachToUnknownView() {
     TestLifecycle.begin();
@@ -397,6 +419,294 @@ public class SingleThreadViewProcessWorkerTest {
     }
   }
 
+  /**
+   * Creates a function that multiplies a market data value by ten, counting the number of times it is executed.
+   */
+  private static MockFunction createScalingFunction(final String valueName, final ValueRequirement input, final AtomicInteger executions) {
+    final MockFunction fn = new MockFunction(MockFunction.UNIQUE_ID + valueName, SCALED_TARGET) {
+
+      @Override
+      public Set<ComputedValue> execute(final FunctionExecutionContext executionContext, final FunctionInputs inputs, final ComputationTarget target,
+          final Set<ValueRequirement> desiredValues) {
+        executions.incrementAndGet();
+        return Collections.singleton(new ComputedValue(getResultSpec(), (Double) inputs.getValue(input.getValueName()) * 10));
+      }
+
+    };
+    fn.addRequirement(input);
+    fn.addResult(new ValueSpecification(valueName, SCALED_TARGET.toSpecification(), ValueProperties.with(ValuePropertyNames.FUNCTION, valueName).get()),
+        0d);
+    return fn;
+  }
+
+  @Test
+  public void testIncrementalCycleOnMarketDataChanged() throws InterruptedException {
+    TestLifecycle.begin();
+    try {
+      final ViewProcessorTestEnvironment env = new ViewProcessorTestEnvironment();
+      final InMemoryLKVMarketDataProvider underlyingProvider = new InMemoryLKVMarketDataProvider();
+      underlyingProvider.addValue(ViewProcessorTestEnvironment.getPrimitive1(), 1d);
+      underlyingProvider.addValue(ViewProcessorTestEnvironment.getPrimitive2(), 2d);
+      env.setMarketDataProvider(new TestLiveMarketDataProvider("source", underlyingProvider));
+      // Scaled1 is downstream of the ticking value, Scaled2 is not
+      final AtomicInteger scaled1Executions = new AtomicInteger();
+      final AtomicInteger scaled2Executions = new AtomicInteger();
+      final InMemoryFunctionRepository functionRepository = new InMemoryFunctionRepository();
+      functionRepository.addFunction(createScalingFunction("Scaled1", ViewProcessorTestEnvironment.getPrimitive1(), scaled1Executions));
+      functionRepository.addFunction(createScalingFunction("Scaled2", ViewProcessorTestEnvironment.getPrimitive2(), scaled2Executions));
+      env.setFunctionRepository(functionRepository);
+      final ViewDefinition viewDefinition = new ViewDefinition(UniqueId.of("test", "incremental"), "Incremental view", ViewProcessorTestEnvironment.TEST_USER);
+      final ViewCalculationConfiguration calcConfig = new ViewCalculationConfiguration(viewDefinition, ViewProcessorTestEnvironment.TEST_CALC_CONFIG_NAME);
+      calcConfig.addSpecificRequirement(ViewProcessorTestEnvironment.getPrimitive1());
+      calcConfig.addSpecificRequirement(ViewProcessorTestEnvironment.getPrimitive2());
+      calcConfig.addSpecificRequirement(new ValueRequirement("Scaled1", SCALED_TARGET.toSpecification()));
+      calcConfig.addSpecificRequirement(new ValueRequirement("Scaled2", SCALED_TARGET.toSpecification()));
+      viewDefinition.addViewCalculationConfiguration(calcConfig);
+      viewDefinition.setMinFullCalculationPeriod(Long.MAX_VALUE); // Never force a full calculation
+      viewDefinition.setMaxFullCalculationPeriod(Long.MAX_VALUE); // Never force a full calculation
+      env.setViewDefinition(viewDefinition);
+      env.init();
+
+      final ViewProcessorImpl vp = env.getViewProcessor();
+      vp.start();
+
+      final ViewClient client = vp.createViewClient(ViewProcessorTestEnvironment.TEST_USER);
+      final TestViewResultListener resultListener = new TestViewResultListener();
+      client.setResultListener(resultListener);
+      final EnumSet<ViewExecutionFlags> flags = ExecutionFlags.none().incrementalOnMarketData().get();
+      client.attachToViewProcess(env.getViewDefinition().getUniqueId(), ExecutionOptions.infinite(MarketData.live(), flags));
+
+      resultListener.assertViewDefinitionCompiled(TIMEOUT);
+      ViewComputationResultModel fullResult = resultListener.getCycleCompleted(TIMEOUT).getFullResult();
+      Map<String, Object> resultValues = extractResults(fullResult);
+      assertEquals(1d, resultValues.get(ViewProcessorTestEnvironment.getPrimitive1().getValueName()));
+      assertEquals(2d, resultValues.get(ViewProcessorTestEnvironment.getPrimitive2().getValueName()));
+      resultValues = extractResults(fullResult, SCALED_TARGET.toSpecification());
+      assertEquals(10d, resultValues.get("Scaled1"));
+      assertEquals(20d, resultValues.get("Scaled2"));
+      assertEquals(1, scaled1Executions.get());
+      assertEquals(1, scaled2Executions.get());
+
+      // Only the ticking value is reloaded and only the node that depends on it executes; the other values are carried over from the previous cycle
+      underlyingProvider.addValue(ViewProcessorTestEnvironment.getPrimitive1(), 3d);
+      final CycleCompletedCall cycle = resultListener.getCycleCompleted(TIMEOUT);
+      fullResult = cycle.getFullResult();
+      resultValues = extractResults(fullResult);
+      assertEquals(3d, resultValues.get(ViewProcessorTestEnvironment.getPrimitive1().getValueName()));
+      assertEquals(2d, resultValues.get(ViewProcessorTestEnvironment.getPrimitive2().getValueName()));
+      resultValues = extractResults(fullResult, SCALED_TARGET.toSpecification());
+      assertEquals(30d, resultValues.get("Scaled1"));
+      assertEquals(20d, resultValues.get("Scaled2"));
+      assertEquals(2, scaled1Executions.get());
+      assertEquals(1, scaled2Executions.get());
+      // The ticking value and the value calculated from it
+      assertEquals(2, cycle.getDeltaResult().getAllResults().size());
+
+      client.shutdown();
+    } finally {
+      TestLifecycle.end();
+    }
+  }
+
+  /**
+   * Creates a function that adds two values calculated by other functions, counting the number of times it is executed.
+   */
+  private static MockFunction createSumFunction(final String valueName, final String input1, final String input2, final AtomicInteger executions) {
+    final MockFunction fn = new MockFunction(MockFunction.UNIQUE_ID + valueName, SCALED_TARGET) {
+
+      @Override
+      public Set<ComputedValue> execute(final FunctionExecutionContext executionContext, final FunctionInputs inputs, final ComputationTarget target,
+          final Set<ValueRequirement> desiredValues) {
+        executions.incrementAndGet();
+        return Collections.singleton(new ComputedValue(getResultSpec(), (Double) inputs.getValue(input1) + (Double) inputs.getValue(input2)));
+      }
+
+    };
+    fn.addRequirement(new ValueRequirement(input1, SCALED_TARGET.toSpecification()));
+    fn.addRequirement(new ValueRequirement(input2, SCALED_TARGET.toSpecification()));
+    fn.addResult(new ValueSpecification(valueName, SCALED_TARGET.toSpecification(), ValueProperties.with(ValuePropertyNames.FUNCTION, valueName).get()),
+        0d);
+    return fn;
+  }
+
+  @Test
+  public void testBatchedScenarios() throws InterruptedException {
+    TestLifecycle.begin();
+    try {
+      final ViewProcessorTestEnvironment env = new ViewProcessorTestEnvironment();
+      final InMemoryLKVMarketDataProvider baseProvider = new InMemoryLKVMarketDataProvider();
+      baseProvider.addValue(ViewProcessorTestEnvironment.getPrimitive1(), 1d);
+      baseProvider.addValue(ViewProcessorTestEnvironment.getPrimitive2(), 2d);
+      final InMemoryLKVMarketDataProvider shockedProvider = new InMemoryLKVMarketDataProvider();
+      shockedProvider.addValue(ViewProcessorTestEnvironment.getPrimitive1(), 3d);
+      shockedProvider.addValue(ViewProcessorTestEnvironment.getPrimitive2(), 2d);
+      env.setMarketDataProviderResolver(new MockMarketDataProviderResolver(SOURCE_1_NAME, new TestLiveMarketDataProvider(SOURCE_1_NAME, baseProvider),
+          SOURCE_2_NAME, new TestLiveMarketDataProvider(SOURCE_2_NAME, shockedProvider), SOURCE_3_NAME,
+          new TestLiveMarketDataProvider(SOURCE_3_NAME, new InMemoryLKVMarketDataProvider())));
+      // Scaled1 is affected by the shock and Scaled2 is not; Sum consumes both
+      final AtomicInteger scaled1Executions = new AtomicInteger();
+      final AtomicInteger scaled2Executions = new AtomicInteger();
+      final AtomicInteger sumExecutions = new AtomicInteger();
+      final InMemoryFunctionRepository functionRepository = new InMemoryFunctionRepository();
+      functionRepository.addFunction(createScalingFunction("Scaled1", ViewProcessorTestEnvironment.getPrimitive1(), scaled1Executions));
+      functionRepository.addFunction(createScalingFunction("Scaled2", ViewProcessorTestEnvironment.getPrimitive2(), scaled2Executions));
+      functionRepository.addFunction(createSumFunction("Sum", "Scaled1", "Scaled2", sumExecutions));
+      env.setFunctionRepository(functionRepository);
+      final ViewDefinition viewDefinition = new ViewDefinition(UniqueId.of("test", "scenarios"), "Scenario view", ViewProcessorTestEnvironment.TEST_USER);
+      final ViewCalculationConfiguration calcConfig = new ViewCalculationConfiguration(viewDefinition, ViewProcessorTestEnvironment.TEST_CALC_CONFIG_NAME);
+      calcConfig.addSpecificRequirement(ViewProcessorTestEnvironment.getPrimitive1());
+      calcConfig.addSpecificRequirement(ViewProcessorTestEnvironment.getPrimitive2());
+      calcConfig.addSpecificRequirement(new ValueRequirement("Scaled1", SCALED_TARGET.toSpecification()));
+      calcConfig.addSpecificRequirement(new ValueRequirement("Scaled2", SCALED_TARGET.toSpecification()));
+      calcConfig.addSpecificRequirement(new ValueRequirement("Sum", SCALED_TARGET.toSpecification()));
+      viewDefinition.addViewCalculationConfiguration(calcConfig);
+      env.setViewDefinition(viewDefinition);
+      env.init();
+      final ViewProcessorImpl vp = env.getViewProcessor();
+      vp.start();
+      final ViewClient client = vp.createViewClient(ViewProcessorTestEnvironment.TEST_USER);
+      final TestViewResultListener resultListener = new TestViewResultListener();
+      client.setResultListener(resultListener);
+      final ViewCycleExecutionOptions.Builder builder = ViewCycleExecutionOptions.builder().setValuationTime(Instant.now());
+      final ViewCycleExecutionOptions base = builder.setMarketDataSpecification(MarketData.live(SOURCE_1_NAME)).create();
+      final ViewCycleExecutionOptions shocked = builder.setMarketDataSpecification(MarketData.live(SOURCE_2_NAME)).create();
+      final EnumSet<ViewExecutionFlags> flags = ExecutionFlags.none().runAsFastAsPossible().batchedScenarios().get();
+      client.attachToViewProcess(env.getViewDefinition().getUniqueId(),
+          ExecutionOptions.of(ArbitraryViewCycleExecutionSequence.of(base, shocked, base), flags));
+      resultListener.assertViewDefinitionCompiled(TIMEOUT);
+      ViewComputationResultModel fullResult = resultListener.getCycleCompleted(TIMEOUT).getFullResult();
+      Map<String, Object> resultValues = extractResults(fullResult);
+      assertEquals(1d, resultValues.get(ViewProcessorTestEnvironment.getPrimitive1().getValueName()));
+      assertEquals(2d, resultValues.get(ViewProcessorTestEnvironment.getPrimitive2().getValueName()));
+      resultValues = extractResults(fullResult, SCALED_TARGET.toSpecification());
+      assertEquals(10d, resultValues.get("Scaled1"));
+      assertEquals(20d, resultValues.get("Scaled2"));
+      assertEquals(30d, resultValues.get("Sum"));
+      // The scenarios may complete in any order
+      final Map<Object, Map<String, Object>> scenarioValues = new HashMap<>();
+      for (int i = 0; i < 2; i++) {
+        fullResult = resultListener.getCycleCompleted(TIMEOUT).getFullResult();
+        resultValues = extractResults(fullResult);
+        assertEquals(2d, resultValues.get(ViewProcessorTestEnvironment.getPrimitive2().getValueName()));
+        scenarioValues.put(resultValues.get(ViewProcessorTestEnvironment.getPrimitive1().getValueName()),
+            extractResults(fullResult, SCALED_TARGET.toSpecification()));
+      }
+      assertEquals(ImmutableSet.of(1d, 3d), scenarioValues.keySet());
+      // The scenario with the same market data as the base has the base results
+      assertEquals(ImmutableMap.of("Scaled1", 10d, "Scaled2", 20d, "Sum", 30d), scenarioValues.get(1d));
+      // Sum is recalculated from the shocked Scaled1 and the value of Scaled2 copied from the base cycle
+      assertEquals(ImmutableMap.of("Scaled1", 30d, "Scaled2", 20d, "Sum", 50d), scenarioValues.get(3d));
+      // Only the nodes affected by the shock execute in the scenarios
+      assertEquals(2, scaled1Executions.get());
+      assertEquals(1, scaled2Executions.get());
+      assertEquals(2, sumExecutions.get());
+      resultListener.assertProcessCompleted(TIMEOUT);
+    } finally {
+      TestLifecycle.end();
+    }
+  }
+
+  @Test
+  public void testPipelinedCycles() throws InterruptedException {
+    TestLifecycle.begin();
+    try {
+      final ViewProcessorTestEnvironment env = new ViewProcessorTestEnvironment();
+      final InMemoryLKVMarketDataProvider baseProvider = new InMemoryLKVMarketDataProvider();
+      baseProvider.addValue(ViewProcessorTestEnvironment.getPrimitive1(), 1d);
+      baseProvider.addValue(ViewProcessorTestEnvironment.getPrimitive2(), 2d);
+      final InMemoryLKVMarketDataProvider shockedProvider = new InMemoryLKVMarketDataProvider();
+      shockedProvider.addValue(ViewProcessorTestEnvironment.getPrimitive1(), 3d);
+      shockedProvider.addValue(ViewProcessorTestEnvironment.getPrimitive2(), 2d);
+      env.setMarketDataProviderResolver(new MockMarketDataProviderResolver(SOURCE_1_NAME, new TestLiveMarketDataProvider(SOURCE_1_NAME, baseProvider),
+          SOURCE_2_NAME, new TestLiveMarketDataProvider(SOURCE_2_NAME, shockedProvider), SOURCE_3_NAME,
+          new TestLiveMarketDataProvider(SOURCE_3_NAME, new InMemoryLKVMarketDataProvider())));
+      env.init();
+      final ViewProcessorImpl vp = env.getViewProcessor();
+      vp.start();
+      final ViewClient client = vp.createViewClient(ViewProcessorTestEnvironment.TEST_USER);
+      final TestViewResultListener resultListener = new TestViewResultListener();
+      client.setResultListener(resultListener);
+      // Cycle started calls are only passed to clients that receive fragments
+      client.setFragmentResultMode(ViewResultMode.FULL_ONLY);
+      final ViewCycleExecutionOptions.Builder builder = ViewCycleExecutionOptions.builder().setValuationTime(Instant.now());
+      final ViewCycleExecutionOptions base = builder.setMarketDataSpecification(MarketData.live(SOURCE_1_NAME)).create();
+      final ViewCycleExecutionOptions shocked = builder.setMarketDataSpecification(MarketData.live(SOURCE_2_NAME)).create();
+      final EnumSet<ViewExecutionFlags> flags = ExecutionFlags.none().runAsFastAsPossible().pipelinedCycles().get();
+      client.attachToViewProcess(env.getViewDefinition().getUniqueId(),
+          ExecutionOptions.of(ArbitraryViewCycleExecutionSequence.of(base, shocked, base, shocked), flags));
+      resultListener.assertViewDefinitionCompiled(TIMEOUT);
+      // The cycles overlap but their events are delivered in sequence order: each cycle starts, streams its fragments and completes before the next starts
+      for (final double expected : new double[] {1d, 3d, 1d, 3d }) {
+        resultListener.getCycleStarted(TIMEOUT);
+        Object call = resultListener.expectNextCall(TIMEOUT);
+        while (call instanceof CycleFragmentCompletedCall) {
+          call = resultListener.expectNextCall(TIMEOUT);
+        }
+        assertEquals(CycleCompletedCall.class, call.getClass());
+        final Map<String, Object> resultValues = extractResults(((CycleCompletedCall) call).getFullResult());
+        assertEquals(expected, resultValues.get(ViewProcessorTestEnvironment.getPrimitive1().getValueName()));
+        assertEquals(2d, resultValues.get(ViewProcessorTestEnvironment.getPrimitive2().getValueName()));
+      }
+      resultListener.assertProcessCompleted(TIMEOUT);
+    } finally {
+      TestLifecycle.end();
+    }
+  }
+
+  @Test
+  public void testPipelinedCyclesWithRecompilation() throws InterruptedException {
+    TestLifecycle.begin();
+    try {
+      final ViewProcessorTestEnvironment env = new ViewProcessorTestEnvironment();
+      final InMemoryLKVMarketDataProvider baseProvider = new InMemoryLKVMarketDataProvider();
+      baseProvider.addValue(ViewProcessorTestEnvironment.getPrimitive1(), 1d);
+      baseProvider.addValue(ViewProcessorTestEnvironment.getPrimitive2(), 2d);
+      final InMemoryLKVMarketDataProvider shockedProvider = new InMemoryLKVMarketDataProvider();
+      shockedProvider.addValue(ViewProcessorTestEnvironment.getPrimitive1(), 3d);
+      shockedProvider.addValue(ViewProcessorTestEnvironment.getPrimitive2(), 2d);
+      env.setMarketDataProviderResolver(new MockMarketDataProviderResolver(SOURCE_1_NAME, new TestLiveMarketDataProvider(SOURCE_1_NAME, baseProvider),
+          SOURCE_2_NAME, new TestLiveMarketDataProvider(SOURCE_2_NAME, shockedProvider), SOURCE_3_NAME,
+          new TestLiveMarketDataProvider(SOURCE_3_NAME, new InMemoryLKVMarketDataProvider(), new FixedMarketDataAvailabilityProvider())));
+      env.init();
+      final ViewProcessorImpl vp = env.getViewProcessor();
+      vp.start();
+      final ViewClient client = vp.createViewClient(ViewProcessorTestEnvironment.TEST_USER);
+      final TestViewResultListener resultListener = new TestViewResultListener();
+      client.setResultListener(resultListener);
+      client.setFragmentResultMode(ViewResultMode.FULL_ONLY);
+      final ViewCycleExecutionOptions.Builder builder = ViewCycleExecutionOptions.builder().setValuationTime(Instant.now());
+      final ViewCycleExecutionOptions base = builder.setMarketDataSpecification(MarketData.live(SOURCE_1_NAME)).create();
+      final ViewCycleExecutionOptions shocked = builder.setMarketDataSpecification(MarketData.live(SOURCE_2_NAME)).create();
+      // The third provider has different data availability, so the view is recompiled while the earlier cycles may still be in the pipeline
+      final ViewCycleExecutionOptions recompile = builder.setMarketDataSpecification(MarketData.live(SOURCE_3_NAME)).create();
+      final EnumSet<ViewExecutionFlags> flags = ExecutionFlags.none().runAsFastAsPossible().pipelinedCycles().get();
+      client.attachToViewProcess(env.getViewDefinition().getUniqueId(),
+          ExecutionOptions.of(ArbitraryViewCycleExecutionSequence.of(base, shocked, recompile), flags));
+      resultListener.assertViewDefinitionCompiled(TIMEOUT);
+      // Both cycles against the first compilation must be delivered before the new compilation
+      for (final double expected : new double[] {1d, 3d }) {
+        resultListener.getCycleStarted(TIMEOUT);
+        Object call = resultListener.expectNextCall(TIMEOUT);
+        while (call instanceof CycleFragmentCompletedCall) {
+          call = resultListener.expectNextCall(TIMEOUT);
+        }
+        assertEquals(CycleCompletedCall.class, call.getClass());
+        final Map<String, Object> resultValues = extractResults(((CycleCompletedCall) call).getFullResult());
+        assertEquals(expected, resultValues.get(ViewProcessorTestEnvironment.getPrimitive1().getValueName()));
+      }
+      assertEquals(ViewDefinitionCompiledCall.class, resultListener.expectNextCall(TIMEOUT).getClass());
+      resultListener.getCycleStarted(TIMEOUT);
+      Object call = resultListener.expectNextCall(TIMEOUT);
+      while (call instanceof CycleFragmentCompletedCall) {
+        call = resultListener.expectNextCall(TIMEOUT);
+      }
+      assertEquals(CycleCompletedCall.class, call.getClass());
+      resultListener.assertProcessCompleted(TIMEOUT);
+    } finally {
+      TestLifecycle.end();
+    }
+  }
+
   private void assertThreadReachesState(final BorrowedThread recalcThread, final Thread.State state) throws InterruptedException {
     final long startTime = System.currentTimeMillis();
     while (recalcThread.getState() != state) {
@@ -408,8 +718,12 @@ public class SingleThreadViewProcessWorkerTest {
   }
 
   private Map<String, Object> extractResults(final ViewComputationResultModel result) {
+    return extractResults(result, ViewProcessorTestEnvironment.getPrimitiveTarget());
+  }
+
+  private Map<String, Object> extractResults(final ViewComputationResultModel result, final ComputationTargetSpecification target) {
     final Map<String, Object> resultValues = new HashMap<>();
-    final ViewTargetResultModel targetResult = result.getTargetResult(ViewProcessorTestEnvironment.getPrimitiveTarget());
+    final ViewTargetResultModel targetResult = result.getTargetResult(target);
     for (final ComputedValue computedValue : targetResult.getAllValues(ViewProcessorTestEnvironment.TEST_CALC_CONFIG_NAME)) {
       resultValues.put(computedValue.getSpecification().getValueName(), computedValue.getValue());
     }
@@ -0,0 +1,211 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.view.worker.cache;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.mockito.Mockito;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.threeten.bp.Instant;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.core.position.Portfolio;
+import com.opengamma.core.position.impl.SimplePortfolio;
+import com.opengamma.engine.ComputationTarget;
+import com.opengamma.engine.ComputationTargetResolver;
+import com.opengamma.engine.ComputationTargetSpecification;
+import com.opengamma.engine.depgraph.DependencyGraph;
+import com.opengamma.engine.depgraph.builder.TestDependencyGraphBuilder;
+import com.opengamma.engine.depgraph.builder.TestDependencyGraphBuilder.NodeBuilder;
+import com.opengamma.engine.function.CompiledFunctionService;
+import com.opengamma.engine.function.FunctionCompilationContext;
+import com.opengamma.engine.function.FunctionDefinition;
+import com.opengamma.engine.function.FunctionRepository;
+import com.opengamma.engine.function.InMemoryFunctionRepository;
+import com.opengamma.engine.function.config.ParameterizedFunctionConfiguration;
+import com.opengamma.engine.target.ComputationTargetReference;
+import com.opengamma.engine.target.ComputationTargetRequirement;
+import com.opengamma.engine.target.ComputationTargetType;
+import com.opengamma.engine.test.MockFunction;
+import com.opengamma.engine.view.ViewCalculationConfiguration;
+import com.opengamma.engine.view.ViewDefinition;
+import com.opengamma.engine.view.compilation.CompiledViewCalculationConfiguration;
+import com.opengamma.engine.view.compilation.CompiledViewCalculationConfigurationImpl;
+import com.opengamma.engine.view.compilation.CompiledViewDefinitionWithGraphs;
+import com.opengamma.engine.view.compilation.CompiledViewDefinitionWithGraphsImpl;
+import com.opengamma.id.ExternalId;
+import com.opengamma.id.UniqueId;
+import com.opengamma.id.VersionCorrection;
+import com.opengamma.util.test.TestGroup;
+
+/**
+ * Tests the {@link FileViewExecutionCache} class.
+ */
+@Test(groups = TestGroup.UNIT)
+public class FileViewExecutionCacheTest {
+
+  private static final ViewExecutionCacheKey KEY = new ViewExecutionCacheKey(UniqueId.of("Key", "1"), "Foo", "No-op");
+
+  private final Instant _now = Instant.now();
+  private File _directory;
+
+  @BeforeMethod
+  public void setUp() {
+    _directory = new File(System.getProperty("java.io.tmpdir"), "FileViewExecutionCacheTest-" + System.nanoTime());
+  }
+
+  @AfterMethod
+  public void tearDown() throws Exception {
+    FileUtils.deleteDirectory(_directory);
+  }
+
+  private Portfolio createPortfolio() {
+    return new SimplePortfolio(UniqueId.of("Portfolio", "0", "V"), "Portfolio");
+  }
+
+  private ViewDefinition createViewDefinition(final String version) {
+    final ViewDefinition viewDefinition = new ViewDefinition("TestView", UniqueId.of("Portfolio", "0"), "TestUser");
+    viewDefinition.setUniqueId(UniqueId.of("View", "0", version));
+    return viewDefinition;
+  }
+
+  private DependencyGraph createDependencyGraph() {
+    final TestDependencyGraphBuilder gb = new TestDependencyGraphBuilder("Default");
+    final NodeBuilder n1 = gb.addNode("Foo", ComputationTargetSpecification.NULL);
+    n1.addTerminalOutput("Foo");
+    final NodeBuilder n2 = gb.addNode("Bar", ComputationTargetSpecification.NULL);
+    n1.addInput(n2.addOutput("Bar"));
+    return gb.buildGraph();
+  }
+
+  private CompiledViewDefinitionWithGraphs createCompiledViewDefinitionWithGraphs() {
+    final ViewDefinition viewDefinition = createViewDefinition("V");
+    viewDefinition.addViewCalculationConfiguration(new ViewCalculationConfiguration(viewDefinition, "Default"));
+    final DependencyGraph graph = createDependencyGraph();
+    final Collection<CompiledViewCalculationConfiguration> calcConfigs =
+        Collections.<CompiledViewCalculationConfiguration>singleton(CompiledViewCalculationConfigurationImpl.of(graph));
+    final Map<ComputationTargetReference, UniqueId> resolutions =
+        ImmutableMap.<ComputationTargetReference, UniqueId>of(new ComputationTargetRequirement(ComputationTargetType.SECURITY,
+            ExternalId.of("Security", "Foo")), UniqueId.of("Sec", "0"));
+    return new CompiledViewDefinitionWithGraphsImpl(VersionCorrection.of(_now, _now), "Test", viewDefinition, Collections.singleton(graph),
+        resolutions, createPortfolio(), 1L, calcConfigs, _now, null);
+  }
+
+  private CompiledFunctionService createFunctions(final long functionInitId, final String viewVersion) {
+    final FunctionRepository repository = Mockito.mock(FunctionRepository.class);
+    Mockito.when(repository.getAllFunctions()).thenReturn(Collections.<FunctionDefinition>emptySet());
+    return createFunctions(functionInitId, viewVersion, repository);
+  }
+
+  private CompiledFunctionService createFunctions(final long functionInitId, final String viewVersion, final FunctionRepository repository) {
+    final ComputationTargetResolver targetResolver = Mockito.mock(ComputationTargetResolver.class);
+    Mockito.when(targetResolver.resolve(new ComputationTargetSpecification(ComputationTargetType.PORTFOLIO,
+        UniqueId.of("Portfolio", "0", "V")), VersionCorrection.of(_now, _now)))
+        .thenReturn(new ComputationTarget(ComputationTargetType.PORTFOLIO, createPortfolio()));
+    Mockito.when(targetResolver.resolve(new ComputationTargetSpecification(ComputationTargetType.of(ViewDefinition.class),
+        UniqueId.of("View", "0", "V")), VersionCorrection.LATEST))
+        .thenReturn(new ComputationTarget(ComputationTargetType.of(ViewDefinition.class), createViewDefinition(viewVersion)));
+    final FunctionCompilationContext context = new FunctionCompilationContext();
+    context.setRawComputationTargetResolver(targetResolver);
+    context.setFunctionInitId(functionInitId);
+    final CompiledFunctionService cfs = Mockito.mock(CompiledFunctionService.class);
+    Mockito.when(cfs.getFunctionCompilationContext()).thenReturn(context);
+    Mockito.when(cfs.getFunctionRepository()).thenReturn(repository);
+    return cfs;
+  }
+
+  public void testCaching() {
+    final FileViewExecutionCache cache = new FileViewExecutionCache(_directory, createFunctions(1L, "V"));
+    final CompiledViewDefinitionWithGraphs object = createCompiledViewDefinitionWithGraphs();
+    // Miss
+    assertNull(cache.getCompiledViewDefinitionWithGraphs(KEY));
+    // Store
+    cache.setCompiledViewDefinitionWithGraphs(KEY, object);
+    assertTrue(cache.getFile(KEY).exists());
+    // Hit the front cache
+    assertSame(cache.getCompiledViewDefinitionWithGraphs(KEY), object);
+    // Hit the file
+    cache.clearFrontCache();
+    final CompiledViewDefinitionWithGraphs cachedObject = cache.getCompiledViewDefinitionWithGraphs(KEY);
+    assertNotNull(cachedObject);
+    assertNotSame(cachedObject, object);
+    assertSame(cache.getCompiledViewDefinitionWithGraphs(KEY), cachedObject);
+    // Clear
+    cache.clear();
+    assertFalse(cache.getFile(KEY).exists());
+    assertNull(cache.getCompiledViewDefinitionWithGraphs(KEY));
+  }
+
+  public void testRestart() {
+    final CompiledViewDefinitionWithGraphs object = createCompiledViewDefinitionWithGraphs();
+    new FileViewExecutionCache(_directory, createFunctions(1L, "V")).setCompiledViewDefinitionWithGraphs(KEY, object);
+    final FileViewExecutionCache cache = new FileViewExecutionCache(_directory, createFunctions(2L, "V"));
+    final CompiledViewDefinitionWithGraphs newObject = cache.getCompiledViewDefinitionWithGraphs(KEY);
+    assertNotNull(newObject);
+    assertEquals(((CompiledViewDefinitionWithGraphsImpl) newObject).getFunctionInitId(), 2L);
+    assertEquals(newObject.getCompilationIdentifier(), object.getCompilationIdentifier());
+    assertEquals(newObject.getCompiledCalculationConfigurations(), object.getCompiledCalculationConfigurations());
+    assertEquals(newObject.getComputationTargets(), object.getComputationTargets());
+    assertEquals(newObject.getMarketDataRequirements(), object.getMarketDataRequirements());
+    assertEquals(newObject.getPortfolio(), object.getPortfolio());
+    assertEquals(newObject.getResolvedIdentifiers(), object.getResolvedIdentifiers());
+    assertEquals(newObject.getResolverVersionCorrection(), object.getResolverVersionCorrection());
+    assertEquals(newObject.getValidFrom(), object.getValidFrom());
+    assertEquals(newObject.getValidTo(), object.getValidTo());
+  }
+
+  public void testFunctionRepositoryChanged() {
+    new FileViewExecutionCache(_directory, createFunctions(1L, "V")).setCompiledViewDefinitionWithGraphs(KEY, createCompiledViewDefinitionWithGraphs());
+    final FileViewExecutionCache cache = new FileViewExecutionCache(_directory, createFunctions(2L, "V")) {
+      @Override
+      protected String getRepositoryVersion() {
+        return "Changed";
+      }
+    };
+    assertNull(cache.getCompiledViewDefinitionWithGraphs(KEY));
+    assertFalse(cache.getFile(KEY).exists());
+  }
+
+  private static FunctionRepository createFunctionRepository(final String parameter) {
+    final InMemoryFunctionRepository repository = new InMemoryFunctionRepository();
+    repository.addFunction(new MockFunction("A", ComputationTarget.NULL),
+        new ParameterizedFunctionConfiguration(MockFunction.class.getName(), Collections.singleton(parameter)));
+    return repository;
+  }
+
+  public void testFunctionParametersChanged() {
+    new FileViewExecutionCache(_directory, createFunctions(1L, "V", createFunctionRepository("1"))).setCompiledViewDefinitionWithGraphs(KEY,
+        createCompiledViewDefinitionWithGraphs());
+    // The same functions, constructed from the same configuration, can use the stored compilation
+    assertNotNull(new FileViewExecutionCache(_directory, createFunctions(2L, "V", createFunctionRepository("1"))).getCompiledViewDefinitionWithGraphs(KEY));
+    // The same functions constructed with different parameters can't
+    final FileViewExecutionCache cache = new FileViewExecutionCache(_directory, createFunctions(3L, "V", createFunctionRepository("2")));
+    assertNull(cache.getCompiledViewDefinitionWithGraphs(KEY));
+    assertFalse(cache.getFile(KEY).exists());
+  }
+
+  public void testViewDefinitionChanged() {
+    new FileViewExecutionCache(_directory, createFunctions(1L, "V")).setCompiledViewDefinitionWithGraphs(KEY, createCompiledViewDefinitionWithGraphs());
+    final FileViewExecutionCache cache = new FileViewExecutionCache(_directory, createFunctions(2L, "V2"));
+    assertNull(cache.getCompiledViewDefinitionWithGraphs(KEY));
+    assertFalse(cache.getFile(KEY).exists());
+  }
+
+}
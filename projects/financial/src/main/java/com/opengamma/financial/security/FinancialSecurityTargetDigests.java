@@ -180,385 +180,385 @@ public class FinancialSecurityTargetDigests extends SecurityTypeTargetDigests im
     return _cdsSecurity.get(security.getCurrency());
   }
 
-  private final Digests _standardVanillaCDSSecurity = new Digests("Security");
+  private final Digests _standardVanillaCDSSecurity = new Digests("StandardVanillaCDSSecurity");
 
   @Override
   public Object visitStandardVanillaCDSSecurity(final StandardVanillaCDSSecurity security) {
     return _standardVanillaCDSSecurity.get(security.getNotional().getCurrency());
   }
 
-  private final Digests _standardFixedRecoveryCDSSecurity = new Digests("Security");
+  private final Digests _standardFixedRecoveryCDSSecurity = new Digests("StandardFixedRecoveryCDSSecurity");
 
   @Override
   public Object visitStandardFixedRecoveryCDSSecurity(final StandardFixedRecoveryCDSSecurity security) {
     return _standardFixedRecoveryCDSSecurity.get(security.getNotional().getCurrency());
   }
 
-  private final Digests _standardRecoveryLockCDSSecurity = new Digests("Security");
+  private final Digests _standardRecoveryLockCDSSecurity = new Digests("StandardRecoveryLockCDSSecurity");
 
   @Override
   public Object visitStandardRecoveryLockCDSSecurity(final StandardRecoveryLockCDSSecurity security) {
     return _standardRecoveryLockCDSSecurity.get(security.getNotional().getCurrency());
   }
 
-  private final Digests _legacyVanillaCDSSecurity = new Digests("Security");
+  private final Digests _legacyVanillaCDSSecurity = new Digests("LegacyVanillaCDSSecurity");
 
   @Override
   public Object visitLegacyVanillaCDSSecurity(final LegacyVanillaCDSSecurity security) {
     return _legacyVanillaCDSSecurity.get(security.getNotional().getCurrency());
   }
 
-  private final Digests _legacyFixedRecoveryCDSSecurity = new Digests("Security");
+  private final Digests _legacyFixedRecoveryCDSSecurity = new Digests("LegacyFixedRecoveryCDSSecurity");
 
   @Override
   public Object visitLegacyFixedRecoveryCDSSecurity(final LegacyFixedRecoveryCDSSecurity security) {
     return _legacyFixedRecoveryCDSSecurity.get(security.getNotional().getCurrency());
   }
 
-  private final Digests _legacyRecoveryLockCDSSecurity = new Digests("Security");
+  private final Digests _legacyRecoveryLockCDSSecurity = new Digests("LegacyRecoveryLockCDSSecurity");
 
   @Override
   public Object visitLegacyRecoveryLockCDSSecurity(final LegacyRecoveryLockCDSSecurity security) {
     return _legacyRecoveryLockCDSSecurity.get(security.getNotional().getCurrency());
   }
 
-  private final Digests _creditDefaultSwapIndexDefinitionSecurity = new Digests("Security");
+  private final Digests _creditDefaultSwapIndexDefinitionSecurity = new Digests("CreditDefaultSwapIndexDefinitionSecurity");
 
   @Override
   public Object visitCreditDefaultSwapIndexDefinitionSecurity(final CreditDefaultSwapIndexDefinitionSecurity security) {
     return _creditDefaultSwapIndexDefinitionSecurity.get(security.getCurrency());
   }
 
-  private final Digests _creditDefaultSwapIndexSecurity = new Digests("Security");
+  private final Digests _creditDefaultSwapIndexSecurity = new Digests("CreditDefaultSwapIndexSecurity");
 
   @Override
   public Object visitCreditDefaultSwapIndexSecurity(final CreditDefaultSwapIndexSecurity security) {
     return _creditDefaultSwapIndexSecurity.get(security.getNotional().getCurrency());
   }
 
-  private final Digests _creditDefaultSwapOptionSecurity = new Digests("Security");
+  private final Digests _creditDefaultSwapOptionSecurity = new Digests("CreditDefaultSwapOptionSecurity");
 
   @Override
   public Object visitCreditDefaultSwapOptionSecurity(final CreditDefaultSwapOptionSecurity security) {
     return _creditDefaultSwapOptionSecurity.get(security.getCurrency());
   }
 
-  private final Digests _agricultureFutureSecurity = new Digests("Security");
+  private final Digests _agricultureFutureSecurity = new Digests("AgricultureFutureSecurity");
 
   @Override
   public Object visitAgricultureFutureSecurity(final AgricultureFutureSecurity security) {
     return _agricultureFutureSecurity.get(security.getCurrency());
   }
 
-  private final Digests _bondFutureSecurity = new Digests("Security");
+  private final Digests _bondFutureSecurity = new Digests("BondFutureSecurity");
 
   @Override
   public Object visitBondFutureSecurity(final BondFutureSecurity security) {
     return _bondFutureSecurity.get(security.getCurrency());
   }
 
-  private final Digests _equityIndexDividendFutureSecurity = new Digests("Security");
+  private final Digests _equityIndexDividendFutureSecurity = new Digests("EquityIndexDividendFutureSecurity");
 
   @Override
   public Object visitEquityIndexDividendFutureSecurity(final EquityIndexDividendFutureSecurity security) {
     return _equityIndexDividendFutureSecurity.get(security.getCurrency());
   }
 
-  private final Digests _fxFutureSecurity = new Digests("Security");
+  private final Digests _fxFutureSecurity = new Digests("FXFutureSecurity");
 
   @Override
   public Object visitFXFutureSecurity(final FXFutureSecurity security) {
     return _fxFutureSecurity.get(security.getCurrency());
   }
 
-  private final Digests _stockFutureSecurity = new Digests("Security");
+  private final Digests _stockFutureSecurity = new Digests("StockFutureSecurity");
 
   @Override
   public Object visitStockFutureSecurity(final StockFutureSecurity security) {
     return _stockFutureSecurity.get(security.getCurrency());
   }
 
-  private final Digests _equityFutureSecurity = new Digests("Security");
+  private final Digests _equityFutureSecurity = new Digests("EquityFutureSecurity");
 
   @Override
   public Object visitEquityFutureSecurity(final EquityFutureSecurity security) {
     return _equityFutureSecurity.get(security.getCurrency());
   }
 
-  private final Digests _energyFutureSecurity = new Digests("Security");
+  private final Digests _energyFutureSecurity = new Digests("EnergyFutureSecurity");
 
   @Override
   public Object visitEnergyFutureSecurity(final EnergyFutureSecurity security) {
     return _energyFutureSecurity.get(security.getCurrency());
   }
 
-  private final Digests _indexFutureSecurity = new Digests("Security");
+  private final Digests _indexFutureSecurity = new Digests("IndexFutureSecurity");
 
   @Override
   public Object visitIndexFutureSecurity(final IndexFutureSecurity security) {
     return _indexFutureSecurity.get(security.getCurrency());
   }
 
-  private final Digests _interestRateFutureSecurity = new Digests("Security");
+  private final Digests _interestRateFutureSecurity = new Digests("InterestRateFutureSecurity");
 
   @Override
   public Object visitInterestRateFutureSecurity(final InterestRateFutureSecurity security) {
     return _interestRateFutureSecurity.get(security.getCurrency());
   }
 
-  private final Digests _federalFundsFutureSecurity = new Digests("Security");
+  private final Digests _federalFundsFutureSecurity = new Digests("FederalFundsFutureSecurity");
 
   @Override
   public Object visitFederalFundsFutureSecurity(final FederalFundsFutureSecurity security) {
     return _federalFundsFutureSecurity.get(security.getCurrency());
   }
 
-  private final Digests _metalFutureSecurity = new Digests("Security");
+  private final Digests _metalFutureSecurity = new Digests("MetalFutureSecurity");
 
   @Override
   public Object visitMetalFutureSecurity(final MetalFutureSecurity security) {
     return _metalFutureSecurity.get(security.getCurrency());
   }
 
-  private final Digests _capFloorCMSSpreadSecurity = new Digests("Security");
+  private final Digests _capFloorCMSSpreadSecurity = new Digests("CapFloorCMSSpreadSecurity");
 
   @Override
   public Object visitCapFloorCMSSpreadSecurity(final CapFloorCMSSpreadSecurity security) {
     return _capFloorCMSSpreadSecurity.get(security.getCurrency());
   }
 
-  private final Digests _capFloorSecurity = new Digests("Security");
+  private final Digests _capFloorSecurity = new Digests("CapFloorSecurity");
 
   @Override
   public Object visitCapFloorSecurity(final CapFloorSecurity security) {
     return _capFloorSecurity.get(security.getCurrency());
   }
 
-  private final Digests _cashBalanceSecurity = new Digests("Security");
+  private final Digests _cashBalanceSecurity = new Digests("CashBalanceSecurity");
 
   @Override
   public Object visitCashBalanceSecurity(final CashBalanceSecurity security) {
     return _cashBalanceSecurity.get(security.getCurrency());
   }
 
-  private final Digests _cashSecurity = new Digests("Security");
+  private final Digests _cashSecurity = new Digests("CashSecurity");
 
   @Override
   public Object visitCashSecurity(final CashSecurity security) {
     return _cashSecurity.get(security.getCurrency());
   }
 
-  private final Digests _cashFlowSecurity = new Digests("Security");
+  private final Digests _cashFlowSecurity = new Digests("CashFlowSecurity");
 
   @Override
   public Object visitCashFlowSecurity(final CashFlowSecurity security) {
     return _cashFlowSecurity.get(security.getCurrency());
   }
 
-  private final Digests _commodityFutureOptionSecurity = new Digests("Security");
+  private final Digests _commodityFutureOptionSecurity = new Digests("CommodityFutureOptionSecurity");
 
   @Override
   public Object visitCommodityFutureOptionSecurity(final CommodityFutureOptionSecurity security) {
     return _commodityFutureOptionSecurity.get(security.getCurrency());
   }
 
-  private final Digests _fxFutureOptionSecurity = new Digests("Security");
+  private final Digests _fxFutureOptionSecurity = new Digests("FxFutureOptionSecurity");
 
   @Override
   public Object visitFxFutureOptionSecurity(final FxFutureOptionSecurity security) {
     return _fxFutureOptionSecurity.get(security.getCurrency());
   }
 
-  private final Digests _bondFutureOptionSecurity = new Digests("Security");
+  private final Digests _bondFutureOptionSecurity = new Digests("BondFutureOptionSecurity");
 
   @Override
   public Object visitBondFutureOptionSecurity(final BondFutureOptionSecurity security) {
     return _bondFutureOptionSecurity.get(security.getCurrency());
   }
 
-  private final Digests _continuousZeroDepositSecurity = new Digests("Security");
+  private final Digests _continuousZeroDepositSecurity = new Digests("ContinuousZeroDepositSecurity");
 
   @Override
   public Object visitContinuousZeroDepositSecurity(final ContinuousZeroDepositSecurity security) {
     return _continuousZeroDepositSecurity.get(security.getCurrency());
   }
 
-  private final Digests _corporateBondSecurity = new Digests("Security");
+  private final Digests _corporateBondSecurity = new Digests("CorporateBondSecurity");
 
   @Override
   public Object visitCorporateBondSecurity(final CorporateBondSecurity security) {
     return _corporateBondSecurity.get(security.getCurrency());
   }
 
-  private final Digests _equityBarrierOptionSecurity = new Digests("Security");
+  private final Digests _equityBarrierOptionSecurity = new Digests("EquityBarrierOptionSecurity");
 
   @Override
   public Object visitEquityBarrierOptionSecurity(final EquityBarrierOptionSecurity security) {
     return _equityBarrierOptionSecurity.get(security.getCurrency());
   }
 
-  private final Digests _equityIndexDividendFutureOptionSecurity = new Digests("Security");
+  private final Digests _equityIndexDividendFutureOptionSecurity = new Digests("EquityIndexDividendFutureOptionSecurity");
 
   @Override
   public Object visitEquityIndexDividendFutureOptionSecurity(final EquityIndexDividendFutureOptionSecurity security) {
     return _equityIndexDividendFutureOptionSecurity.get(security.getCurrency());
   }
 
-  private final Digests _equityIndexFutureOptionSecurity = new Digests("Security");
+  private final Digests _equityIndexFutureOptionSecurity = new Digests("EquityIndexFutureOptionSecurity");
 
   @Override
   public Object visitEquityIndexFutureOptionSecurity(final EquityIndexFutureOptionSecurity security) {
     return _equityIndexFutureOptionSecurity.get(security.getCurrency());
   }
 
-  private final Digests _equityIndexOptionSecurity = new Digests("Security");
+  private final Digests _equityIndexOptionSecurity = new Digests("EquityIndexOptionSecurity");
 
   @Override
   public Object visitEquityIndexOptionSecurity(final EquityIndexOptionSecurity security) {
     return _equityIndexOptionSecurity.get(security.getCurrency());
   }
 
-  private final Digests _equityOptionSecurity = new Digests("Security");
+  private final Digests _equityOptionSecurity = new Digests("EquityOptionSecurity");
 
   @Override
   public Object visitEquityOptionSecurity(final EquityOptionSecurity security) {
     return _equityOptionSecurity.get(security.getCurrency());
   }
 
-  private final Digests _equitySecurity = new Digests("Security");
+  private final Digests _equitySecurity = new Digests("EquitySecurity");
 
   @Override
   public Object visitEquitySecurity(final EquitySecurity security) {
     return _equitySecurity.get(security.getCurrency());
   }
 
-  private final Digests _equityVarianceSwapSecurity = new Digests("Security");
+  private final Digests _equityVarianceSwapSecurity = new Digests("EquityVarianceSwapSecurity");
 
   @Override
   public Object visitEquityVarianceSwapSecurity(final EquityVarianceSwapSecurity security) {
     return _equityVarianceSwapSecurity.get(security.getCurrency());
   }
 
-  private final Digests _fraSecurity = new Digests("Security");
+  private final Digests _fraSecurity = new Digests("FRASecurity");
 
   @Override
   public Object visitFRASecurity(final FRASecurity security) {
     return _fraSecurity.get(security.getCurrency());
   }
 
-  private final Digests _forwardRateAgreementSecurity = new Digests("Security");
+  private final Digests _forwardRateAgreementSecurity = new Digests("ForwardRateAgreementSecurity");
 
   @Override
   public Object visitForwardRateAgreementSecurity(final ForwardRateAgreementSecurity security) {
     return _forwardRateAgreementSecurity.get(security.getCurrency());
   }
 
-  private final Digests _fxBarrierOptionSecurity = new Digests("Security");
+  private final Digests _fxBarrierOptionSecurity = new Digests("FXBarrierOptionSecurity");
 
   @Override
   public Object visitFXBarrierOptionSecurity(final FXBarrierOptionSecurity security) {
     return _fxBarrierOptionSecurity.get(pair(security.getPutCurrency(), security.getCallCurrency()));
   }
 
-  private final Digests _fxDigitalSecurity = new Digests("Security");
+  private final Digests _fxDigitalSecurity = new Digests("FXDigitalOptionSecurity");
 
   @Override
   public Object visitFXDigitalOptionSecurity(final FXDigitalOptionSecurity security) {
     return _fxDigitalSecurity.get(pair(security.getPutCurrency(), security.getCallCurrency()));
   }
 
-  private final Digests _fxForwardSecurity = new Digests("Security");
+  private final Digests _fxForwardSecurity = new Digests("FXForwardSecurity");
 
   @Override
   public Object visitFXForwardSecurity(final FXForwardSecurity security) {
     return _fxForwardSecurity.get(pair(security.getPayCurrency(), security.getReceiveCurrency()));
   }
 
-  private final Digests _fxOptionSecurity = new Digests("Security");
+  private final Digests _fxOptionSecurity = new Digests("FXOptionSecurity");
 
   @Override
   public Object visitFXOptionSecurity(final FXOptionSecurity security) {
     return _fxOptionSecurity.get(pair(security.getPutCurrency(), security.getCallCurrency()));
   }
 
-  private final Digests _forwardSwapSecurity = new Digests("Security");
+  private final Digests _forwardSwapSecurity = new Digests("ForwardSwapSecurity");
 
   @Override
   public Object visitForwardSwapSecurity(final ForwardSwapSecurity security) {
     return _forwardSwapSecurity.get(pair(security.getPayLeg().getNotional().accept(this), security.getReceiveLeg().getNotional().accept(this)));
   }
 
-  private final Digests _billSecurity = new Digests("Security");
+  private final Digests _billSecurity = new Digests("BillSecurity");
 
   @Override
   public Object visitBillSecurity(final BillSecurity security) {
     return _billSecurity.get(security.getCurrency());
   }
 
-  private final Digests _governmentBondSecurity = new Digests("Security");
+  private final Digests _governmentBondSecurity = new Digests("GovernmentBondSecurity");
 
   @Override
   public Object visitGovernmentBondSecurity(final GovernmentBondSecurity security) {
     return _governmentBondSecurity.get(security.getCurrency());
   }
 
-  private final Digests _irFutureOptionSecurity = new Digests("Security");
+  private final Digests _irFutureOptionSecurity = new Digests("IRFutureOptionSecurity");
 
   @Override
   public Object visitIRFutureOptionSecurity(final IRFutureOptionSecurity security) {
     return _irFutureOptionSecurity.get(security.getCurrency());
   }
 
-  private final Digests _municipalBondSecurity = new Digests("Security");
+  private final Digests _municipalBondSecurity = new Digests("MunicipalBondSecurity");
 
   @Override
   public Object visitMunicipalBondSecurity(final MunicipalBondSecurity security) {
     return _municipalBondSecurity.get(security.getCurrency());
   }
 
-  private final Digests _inflationBondSecurity = new Digests("Security");
+  private final Digests _inflationBondSecurity = new Digests("InflationBondSecurity");
 
   @Override
   public Object visitInflationBondSecurity(final InflationBondSecurity security) {
     return _inflationBondSecurity.get(security.getCurrency());
   }
 
-  private final Digests _nonDeliverableFXDigitalOptionSecurity = new Digests("Security");
+  private final Digests _nonDeliverableFXDigitalOptionSecurity = new Digests("NonDeliverableFXDigitalOptionSecurity");
 
   @Override
   public Object visitNonDeliverableFXDigitalOptionSecurity(final NonDeliverableFXDigitalOptionSecurity security) {
     return _nonDeliverableFXDigitalOptionSecurity.get(pair(security.getPutCurrency(), security.getCallCurrency()));
   }
 
-  private final Digests _nonDeliverableFXForwardSecurity = new Digests("Security");
+  private final Digests _nonDeliverableFXForwardSecurity = new Digests("NonDeliverableFXForwardSecurity");
 
   @Override
   public Object visitNonDeliverableFXForwardSecurity(final NonDeliverableFXForwardSecurity security) {
     return _nonDeliverableFXForwardSecurity.get(pair(security.getPayCurrency(), security.getReceiveCurrency()));
   }
 
-  private final Digests _nonDeliverableFXOptionSecurity = new Digests("Security");
+  private final Digests _nonDeliverableFXOptionSecurity = new Digests("NonDeliverableFXOptionSecurity");
 
   @Override
   public Object visitNonDeliverableFXOptionSecurity(final NonDeliverableFXOptionSecurity security) {
     return _nonDeliverableFXOptionSecurity.get(pair(security.getPutCurrency(), security.getCallCurrency()));
   }
 
-  private final Digests _periodicZeroDepositSecurity = new Digests("Security");
+  private final Digests _periodicZeroDepositSecurity = new Digests("PeriodicZeroDepositSecurity");
 
   @Override
   public Object visitPeriodicZeroDepositSecurity(final PeriodicZeroDepositSecurity security) {
     return _periodicZeroDepositSecurity.get(security.getCurrency());
   }
 
-  private final Digests _simpleZeroDepositSecurity = new Digests("Security");
+  private final Digests _simpleZeroDepositSecurity = new Digests("SimpleZeroDepositSecurity");
 
   @Override
   public Object visitSimpleZeroDepositSecurity(final SimpleZeroDepositSecurity security) {
     return _simpleZeroDepositSecurity.get(security.getCurrency());
   }
 
-  private final Digests _swapSecurity = new Digests("Security");
+  private final Digests _swapSecurity = new Digests("SwapSecurity");
 
   @Override
   public Object visitSwapSecurity(final SwapSecurity security) {
@@ -570,63 +570,63 @@ public class FinancialSecurityTargetDigests extends SecurityTypeTargetDigests im
     return _swapSecurity.get(pair(security.getPayLeg().getNotional().accept(this), security.getReceiveLeg().getNotional().accept(this)));
   }
 
-  private final Digests _swaptionSecurity = new Digests("Security");
+  private final Digests _swaptionSecurity = new Digests("SwaptionSecurity");
 
   @Override
   public Object visitSwaptionSecurity(final SwaptionSecurity security) {
     return _swaptionSecurity.get(security.getCurrency());
   }
 
-  private final Digests _fxVolatilitySwapSecurity = new Digests("Security");
+  private final Digests _fxVolatilitySwapSecurity = new Digests("FXVolatilitySwapSecurity");
 
   @Override
   public Object visitFXVolatilitySwapSecurity(final FXVolatilitySwapSecurity security) {
     return _fxVolatilitySwapSecurity.get(security.getCurrency());
   }
 
-  private final Digests _floatingRateNoteSecurity = new Digests("Security");
+  private final Digests _floatingRateNoteSecurity = new Digests("FloatingRateNoteSecurity");
 
   @Override
   public Object visitFloatingRateNoteSecurity(final FloatingRateNoteSecurity security) {
     return _floatingRateNoteSecurity.get(security.getCurrency());
   }
 
-  private final Digests _equityTRSSecurity = new Digests("Security");
+  private final Digests _equityTRSSecurity = new Digests("EquityTotalReturnSwapSecurity");
 
   @Override
   public Object visitEquityTotalReturnSwapSecurity(final EquityTotalReturnSwapSecurity security) {
     return _equityTRSSecurity.get(pair(security.getNotionalCurrency(), security.getFundingLeg().getNotional().accept(this)));
   }
 
-  private final Digests _bondTRSSecurity = new Digests("Security");
+  private final Digests _bondTRSSecurity = new Digests("BondTotalReturnSwapSecurity");
 
   @Override
   public Object visitBondTotalReturnSwapSecurity(final BondTotalReturnSwapSecurity security) {
     return _bondTRSSecurity.get(pair(security.getNotionalCurrency(), security.getFundingLeg().getNotional().accept(this)));
   }
 
-  private final Digests _standardCDSSecurity = new Digests("Security");
+  private final Digests _standardCDSSecurity = new Digests("StandardCDSSecurity");
 
   @Override
   public Object visitStandardCDSSecurity(final StandardCDSSecurity security) {
     return _standardCDSSecurity.get(security.getNotional().accept(this));
   }
 
-  private final Digests _legacyCDSSecurity = new Digests("Security");
+  private final Digests _legacyCDSSecurity = new Digests("LegacyCDSSecurity");
 
   @Override
   public Object visitLegacyCDSSecurity(final LegacyCDSSecurity security) {
     return _legacyCDSSecurity.get(security.getNotional().accept(this));
   }
 
-  private final Digests _indexCDSSecurity = new Digests("Security");
+  private final Digests _indexCDSSecurity = new Digests("IndexCDSSecurity");
 
   @Override
   public Object visitIndexCDSSecurity(final IndexCDSSecurity security) {
     return _indexCDSSecurity.get(security.getNotional().accept(this));
   }
 
-  private final Digests _indexCDSDefSecurity = new Digests("Security");
+  private final Digests _indexCDSDefSecurity = new Digests("IndexCDSDefinitionSecurity");
 
   @Override
   public Object visitIndexCDSDefinitionSecurity(final IndexCDSDefinitionSecurity security) {
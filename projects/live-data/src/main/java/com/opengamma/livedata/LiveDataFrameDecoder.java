@@ -0,0 +1,121 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.livedata;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.fudgemsg.FudgeContext;
+import org.fudgemsg.FudgeField;
+import org.fudgemsg.FudgeMsg;
+import org.fudgemsg.MutableFudgeMsg;
+import org.fudgemsg.mapping.FudgeDeserializer;
+import org.fudgemsg.types.IndicatorType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.opengamma.util.ArgumentChecker;
+
+/**
+ * Decodes frames written by a {@link LiveDataFrameEncoder} back into {@link LiveDataValueUpdateBean}s.
+ * <p>
+ * A decoder mirrors the state of one encoder so must be given every frame from that encoder in order. An update that refers to state the decoder
+ * has not seen, for example because frames were lost when the transport was reconnected, is dropped; the encoder resets after a reconnection so
+ * later frames can be decoded again.
+ * <p>
+ * This class is not thread-safe.
+ */
+public class LiveDataFrameDecoder {
+
+  /** Logger. */
+  private static final Logger LOGGER = LoggerFactory.getLogger(LiveDataFrameDecoder.class);
+
+  private final FudgeDeserializer _deserializer;
+  private final FudgeContext _fudgeContext;
+  private final List<LiveDataSpecification> _specifications = new ArrayList<>();
+  private final List<Map<String, FudgeField>> _lastReceived = new ArrayList<>();
+  private final Map<Integer, String> _names = new HashMap<>();
+
+  /**
+   * Creates a decoder.
+   *
+   * @param fudgeContext  the Fudge context, not null
+   */
+  public LiveDataFrameDecoder(final FudgeContext fudgeContext) {
+    ArgumentChecker.notNull(fudgeContext, "fudgeContext");
+    _fudgeContext = fudgeContext;
+    _deserializer = new FudgeDeserializer(fudgeContext);
+  }
+
+  /**
+   * Decodes a frame.
+   *
+   * @param frame  the frame, not null
+   * @return the updates in the order they were encoded, not null
+   */
+  public List<LiveDataValueUpdateBean> decode(final FudgeMsg frame) {
+    ArgumentChecker.notNull(frame, "frame");
+    if (frame.hasField(LiveDataFrameEncoder.RESET_FIELD_NAME)) {
+      _specifications.clear();
+      _lastReceived.clear();
+      _names.clear();
+    }
+    final List<LiveDataValueUpdateBean> updates = new ArrayList<>();
+    for (final FudgeField field : frame.getAllByName(LiveDataFrameEncoder.UPDATE_FIELD_NAME)) {
+      final LiveDataValueUpdateBean update = decode((FudgeMsg) field.getValue());
+      if (update != null) {
+        updates.add(update);
+      }
+    }
+    return updates;
+  }
+
+  private LiveDataValueUpdateBean decode(final FudgeMsg msg) {
+    final FudgeMsg names = msg.getMessage(LiveDataFrameEncoder.NAMES_FIELD_NAME);
+    if (names != null) {
+      for (final FudgeField name : names) {
+        _names.put(name.getOrdinal().intValue(), (String) name.getValue());
+      }
+    }
+    final int id = msg.getInt(LiveDataFrameEncoder.SPECIFICATION_ID_FIELD_NAME);
+    final FudgeMsg specification = msg.getMessage(LiveDataFrameEncoder.SPECIFICATION_FIELD_NAME);
+    if (specification != null) {
+      while (_specifications.size() <= id) {
+        _specifications.add(null);
+        _lastReceived.add(new HashMap<String, FudgeField>());
+      }
+      _specifications.set(id, LiveDataSpecificationFudgeBuilder.fromFudgeMsg(_deserializer, specification));
+      _lastReceived.get(id).clear();
+    } else if (id >= _specifications.size() || _specifications.get(id) == null) {
+      LOGGER.warn("Dropping update for unknown specification {}", id);
+      return null;
+    }
+    final Map<String, FudgeField> lastReceived = _lastReceived.get(id);
+    final MutableFudgeMsg fields = _fudgeContext.newMessage();
+    for (final FudgeField field : msg.getMessage(LiveDataFrameEncoder.FIELDS_FIELD_NAME)) {
+      final String name = field.getName() != null ? field.getName() : _names.get(field.getOrdinal().intValue());
+      if (name == null) {
+        LOGGER.warn("Dropping update for {} with unknown field {}", _specifications.get(id), field.getOrdinal());
+        return null;
+      }
+      if (field.getValue() instanceof IndicatorType) {
+        final FudgeField previous = lastReceived.get(name);
+        if (previous == null) {
+          LOGGER.warn("Dropping update for {} with no previous value for {}", _specifications.get(id), name);
+          return null;
+        }
+        fields.add(name, null, previous.getType(), previous.getValue());
+      } else {
+        fields.add(name, null, field.getType(), field.getValue());
+        lastReceived.put(name, field);
+      }
+    }
+    return new LiveDataValueUpdateBean(msg.getLong(LiveDataFrameEncoder.SEQUENCE_NUMBER_FIELD_NAME), _specifications.get(id), fields);
+  }
+
+}
@@ -0,0 +1,217 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.livedata;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.fudgemsg.FudgeContext;
+import org.fudgemsg.FudgeField;
+import org.fudgemsg.FudgeMsg;
+import org.fudgemsg.MutableFudgeMsg;
+import org.fudgemsg.mapping.FudgeSerializer;
+import org.fudgemsg.types.IndicatorType;
+import org.fudgemsg.wire.types.FudgeWireType;
+
+import com.opengamma.util.ArgumentChecker;
+
+/**
+ * Encodes a batch of {@link LiveDataValueUpdateBean}s into a single frame, for decoding by a {@link LiveDataFrameDecoder}.
+ * <p>
+ * An encoder holds state shared with the decoder at the other end of the transport so that updates after the first for each specification are
+ * small:
+ * <ul>
+ * <li>each specification is sent in full once, and then referred to by an integer identifier;
+ * <li>each field name is sent once, and then referred to by a field ordinal;
+ * <li>a field with the same value as was last sent for the specification is sent as an indicator, with no value.
+ * </ul>
+ * The identifier of a specification {@link #remove(LiveDataSpecification) removed} from the encoder is reused for the next new specification, which
+ * is always sent in full and so replaces the decoder's state for the identifier. The state held at each end is bounded by the number of
+ * specifications in use rather than the number ever sent.
+ * <p>
+ * The first frame, and the first after {@link #reset()}, tells the decoder to discard its state. Indicator values are reserved to mark unchanged
+ * fields and unnamed fields are not sent; neither occurs in normalized updates.
+ * <p>
+ * This class is not thread-safe and the frames it produces must be decoded in the order they are encoded.
+ */
+public class LiveDataFrameEncoder {
+
+  /** Field name. */
+  public static final String PARTITION_FIELD_NAME = "partition";
+  /** Field name. */
+  public static final String RESET_FIELD_NAME = "reset";
+  /** Field name. */
+  public static final String UPDATE_FIELD_NAME = "update";
+  /** Field name. */
+  public static final String SEQUENCE_NUMBER_FIELD_NAME = "seq";
+  /** Field name. */
+  public static final String SPECIFICATION_ID_FIELD_NAME = "id";
+  /** Field name. */
+  public static final String SPECIFICATION_FIELD_NAME = "spec";
+  /** Field name. */
+  public static final String NAMES_FIELD_NAME = "names";
+  /** Field name. */
+  public static final String FIELDS_FIELD_NAME = "fields";
+
+  private final FudgeSerializer _serializer;
+  private final int _partition;
+  private final List<LiveDataValueUpdateBean> _pending = new ArrayList<>();
+  private final Map<LiveDataSpecification, Integer> _specificationIds = new HashMap<>();
+  private final List<Map<String, Object>> _lastSent = new ArrayList<>();
+  private final List<Integer> _freeIds = new ArrayList<>();
+  private final Map<String, Integer> _ordinals = new HashMap<>();
+  private boolean _reset = true;
+
+  /**
+   * Creates an encoder.
+   *
+   * @param fudgeContext  the Fudge context, not null
+   * @param partition  the partition identifier written to each frame so the receiver can keep a decoder for each encoder
+   */
+  public LiveDataFrameEncoder(final FudgeContext fudgeContext, final int partition) {
+    ArgumentChecker.notNull(fudgeContext, "fudgeContext");
+    _serializer = new FudgeSerializer(fudgeContext);
+    _partition = partition;
+  }
+
+  /**
+   * Gets the partition identifier.
+   *
+   * @return the partition identifier
+   */
+  public int getPartition() {
+    return _partition;
+  }
+
+  /**
+   * Adds an update to the next frame.
+   *
+   * @param update  the update, not null
+   */
+  public void add(final LiveDataValueUpdateBean update) {
+    ArgumentChecker.notNull(update, "update");
+    _pending.add(update);
+  }
+
+  /**
+   * Gets the number of updates waiting for the next frame.
+   *
+   * @return the number of updates
+   */
+  public int size() {
+    return _pending.size();
+  }
+
+  /**
+   * Discards the state held for a specification that will not be updated again, for example because it is no longer distributed. Any updates for
+   * it that have not been encoded are dropped.
+   *
+   * @param specification  the specification, not null
+   */
+  public void remove(final LiveDataSpecification specification) {
+    ArgumentChecker.notNull(specification, "specification");
+    final Iterator<LiveDataValueUpdateBean> itr = _pending.iterator();
+    while (itr.hasNext()) {
+      if (specification.equals(itr.next().getSpecification())) {
+        itr.remove();
+      }
+    }
+    final Integer id = _specificationIds.remove(specification);
+    if (id != null) {
+      _lastSent.set(id, null);
+      _freeIds.add(id);
+    }
+  }
+
+  /**
+   * Discards the state shared with the decoder, for example because the transport has been reconnected. Updates that have been added but not yet
+   * encoded are kept and the next frame tells the decoder to discard its state.
+   */
+  public void reset() {
+    _specificationIds.clear();
+    _lastSent.clear();
+    _freeIds.clear();
+    _ordinals.clear();
+    _reset = true;
+  }
+
+  /**
+   * Encodes the updates added since the last frame.
+   *
+   * @return the frame, or null if there are no updates
+   */
+  public FudgeMsg encode() {
+    if (_pending.isEmpty()) {
+      return null;
+    }
+    final MutableFudgeMsg frame = _serializer.newMessage();
+    frame.add(PARTITION_FIELD_NAME, _partition);
+    if (_reset) {
+      frame.add(RESET_FIELD_NAME, null, FudgeWireType.INDICATOR, IndicatorType.INSTANCE);
+      _reset = false;
+    }
+    for (final LiveDataValueUpdateBean update : _pending) {
+      frame.add(UPDATE_FIELD_NAME, encode(update));
+    }
+    _pending.clear();
+    return frame;
+  }
+
+  private FudgeMsg encode(final LiveDataValueUpdateBean update) {
+    final MutableFudgeMsg msg = _serializer.newMessage();
+    msg.add(SEQUENCE_NUMBER_FIELD_NAME, update.getSequenceNumber());
+    Integer id = _specificationIds.get(update.getSpecification());
+    final Map<String, Object> lastSent;
+    if (id == null) {
+      lastSent = new HashMap<>();
+      if (_freeIds.isEmpty()) {
+        id = _lastSent.size();
+        _lastSent.add(lastSent);
+      } else {
+        id = _freeIds.remove(_freeIds.size() - 1);
+        _lastSent.set(id, lastSent);
+      }
+      _specificationIds.put(update.getSpecification(), id);
+      msg.add(SPECIFICATION_FIELD_NAME, LiveDataSpecificationFudgeBuilder.toFudgeMsg(_serializer, update.getSpecification()));
+    } else {
+      lastSent = _lastSent.get(id);
+    }
+    msg.add(SPECIFICATION_ID_FIELD_NAME, id);
+    MutableFudgeMsg names = null;
+    final MutableFudgeMsg fields = _serializer.newMessage();
+    for (final FudgeField field : update.getFields()) {
+      final String name = field.getName();
+      if (name == null) {
+        continue;
+      }
+      Integer ordinal = _ordinals.get(name);
+      if (ordinal == null && _ordinals.size() <= Short.MAX_VALUE) {
+        // Names beyond the range of a field ordinal are always sent in full
+        ordinal = _ordinals.size();
+        _ordinals.put(name, ordinal);
+        if (names == null) {
+          names = _serializer.newMessage();
+        }
+        names.add(null, ordinal, name);
+      }
+      final Object value = field.getValue();
+      if (value.equals(lastSent.put(name, value))) {
+        fields.add(ordinal != null ? null : name, ordinal, FudgeWireType.INDICATOR, IndicatorType.INSTANCE);
+      } else {
+        fields.add(ordinal != null ? null : name, ordinal, field.getType(), value);
+      }
+    }
+    if (names != null) {
+      msg.add(NAMES_FIELD_NAME, names);
+    }
+    msg.add(FIELDS_FIELD_NAME, fields);
+    return msg;
+  }
+
+}
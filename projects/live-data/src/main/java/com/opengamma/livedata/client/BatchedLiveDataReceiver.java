@@ -0,0 +1,71 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.livedata.client;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.fudgemsg.FudgeContext;
+import org.fudgemsg.FudgeMsg;
+import org.fudgemsg.FudgeMsgEnvelope;
+
+import com.opengamma.livedata.LiveDataFrameDecoder;
+import com.opengamma.livedata.LiveDataFrameEncoder;
+import com.opengamma.livedata.LiveDataValueUpdateBean;
+import com.opengamma.transport.FudgeMessageReceiver;
+import com.opengamma.util.ArgumentChecker;
+
+/**
+ * Receives frames of batched updates written by a {@link com.opengamma.livedata.server.distribution.BatchingSocketSenderFactory} and passes each
+ * update to a {@link DistributedLiveDataClient}.
+ * <p>
+ * A decoder is kept for each partition of the sender. Frames for a partition must be received in the order they were sent, so this should be used
+ * with a socket receiver that dispatches messages on the thread that reads them.
+ */
+public class BatchedLiveDataReceiver implements FudgeMessageReceiver {
+
+  private final DistributedLiveDataClient _client;
+  private final ConcurrentMap<Integer, LiveDataFrameDecoder> _decoders = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a receiver.
+   *
+   * @param client  the client to pass updates to, not null
+   */
+  public BatchedLiveDataReceiver(final DistributedLiveDataClient client) {
+    ArgumentChecker.notNull(client, "client");
+    _client = client;
+  }
+
+  /**
+   * Gets the client updates are passed to.
+   *
+   * @return the client, not null
+   */
+  public DistributedLiveDataClient getClient() {
+    return _client;
+  }
+
+  @Override
+  public void messageReceived(final FudgeContext fudgeContext, final FudgeMsgEnvelope msgEnvelope) {
+    final FudgeMsg frame = msgEnvelope.getMessage();
+    final Integer partition = frame.getInt(LiveDataFrameEncoder.PARTITION_FIELD_NAME);
+    LiveDataFrameDecoder decoder = _decoders.get(partition);
+    if (decoder == null) {
+      decoder = new LiveDataFrameDecoder(fudgeContext);
+      final LiveDataFrameDecoder existing = _decoders.putIfAbsent(partition, decoder);
+      if (existing != null) {
+        decoder = existing;
+      }
+    }
+    synchronized (decoder) {
+      for (final LiveDataValueUpdateBean update : decoder.decode(frame)) {
+        _client.valueUpdate(update);
+      }
+    }
+  }
+
+}
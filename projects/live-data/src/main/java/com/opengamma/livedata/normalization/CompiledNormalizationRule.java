@@ -0,0 +1,386 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.livedata.normalization;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.fudgemsg.FudgeContext;
+import org.fudgemsg.FudgeField;
+import org.fudgemsg.FudgeFieldType;
+import org.fudgemsg.FudgeMsg;
+import org.fudgemsg.MutableFudgeMsg;
+
+import com.opengamma.livedata.server.FieldHistoryStore;
+import com.opengamma.util.fudgemsg.OpenGammaFudgeContext;
+
+/**
+ * A run of consecutive {@link FieldFilter}, {@link FieldNameChange}, {@link UnitChange} and {@link RequiredFieldFilter} rules fused into a single
+ * transformation.
+ * <p>
+ * The field names the rules refer to are mapped to ordinals when the run is compiled. Applying it loads the message into flat per-thread arrays,
+ * looking up each field name once, applies each rule to the arrays in place and then allocates a single output message. Applying the rules one after
+ * the other instead copies or rebuilds the message, and searches it by name, for every rule.
+ * <p>
+ * The result is the same as applying the rules in turn, except that a unit change only applies to numeric values.
+ */
+public final class CompiledNormalizationRule implements NormalizationRule {
+
+  private static final ThreadLocal<Fields> FIELDS = new ThreadLocal<Fields>() {
+    @Override
+    protected Fields initialValue() {
+      return new Fields();
+    }
+  };
+
+  private final FudgeContext _context = OpenGammaFudgeContext.getInstance();
+  private final Map<String, Integer> _ordinals = new HashMap<>();
+  private final List<String> _names = new ArrayList<>();
+  private final Step[] _steps;
+
+  private CompiledNormalizationRule(final List<NormalizationRule> rules) {
+    _steps = new Step[rules.size()];
+    for (int i = 0; i < _steps.length; i++) {
+      final NormalizationRule rule = rules.get(i);
+      if (rule instanceof FieldFilter) {
+        _steps[i] = new FilterStep(ordinals(((FieldFilter) rule).getFieldsToAccept()));
+      } else if (rule instanceof FieldNameChange) {
+        final FieldNameChange change = (FieldNameChange) rule;
+        _steps[i] = new RenameStep(ordinal(change.getFrom()), ordinal(change.getTo()), change.getTo());
+      } else if (rule instanceof UnitChange) {
+        final UnitChange change = (UnitChange) rule;
+        final int[] ordinals = ordinals(change.getFields());
+        final String[] names = change.getFields().toArray(new String[ordinals.length]);
+        _steps[i] = new UnitStep(ordinals, names, change.getMultiplier());
+      } else {
+        _steps[i] = new RequiredStep(ordinals(((RequiredFieldFilter) rule).getRequiredFieldNames()));
+      }
+    }
+    // Filter steps are sized on the final number of names
+    for (final Step step : _steps) {
+      if (step instanceof FilterStep) {
+        ((FilterStep) step).init(_names.size());
+      }
+    }
+  }
+
+  /**
+   * Replaces each run of two or more rules that can be fused with a single compiled rule. Only instances of exactly {@link FieldFilter},
+   * {@link FieldNameChange}, {@link UnitChange} and {@link RequiredFieldFilter} are fused; subclasses and all other rules are left as they are.
+   *
+   * @param rules  the rules in the order they are applied, not null
+   * @return the equivalent rules, not null
+   */
+  public static List<NormalizationRule> compile(final List<NormalizationRule> rules) {
+    final List<NormalizationRule> compiled = new ArrayList<>(rules.size());
+    final List<NormalizationRule> run = new ArrayList<>();
+    for (final NormalizationRule rule : rules) {
+      if (isFusable(rule)) {
+        run.add(rule);
+      } else {
+        flush(run, compiled);
+        compiled.add(rule);
+      }
+    }
+    flush(run, compiled);
+    return compiled;
+  }
+
+  private static boolean isFusable(final NormalizationRule rule) {
+    final Class<?> clazz = rule.getClass();
+    return clazz == FieldFilter.class || clazz == FieldNameChange.class || clazz == UnitChange.class || clazz == RequiredFieldFilter.class;
+  }
+
+  private static void flush(final List<NormalizationRule> run, final List<NormalizationRule> compiled) {
+    if (run.size() > 1) {
+      compiled.add(new CompiledNormalizationRule(run));
+    } else {
+      compiled.addAll(run);
+    }
+    run.clear();
+  }
+
+  private int ordinal(final String name) {
+    Integer ordinal = _ordinals.get(name);
+    if (ordinal == null) {
+      ordinal = _names.size();
+      _ordinals.put(name, ordinal);
+      _names.add(name);
+    }
+    return ordinal;
+  }
+
+  private int[] ordinals(final Collection<String> names) {
+    final int[] ordinals = new int[names.size()];
+    int i = 0;
+    for (final String name : names) {
+      ordinals[i++] = ordinal(name);
+    }
+    return ordinals;
+  }
+
+  @Override
+  public MutableFudgeMsg apply(final MutableFudgeMsg msg, final String securityUniqueId, final FieldHistoryStore fieldHistory) {
+    return apply(msg);
+  }
+
+  /**
+   * Applies the rules to a message. The message is not modified.
+   *
+   * @param msg  the message to normalize, not null
+   * @return the normalized message, or null to prevent the message from being sent to the client
+   */
+  public MutableFudgeMsg apply(final FudgeMsg msg) {
+    final Fields fields = FIELDS.get();
+    try {
+      for (final FudgeField field : msg) {
+        final String name = field.getName();
+        final Integer ordinal = name != null ? _ordinals.get(name) : null;
+        fields.add(ordinal != null ? ordinal : -1, field, name, field.getType(), field.getValue());
+      }
+      for (final Step step : _steps) {
+        if (!step.apply(fields)) {
+          return null;
+        }
+      }
+      final MutableFudgeMsg normalized = _context.newMessage();
+      for (int i = 0; i < fields._size; i++) {
+        if (fields._fields[i] != null) {
+          normalized.add(fields._fields[i]);
+        } else if (fields._types[i] != null) {
+          normalized.add(fields._names[i], null, fields._types[i], fields._values[i]);
+        } else {
+          normalized.add(fields._names[i], fields._values[i]);
+        }
+      }
+      return normalized;
+    } finally {
+      fields.clear();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "CompiledNormalizationRule[" + _steps.length + " rules over " + _names.size() + " fields]";
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The fields of a message being normalized, held in flat arrays.
+   */
+  private static final class Fields {
+
+    private int _size;
+    private int[] _ordinals = new int[32];
+    /** The original field, or null if the field has been rewritten. */
+    private FudgeField[] _fields = new FudgeField[32];
+    private String[] _names = new String[32];
+    /** The type of a rewritten field, or null to infer it from the value. */
+    private FudgeFieldType[] _types = new FudgeFieldType[32];
+    private Object[] _values = new Object[32];
+
+    void add(final int ordinal, final FudgeField field, final String name, final FudgeFieldType type, final Object value) {
+      if (_size == _ordinals.length) {
+        final int capacity = _size * 2;
+        _ordinals = Arrays.copyOf(_ordinals, capacity);
+        _fields = Arrays.copyOf(_fields, capacity);
+        _names = Arrays.copyOf(_names, capacity);
+        _types = Arrays.copyOf(_types, capacity);
+        _values = Arrays.copyOf(_values, capacity);
+      }
+      _ordinals[_size] = ordinal;
+      _fields[_size] = field;
+      _names[_size] = name;
+      _types[_size] = type;
+      _values[_size] = value;
+      _size++;
+    }
+
+    int indexOf(final int ordinal) {
+      for (int i = 0; i < _size; i++) {
+        if (_ordinals[i] == ordinal) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    /**
+     * Removes all fields with the given ordinal.
+     */
+    void remove(final int ordinal) {
+      int j = 0;
+      for (int i = 0; i < _size; i++) {
+        if (_ordinals[i] != ordinal) {
+          move(i, j++);
+        }
+      }
+      truncate(j);
+    }
+
+    /**
+     * Removes all fields without a name or with an ordinal not accepted.
+     */
+    void retain(final boolean[] accept) {
+      int j = 0;
+      for (int i = 0; i < _size; i++) {
+        final int ordinal = _ordinals[i];
+        if (ordinal >= 0 && accept[ordinal]) {
+          move(i, j++);
+        }
+      }
+      truncate(j);
+    }
+
+    private void move(final int from, final int to) {
+      if (from != to) {
+        _ordinals[to] = _ordinals[from];
+        _fields[to] = _fields[from];
+        _names[to] = _names[from];
+        _types[to] = _types[from];
+        _values[to] = _values[from];
+      }
+    }
+
+    private void truncate(final int size) {
+      Arrays.fill(_fields, size, _size, null);
+      Arrays.fill(_values, size, _size, null);
+      _size = size;
+    }
+
+    void clear() {
+      truncate(0);
+    }
+
+  }
+
+  /**
+   * A single rule applied to the flat fields.
+   */
+  private abstract static class Step {
+
+    /**
+     * @param fields  the fields, updated in place
+     * @return false if the message is extinguished
+     */
+    abstract boolean apply(Fields fields);
+
+  }
+
+  /**
+   * Equivalent to {@link FieldFilter}.
+   */
+  private static final class FilterStep extends Step {
+
+    private final int[] _ordinals;
+    private boolean[] _accept;
+
+    FilterStep(final int[] ordinals) {
+      _ordinals = ordinals;
+    }
+
+    void init(final int names) {
+      _accept = new boolean[names];
+      for (final int ordinal : _ordinals) {
+        _accept[ordinal] = true;
+      }
+    }
+
+    @Override
+    boolean apply(final Fields fields) {
+      fields.retain(_accept);
+      return fields._size > 0;
+    }
+
+  }
+
+  /**
+   * Equivalent to {@link FieldNameChange}.
+   */
+  private static final class RenameStep extends Step {
+
+    private final int _from;
+    private final int _to;
+    private final String _toName;
+
+    RenameStep(final int from, final int to, final String toName) {
+      _from = from;
+      _to = to;
+      _toName = toName;
+    }
+
+    @Override
+    boolean apply(final Fields fields) {
+      final int index = fields.indexOf(_from);
+      if (index >= 0) {
+        final FudgeFieldType type = fields._types[index];
+        final Object value = fields._values[index];
+        fields.remove(_from);
+        fields.add(_to, null, _toName, type, value);
+      }
+      return true;
+    }
+
+  }
+
+  /**
+   * Equivalent to {@link UnitChange} for numeric values.
+   */
+  private static final class UnitStep extends Step {
+
+    private final int[] _ordinals;
+    private final String[] _names;
+    private final double _multiplier;
+
+    UnitStep(final int[] ordinals, final String[] names, final double multiplier) {
+      _ordinals = ordinals;
+      _names = names;
+      _multiplier = multiplier;
+    }
+
+    @Override
+    boolean apply(final Fields fields) {
+      for (int i = 0; i < _ordinals.length; i++) {
+        final int index = fields.indexOf(_ordinals[i]);
+        if (index >= 0 && fields._values[index] instanceof Number) {
+          final double value = ((Number) fields._values[index]).doubleValue() * _multiplier;
+          fields.remove(_ordinals[i]);
+          fields.add(_ordinals[i], null, _names[i], null, value);
+        }
+      }
+      return true;
+    }
+
+  }
+
+  /**
+   * Equivalent to {@link RequiredFieldFilter}.
+   */
+  private static final class RequiredStep extends Step {
+
+    private final int[] _ordinals;
+
+    RequiredStep(final int[] ordinals) {
+      _ordinals = ordinals;
+    }
+
+    @Override
+    boolean apply(final Fields fields) {
+      for (final int ordinal : _ordinals) {
+        if (fields.indexOf(ordinal) < 0) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+  }
+
+}
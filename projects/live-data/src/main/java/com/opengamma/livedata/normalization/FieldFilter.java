@@ -66,6 +66,13 @@ public class FieldFilter implements NormalizationRule {
     _context = fudgeContext;
   }
 
+  /**
+   * @return the names of the fields accepted
+   */
+  /* package */ Collection<String> getFieldsToAccept() {
+    return _fieldsToAccept;
+  }
+
   /**
    * @return the context
    */
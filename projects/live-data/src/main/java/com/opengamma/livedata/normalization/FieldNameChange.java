@@ -32,6 +32,20 @@ public class FieldNameChange implements NormalizationRule {
     _to = to;
   }
 
+  /**
+   * @return the name to change from
+   */
+  /* package */ String getFrom() {
+    return _from;
+  }
+
+  /**
+   * @return the name to change to
+   */
+  /* package */ String getTo() {
+    return _to;
+  }
+
   @Override
   public MutableFudgeMsg apply(final MutableFudgeMsg msg, final String securityUniqueId, final FieldHistoryStore fieldHistory) {
     final FudgeField field = msg.getByName(_from);
@@ -27,6 +27,8 @@ public class NormalizationRuleSet {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(NormalizationRuleSet.class);
 
+  private static boolean s_compileRules = Boolean.parseBoolean(System.getProperty("NormalizationRuleSet.compileRules", "true"));
+
   private final String _id;
   private final String _jmsTopicSuffix;
   private final List<NormalizationRule> _rules;
@@ -73,7 +75,26 @@ public class NormalizationRuleSet {
       _jmsTopicSuffix = jmsTopicSuffix;
     }
 
-    _rules = new ArrayList<>(rules);
+    _rules = s_compileRules ? CompiledNormalizationRule.compile(rules) : new ArrayList<>(rules);
+  }
+
+  /**
+   * Returns whether rule sets fuse runs of simple rules into a {@link CompiledNormalizationRule}.
+   *
+   * @return true if rules are compiled
+   */
+  public static boolean isCompileRules() {
+    return s_compileRules;
+  }
+
+  /**
+   * Sets whether rule sets fuse runs of simple rules into a {@link CompiledNormalizationRule}. This affects rule sets created after the call. The
+   * default is true, and can be set with the {@code NormalizationRuleSet.compileRules} system property.
+   *
+   * @param compileRules  true to compile rules
+   */
+  public static void setCompileRules(final boolean compileRules) {
+    s_compileRules = compileRules;
   }
 
   /**
@@ -88,8 +109,17 @@ public class NormalizationRuleSet {
    * rejected the message.
    */
   public FudgeMsg getNormalizedMessage(final FudgeMsg msg, final String securityUniqueId, final FieldHistoryStore fieldHistory) {
-    MutableFudgeMsg normalizedMsg = OpenGammaFudgeContext.getInstance().newMessage(msg);
-    for (final NormalizationRule rule : _rules) {
+    MutableFudgeMsg normalizedMsg;
+    int first = 0;
+    if (!_rules.isEmpty() && _rules.get(0) instanceof CompiledNormalizationRule) {
+      // A compiled rule doesn't modify the message so there is no need to copy it first
+      normalizedMsg = ((CompiledNormalizationRule) _rules.get(0)).apply(msg);
+      first = 1;
+    } else {
+      normalizedMsg = OpenGammaFudgeContext.getInstance().newMessage(msg);
+    }
+    for (int i = first; normalizedMsg != null && i < _rules.size(); i++) {
+      final NormalizationRule rule = _rules.get(i);
       normalizedMsg = rule.apply(normalizedMsg, securityUniqueId, fieldHistory);
       if (normalizedMsg == null) {
         // One of the rules rejected the message entirely.
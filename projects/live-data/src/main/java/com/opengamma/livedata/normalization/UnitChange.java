@@ -57,6 +57,20 @@ public class UnitChange implements NormalizationRule {
     _multiplier = multiplier;
   }
 
+  /**
+   * @return the names of the fields to change
+   */
+  /* package */ Set<String> getFields() {
+    return _fields;
+  }
+
+  /**
+   * @return the multiplier
+   */
+  /* package */ double getMultiplier() {
+    return _multiplier;
+  }
+
   @Override
   public MutableFudgeMsg apply(final MutableFudgeMsg msg, final String securityUniqueId, final FieldHistoryStore fieldHistory) {
     return multiplyFields(msg, _fields, _multiplier);
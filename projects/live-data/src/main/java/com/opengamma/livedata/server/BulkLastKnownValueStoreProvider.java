@@ -0,0 +1,29 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.livedata.server;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.fudgemsg.FudgeMsg;
+
+import com.opengamma.id.ExternalId;
+
+/**
+ * A {@link LastKnownValueStoreProvider} that can read the last known values for many securities at once without creating a store for each.
+ */
+public interface BulkLastKnownValueStoreProvider extends LastKnownValueStoreProvider {
+
+  /**
+   * Gets the last known values held for the given securities.
+   *
+   * @param securities  the securities, not null
+   * @param normalizationRuleSetId  the normalization rule set the values were stored under, not null
+   * @return the normalized last known values for each security that has any, not null
+   */
+  Map<ExternalId, FudgeMsg> getLastKnownValues(Collection<ExternalId> securities, String normalizationRuleSetId);
+
+}
@@ -0,0 +1,332 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.livedata.server;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.fudgemsg.FudgeContext;
+import org.fudgemsg.FudgeField;
+import org.fudgemsg.FudgeMsg;
+import org.fudgemsg.MutableFudgeMsg;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.Lifecycle;
+
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.collect.MapMaker;
+import com.opengamma.util.ArgumentChecker;
+import com.opengamma.util.NamedThreadPoolFactory;
+import com.opengamma.util.fudgemsg.OpenGammaFudgeContext;
+import com.opengamma.util.metric.MetricProducer;
+
+/**
+ * Takes normalization and distribution of ticks off the thread the underlying market data API delivers them on.
+ * <p>
+ * A tick for an instrument that arrives while an earlier one is still waiting to be distributed is merged into it, each field taking its latest
+ * value, so a burst on a busy line costs one normalization and one send rather than one per tick. The callback thread never blocks; it only swaps
+ * the merged message for the instrument. Instruments are sharded by security unique ID over single threaded workers so the updates for any one
+ * instrument are still distributed in the order they arrived.
+ * <p>
+ * Conflation drops intermediate values so should not be used with normalization rules that need to see every tick.
+ * <p>
+ * The workers are started by {@link #start()}. {@link #stop()} distributes the ticks already queued and stops them; ticks received before the
+ * dispatcher is started or while it is stopped are discarded.
+ * <p>
+ * The state for a removed subscription is marked so that a tick that arrives afterwards is discarded rather than re-creating it. The state is held
+ * with a weak reference to the subscription, so is reclaimed along with it.
+ */
+public class ConflatingLiveDataDispatcher implements MetricProducer, Lifecycle {
+
+  /** Logger. */
+  private static final Logger LOGGER = LoggerFactory.getLogger(ConflatingLiveDataDispatcher.class);
+  /** The longest {@link #stop()} waits for the workers to distribute the ticks already queued. */
+  private static final long STOP_TIMEOUT_MILLIS = 5000;
+
+  private final FudgeContext _fudgeContext = OpenGammaFudgeContext.getInstance();
+  private final ConcurrentMap<Subscription, AtomicReference<PendingUpdate>> _pending = new MapMaker().weakKeys().makeMap();
+  /**
+   * The workers, null if not yet started.
+   */
+  private volatile ExecutorService[] _shards;
+  private final AtomicInteger[] _shardDepths;
+
+  // Metrics:
+  private Timer _ingestLagTimer = new Timer();
+  private Meter _receivedMeter = new Meter();
+  private Meter _dispatchedMeter = new Meter();
+  private Histogram _conflationHistogram = new Histogram(new ExponentiallyDecayingReservoir());
+
+  /**
+   * Ticks for an instrument not yet distributed. Instances are immutable so they can be replaced atomically.
+   */
+  private static final class PendingUpdate {
+
+    private final FudgeMsg _fields;
+    private final long _receivedNanos;
+    private final int _ticks;
+
+    PendingUpdate(final FudgeMsg fields, final long receivedNanos, final int ticks) {
+      _fields = fields;
+      _receivedNanos = receivedNanos;
+      _ticks = ticks;
+    }
+
+  }
+
+  /**
+   * Marks the state of a subscription that has been removed. Ticks for it are discarded.
+   */
+  private static final PendingUpdate REMOVED = new PendingUpdate(null, 0, 0);
+
+  /**
+   * Creates a dispatcher with a worker for each available processor.
+   */
+  public ConflatingLiveDataDispatcher() {
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Creates a dispatcher.
+   *
+   * @param shards  the number of workers to spread normalization and distribution over, at least one
+   */
+  public ConflatingLiveDataDispatcher(final int shards) {
+    ArgumentChecker.isTrue(shards > 0, "shards");
+    _shardDepths = new AtomicInteger[shards];
+    for (int i = 0; i < shards; i++) {
+      _shardDepths[i] = new AtomicInteger();
+    }
+  }
+
+  private static ExecutorService[] createShards(final int shards) {
+    final ExecutorService[] executors = new ExecutorService[shards];
+    for (int i = 0; i < shards; i++) {
+      executors[i] = Executors.newSingleThreadExecutor(new NamedThreadPoolFactory("LiveDataDispatcher-" + i, true));
+    }
+    return executors;
+  }
+
+  @Override
+  public synchronized void registerMetrics(final MetricRegistry summaryRegistry, final MetricRegistry detailedRegistry, final String namePrefix) {
+    _ingestLagTimer = summaryRegistry.timer(namePrefix + ".ingest.lag");
+    _receivedMeter = summaryRegistry.meter(namePrefix + ".ticks.received");
+    _dispatchedMeter = summaryRegistry.meter(namePrefix + ".ticks.dispatched");
+    _conflationHistogram = summaryRegistry.histogram(namePrefix + ".ticks.conflated");
+    for (int i = 0; i < _shardDepths.length; i++) {
+      final AtomicInteger depth = _shardDepths[i];
+      final String name = namePrefix + ".shard" + i + ".depth";
+      // Replace the gauge of any dispatcher previously registered with the same prefix
+      detailedRegistry.remove(name);
+      detailedRegistry.register(name, new Gauge<Integer>() {
+        @Override
+        public Integer getValue() {
+          return depth.get();
+        }
+      });
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public synchronized void start() {
+    if (!isRunning()) {
+      _shards = createShards(_shardDepths.length);
+    }
+  }
+
+  @Override
+  public synchronized void stop() {
+    final ExecutorService[] shards = _shards;
+    if (shards == null || shards[0].isShutdown()) {
+      return;
+    }
+    for (final ExecutorService shard : shards) {
+      shard.shutdown();
+    }
+    final long deadline = System.currentTimeMillis() + STOP_TIMEOUT_MILLIS;
+    try {
+      for (final ExecutorService shard : shards) {
+        if (!shard.awaitTermination(Math.max(deadline - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS)) {
+          LOGGER.warn("Timed out waiting for queued ticks to be distributed");
+          break;
+        }
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOGGER.warn("Interrupted waiting for queued ticks to be distributed");
+    }
+    for (final ExecutorService shard : shards) {
+      shard.shutdownNow();
+    }
+    _pending.clear();
+  }
+
+  @Override
+  public boolean isRunning() {
+    final ExecutorService[] shards = _shards;
+    return shards != null && !shards[0].isShutdown();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of workers.
+   *
+   * @return the number of workers
+   */
+  public int getShardCount() {
+    return _shardDepths.length;
+  }
+
+  /**
+   * Gets the number of instruments waiting to be distributed by a worker.
+   *
+   * @param shard  the worker index
+   * @return the number of instruments queued
+   */
+  public int getShardDepth(final int shard) {
+    return _shardDepths[shard].get();
+  }
+
+  /**
+   * Queues a tick for distribution, merging it with any earlier tick for the subscription that has not yet been distributed.
+   *
+   * @param subscription  the subscription the tick is for, not null
+   * @param liveDataFields  the unnormalized fields from the underlying market data API, not null
+   */
+  public void liveDataReceived(final Subscription subscription, final FudgeMsg liveDataFields) {
+    _receivedMeter.mark();
+    final ExecutorService[] shards = _shards;
+    if (shards == null) {
+      LOGGER.debug("Discarding tick for {} received before starting", subscription);
+      return;
+    }
+    final AtomicReference<PendingUpdate> pending = getPending(subscription);
+    PendingUpdate previous;
+    PendingUpdate next;
+    do {
+      previous = pending.get();
+      if (previous == REMOVED) {
+        LOGGER.debug("Discarding tick for removed {}", subscription);
+        return;
+      } else if (previous == null) {
+        next = new PendingUpdate(liveDataFields, System.nanoTime(), 1);
+      } else {
+        next = new PendingUpdate(merge(previous._fields, liveDataFields), previous._receivedNanos, previous._ticks + 1);
+      }
+    } while (!pending.compareAndSet(previous, next));
+    if (previous == null) {
+      // First tick since the last distribution; the worker will pick up anything merged into it before it runs
+      final int shard = (subscription.getSecurityUniqueId().hashCode() & Integer.MAX_VALUE) % shards.length;
+      _shardDepths[shard].incrementAndGet();
+      try {
+        shards[shard].execute(new Runnable() {
+          @Override
+          public void run() {
+            _shardDepths[shard].decrementAndGet();
+            dispatch(subscription, pending);
+          }
+        });
+      } catch (final RejectedExecutionException e) {
+        LOGGER.debug("Discarding tick for {} received while stopped", subscription);
+        _shardDepths[shard].decrementAndGet();
+        take(pending);
+      }
+    }
+  }
+
+  /**
+   * Discards any ticks waiting for a subscription that has been removed. Ticks for the subscription received afterwards are discarded.
+   *
+   * @param subscription  the subscription, not null
+   */
+  public void subscriptionRemoved(final Subscription subscription) {
+    getPending(subscription).set(REMOVED);
+  }
+
+  private AtomicReference<PendingUpdate> getPending(final Subscription subscription) {
+    AtomicReference<PendingUpdate> pending = _pending.get(subscription);
+    if (pending == null) {
+      pending = new AtomicReference<>();
+      final AtomicReference<PendingUpdate> existing = _pending.putIfAbsent(subscription, pending);
+      if (existing != null) {
+        pending = existing;
+      }
+    }
+    return pending;
+  }
+
+  /**
+   * Takes the ticks waiting for a subscription, leaving the mark of a removed subscription in place.
+   *
+   * @param pending  the state of the subscription, not null
+   * @return the ticks waiting, null if there are none or the subscription has been removed
+   */
+  private static PendingUpdate take(final AtomicReference<PendingUpdate> pending) {
+    PendingUpdate update;
+    do {
+      update = pending.get();
+      if (update == null || update == REMOVED) {
+        return null;
+      }
+    } while (!pending.compareAndSet(update, null));
+    return update;
+  }
+
+  private void dispatch(final Subscription subscription, final AtomicReference<PendingUpdate> pending) {
+    final PendingUpdate update = take(pending);
+    if (update == null) {
+      return;
+    }
+    _ingestLagTimer.update(System.nanoTime() - update._receivedNanos, TimeUnit.NANOSECONDS);
+    _conflationHistogram.update(update._ticks);
+    _dispatchedMeter.mark();
+    try {
+      subscription.liveDataReceived(update._fields);
+    } catch (final RuntimeException e) {
+      LOGGER.error("Distributing " + update._fields + " for " + subscription + " failed", e);
+    }
+  }
+
+  /**
+   * Merges a tick into an earlier one. Fields in the later tick replace any of the same name in the earlier one.
+   *
+   * @param previous  the earlier fields, not null
+   * @param update  the later fields, not null
+   * @return the merged fields, not null
+   */
+  /* package */ FudgeMsg merge(final FudgeMsg previous, final FudgeMsg update) {
+    final Set<String> replaced = new HashSet<>();
+    for (final FudgeField field : update) {
+      if (field.getName() != null) {
+        replaced.add(field.getName());
+      }
+    }
+    final MutableFudgeMsg merged = _fudgeContext.newMessage();
+    for (final FudgeField field : previous) {
+      if (field.getName() == null || !replaced.contains(field.getName())) {
+        merged.add(field);
+      }
+    }
+    for (final FudgeField field : update) {
+      merged.add(field);
+    }
+    return merged;
+  }
+
+}
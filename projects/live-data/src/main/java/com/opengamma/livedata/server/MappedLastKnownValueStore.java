@@ -0,0 +1,167 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.livedata.server;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.fudgemsg.FudgeField;
+import org.fudgemsg.FudgeMsg;
+import org.fudgemsg.MutableFudgeMsg;
+import org.fudgemsg.UnmodifiableFudgeField;
+
+import com.opengamma.util.fudgemsg.OpenGammaFudgeContext;
+
+/**
+ * Implementation of {@link LastKnownValueStore} that holds its values in a slot of a file mapped by a {@link MappedLastKnownValueStoreProvider}.
+ * <p>
+ * The slot holds an array of field ordinals followed by an array of values, with a count of the entries used. An entry is committed by writing its
+ * value before its ordinal, and a new entry by then writing the count, so the slot is consistent whenever the process stops. Removing a field
+ * replaces its ordinal with -1 so the entry can be reused.
+ * <p>
+ * If the provider frees the slot, the values are moved to the heap and the store no longer writes to the file.
+ */
+public class MappedLastKnownValueStore implements LastKnownValueStore {
+
+  private final MappedLastKnownValueStoreProvider _provider;
+  private final ByteBuffer _buffer;
+  private final int _offset;
+  private final int _valuesOffset;
+  /** The ordinals in the slot, mirrored on the heap. */
+  private final short[] _ordinals;
+  private int _count;
+  /** Values that are not written to the slot. */
+  private final Map<String, FudgeField> _overflow = new LinkedHashMap<>();
+  /** Whether the slot has been freed. */
+  private boolean _detached;
+
+  /* package */ MappedLastKnownValueStore(final MappedLastKnownValueStoreProvider provider, final ByteBuffer buffer, final int offset,
+      final int fieldsPerSlot, final int valuesOffset) {
+    _provider = provider;
+    _buffer = buffer;
+    _offset = offset;
+    _valuesOffset = offset + valuesOffset;
+    _ordinals = new short[fieldsPerSlot];
+    _count = Math.min(buffer.getShort(offset + MappedLastKnownValueStoreProvider.SLOT_FIELD_COUNT_OFFSET), fieldsPerSlot);
+    for (int i = 0; i < _count; i++) {
+      _ordinals[i] = buffer.getShort(ordinalOffset(i));
+    }
+  }
+
+  private int ordinalOffset(final int index) {
+    return _offset + MappedLastKnownValueStoreProvider.SLOT_ORDINALS_OFFSET + 2 * index;
+  }
+
+  private int valueOffset(final int index) {
+    return _valuesOffset + 8 * index;
+  }
+
+  @Override
+  public synchronized void updateFields(final FudgeMsg fieldValues) {
+    for (final FudgeField field : fieldValues) {
+      final String name = field.getName();
+      if (name != null && field.getValue() instanceof Double) {
+        final int ordinal = _provider.getOrdinal(name);
+        if (ordinal >= 0 && put(ordinal, (Double) field.getValue())) {
+          if (!_overflow.isEmpty()) {
+            _overflow.remove(name);
+          }
+          continue;
+        }
+      } else if (name != null) {
+        remove(_provider.findOrdinal(name));
+      }
+      _overflow.put(name, UnmodifiableFudgeField.of(field));
+    }
+  }
+
+  private boolean put(final int ordinal, final double value) {
+    if (_detached) {
+      return false;
+    }
+    int free = -1;
+    for (int i = 0; i < _count; i++) {
+      if (_ordinals[i] == ordinal) {
+        _buffer.putDouble(valueOffset(i), value);
+        return true;
+      }
+      if (_ordinals[i] < 0 && free < 0) {
+        free = i;
+      }
+    }
+    if (free >= 0) {
+      _buffer.putDouble(valueOffset(free), value);
+      _buffer.putShort(ordinalOffset(free), (short) ordinal);
+      _ordinals[free] = (short) ordinal;
+      return true;
+    }
+    if (_count == _ordinals.length) {
+      return false;
+    }
+    _buffer.putDouble(valueOffset(_count), value);
+    _buffer.putShort(ordinalOffset(_count), (short) ordinal);
+    _ordinals[_count] = (short) ordinal;
+    _count++;
+    _buffer.putShort(_offset + MappedLastKnownValueStoreProvider.SLOT_FIELD_COUNT_OFFSET, (short) _count);
+    return true;
+  }
+
+  private void remove(final int ordinal) {
+    if (ordinal < 0) {
+      return;
+    }
+    for (int i = 0; i < _count; i++) {
+      if (_ordinals[i] == ordinal) {
+        _buffer.putShort(ordinalOffset(i), (short) -1);
+        _ordinals[i] = -1;
+        return;
+      }
+    }
+  }
+
+  /**
+   * Moves the values in the slot to the heap so the slot can be reused. The store stops writing to the file.
+   */
+  /* package */ synchronized void detach() {
+    final FudgeMsg fields = getFields();
+    _overflow.clear();
+    for (final FudgeField field : fields) {
+      _overflow.put(field.getName(), UnmodifiableFudgeField.of(field));
+    }
+    _count = 0;
+    _detached = true;
+  }
+
+  @Override
+  public synchronized FudgeMsg getFields() {
+    final MutableFudgeMsg msg = OpenGammaFudgeContext.getInstance().newMessage();
+    for (int i = 0; i < _count; i++) {
+      final String name = _provider.getName(_ordinals[i]);
+      if (name != null) {
+        msg.add(name, _buffer.getDouble(valueOffset(i)));
+      }
+    }
+    for (final FudgeField field : _overflow.values()) {
+      msg.add(field);
+    }
+    return msg;
+  }
+
+  @Override
+  public synchronized boolean isEmpty() {
+    if (!_overflow.isEmpty()) {
+      return false;
+    }
+    for (int i = 0; i < _count; i++) {
+      if (_ordinals[i] >= 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+}
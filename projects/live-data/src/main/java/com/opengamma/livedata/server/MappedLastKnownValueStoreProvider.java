@@ -0,0 +1,507 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.livedata.server;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.fudgemsg.FudgeMsg;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.opengamma.OpenGammaRuntimeException;
+import com.opengamma.id.ExternalId;
+import com.opengamma.util.ArgumentChecker;
+
+/**
+ * An implementation of {@link LastKnownValueStoreProvider} which backs onto a memory-mapped file.
+ * <p>
+ * The file has a fixed number of slots, one for each security and normalization rule set. Field names are mapped to ordinals in a dictionary at the
+ * start of the file and each slot holds its fields as a primitive array of ordinals and an array of double values, so an update is a write to
+ * mapped memory with no serialization or network round trip. Every write is made so that the file is consistent if the process stops at any point;
+ * values written before a crash of the live data server are available to the stores created when it restarts. Data is only guaranteed to survive a
+ * crash of the operating system after {@link #flush()}.
+ * <p>
+ * Only {@code Double} values are written to the file. Other values, fields beyond the capacity of a slot and names beyond the capacity of the
+ * dictionary are held on the heap by the store and are lost on restart. If the file is full, new securities get a {@link MapLastKnownValueStore}.
+ * <p>
+ * A slot is freed by {@link #remove} or {@link #removeUnused()} and reused for the next new security. A store whose slot is freed keeps its values
+ * on the heap, so a distributor still holding it is unaffected.
+ * <p>
+ * It has the following properties that should be set:
+ * <dl>
+ *   <dt>file</dt>
+ *   <dd>The file to map. It is created if it does not exist.</dd>
+ *   <dt>slotCount</dt>
+ *   <dd>The number of securities the file can hold. Defaults to 65536. Ignored if the file already exists.</dd>
+ *   <dt>fieldsPerSlot</dt>
+ *   <dd>The number of fields each security can hold in the file. Defaults to 32. Ignored if the file already exists.</dd>
+ * </dl>
+ */
+public class MappedLastKnownValueStoreProvider implements BulkLastKnownValueStoreProvider {
+  private static final Logger LOGGER = LoggerFactory.getLogger(MappedLastKnownValueStoreProvider.class);
+
+  private static final int MAGIC = 0x4F474C4B;
+  private static final int FORMAT_VERSION = 1;
+  // Header
+  private static final int MAGIC_OFFSET = 0;
+  private static final int VERSION_OFFSET = 4;
+  private static final int SLOT_COUNT_OFFSET = 8;
+  private static final int FIELDS_PER_SLOT_OFFSET = 12;
+  private static final int NAME_COUNT_OFFSET = 16;
+  private static final int HEADER_BYTES = 64;
+  // Field name dictionary; each entry is a short length followed by the UTF-8 bytes
+  private static final int MAX_FIELD_NAMES = 4096;
+  private static final int NAME_BYTES = 64;
+  // Slots; a short key length, short field count, the UTF-8 key, the field ordinals and then the values
+  private static final int MAX_KEY_BYTES = 252;
+  private static final int SLOT_KEY_LENGTH_OFFSET = 0;
+  /* package */ static final int SLOT_FIELD_COUNT_OFFSET = 2;
+  private static final int SLOT_KEY_OFFSET = 4;
+  /* package */ static final int SLOT_ORDINALS_OFFSET = SLOT_KEY_OFFSET + MAX_KEY_BYTES;
+
+  private File _file;
+  private int _slotCount = 65536;
+  private int _fieldsPerSlot = 32;
+
+  private volatile boolean _isInitialized;
+  private MappedByteBuffer _buffer;
+  private int _slotBytes;
+  private int _valuesOffset;
+  private final String[] _names = new String[MAX_FIELD_NAMES];
+  private int _nameCount;
+  private boolean _namesFullLogged;
+  private final ConcurrentMap<String, Integer> _ordinals = new ConcurrentHashMap<>();
+  private final Map<String, Integer> _slots = new HashMap<>();
+  private int _nextSlot;
+  /** Free slots below {@link #_nextSlot}. */
+  private final List<Integer> _freeSlots = new ArrayList<>();
+  private final ConcurrentMap<String, MappedLastKnownValueStore> _stores = new ConcurrentHashMap<>();
+  /** The identifier values with a slot, with the number of normalization rule sets for each, keyed by scheme. */
+  private final Map<String, Map<String, Integer>> _identifiers = new HashMap<>();
+
+  /**
+   * Gets the file.
+   * @return the file
+   */
+  public File getFile() {
+    return _file;
+  }
+
+  /**
+   * Sets the file.
+   * @param file  the file
+   */
+  public void setFile(final File file) {
+    _file = file;
+  }
+
+  /**
+   * Gets the number of slots.
+   * @return the number of slots
+   */
+  public int getSlotCount() {
+    return _slotCount;
+  }
+
+  /**
+   * Sets the number of slots used when creating a file.
+   * @param slotCount  the number of slots, greater than zero
+   */
+  public void setSlotCount(final int slotCount) {
+    ArgumentChecker.isTrue(slotCount > 0, "slotCount");
+    _slotCount = slotCount;
+  }
+
+  /**
+   * Gets the number of fields in each slot.
+   * @return the number of fields
+   */
+  public int getFieldsPerSlot() {
+    return _fieldsPerSlot;
+  }
+
+  /**
+   * Sets the number of fields in each slot used when creating a file.
+   * @param fieldsPerSlot  the number of fields, greater than zero and at most 1024
+   */
+  public void setFieldsPerSlot(final int fieldsPerSlot) {
+    ArgumentChecker.isTrue(fieldsPerSlot > 0 && fieldsPerSlot <= 1024, "fieldsPerSlot");
+    _fieldsPerSlot = fieldsPerSlot;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public LastKnownValueStore newInstance(final ExternalId security, final String normalizationRuleSetId) {
+    initIfNecessary();
+    final String key = generateKey(security, normalizationRuleSetId);
+    MappedLastKnownValueStore store = _stores.get(key);
+    if (store != null) {
+      return store;
+    }
+    synchronized (this) {
+      store = getStore(key);
+      if (store == null) {
+        final Integer slot = allocateSlot(key);
+        if (slot == null) {
+          return new MapLastKnownValueStore();
+        }
+        addIdentifier(security.getScheme().getName(), security.getValue());
+        store = createStore(key, slot);
+      }
+    }
+    LOGGER.debug("Created mapped LKV store on {}/{}", security, normalizationRuleSetId);
+    return store;
+  }
+
+  @Override
+  public synchronized Set<String> getAllIdentifiers(final String identifierScheme) {
+    initIfNecessary();
+    final Map<String, Integer> identifiers = _identifiers.get(identifierScheme);
+    return identifiers != null ? new HashSet<>(identifiers.keySet()) : Collections.<String>emptySet();
+  }
+
+  @Override
+  public boolean isAvailable(final ExternalId security, final String normalizationRuleSetId) {
+    initIfNecessary();
+    final MappedLastKnownValueStore store;
+    synchronized (this) {
+      store = getStore(generateKey(security, normalizationRuleSetId));
+    }
+    return store != null && !store.isEmpty();
+  }
+
+  @Override
+  public Map<ExternalId, FudgeMsg> getLastKnownValues(final Collection<ExternalId> securities, final String normalizationRuleSetId) {
+    ArgumentChecker.notNull(securities, "securities");
+    ArgumentChecker.notNull(normalizationRuleSetId, "normalizationRuleSetId");
+    initIfNecessary();
+    final Map<ExternalId, FudgeMsg> result = new HashMap<>();
+    for (final ExternalId security : securities) {
+      final MappedLastKnownValueStore store;
+      synchronized (this) {
+        store = getStore(generateKey(security, normalizationRuleSetId));
+      }
+      if (store != null) {
+        final FudgeMsg fields = store.getFields();
+        if (fields.getNumFields() > 0) {
+          result.put(security, fields);
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Frees the slot of a security, for example because it is no longer subscribed to. Its values are no longer available to stores created after this
+   * or after a restart.
+   *
+   * @param security  the security, not null
+   * @param normalizationRuleSetId  the normalization rule set, not null
+   * @return true if the security had a slot
+   */
+  public synchronized boolean remove(final ExternalId security, final String normalizationRuleSetId) {
+    ArgumentChecker.notNull(security, "security");
+    ArgumentChecker.notNull(normalizationRuleSetId, "normalizationRuleSetId");
+    initIfNecessary();
+    final String key = generateKey(security, normalizationRuleSetId);
+    final Integer slot = _slots.get(key);
+    if (slot == null) {
+      return false;
+    }
+    freeSlot(key, slot);
+    return true;
+  }
+
+  /**
+   * Frees the slots of the securities that no store has been created for since the file was loaded, such as those left by securities that were
+   * subscribed to before a restart but not since. Stores are also created by {@link #isAvailable} and {@link #getLastKnownValues}.
+   *
+   * @return the number of slots freed
+   */
+  public synchronized int removeUnused() {
+    initIfNecessary();
+    final List<Map.Entry<String, Integer>> unused = new ArrayList<>();
+    for (final Map.Entry<String, Integer> slot : _slots.entrySet()) {
+      if (!_stores.containsKey(slot.getKey())) {
+        unused.add(slot);
+      }
+    }
+    for (final Map.Entry<String, Integer> slot : unused) {
+      freeSlot(slot.getKey(), slot.getValue());
+    }
+    LOGGER.info("Freed {} unused slots in {}", unused.size(), _file);
+    return unused.size();
+  }
+
+  /**
+   * Forces the values written so far to the storage device.
+   */
+  public void flush() {
+    initIfNecessary();
+    _buffer.force();
+  }
+
+  //-------------------------------------------------------------------------
+  private static String generateKey(final ExternalId security, final String normalizationRuleSetId) {
+    return security.getScheme().getName() + '\0' + security.getValue() + '\0' + normalizationRuleSetId;
+  }
+
+  private int slotOffset(final int slot) {
+    return HEADER_BYTES + MAX_FIELD_NAMES * NAME_BYTES + slot * _slotBytes;
+  }
+
+  private static int align(final int bytes) {
+    return (bytes + 7) & ~7;
+  }
+
+  private void writeString(final int offset, final byte[] bytes) {
+    for (int i = 0; i < bytes.length; i++) {
+      _buffer.put(offset + i, bytes[i]);
+    }
+  }
+
+  private String readString(final int offset, final int length) {
+    final byte[] bytes = new byte[length];
+    for (int i = 0; i < length; i++) {
+      bytes[i] = _buffer.get(offset + i);
+    }
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  protected void initIfNecessary() {
+    if (_isInitialized) {
+      return;
+    }
+    synchronized (this) {
+      if (_isInitialized) {
+        return;
+      }
+      ArgumentChecker.notNullInjected(_file, "file");
+      try (RandomAccessFile file = new RandomAccessFile(_file, "rw")) {
+        final boolean exists = file.length() >= HEADER_BYTES;
+        if (exists) {
+          if (file.readInt() != MAGIC || file.readInt() != FORMAT_VERSION) {
+            throw new OpenGammaRuntimeException(_file + " is not a last known value file");
+          }
+          final int slotCount = file.readInt();
+          final int fieldsPerSlot = file.readInt();
+          if (slotCount != _slotCount || fieldsPerSlot != _fieldsPerSlot) {
+            LOGGER.warn("Using {} slots of {} fields from existing file {}", new Object[] {slotCount, fieldsPerSlot, _file });
+            _slotCount = slotCount;
+            _fieldsPerSlot = fieldsPerSlot;
+          }
+        }
+        _valuesOffset = SLOT_ORDINALS_OFFSET + align(2 * _fieldsPerSlot);
+        _slotBytes = _valuesOffset + 8 * _fieldsPerSlot;
+        final long size = HEADER_BYTES + (long) MAX_FIELD_NAMES * NAME_BYTES + (long) _slotCount * _slotBytes;
+        if (size > Integer.MAX_VALUE) {
+          throw new OpenGammaRuntimeException("Last known value file of " + _slotCount + " slots of " + _fieldsPerSlot + " fields is too large");
+        }
+        _buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+        if (!exists) {
+          _buffer.putInt(SLOT_COUNT_OFFSET, _slotCount);
+          _buffer.putInt(FIELDS_PER_SLOT_OFFSET, _fieldsPerSlot);
+          _buffer.putInt(NAME_COUNT_OFFSET, 0);
+          _buffer.putInt(VERSION_OFFSET, FORMAT_VERSION);
+          _buffer.putInt(MAGIC_OFFSET, MAGIC);
+        }
+      } catch (final IOException e) {
+        throw new OpenGammaRuntimeException("Couldn't map " + _file, e);
+      }
+      load();
+      _isInitialized = true;
+    }
+  }
+
+  private void load() {
+    _nameCount = _buffer.getInt(NAME_COUNT_OFFSET);
+    for (int i = 0; i < _nameCount; i++) {
+      final int offset = HEADER_BYTES + i * NAME_BYTES;
+      _names[i] = readString(offset + 2, _buffer.getShort(offset));
+      _ordinals.put(_names[i], i);
+    }
+    // Slots freed before the restart leave gaps, so every slot is read
+    for (int slot = 0; slot < _slotCount; slot++) {
+      final int offset = slotOffset(slot);
+      final int keyLength = _buffer.getShort(offset + SLOT_KEY_LENGTH_OFFSET);
+      if (keyLength == 0) {
+        _freeSlots.add(slot);
+        continue;
+      }
+      final String key = readString(offset + SLOT_KEY_OFFSET, keyLength);
+      _slots.put(key, slot);
+      final String[] parts = key.split("\0", 3);
+      addIdentifier(parts[0], parts[1]);
+      _nextSlot = slot + 1;
+    }
+    // Keep the gaps, lowest last so it is reused first
+    final List<Integer> gaps = new ArrayList<>(_freeSlots.subList(0, _nextSlot - _slots.size()));
+    Collections.reverse(gaps);
+    _freeSlots.clear();
+    _freeSlots.addAll(gaps);
+    LOGGER.info("Loaded last known values for {} securities from {}", _slots.size(), _file);
+  }
+
+  private void addIdentifier(final String scheme, final String value) {
+    Map<String, Integer> identifiers = _identifiers.get(scheme);
+    if (identifiers == null) {
+      identifiers = new HashMap<>();
+      _identifiers.put(scheme, identifiers);
+    }
+    final Integer count = identifiers.get(value);
+    identifiers.put(value, count != null ? count + 1 : 1);
+  }
+
+  private void removeIdentifier(final String scheme, final String value) {
+    final Map<String, Integer> identifiers = _identifiers.get(scheme);
+    final Integer count = identifiers.get(value);
+    if (count > 1) {
+      identifiers.put(value, count - 1);
+    } else {
+      identifiers.remove(value);
+      if (identifiers.isEmpty()) {
+        _identifiers.remove(scheme);
+      }
+    }
+  }
+
+  /**
+   * Gets the store for a key that already has a slot. The caller must hold the lock on this provider.
+   */
+  private MappedLastKnownValueStore getStore(final String key) {
+    MappedLastKnownValueStore store = _stores.get(key);
+    if (store == null) {
+      final Integer slot = _slots.get(key);
+      if (slot != null) {
+        store = createStore(key, slot);
+      }
+    }
+    return store;
+  }
+
+  private MappedLastKnownValueStore createStore(final String key, final int slot) {
+    final MappedLastKnownValueStore store = new MappedLastKnownValueStore(this, _buffer, slotOffset(slot), _fieldsPerSlot, _valuesOffset);
+    _stores.put(key, store);
+    return store;
+  }
+
+  /**
+   * Allocates a slot for a key. The caller must hold the lock on this provider.
+   */
+  private Integer allocateSlot(final String key) {
+    final byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+    if (bytes.length > MAX_KEY_BYTES) {
+      LOGGER.warn("Key {} is too long for {}; values will not be persisted", key, _file);
+      return null;
+    }
+    final int slot;
+    if (!_freeSlots.isEmpty()) {
+      slot = _freeSlots.remove(_freeSlots.size() - 1);
+    } else if (_nextSlot < _slotCount) {
+      slot = _nextSlot++;
+    } else {
+      LOGGER.warn("{} is full; values for {} will not be persisted", _file, key);
+      return null;
+    }
+    final int offset = slotOffset(slot);
+    writeString(offset + SLOT_KEY_OFFSET, bytes);
+    _buffer.putShort(offset + SLOT_FIELD_COUNT_OFFSET, (short) 0);
+    // Writing the key length commits the slot
+    _buffer.putShort(offset + SLOT_KEY_LENGTH_OFFSET, (short) bytes.length);
+    _slots.put(key, slot);
+    return slot;
+  }
+
+  /**
+   * Frees the slot of a key, moving the values of any store using it onto the heap. The caller must hold the lock on this provider.
+   */
+  private void freeSlot(final String key, final int slot) {
+    final MappedLastKnownValueStore store = _stores.remove(key);
+    if (store != null) {
+      store.detach();
+    }
+    // Clearing the key length commits the removal
+    _buffer.putShort(slotOffset(slot) + SLOT_KEY_LENGTH_OFFSET, (short) 0);
+    _slots.remove(key);
+    _freeSlots.add(slot);
+    final String[] parts = key.split("\0", 3);
+    removeIdentifier(parts[0], parts[1]);
+  }
+
+  /**
+   * Gets the ordinal for a field name, adding it to the dictionary if necessary.
+   *
+   * @param name  the field name, not null
+   * @return the ordinal, or -1 if the name cannot be added to the dictionary
+   */
+  /* package */ int getOrdinal(final String name) {
+    final Integer ordinal = _ordinals.get(name);
+    if (ordinal != null) {
+      return ordinal;
+    }
+    // Not the provider's lock, which is held while a store's lock is taken to free its slot
+    synchronized (_names) {
+      final Integer existing = _ordinals.get(name);
+      if (existing != null) {
+        return existing;
+      }
+      final byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+      if (_nameCount == MAX_FIELD_NAMES || bytes.length > NAME_BYTES - 2) {
+        if (!_namesFullLogged) {
+          LOGGER.warn("Can't add field {} to the dictionary in {}; values will not be persisted", name, _file);
+          _namesFullLogged = true;
+        }
+        return -1;
+      }
+      final int offset = HEADER_BYTES + _nameCount * NAME_BYTES;
+      writeString(offset + 2, bytes);
+      _buffer.putShort(offset, (short) bytes.length);
+      _names[_nameCount] = name;
+      // Writing the count commits the name
+      _buffer.putInt(NAME_COUNT_OFFSET, _nameCount + 1);
+      _ordinals.put(name, _nameCount);
+      return _nameCount++;
+    }
+  }
+
+  /**
+   * Gets the ordinal for a field name without adding it to the dictionary.
+   *
+   * @param name  the field name, not null
+   * @return the ordinal, or -1 if the name is not in the dictionary
+   */
+  /* package */ int findOrdinal(final String name) {
+    final Integer ordinal = _ordinals.get(name);
+    return ordinal != null ? ordinal : -1;
+  }
+
+  /**
+   * Gets the field name for an ordinal.
+   *
+   * @param ordinal  the ordinal
+   * @return the name, null if the ordinal is not in the dictionary
+   */
+  /* package */ String getName(final int ordinal) {
+    // Names are never removed, and a store only sees an ordinal after it was added
+    return ordinal >= 0 && ordinal < MAX_FIELD_NAMES ? _names[ordinal] : null;
+  }
+
+}
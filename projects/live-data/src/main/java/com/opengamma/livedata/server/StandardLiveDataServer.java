@@ -47,12 +47,15 @@ import com.opengamma.livedata.resolver.NaiveDistributionSpecificationResolver;
 import com.opengamma.livedata.server.distribution.EmptyMarketDataSenderFactory;
 import com.opengamma.livedata.server.distribution.MarketDataDistributor;
 import com.opengamma.livedata.server.distribution.MarketDataSenderFactory;
+import com.opengamma.livedata.server.journal.TickJournalReplayLiveDataServer;
+import com.opengamma.livedata.server.journal.TickJournalWriter;
 import com.opengamma.livedata.server.mxbean.DistributorTrace;
 import com.opengamma.livedata.server.mxbean.SubscriptionTrace;
 import com.opengamma.livedata.server.mxbean.SubscriptionTracer;
 import com.opengamma.util.ArgumentChecker;
 import com.opengamma.util.PerformanceCounter;
 import com.opengamma.util.PublicAPI;
+import com.opengamma.util.metric.OpenGammaMetricRegistry;
 
 import net.sf.ehcache.CacheManager;
 
@@ -94,6 +97,21 @@ public abstract class StandardLiveDataServer implements LiveDataServer, Lifecycl
 
   private LastKnownValueStoreProvider _lkvStoreProvider = new MapLastKnownValueStoreProvider();
 
+  /**
+   * Whether snapshots for securities with no active subscription can be satisfied from a {@link BulkLastKnownValueStoreProvider}.
+   */
+  private boolean _snapshotFromLkvStore;
+
+  /**
+   * Dispatcher for ticks received from the underlying market data provider. If null, ticks are normalized and distributed on the thread delivering them.
+   */
+  private volatile ConflatingLiveDataDispatcher _liveDataDispatcher;
+
+  /**
+   * Journal to which ticks received from the underlying market data provider are recorded. If null, ticks are not recorded.
+   */
+  private volatile TickJournalWriter _tickJournal;
+
   private volatile ConnectionStatus _connectionStatus = ConnectionStatus.NOT_CONNECTED;
 
   /**
@@ -271,6 +289,73 @@ public abstract class StandardLiveDataServer implements LiveDataServer, Lifecycl
     _lkvStoreProvider = lkvStoreProvider;
   }
 
+  /**
+   * Gets whether snapshots for securities with no active subscription are satisfied from the last known value store, if the provider is a
+   * {@link BulkLastKnownValueStoreProvider}, before requesting them from the underlying market data API.
+   *
+   * @return true if snapshots are satisfied from the last known value store
+   */
+  public boolean isSnapshotFromLkvStore() {
+    return _snapshotFromLkvStore;
+  }
+
+  /**
+   * Sets whether snapshots for securities with no active subscription are satisfied from the last known value store, if the provider is a
+   * {@link BulkLastKnownValueStoreProvider}, before requesting them from the underlying market data API. The stored values may be older than
+   * those the API would return, for example if they were persisted before a restart, so this is false by default.
+   *
+   * @param snapshotFromLkvStore
+   *          true to satisfy snapshots from the last known value store
+   */
+  public void setSnapshotFromLkvStore(final boolean snapshotFromLkvStore) {
+    _snapshotFromLkvStore = snapshotFromLkvStore;
+  }
+
+  /**
+   * Gets the dispatcher used for ticks received from the underlying market data provider.
+   *
+   * @return the dispatcher, null if ticks are distributed on the thread delivering them
+   */
+  public ConflatingLiveDataDispatcher getLiveDataDispatcher() {
+    return _liveDataDispatcher;
+  }
+
+  /**
+   * Sets the dispatcher used for ticks received from the underlying market data provider. The dispatcher's metrics are registered with the
+   * {@link OpenGammaMetricRegistry} and it is stopped when the server stops.
+   *
+   * @param liveDataDispatcher
+   *          the dispatcher, null to distribute ticks on the thread delivering them
+   */
+  public void setLiveDataDispatcher(final ConflatingLiveDataDispatcher liveDataDispatcher) {
+    if (liveDataDispatcher != null) {
+      liveDataDispatcher.registerMetrics(OpenGammaMetricRegistry.getSummaryInstance(), OpenGammaMetricRegistry.getDetailedInstance(),
+          getClass().getSimpleName() + ".dispatcher");
+    }
+    _liveDataDispatcher = liveDataDispatcher;
+  }
+
+  /**
+   * Gets the journal to which ticks received from the underlying market data provider are recorded.
+   *
+   * @return the journal, null if ticks are not recorded
+   */
+  public TickJournalWriter getTickJournal() {
+    return _tickJournal;
+  }
+
+  /**
+   * Sets the journal to which ticks received from the underlying market data provider are recorded. Ticks, and the initial snapshots taken when
+   * subscribing, are recorded before normalization, with the no-normalization rule set in their specification, so they can be replayed by a
+   * {@link TickJournalReplayLiveDataServer}. The journal is closed when the server is stopped.
+   *
+   * @param tickJournal
+   *          the journal, null to stop recording ticks
+   */
+  public void setTickJournal(final TickJournalWriter tickJournal) {
+    _tickJournal = tickJournal;
+  }
+
   // -------------------------------------------------------------------------
 
   /**
@@ -450,6 +535,10 @@ public abstract class StandardLiveDataServer implements LiveDataServer, Lifecycl
   @Override
   public synchronized void start() {
     if (getConnectionStatus() == ConnectionStatus.NOT_CONNECTED) {
+      final ConflatingLiveDataDispatcher dispatcher = _liveDataDispatcher;
+      if (dispatcher != null) {
+        dispatcher.start();
+      }
       connect();
       startExpirationManager();
     }
@@ -465,6 +554,26 @@ public abstract class StandardLiveDataServer implements LiveDataServer, Lifecycl
       disconnect();
       stopExpirationManager();
     }
+    final ConflatingLiveDataDispatcher dispatcher = _liveDataDispatcher;
+    if (dispatcher != null) {
+      dispatcher.stop();
+    }
+    closeTickJournal();
+  }
+
+  /**
+   * Writes any ticks waiting to be recorded and closes the tick journal, if there is one. No more ticks are recorded.
+   */
+  protected void closeTickJournal() {
+    final TickJournalWriter tickJournal = _tickJournal;
+    if (tickJournal != null) {
+      _tickJournal = null;
+      try {
+        tickJournal.close();
+      } catch (final RuntimeException e) {
+        LOGGER.error("Couldn't close tick journal " + tickJournal.getDirectory(), e);
+      }
+    }
   }
 
   public synchronized void connect() {
@@ -618,6 +727,8 @@ public abstract class StandardLiveDataServer implements LiveDataServer, Lifecycl
                 snapshot.getValue().getString(PermissionUtils.LIVE_DATA_PERMISSION_DENIED_FIELD));
             responses.put(originalSpec.getIdentifiers(), errorRsp);
           } else {
+            // The initial image is part of the data the subscription sees, so is recorded for replay like a tick
+            journalTick(subscription.getSecurityUniqueId(), _numMarketDataUpdatesReceived.get(), snapshot.getValue());
             subscription.initialSnapshotReceived(snapshot.getValue());
           }
         }
@@ -758,6 +869,11 @@ public abstract class StandardLiveDataServer implements LiveDataServer, Lifecycl
       securityUniqueId2LiveDataSpecificationFromClient.put(securityUniqueId, liveDataSpecificationFromClient);
     }
 
+    if (isSnapshotFromLkvStore() && getLkvStoreProvider() instanceof BulkLastKnownValueStoreProvider && !snapshotsToActuallyDo.isEmpty()) {
+      snapshotFromLkvStore((BulkLastKnownValueStoreProvider) getLkvStoreProvider(), snapshotsToActuallyDo,
+          securityUniqueId2LiveDataSpecificationFromClient, resolved, responses);
+    }
+
     LOGGER.debug("Need to actually snapshot {}", snapshotsToActuallyDo);
     final Map<String, FudgeMsg> snapshots = doSnapshot(snapshotsToActuallyDo);
     for (final Map.Entry<String, FudgeMsg> snapshotEntry : snapshots.entrySet()) {
@@ -783,6 +899,50 @@ public abstract class StandardLiveDataServer implements LiveDataServer, Lifecycl
     return responses;
   }
 
+  /**
+   * Satisfies snapshots from the last known value store, in one read for each normalization rule set. The values in the store are already
+   * normalized.
+   *
+   * @param lkvStoreProvider
+   *          the last known value store, not null
+   * @param securityUniqueIds
+   *          the securities to snapshot, those satisfied are removed
+   * @param securityUniqueId2LiveDataSpecificationFromClient
+   *          the specification from the client for each security, not null
+   * @param resolved
+   *          the distribution specification for each specification from the client, not null
+   * @param responses
+   *          the responses, updated with any snapshots satisfied
+   */
+  private void snapshotFromLkvStore(final BulkLastKnownValueStoreProvider lkvStoreProvider, final Collection<String> securityUniqueIds,
+      final Map<String, LiveDataSpecification> securityUniqueId2LiveDataSpecificationFromClient,
+      final Map<LiveDataSpecification, DistributionSpecification> resolved, final Collection<LiveDataSubscriptionResponse> responses) {
+    final Map<String, Map<ExternalId, String>> marketDataIdsByRuleSet = new HashMap<>();
+    for (final String securityUniqueId : securityUniqueIds) {
+      final DistributionSpecification distributionSpec = resolved.get(securityUniqueId2LiveDataSpecificationFromClient.get(securityUniqueId));
+      final String ruleSetId = distributionSpec.getNormalizationRuleSet().getId();
+      Map<ExternalId, String> marketDataIds = marketDataIdsByRuleSet.get(ruleSetId);
+      if (marketDataIds == null) {
+        marketDataIds = new HashMap<>();
+        marketDataIdsByRuleSet.put(ruleSetId, marketDataIds);
+      }
+      marketDataIds.put(distributionSpec.getMarketDataId(), securityUniqueId);
+    }
+    for (final Map.Entry<String, Map<ExternalId, String>> ruleSet : marketDataIdsByRuleSet.entrySet()) {
+      final Map<ExternalId, FudgeMsg> lastKnownValues = lkvStoreProvider.getLastKnownValues(ruleSet.getValue().keySet(), ruleSet.getKey());
+      for (final Map.Entry<ExternalId, FudgeMsg> lastKnownValue : lastKnownValues.entrySet()) {
+        final String securityUniqueId = ruleSet.getValue().get(lastKnownValue.getKey());
+        final LiveDataSpecification liveDataSpecFromClient = securityUniqueId2LiveDataSpecificationFromClient.get(securityUniqueId);
+        final DistributionSpecification distributionSpec = resolved.get(liveDataSpecFromClient);
+        final LiveDataValueUpdateBean snapshot = new LiveDataValueUpdateBean(0, distributionSpec.getFullyQualifiedLiveDataSpecification(),
+            lastKnownValue.getValue());
+        responses.add(buildSnapshotResponse(liveDataSpecFromClient, snapshot));
+        securityUniqueIds.remove(securityUniqueId);
+      }
+    }
+    LOGGER.debug("Satisfied snapshots from last known values, leaving {}", securityUniqueIds);
+  }
+
   /**
    * If you want to force a snapshot - i.e., always a request a snapshot from the underlying API - you can use this method.
    *
@@ -982,6 +1142,10 @@ public abstract class StandardLiveDataServer implements LiveDataServer, Lifecycl
           _fullyQualifiedSpec2Distributor.remove(distributor.getFullyQualifiedLiveDataSpecification());
         }
         subscription.removeAllDistributors();
+        final ConflatingLiveDataDispatcher dispatcher = _liveDataDispatcher;
+        if (dispatcher != null) {
+          dispatcher.subscriptionRemoved(subscription);
+        }
 
         for (final SubscriptionListener listener : _subscriptionListeners) {
           try {
@@ -1080,14 +1244,38 @@ public abstract class StandardLiveDataServer implements LiveDataServer, Lifecycl
     return getSubscriptions().contains(subscription);
   }
 
+  /**
+   * Records fields received from the underlying market data provider in the tick journal, if there is one.
+   *
+   * @param securityUniqueId
+   *          the security unique ID, not null
+   * @param sequenceNumber
+   *          the sequence number of the update
+   * @param liveDataFields
+   *          the unnormalized fields, not null
+   */
+  private void journalTick(final String securityUniqueId, final long sequenceNumber, final FudgeMsg liveDataFields) {
+    final TickJournalWriter tickJournal = _tickJournal;
+    if (tickJournal != null) {
+      try {
+        tickJournal.append(new LiveDataValueUpdateBean(sequenceNumber,
+            new LiveDataSpecification(StandardRules.getNoNormalization().getId(), ExternalId.of(getUniqueIdDomain(), securityUniqueId)), liveDataFields));
+      } catch (final RuntimeException e) {
+        LOGGER.error("Couldn't record tick for " + securityUniqueId, e);
+      }
+    }
+  }
+
   public void liveDataReceived(final String securityUniqueId, final FudgeMsg liveDataFields) {
     LOGGER.debug("Live data received: {}", liveDataFields);
 
-    _numMarketDataUpdatesReceived.incrementAndGet();
+    final long sequenceNumber = _numMarketDataUpdatesReceived.incrementAndGet();
     if (_performanceCounter != null) {
       _performanceCounter.hit();
     }
 
+    journalTick(securityUniqueId, sequenceNumber, liveDataFields);
+
     final Subscription subscription = getSubscription(securityUniqueId);
     if (subscription == null) {
       // REVIEW kirk 2013-04-26 -- Should this really be a WARN? I believe some gateway systems
@@ -1098,7 +1286,12 @@ public abstract class StandardLiveDataServer implements LiveDataServer, Lifecycl
       return;
     }
 
-    subscription.liveDataReceived(liveDataFields);
+    final ConflatingLiveDataDispatcher dispatcher = _liveDataDispatcher;
+    if (dispatcher != null) {
+      dispatcher.liveDataReceived(subscription, liveDataFields);
+    } else {
+      subscription.liveDataReceived(liveDataFields);
+    }
   }
 
   public Set<String> getActiveDistributionSpecs() {
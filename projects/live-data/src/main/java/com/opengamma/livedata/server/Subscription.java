@@ -220,6 +220,7 @@ public class Subscription {
     final MarketDataDistributor removed = _distributors.remove(spec);
     if (removed != null) {
       LOGGER.info("Removed {} from {}", removed, this);
+      removed.close();
     } else {
       LOGGER.info("Removed distribution spec {} from {} (no-op)", spec, this);
     }
@@ -227,7 +228,12 @@ public class Subscription {
 
   /*package*/ void removeAllDistributors() {
     LOGGER.info("Removed {} from {}", _distributors, this);
-    _distributors.clear();
+    for (final DistributionSpecification spec : _distributors.keySet()) {
+      final MarketDataDistributor removed = _distributors.remove(spec);
+      if (removed != null) {
+        removed.close();
+      }
+    }
   }
 
   /*package*/ void initialSnapshotReceived(final FudgeMsg liveDataFields) {
@@ -0,0 +1,338 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.livedata.server.distribution;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.net.Socket;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.fudgemsg.FudgeContext;
+import org.fudgemsg.FudgeMsg;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.Lifecycle;
+
+import com.opengamma.livedata.LiveDataFrameEncoder;
+import com.opengamma.livedata.LiveDataSpecification;
+import com.opengamma.livedata.LiveDataValueUpdateBean;
+import com.opengamma.transport.FudgeMessageSender;
+import com.opengamma.transport.socket.SocketFudgeMessageSender;
+import com.opengamma.util.ArgumentChecker;
+import com.opengamma.util.NamedThreadPoolFactory;
+
+/**
+ * Factory to create senders that batch updates into frames over a socket, instead of publishing a message per update to JMS.
+ * <p>
+ * Distribution specifications are hashed over a fixed number of partitions. The updates for each partition are collected and written as a single
+ * {@link LiveDataFrameEncoder frame} when the batch is full or at the end of each flush interval. Frames are length prefixed Fudge envelopes written
+ * by a {@link SocketFudgeMessageSender} so concurrent writers are batched further onto the socket. Within a frame specifications and field names are
+ * sent once and fields that have not changed since the last update for the specification are sent without a value.
+ * <p>
+ * The receiving end should be a {@link com.opengamma.livedata.client.BatchedLiveDataReceiver} behind a socket receiver that dispatches messages on
+ * the thread that reads them, so frames are decoded in the order they were sent.
+ */
+public class BatchingSocketSenderFactory implements MarketDataSenderFactory, Lifecycle {
+
+  /** Logger. */
+  private static final Logger LOGGER = LoggerFactory.getLogger(BatchingSocketSenderFactory.class);
+
+  /**
+   * The underlying transport.
+   */
+  private final FudgeMessageSender _messageSender;
+  /**
+   * The encoder for each partition, also used as the lock for the partition.
+   */
+  private final LiveDataFrameEncoder[] _partitions;
+  /**
+   * Set when the transport reconnects, before each partition has reset its encoder.
+   */
+  private final boolean[] _resetRequired;
+  /**
+   * The number of updates in a partition that causes it to be written immediately.
+   */
+  private int _maxBatchSize = 1000;
+  /**
+   * The interval between writes of partially filled batches.
+   */
+  private long _flushIntervalMillis = 5;
+  /**
+   * The flushing thread, null if not started.
+   */
+  private ScheduledExecutorService _flusher;
+
+  /**
+   * Creates a factory that writes to a socket. The socket is configured through {@link #getSocketSender()}.
+   *
+   * @param fudgeContext  the Fudge context, not null
+   * @param partitions  the number of partitions, at least one
+   */
+  public BatchingSocketSenderFactory(final FudgeContext fudgeContext, final int partitions) {
+    ArgumentChecker.notNull(fudgeContext, "fudgeContext");
+    ArgumentChecker.isTrue(partitions > 0, "partitions");
+    _messageSender = new ResettingSocketSender(fudgeContext);
+    _partitions = createPartitions(fudgeContext, partitions);
+    _resetRequired = new boolean[partitions];
+  }
+
+  /**
+   * Creates a factory that writes to an arbitrary transport.
+   *
+   * @param messageSender  the transport, not null
+   * @param partitions  the number of partitions, at least one
+   */
+  public BatchingSocketSenderFactory(final FudgeMessageSender messageSender, final int partitions) {
+    ArgumentChecker.notNull(messageSender, "messageSender");
+    ArgumentChecker.isTrue(partitions > 0, "partitions");
+    _messageSender = messageSender;
+    _partitions = createPartitions(messageSender.getFudgeContext(), partitions);
+    _resetRequired = new boolean[partitions];
+  }
+
+  private static LiveDataFrameEncoder[] createPartitions(final FudgeContext fudgeContext, final int partitions) {
+    final LiveDataFrameEncoder[] encoders = new LiveDataFrameEncoder[partitions];
+    for (int i = 0; i < partitions; i++) {
+      encoders[i] = new LiveDataFrameEncoder(fudgeContext, i);
+    }
+    return encoders;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the underlying transport.
+   *
+   * @return the transport, not null
+   */
+  public FudgeMessageSender getMessageSender() {
+    return _messageSender;
+  }
+
+  /**
+   * Gets the socket the frames are written to, for configuring the remote address and port.
+   *
+   * @return the socket sender, or null if the factory was created with another transport
+   */
+  public SocketFudgeMessageSender getSocketSender() {
+    return _messageSender instanceof SocketFudgeMessageSender ? (SocketFudgeMessageSender) _messageSender : null;
+  }
+
+  /**
+   * Gets the number of updates in a partition that causes it to be written immediately.
+   *
+   * @return the maximum batch size
+   */
+  public int getMaxBatchSize() {
+    return _maxBatchSize;
+  }
+
+  /**
+   * Sets the number of updates in a partition that causes it to be written immediately.
+   *
+   * @param maxBatchSize  the maximum batch size, at least one
+   */
+  public void setMaxBatchSize(final int maxBatchSize) {
+    ArgumentChecker.isTrue(maxBatchSize > 0, "maxBatchSize");
+    _maxBatchSize = maxBatchSize;
+  }
+
+  /**
+   * Gets the interval between writes of partially filled batches.
+   *
+   * @return the interval in milliseconds
+   */
+  public long getFlushIntervalMillis() {
+    return _flushIntervalMillis;
+  }
+
+  /**
+   * Sets the interval between writes of partially filled batches. This is the longest an update is held before being sent. Changes take effect
+   * when the factory is next started.
+   *
+   * @param flushIntervalMillis  the interval in milliseconds, greater than zero
+   */
+  public void setFlushIntervalMillis(final long flushIntervalMillis) {
+    ArgumentChecker.isTrue(flushIntervalMillis > 0, "flushIntervalMillis");
+    _flushIntervalMillis = flushIntervalMillis;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Collection<MarketDataSender> create(final MarketDataDistributor distributor) {
+    LOGGER.debug("Created BatchingSender for {}", distributor);
+    return Collections.<MarketDataSender>singleton(new BatchingSender(distributor));
+  }
+
+  /**
+   * Discards the state shared with the receiver. Each partition resets before writing its next frame.
+   */
+  public void reset() {
+    LOGGER.info("Resetting {} partitions", _partitions.length);
+    synchronized (_resetRequired) {
+      for (int i = 0; i < _resetRequired.length; i++) {
+        _resetRequired[i] = true;
+      }
+    }
+  }
+
+  private LiveDataFrameEncoder getPartition(final LiveDataSpecification specification) {
+    return _partitions[(specification.hashCode() & Integer.MAX_VALUE) % _partitions.length];
+  }
+
+  private void send(final LiveDataValueUpdateBean update) {
+    final LiveDataFrameEncoder encoder = getPartition(update.getSpecification());
+    synchronized (encoder) {
+      encoder.add(update);
+      if (encoder.size() >= _maxBatchSize) {
+        write(encoder);
+      }
+    }
+  }
+
+  private void remove(final LiveDataSpecification specification) {
+    final LiveDataFrameEncoder encoder = getPartition(specification);
+    synchronized (encoder) {
+      encoder.remove(specification);
+    }
+  }
+
+  /**
+   * Writes any updates waiting in each partition.
+   */
+  public void flush() {
+    for (final LiveDataFrameEncoder encoder : _partitions) {
+      synchronized (encoder) {
+        write(encoder);
+      }
+    }
+  }
+
+  /**
+   * Writes the pending updates for a partition. The caller must hold the partition's lock so frames are written in the order they are encoded.
+   */
+  private void write(final LiveDataFrameEncoder encoder) {
+    if (encoder.size() == 0) {
+      return;
+    }
+    if (_messageSender instanceof ResettingSocketSender) {
+      // Open the socket first so a reset for a new connection is seen before the frame is encoded
+      try {
+        ((ResettingSocketSender) _messageSender).connect();
+      } catch (final RuntimeException e) {
+        LOGGER.error("Couldn't connect to write frame for partition " + encoder.getPartition(), e);
+        // Drop the updates rather than holding them until the receiver is available
+        encoder.encode();
+        encoder.reset();
+        return;
+      }
+    }
+    synchronized (_resetRequired) {
+      if (_resetRequired[encoder.getPartition()]) {
+        _resetRequired[encoder.getPartition()] = false;
+        encoder.reset();
+      }
+    }
+    final FudgeMsg frame = encoder.encode();
+    try {
+      _messageSender.send(frame);
+    } catch (final RuntimeException e) {
+      LOGGER.error("Couldn't write frame for partition " + encoder.getPartition(), e);
+      // The frame is lost so the receiver must start again
+      encoder.reset();
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public synchronized void start() {
+    if (_flusher == null) {
+      _flusher = Executors.newSingleThreadScheduledExecutor(new NamedThreadPoolFactory("BatchingSocketSenderFactory", true));
+      _flusher.scheduleWithFixedDelay(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            flush();
+          } catch (final RuntimeException e) {
+            LOGGER.error("Flush failed", e);
+          }
+        }
+      }, _flushIntervalMillis, _flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  @Override
+  public synchronized void stop() {
+    if (_flusher != null) {
+      _flusher.shutdown();
+      _flusher = null;
+      flush();
+    }
+  }
+
+  @Override
+  public synchronized boolean isRunning() {
+    return _flusher != null;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds the updates for a distributor to its partition's batch.
+   */
+  private final class BatchingSender implements MarketDataSender {
+
+    private final MarketDataDistributor _distributor;
+
+    BatchingSender(final MarketDataDistributor distributor) {
+      ArgumentChecker.notNull(distributor, "distributor");
+      _distributor = distributor;
+    }
+
+    @Override
+    public void sendMarketData(final LiveDataValueUpdateBean data) {
+      send(data);
+    }
+
+    @Override
+    public MarketDataDistributor getDistributor() {
+      return _distributor;
+    }
+
+    @Override
+    public void close() {
+      remove(_distributor.getFullyQualifiedLiveDataSpecification());
+    }
+
+  }
+
+  /**
+   * Socket transport that resets the partitions whenever a connection is opened, since the other end may have lost frames or be a new receiver.
+   */
+  private final class ResettingSocketSender extends SocketFudgeMessageSender {
+
+    ResettingSocketSender(final FudgeContext fudgeContext) {
+      super(fudgeContext);
+    }
+
+    /**
+     * Opens the socket if it is not already open.
+     */
+    void connect() {
+      startIfNecessary();
+    }
+
+    @Override
+    protected void socketOpened(final Socket socket, final BufferedOutputStream os, final BufferedInputStream is) {
+      reset();
+      super.socketOpened(socket, os, is);
+    }
+
+  }
+
+}
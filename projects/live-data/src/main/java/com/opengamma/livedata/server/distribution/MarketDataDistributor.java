@@ -246,6 +246,21 @@ public class MarketDataDistributor {
     }
   }
 
+  /**
+   * Closes the senders once the distributor has been removed from its subscription, so they can release any state held for it.
+   * <p>
+   * Serialized with {@link #distributeLiveData} so no data is sent after a sender is closed.
+   */
+  public synchronized void close() {
+    for (final MarketDataSender sender : _marketDataSenders) {
+      try {
+        sender.close();
+      } catch (final RuntimeException e) {
+        LOGGER.error(sender + " failed to close", e);
+      }
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Gets the expiry instant.
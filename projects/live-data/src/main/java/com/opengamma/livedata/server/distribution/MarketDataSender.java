@@ -26,4 +26,12 @@ public interface MarketDataSender {
    */
   MarketDataDistributor getDistributor();
 
+  /**
+   * Releases any state held for the distributor once it has stopped distributing. No more data is sent after this is called.
+   * <p>
+   * The default implementation does nothing.
+   */
+  default void close() {
+  }
+
 }
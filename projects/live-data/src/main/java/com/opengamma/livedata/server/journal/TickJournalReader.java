@@ -0,0 +1,135 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.livedata.server.journal;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.zip.GZIPInputStream;
+
+import org.fudgemsg.FudgeContext;
+import org.fudgemsg.mapping.FudgeDeserializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.opengamma.livedata.LiveDataValueUpdateBean;
+import com.opengamma.livedata.LiveDataValueUpdateBeanFudgeBuilder;
+import com.opengamma.livedata.firehose.RecordStream;
+import com.opengamma.util.ArgumentChecker;
+import com.opengamma.util.fudgemsg.OpenGammaFudgeContext;
+
+/**
+ * Reads the records of a tick journal written by a {@link TickJournalWriter}, in the order they were appended.
+ * <p>
+ * A segment that ends part way through a record, for example because the process writing it stopped, is read up to the last complete record.
+ */
+public class TickJournalReader implements RecordStream<TickJournalRecord>, Closeable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TickJournalReader.class);
+
+  private static final int BUFFER_SIZE = 65536;
+
+  private final FudgeContext _fudgeContext;
+  private final Iterator<File> _segments;
+  private File _segment;
+  private DataInputStream _in;
+
+  /**
+   * Creates an instance reading the segments present in the directory.
+   *
+   * @param directory
+   *          the journal directory, not null
+   */
+  public TickJournalReader(final File directory) {
+    this(directory, OpenGammaFudgeContext.getInstance());
+  }
+
+  /**
+   * Creates an instance reading the segments present in the directory.
+   *
+   * @param directory
+   *          the journal directory, not null
+   * @param fudgeContext
+   *          the Fudge context, not null
+   */
+  public TickJournalReader(final File directory, final FudgeContext fudgeContext) {
+    ArgumentChecker.notNull(directory, "directory");
+    ArgumentChecker.notNull(fudgeContext, "fudgeContext");
+    _fudgeContext = fudgeContext;
+    _segments = TickJournalWriter.getSegments(directory).iterator();
+  }
+
+  /**
+   * Reads the next record.
+   *
+   * @return the record, null at the end of the journal
+   * @throws IOException
+   *           if a segment can't be read
+   */
+  @Override
+  public TickJournalRecord readRecord() throws IOException {
+    while (true) {
+      if (_in == null && !openSegment()) {
+        return null;
+      }
+      final long timestampNanos;
+      try {
+        timestampNanos = _in.readLong();
+      } catch (final EOFException e) {
+        closeSegment();
+        continue;
+      }
+      final byte[] bytes;
+      try {
+        bytes = new byte[_in.readInt()];
+        _in.readFully(bytes);
+      } catch (final EOFException e) {
+        LOGGER.warn("Ignoring incomplete record at the end of {}", _segment);
+        closeSegment();
+        continue;
+      }
+      final LiveDataValueUpdateBean update = LiveDataValueUpdateBeanFudgeBuilder.fromFudgeMsg(new FudgeDeserializer(_fudgeContext),
+          _fudgeContext.deserialize(bytes).getMessage());
+      return new TickJournalRecord(timestampNanos, update);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    closeSegment();
+  }
+
+  private boolean openSegment() throws IOException {
+    while (_segments.hasNext()) {
+      _segment = _segments.next();
+      LOGGER.info("Reading ticks from {}", _segment);
+      final FileInputStream file = new FileInputStream(_segment);
+      try {
+        _in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(file, BUFFER_SIZE), BUFFER_SIZE));
+        return true;
+      } catch (final EOFException e) {
+        // The writer stopped before writing the GZIP header
+        LOGGER.warn("Ignoring empty segment {}", _segment);
+        file.close();
+      }
+    }
+    return false;
+  }
+
+  private void closeSegment() throws IOException {
+    if (_in != null) {
+      final DataInputStream in = _in;
+      _in = null;
+      in.close();
+    }
+  }
+
+}
@@ -0,0 +1,56 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.livedata.server.journal;
+
+import com.opengamma.livedata.LiveDataValueUpdate;
+import com.opengamma.util.ArgumentChecker;
+
+/**
+ * A market data update read from a tick journal, with the time at which it was recorded.
+ */
+public final class TickJournalRecord {
+
+  private final long _timestampNanos;
+  private final LiveDataValueUpdate _update;
+
+  /**
+   * Creates an instance.
+   *
+   * @param timestampNanos
+   *          the time the update was recorded, in nanoseconds since the epoch
+   * @param update
+   *          the update, not null
+   */
+  public TickJournalRecord(final long timestampNanos, final LiveDataValueUpdate update) {
+    ArgumentChecker.notNull(update, "update");
+    _timestampNanos = timestampNanos;
+    _update = update;
+  }
+
+  /**
+   * Gets the time the update was recorded.
+   *
+   * @return the time in nanoseconds since the epoch
+   */
+  public long getTimestampNanos() {
+    return _timestampNanos;
+  }
+
+  /**
+   * Gets the update.
+   *
+   * @return the update, not null
+   */
+  public LiveDataValueUpdate getUpdate() {
+    return _update;
+  }
+
+  @Override
+  public String toString() {
+    return "TickJournalRecord[" + _timestampNanos + ", " + _update + "]";
+  }
+
+}
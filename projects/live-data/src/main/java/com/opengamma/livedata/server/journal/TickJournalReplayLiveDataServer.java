@@ -0,0 +1,337 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.livedata.server.journal;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.fudgemsg.FudgeField;
+import org.fudgemsg.FudgeMsg;
+import org.fudgemsg.MutableFudgeMsg;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.opengamma.id.ExternalScheme;
+import com.opengamma.livedata.LiveDataValueUpdate;
+import com.opengamma.livedata.server.StandardLiveDataServer;
+import com.opengamma.livedata.server.Subscription;
+import com.opengamma.util.ArgumentChecker;
+import com.opengamma.util.TerminatableJob;
+import com.opengamma.util.fudgemsg.OpenGammaFudgeContext;
+
+import net.sf.ehcache.CacheManager;
+
+/**
+ * A live data server that replays the ticks in a tick journal instead of connecting to a market data API.
+ * <p>
+ * The journal is replayed once when the server connects, or when {@link #startReplay()} is called if {@link #isReplayOnConnect()} is false so
+ * that subscriptions can be made first. It is replayed on a single thread and in the order the ticks were recorded, so the ticks delivered to
+ * subscribers are the same on every run. Leave the live data dispatcher unset to keep that ordering through to distribution. Ticks are replayed at
+ * {@link #getSpeed()} times the rate they were recorded, or as fast as possible if the speed is zero.
+ * <p>
+ * Ticks are replayed for the identifiers of {@link #getUniqueIdDomain()} in the journal. The fields are passed to {@link #liveDataReceived} and are
+ * normalized again, so the journal should hold the unnormalized ticks recorded by a {@link StandardLiveDataServer} with a tick journal set.
+ * Snapshots return the latest value of each field replayed so far.
+ */
+public class TickJournalReplayLiveDataServer extends StandardLiveDataServer {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TickJournalReplayLiveDataServer.class);
+
+  private final File _directory;
+  private final ExternalScheme _uniqueIdDomain;
+  private volatile double _speed = 1;
+  private volatile boolean _replayOnConnect = true;
+  private final Set<String> _subscriptions = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+  private final Map<String, MutableFudgeMsg> _latestValues = new HashMap<>();
+  private final AtomicLong _numTicksReplayed = new AtomicLong();
+  private volatile CountDownLatch _replayFinished = new CountDownLatch(1);
+  private ReplayJob _replayJob;
+  private Thread _replayThread;
+
+  /**
+   * Creates an instance.
+   *
+   * @param cacheManager
+   *          the cache manager, not null
+   * @param directory
+   *          the journal directory, not null
+   * @param uniqueIdDomain
+   *          the scheme of the identifiers to replay, not null
+   */
+  public TickJournalReplayLiveDataServer(final CacheManager cacheManager, final File directory, final ExternalScheme uniqueIdDomain) {
+    super(cacheManager);
+    ArgumentChecker.notNull(directory, "directory");
+    ArgumentChecker.notNull(uniqueIdDomain, "uniqueIdDomain");
+    _directory = directory;
+    _uniqueIdDomain = uniqueIdDomain;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the replay speed.
+   *
+   * @return the multiple of the recorded rate, zero to replay as fast as possible
+   */
+  public double getSpeed() {
+    return _speed;
+  }
+
+  /**
+   * Sets the replay speed. This should be set before the server connects.
+   *
+   * @param speed
+   *          the multiple of the recorded rate, zero to replay as fast as possible
+   */
+  public void setSpeed(final double speed) {
+    ArgumentChecker.isTrue(speed >= 0, "speed");
+    _speed = speed;
+  }
+
+  /**
+   * Gets whether the journal is replayed when the server connects.
+   *
+   * @return true if the journal is replayed when the server connects, false if it is replayed by {@link #startReplay()}
+   */
+  public boolean isReplayOnConnect() {
+    return _replayOnConnect;
+  }
+
+  /**
+   * Sets whether the journal is replayed when the server connects.
+   *
+   * @param replayOnConnect
+   *          true to replay the journal when the server connects, false to replay it when {@link #startReplay()} is called
+   */
+  public void setReplayOnConnect(final boolean replayOnConnect) {
+    _replayOnConnect = replayOnConnect;
+  }
+
+  /**
+   * Starts replaying the journal from the beginning.
+   */
+  public synchronized void startReplay() {
+    verifyConnectionOk();
+    if (_replayThread != null && _replayThread.isAlive()) {
+      throw new IllegalStateException("Already replaying " + _directory);
+    }
+    _numTicksReplayed.set(0);
+    synchronized (_latestValues) {
+      _latestValues.clear();
+    }
+    _replayFinished = new CountDownLatch(1);
+    _replayJob = new ReplayJob(_replayFinished);
+    _replayThread = new Thread(_replayJob, "TickJournalReplay");
+    _replayThread.setDaemon(true);
+    _replayThread.start();
+  }
+
+  /**
+   * Gets the number of ticks read from the journal since the replay last started, including those with no subscription.
+   *
+   * @return the number of ticks
+   */
+  public long getNumTicksReplayed() {
+    return _numTicksReplayed.get();
+  }
+
+  /**
+   * Waits for the replay of the journal to finish.
+   *
+   * @param timeout
+   *          the maximum time to wait
+   * @param unit
+   *          the unit of the timeout, not null
+   * @return true if the replay finished, false if the timeout elapsed
+   * @throws InterruptedException
+   *           if interrupted while waiting
+   */
+  public boolean awaitReplay(final long timeout, final TimeUnit unit) throws InterruptedException {
+    return _replayFinished.await(timeout, unit);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  protected Map<String, Object> doSubscribe(final Collection<String> uniqueIds) {
+    final Map<String, Object> result = new HashMap<>();
+    for (final String uniqueId : uniqueIds) {
+      _subscriptions.add(uniqueId);
+      result.put(uniqueId, uniqueId);
+    }
+    return result;
+  }
+
+  @Override
+  protected void doUnsubscribe(final Collection<Object> subscriptionHandles) {
+    for (final Object subscriptionHandle : subscriptionHandles) {
+      _subscriptions.remove(subscriptionHandle);
+    }
+  }
+
+  @Override
+  protected Map<String, FudgeMsg> doSnapshot(final Collection<String> uniqueIds) {
+    final Map<String, FudgeMsg> result = new HashMap<>();
+    synchronized (_latestValues) {
+      for (final String uniqueId : uniqueIds) {
+        final MutableFudgeMsg values = _latestValues.get(uniqueId);
+        if (values != null) {
+          result.put(uniqueId, OpenGammaFudgeContext.getInstance().newMessage(values));
+        }
+      }
+    }
+    return result;
+  }
+
+  @Override
+  protected ExternalScheme getUniqueIdDomain() {
+    return _uniqueIdDomain;
+  }
+
+  @Override
+  protected void doConnect() {
+  }
+
+  @Override
+  public synchronized void connect() {
+    super.connect();
+    if (isReplayOnConnect()) {
+      startReplay();
+    }
+  }
+
+  @Override
+  protected synchronized void doDisconnect() {
+    if (_replayJob != null) {
+      _replayJob.terminate();
+      LockSupport.unpark(_replayThread);
+      try {
+        _replayThread.join(1000);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        LOGGER.warn("Interrupted waiting for {} to finish", _replayThread);
+      }
+      _replayJob = null;
+      _replayThread = null;
+    }
+  }
+
+  @Override
+  protected boolean snapshotOnSubscriptionStartRequired(final Subscription subscription) {
+    return true;
+  }
+
+  private void replay(final LiveDataValueUpdate update) {
+    final String uniqueId = update.getSpecification().getIdentifier(_uniqueIdDomain);
+    if (uniqueId == null) {
+      return;
+    }
+    synchronized (_latestValues) {
+      MutableFudgeMsg values = _latestValues.get(uniqueId);
+      if (values == null) {
+        values = OpenGammaFudgeContext.getInstance().newMessage();
+        _latestValues.put(uniqueId, values);
+      }
+      for (final FudgeField field : update.getFields()) {
+        values.remove(field.getName());
+      }
+      for (final FudgeField field : update.getFields()) {
+        values.add(field);
+      }
+    }
+    if (_subscriptions.contains(uniqueId)) {
+      liveDataReceived(uniqueId, update.getFields());
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Reads the journal and replays each tick at the time it is due.
+   */
+  private final class ReplayJob extends TerminatableJob {
+
+    private final CountDownLatch _finished;
+    private TickJournalReader _reader;
+    private boolean _started;
+    private long _firstTimestampNanos;
+    private long _startNanos;
+
+    ReplayJob(final CountDownLatch finished) {
+      _finished = finished;
+    }
+
+    @Override
+    protected void preStart() {
+      LOGGER.info("Replaying ticks from {}", _directory);
+      _reader = new TickJournalReader(_directory);
+    }
+
+    @Override
+    protected void runOneCycle() {
+      final TickJournalRecord record;
+      try {
+        record = _reader.readRecord();
+      } catch (final IOException e) {
+        LOGGER.error("Couldn't read ticks from " + _directory, e);
+        terminate();
+        return;
+      }
+      if (record == null) {
+        LOGGER.info("Replayed {} ticks from {}", _numTicksReplayed.get(), _directory);
+        terminate();
+        return;
+      }
+      waitUntilDue(record.getTimestampNanos());
+      if (!isTerminated()) {
+        try {
+          replay(record.getUpdate());
+        } catch (final RuntimeException e) {
+          LOGGER.error("Couldn't replay " + record, e);
+        }
+        _numTicksReplayed.incrementAndGet();
+      }
+    }
+
+    private void waitUntilDue(final long timestampNanos) {
+      if (!_started) {
+        _started = true;
+        _firstTimestampNanos = timestampNanos;
+        _startNanos = System.nanoTime();
+        return;
+      }
+      final double speed = _speed;
+      if (speed == 0) {
+        return;
+      }
+      final long dueNanos = _startNanos + (long) ((timestampNanos - _firstTimestampNanos) / speed);
+      long delay = dueNanos - System.nanoTime();
+      while (delay > 0 && !isTerminated()) {
+        LockSupport.parkNanos(delay);
+        delay = dueNanos - System.nanoTime();
+      }
+    }
+
+    @Override
+    protected void postRunCycle() {
+      try {
+        _reader.close();
+      } catch (final IOException e) {
+        LOGGER.warn("Couldn't close journal {}", _directory, e);
+      }
+      _finished.countDown();
+    }
+
+  }
+
+}
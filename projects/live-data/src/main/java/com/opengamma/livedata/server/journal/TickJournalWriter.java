@@ -0,0 +1,439 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.livedata.server.journal;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+import org.fudgemsg.FudgeContext;
+import org.fudgemsg.mapping.FudgeSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.opengamma.OpenGammaRuntimeException;
+import com.opengamma.livedata.LiveDataValueUpdate;
+import com.opengamma.livedata.LiveDataValueUpdateBean;
+import com.opengamma.livedata.LiveDataValueUpdateBeanFudgeBuilder;
+import com.opengamma.util.ArgumentChecker;
+import com.opengamma.util.fudgemsg.OpenGammaFudgeContext;
+
+/**
+ * Appends market data updates to a tick journal.
+ * <p>
+ * A journal is a directory of segment files, each a GZIP stream of records. A record is the time it was recorded in nanoseconds since the epoch,
+ * the length of the encoded update and the update encoded as a Fudge message. A segment is closed once it holds {@link #getMaxSegmentBytes()} of
+ * uncompressed records and existing segments are never written to, so a writer opened on a directory that already holds a journal starts a new
+ * segment after the last one. Records are read back in the order they were appended by a {@link TickJournalReader}.
+ * <p>
+ * Appending an update only encodes it and places it on a queue; the records are compressed and written to the segments by a writer thread, so the
+ * threads delivering ticks are not held up by the compression or the file system. The queue holds at most {@link #DEFAULT_QUEUE_CAPACITY} records
+ * and appending blocks while it is full. Records are buffered; {@link #flush()} waits until the records appended so far have been written and are
+ * readable. If the process stops without closing the writer, the records after the last flush of the segment being written are lost.
+ * <p>
+ * A record that can't be written is logged and the next {@link #flush()} or {@link #close()} fails with the error. If the writer thread stops
+ * unexpectedly, any later call to append, flush or close fails rather than waiting for it.
+ */
+public class TickJournalWriter implements Closeable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TickJournalWriter.class);
+
+  /**
+   * The default number of uncompressed bytes in a segment.
+   */
+  public static final long DEFAULT_MAX_SEGMENT_BYTES = 64L * 1024 * 1024;
+
+  /**
+   * The number of records that can be waiting to be written before appending blocks.
+   */
+  public static final int DEFAULT_QUEUE_CAPACITY = 65536;
+
+  private static final Pattern SEGMENT_NAME = Pattern.compile("ticks-(\\d+)\\.journal\\.gz");
+  private static final int BUFFER_SIZE = 65536;
+  private static final int RECORD_HEADER_BYTES = 12;
+  /** How often a blocked caller checks whether the writer thread has stopped. */
+  private static final long WRITER_CHECK_MILLIS = 1000;
+
+  private final File _directory;
+  private final FudgeContext _fudgeContext;
+  /** Converts {@link System#nanoTime()} to nanoseconds since the epoch. */
+  private final long _epochNanosOffset;
+  private volatile long _maxSegmentBytes = DEFAULT_MAX_SEGMENT_BYTES;
+  private final BlockingQueue<Object> _queue = new LinkedBlockingQueue<>(DEFAULT_QUEUE_CAPACITY);
+  /**
+   * Held to append and flush, and exclusively to close, so nothing is queued after the writer thread has been told to stop.
+   */
+  private final ReadWriteLock _closeLock = new ReentrantReadWriteLock();
+  private final Thread _writerThread;
+  private boolean _closed;
+  /**
+   * The error that stopped the writer thread, null if it is running or has been closed.
+   */
+  private volatile Error _failure;
+  // The segment being written, only accessed by the writer thread
+  private int _nextSegment;
+  private DataOutputStream _out;
+  private long _segmentBytes;
+  /** The first error writing a record since the last flush, only accessed by the writer thread. */
+  private Exception _writeError;
+
+  /**
+   * An encoded update waiting to be written.
+   */
+  private static final class Record {
+
+    private final long _timestampNanos;
+    private final byte[] _bytes;
+
+    Record(final long timestampNanos, final byte[] bytes) {
+      _timestampNanos = timestampNanos;
+      _bytes = bytes;
+    }
+
+  }
+
+  /**
+   * A request to flush, or close, the segment being written once the records queued before it have been written.
+   */
+  private static final class Request {
+
+    private final boolean _close;
+    private final CountDownLatch _done = new CountDownLatch(1);
+    private Exception _error;
+
+    Request(final boolean close) {
+      _close = close;
+    }
+
+  }
+
+  /**
+   * Creates an instance.
+   *
+   * @param directory
+   *          the journal directory, created if it does not exist, not null
+   */
+  public TickJournalWriter(final File directory) {
+    this(directory, OpenGammaFudgeContext.getInstance());
+  }
+
+  /**
+   * Creates an instance.
+   *
+   * @param directory
+   *          the journal directory, created if it does not exist, not null
+   * @param fudgeContext
+   *          the Fudge context, not null
+   */
+  public TickJournalWriter(final File directory, final FudgeContext fudgeContext) {
+    ArgumentChecker.notNull(directory, "directory");
+    ArgumentChecker.notNull(fudgeContext, "fudgeContext");
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      throw new OpenGammaRuntimeException("Couldn't create journal directory " + directory);
+    }
+    _directory = directory;
+    _fudgeContext = fudgeContext;
+    _epochNanosOffset = System.currentTimeMillis() * 1000000L - System.nanoTime();
+    final List<File> segments = getSegments(directory);
+    _nextSegment = segments.isEmpty() ? 0 : getSegmentIndex(segments.get(segments.size() - 1)) + 1;
+    _writerThread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        writeRecords();
+      }
+    }, "TickJournalWriter-" + directory.getName());
+    _writerThread.setDaemon(true);
+    _writerThread.start();
+  }
+
+  /**
+   * Gets the journal directory.
+   *
+   * @return the directory, not null
+   */
+  public File getDirectory() {
+    return _directory;
+  }
+
+  /**
+   * Gets the number of uncompressed bytes after which a segment is closed.
+   *
+   * @return the number of bytes
+   */
+  public long getMaxSegmentBytes() {
+    return _maxSegmentBytes;
+  }
+
+  /**
+   * Sets the number of uncompressed bytes after which a segment is closed.
+   *
+   * @param maxSegmentBytes
+   *          the number of bytes, greater than zero
+   */
+  public void setMaxSegmentBytes(final long maxSegmentBytes) {
+    ArgumentChecker.isTrue(maxSegmentBytes > 0, "maxSegmentBytes");
+    _maxSegmentBytes = maxSegmentBytes;
+  }
+
+  /**
+   * Gets the current time with the resolution of {@link System#nanoTime()}.
+   *
+   * @return the time in nanoseconds since the epoch
+   */
+  public long currentTimeNanos() {
+    return _epochNanosOffset + System.nanoTime();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Appends an update, recorded at the current time.
+   *
+   * @param update
+   *          the update, not null
+   */
+  public void append(final LiveDataValueUpdate update) {
+    append(currentTimeNanos(), update);
+  }
+
+  /**
+   * Appends an update. The update is encoded on the calling thread and written by the writer thread.
+   *
+   * @param timestampNanos
+   *          the time the update was recorded, in nanoseconds since the epoch
+   * @param update
+   *          the update, not null
+   */
+  public void append(final long timestampNanos, final LiveDataValueUpdate update) {
+    ArgumentChecker.notNull(update, "update");
+    final LiveDataValueUpdateBean bean = update instanceof LiveDataValueUpdateBean
+        ? (LiveDataValueUpdateBean) update
+        : new LiveDataValueUpdateBean(update.getSequenceNumber(), update.getSpecification(), update.getFields());
+    final byte[] bytes = _fudgeContext.toByteArray(LiveDataValueUpdateBeanFudgeBuilder.toFudgeMsg(new FudgeSerializer(_fudgeContext), bean));
+    enqueue(new Record(timestampNanos, bytes));
+  }
+
+  /**
+   * Waits until the records appended so far have been written to the current segment so that they can be read.
+   */
+  public void flush() {
+    final Request request = new Request(false);
+    enqueue(request);
+    await(request);
+  }
+
+  /**
+   * Writes the records appended so far, closes the current segment and stops the writer thread. No more updates can be appended.
+   */
+  @Override
+  public void close() {
+    final Request request = new Request(true);
+    _closeLock.writeLock().lock();
+    try {
+      if (_closed) {
+        return;
+      }
+      put(request);
+      _closed = true;
+    } finally {
+      _closeLock.writeLock().unlock();
+    }
+    await(request);
+    try {
+      _writerThread.join();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new OpenGammaRuntimeException("Interrupted closing journal " + _directory, e);
+    }
+  }
+
+  private void enqueue(final Object item) {
+    _closeLock.readLock().lock();
+    try {
+      if (_closed) {
+        throw new OpenGammaRuntimeException("Journal " + _directory + " has been closed");
+      }
+      put(item);
+    } finally {
+      _closeLock.readLock().unlock();
+    }
+  }
+
+  private void put(final Object item) {
+    checkWriterThread();
+    try {
+      while (!_queue.offer(item, WRITER_CHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+        checkWriterThread();
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new OpenGammaRuntimeException("Interrupted writing to journal " + _directory, e);
+    }
+  }
+
+  private void checkWriterThread() {
+    final Error failure = _failure;
+    if (failure != null) {
+      throw new OpenGammaRuntimeException("Writer thread for journal " + _directory + " has stopped", failure);
+    }
+  }
+
+  private void await(final Request request) {
+    try {
+      while (!request._done.await(WRITER_CHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+        checkWriterThread();
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new OpenGammaRuntimeException("Interrupted waiting for journal " + _directory, e);
+    }
+    if (request._error != null) {
+      throw new OpenGammaRuntimeException("Couldn't " + (request._close ? "close" : "flush") + " journal " + _directory, request._error);
+    }
+  }
+
+  /**
+   * Writes the queued records until a close request is taken. Runs on the writer thread.
+   */
+  private void writeRecords() {
+    try {
+      while (true) {
+        final Object item;
+        try {
+          item = _queue.take();
+        } catch (final InterruptedException e) {
+          LOGGER.warn("Interrupted writing to journal {}", _directory);
+          continue;
+        }
+        if (item instanceof Record) {
+          try {
+            write((Record) item);
+          } catch (final IOException | RuntimeException e) {
+            LOGGER.error("Couldn't write to journal " + _directory, e);
+            if (_writeError == null) {
+              _writeError = e;
+            }
+            // Start a new segment for the next record rather than writing after a partial one
+            closeSegmentQuietly();
+          }
+        } else {
+          final Request request = (Request) item;
+          try {
+            if (request._close) {
+              closeSegment();
+            } else if (_out != null) {
+              _out.flush();
+            }
+          } catch (final IOException | RuntimeException e) {
+            request._error = e;
+            closeSegmentQuietly();
+          }
+          // Report any records lost since the last flush
+          if (request._error == null) {
+            request._error = _writeError;
+          }
+          _writeError = null;
+          request._done.countDown();
+          if (request._close) {
+            return;
+          }
+        }
+      }
+    } catch (final Error e) {
+      LOGGER.error("Writer thread for journal " + _directory + " stopped", e);
+      _failure = e;
+      _queue.clear();
+      throw e;
+    }
+  }
+
+  private void write(final Record record) throws IOException {
+    if (_out == null) {
+      openSegment();
+    }
+    _out.writeLong(record._timestampNanos);
+    _out.writeInt(record._bytes.length);
+    _out.write(record._bytes);
+    _segmentBytes += RECORD_HEADER_BYTES + record._bytes.length;
+    if (_segmentBytes >= _maxSegmentBytes) {
+      closeSegment();
+    }
+  }
+
+  private void openSegment() throws IOException {
+    final File segment = new File(_directory, String.format("ticks-%08d.journal.gz", _nextSegment++));
+    LOGGER.info("Writing ticks to {}", segment);
+    _out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(segment), BUFFER_SIZE, true), BUFFER_SIZE));
+    _segmentBytes = 0;
+  }
+
+  private void closeSegment() throws IOException {
+    if (_out != null) {
+      final DataOutputStream out = _out;
+      _out = null;
+      out.close();
+    }
+  }
+
+  private void closeSegmentQuietly() {
+    try {
+      closeSegment();
+    } catch (final IOException | RuntimeException e) {
+      LOGGER.warn("Couldn't close segment of journal {}", _directory, e);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the segments in a journal directory in the order they were written.
+   *
+   * @param directory
+   *          the directory, not null
+   * @return the segments, not null
+   */
+  /* package */ static List<File> getSegments(final File directory) {
+    final List<File> segments = new ArrayList<>();
+    final File[] files = directory.listFiles();
+    if (files != null) {
+      for (final File file : files) {
+        if (file.isFile() && SEGMENT_NAME.matcher(file.getName()).matches()) {
+          segments.add(file);
+        }
+      }
+    }
+    Collections.sort(segments, new Comparator<File>() {
+      @Override
+      public int compare(final File o1, final File o2) {
+        return Long.compare(getSegmentIndex(o1), getSegmentIndex(o2));
+      }
+    });
+    return segments;
+  }
+
+  private static int getSegmentIndex(final File segment) {
+    final Matcher matcher = SEGMENT_NAME.matcher(segment.getName());
+    if (!matcher.matches()) {
+      throw new OpenGammaRuntimeException(segment + " is not a journal segment");
+    }
+    return Integer.parseInt(matcher.group(1));
+  }
+
+}
@@ -0,0 +1,10 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+
+/**
+ * Provides classes to record market data ticks to a journal and to replay them through a live data server.
+ */
+package com.opengamma.livedata.server.journal;
@@ -0,0 +1,144 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.livedata;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.List;
+
+import org.fudgemsg.FudgeContext;
+import org.fudgemsg.FudgeField;
+import org.fudgemsg.FudgeMsg;
+import org.fudgemsg.MutableFudgeMsg;
+import org.fudgemsg.types.IndicatorType;
+import org.testng.annotations.Test;
+
+import com.opengamma.id.ExternalId;
+import com.opengamma.util.fudgemsg.OpenGammaFudgeContext;
+import com.opengamma.util.test.TestGroup;
+
+/**
+ * Tests the {@link LiveDataFrameEncoder} and {@link LiveDataFrameDecoder} classes.
+ */
+@Test(groups = TestGroup.UNIT)
+public class LiveDataFrameEncoderTest {
+
+  private static final FudgeContext CONTEXT = OpenGammaFudgeContext.getInstance();
+  private static final LiveDataSpecification SPEC_1 = new LiveDataSpecification("rules", ExternalId.of("eid", "1"));
+  private static final LiveDataSpecification SPEC_2 = new LiveDataSpecification("rules", ExternalId.of("eid", "2"));
+  private static final LiveDataSpecification SPEC_3 = new LiveDataSpecification("rules", ExternalId.of("eid", "3"));
+
+  private static LiveDataValueUpdateBean update(final long sequenceNumber, final LiveDataSpecification spec, final Object... fields) {
+    final MutableFudgeMsg msg = CONTEXT.newMessage();
+    for (int i = 0; i < fields.length; i += 2) {
+      msg.add((String) fields[i], fields[i + 1]);
+    }
+    return new LiveDataValueUpdateBean(sequenceNumber, spec, msg);
+  }
+
+  private static FudgeMsg encode(final LiveDataFrameEncoder encoder, final LiveDataValueUpdateBean... updates) {
+    for (final LiveDataValueUpdateBean update : updates) {
+      encoder.add(update);
+    }
+    assertEquals(encoder.size(), updates.length);
+    final FudgeMsg frame = encoder.encode();
+    assertEquals(encoder.size(), 0);
+    // Round trip through the wire format
+    return CONTEXT.deserialize(CONTEXT.toByteArray(frame)).getMessage();
+  }
+
+  private static void assertUpdate(final LiveDataValueUpdateBean actual, final LiveDataValueUpdateBean expected) {
+    assertEquals(actual.getSequenceNumber(), expected.getSequenceNumber());
+    assertEquals(actual.getSpecification(), expected.getSpecification());
+    assertEquals(actual.getFields().getNumFields(), expected.getFields().getNumFields());
+    for (final FudgeField field : expected.getFields()) {
+      assertEquals(actual.getFields().getDouble(field.getName()), expected.getFields().getDouble(field.getName()));
+    }
+  }
+
+  public void testEmpty() {
+    assertNull(new LiveDataFrameEncoder(CONTEXT, 0).encode());
+  }
+
+  public void testRoundTrip() {
+    final LiveDataFrameEncoder encoder = new LiveDataFrameEncoder(CONTEXT, 3);
+    final LiveDataFrameDecoder decoder = new LiveDataFrameDecoder(CONTEXT);
+    final LiveDataValueUpdateBean[] first = {update(0, SPEC_1, "BID", 1d, "ASK", 2d), update(0, SPEC_2, "BID", 10d) };
+    final LiveDataValueUpdateBean[] second = {update(1, SPEC_1, "BID", 1d, "ASK", 3d), update(1, SPEC_2, "BID", 11d, "LAST", 12d),
+      update(2, SPEC_1, "BID", 1d) };
+    final FudgeMsg frame = encode(encoder, first);
+    assertEquals(frame.getInt(LiveDataFrameEncoder.PARTITION_FIELD_NAME).intValue(), 3);
+    List<LiveDataValueUpdateBean> decoded = decoder.decode(frame);
+    assertEquals(decoded.size(), 2);
+    assertUpdate(decoded.get(0), first[0]);
+    assertUpdate(decoded.get(1), first[1]);
+    decoded = decoder.decode(encode(encoder, second));
+    assertEquals(decoded.size(), 3);
+    for (int i = 0; i < 3; i++) {
+      assertUpdate(decoded.get(i), second[i]);
+    }
+  }
+
+  public void testDeltaEncoding() {
+    final LiveDataFrameEncoder encoder = new LiveDataFrameEncoder(CONTEXT, 0);
+    final FudgeMsg first = encode(encoder, update(0, SPEC_1, "BID", 1d, "ASK", 2d));
+    assertTrue(first.hasField(LiveDataFrameEncoder.RESET_FIELD_NAME));
+    final FudgeMsg firstUpdate = first.getMessage(LiveDataFrameEncoder.UPDATE_FIELD_NAME);
+    assertTrue(firstUpdate.hasField(LiveDataFrameEncoder.SPECIFICATION_FIELD_NAME));
+    assertEquals(firstUpdate.getMessage(LiveDataFrameEncoder.NAMES_FIELD_NAME).getNumFields(), 2);
+    final FudgeMsg second = encode(encoder, update(1, SPEC_1, "BID", 1d, "ASK", 3d));
+    assertFalse(second.hasField(LiveDataFrameEncoder.RESET_FIELD_NAME));
+    final FudgeMsg secondUpdate = second.getMessage(LiveDataFrameEncoder.UPDATE_FIELD_NAME);
+    // Specification and names are only sent once
+    assertFalse(secondUpdate.hasField(LiveDataFrameEncoder.SPECIFICATION_FIELD_NAME));
+    assertFalse(secondUpdate.hasField(LiveDataFrameEncoder.NAMES_FIELD_NAME));
+    final FudgeMsg fields = secondUpdate.getMessage(LiveDataFrameEncoder.FIELDS_FIELD_NAME);
+    assertEquals(fields.getNumFields(), 2);
+    assertTrue(fields.getByOrdinal(0).getValue() instanceof IndicatorType);
+    assertEquals(fields.getByOrdinal(1).getValue(), 3d);
+  }
+
+  public void testReset() {
+    final LiveDataFrameEncoder encoder = new LiveDataFrameEncoder(CONTEXT, 0);
+    new LiveDataFrameDecoder(CONTEXT).decode(encode(encoder, update(0, SPEC_1, "BID", 1d)));
+    // A new decoder can't decode updates that depend on earlier frames
+    final LiveDataValueUpdateBean update = update(1, SPEC_1, "BID", 1d);
+    assertTrue(new LiveDataFrameDecoder(CONTEXT).decode(encode(encoder, update)).isEmpty());
+    // ... until the encoder resets
+    encoder.reset();
+    final List<LiveDataValueUpdateBean> decoded = new LiveDataFrameDecoder(CONTEXT).decode(encode(encoder, update));
+    assertEquals(decoded.size(), 1);
+    assertUpdate(decoded.get(0), update);
+  }
+
+  public void testRemove() {
+    final LiveDataFrameEncoder encoder = new LiveDataFrameEncoder(CONTEXT, 0);
+    final LiveDataFrameDecoder decoder = new LiveDataFrameDecoder(CONTEXT);
+    decoder.decode(encode(encoder, update(0, SPEC_1, "BID", 1d), update(0, SPEC_2, "BID", 10d)));
+    // Pending updates for a removed specification are dropped
+    encoder.add(update(1, SPEC_1, "BID", 2d));
+    encoder.remove(SPEC_1);
+    assertEquals(encoder.size(), 0);
+    assertNull(encoder.encode());
+    // The next new specification reuses the identifier and replaces the decoder's state for it
+    final LiveDataValueUpdateBean[] updates = {update(1, SPEC_3, "BID", 1d), update(1, SPEC_2, "BID", 10d) };
+    final FudgeMsg frame = encode(encoder, updates);
+    final FudgeMsg update = frame.getMessage(LiveDataFrameEncoder.UPDATE_FIELD_NAME);
+    assertTrue(update.hasField(LiveDataFrameEncoder.SPECIFICATION_FIELD_NAME));
+    assertEquals(update.getInt(LiveDataFrameEncoder.SPECIFICATION_ID_FIELD_NAME).intValue(), 0);
+    assertTrue(update.getMessage(LiveDataFrameEncoder.FIELDS_FIELD_NAME).getByOrdinal(0).getValue() instanceof Double);
+    final List<LiveDataValueUpdateBean> decoded = decoder.decode(frame);
+    assertEquals(decoded.size(), 2);
+    assertUpdate(decoded.get(0), updates[0]);
+    assertUpdate(decoded.get(1), updates[1]);
+    // A removed specification is sent in full if it is updated again
+    assertUpdate(decoder.decode(encode(encoder, update(2, SPEC_1, "BID", 2d))).get(0), update(2, SPEC_1, "BID", 2d));
+  }
+
+}
@@ -0,0 +1,154 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.livedata.normalization;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.fudgemsg.FudgeField;
+import org.fudgemsg.FudgeMsg;
+import org.fudgemsg.MutableFudgeMsg;
+import org.testng.annotations.Test;
+
+import com.opengamma.livedata.server.FieldHistoryStore;
+import com.opengamma.util.fudgemsg.OpenGammaFudgeContext;
+import com.opengamma.util.test.TestGroup;
+
+/**
+ * Tests the {@link CompiledNormalizationRule} class.
+ */
+@Test(groups = TestGroup.UNIT)
+public class CompiledNormalizationRuleTest {
+
+  private static final String[] NAMES = {"BID", "ASK", "LAST_PRICE", "VOLUME", "YLD", "Foo", "Bar" };
+
+  private static List<NormalizationRule> rules() {
+    return Arrays.<NormalizationRule>asList(
+        new FieldFilter("BID", "ASK", "LAST_PRICE", "VOLUME", "YLD"),
+        new FieldNameChange("BID", "Bid"),
+        new FieldNameChange("ASK", "Ask"),
+        new FieldNameChange("LAST_PRICE", "Last"),
+        new UnitChange(0.01, "YLD", "Ask"),
+        new FieldFilter("Bid", "Ask", "Last", "YLD"),
+        new RequiredFieldFilter("Bid"));
+  }
+
+  private static MutableFudgeMsg message(final Object... fields) {
+    final MutableFudgeMsg msg = OpenGammaFudgeContext.getInstance().newMessage();
+    for (int i = 0; i < fields.length; i += 2) {
+      msg.add((String) fields[i], fields[i + 1]);
+    }
+    return msg;
+  }
+
+  private static MutableFudgeMsg applyInTurn(final List<NormalizationRule> rules, final FudgeMsg msg) {
+    MutableFudgeMsg normalized = OpenGammaFudgeContext.getInstance().newMessage(msg);
+    for (final NormalizationRule rule : rules) {
+      normalized = rule.apply(normalized, "123", new FieldHistoryStore());
+      if (normalized == null) {
+        return null;
+      }
+    }
+    return normalized;
+  }
+
+  private static void assertSameFields(final FudgeMsg actual, final FudgeMsg expected) {
+    if (expected == null) {
+      assertNull(actual);
+      return;
+    }
+    assertEquals(actual.getNumFields(), expected.getNumFields());
+    final Iterator<FudgeField> itr = expected.iterator();
+    for (final FudgeField field : actual) {
+      final FudgeField expectedField = itr.next();
+      assertEquals(field.getName(), expectedField.getName());
+      assertEquals(field.getValue(), expectedField.getValue());
+    }
+  }
+
+  public void testCompileFusesRuns() {
+    final MarketValueCalculator calculator = new MarketValueCalculator();
+    final FieldFilter single = new FieldFilter("Foo");
+    final List<NormalizationRule> compiled = CompiledNormalizationRule.compile(Arrays.<NormalizationRule>asList(
+        new FieldFilter("Foo", "Bar"), new FieldNameChange("Foo", "Baz"), calculator, single));
+    assertEquals(compiled.size(), 3);
+    assertTrue(compiled.get(0) instanceof CompiledNormalizationRule);
+    assertSame(compiled.get(1), calculator);
+    assertSame(compiled.get(2), single);
+  }
+
+  public void testSubclassNotFused() {
+    final FieldFilter subclass = new FieldFilter("Foo") {
+    };
+    final List<NormalizationRule> compiled = CompiledNormalizationRule.compile(Arrays.<NormalizationRule>asList(
+        new RequiredFieldFilter("Foo"), subclass, new FieldNameChange("Foo", "Bar")));
+    assertEquals(compiled.size(), 3);
+    assertSame(compiled.get(1), subclass);
+  }
+
+  public void testRenameAndUnitChange() {
+    final CompiledNormalizationRule rule = (CompiledNormalizationRule) CompiledNormalizationRule.compile(rules()).get(0);
+    final MutableFudgeMsg msg = message("BID", 1d, "ASK", 200d, "Foo", "x", "YLD", 5d);
+    final MutableFudgeMsg normalized = rule.apply(msg);
+    assertEquals(normalized.getNumFields(), 3);
+    assertEquals(normalized.getDouble("Bid"), 1d);
+    assertEquals(normalized.getDouble("Ask"), 2d, 1e-12);
+    assertEquals(normalized.getDouble("YLD"), 0.05, 1e-12);
+    assertSameFields(normalized, applyInTurn(rules(), msg));
+  }
+
+  public void testInputNotModified() {
+    final CompiledNormalizationRule rule = (CompiledNormalizationRule) CompiledNormalizationRule.compile(rules()).get(0);
+    final MutableFudgeMsg msg = message("BID", 1d, "ASK", 200d, "Foo", "x");
+    rule.apply(msg);
+    assertSameFields(msg, message("BID", 1d, "ASK", 200d, "Foo", "x"));
+  }
+
+  public void testExtinguished() {
+    final CompiledNormalizationRule rule = (CompiledNormalizationRule) CompiledNormalizationRule.compile(rules()).get(0);
+    // Nothing passes the first filter
+    assertNull(rule.apply(message("Foo", 1d, "Bar", 2d)));
+    // Required field missing
+    assertNull(rule.apply(message("ASK", 1d, "VOLUME", 2d)));
+  }
+
+  public void testMatchesRulesInTurn() {
+    final List<NormalizationRule> rules = rules();
+    final CompiledNormalizationRule rule = (CompiledNormalizationRule) CompiledNormalizationRule.compile(rules).get(0);
+    final Random random = new Random(1L);
+    for (int i = 0; i < 1000; i++) {
+      final MutableFudgeMsg msg = OpenGammaFudgeContext.getInstance().newMessage();
+      final int fields = random.nextInt(8);
+      for (int j = 0; j < fields; j++) {
+        // Names may repeat, as they can in a tick
+        msg.add(NAMES[random.nextInt(NAMES.length)], random.nextDouble() * 100);
+      }
+      assertSameFields(rule.apply(msg), applyInTurn(rules, msg));
+    }
+  }
+
+  public void testRuleSet() {
+    final MutableFudgeMsg msg = message("BID", 1d, "ASK", 200d, "VOLUME", 10d);
+    final boolean compileRules = NormalizationRuleSet.isCompileRules();
+    try {
+      NormalizationRuleSet.setCompileRules(true);
+      final FudgeMsg compiled = new NormalizationRuleSet("Test", "", rules()).getNormalizedMessage(msg, "123", new FieldHistoryStore());
+      NormalizationRuleSet.setCompileRules(false);
+      final FudgeMsg uncompiled = new NormalizationRuleSet("Test", "", rules()).getNormalizedMessage(msg, "123", new FieldHistoryStore());
+      assertSameFields(compiled, uncompiled);
+    } finally {
+      NormalizationRuleSet.setCompileRules(compileRules);
+    }
+  }
+
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.livedata.normalization;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.fudgemsg.FudgeMsg;
+import org.fudgemsg.MutableFudgeMsg;
+
+import com.opengamma.core.value.MarketDataRequirementNames;
+import com.opengamma.livedata.server.FieldHistoryStore;
+import com.opengamma.util.fudgemsg.OpenGammaFudgeContext;
+
+/**
+ * This is intentionally NOT a TestNG test. It should be run manually to compare the per-tick cost of a rule set with and without
+ * {@link CompiledNormalizationRule}.
+ * <p>
+ * The rule set has the same shape as the default Bloomberg one, and the ticks are generated from a fixed seed with Bloomberg field names so runs
+ * can be compared.
+ */
+public class NormalizationRuleSetPerformanceTest {
+  public static final int NUM_SECURITIES = 1000;
+  public static final int NUM_TICKS = 200000;
+  public static final int NUM_CYCLES = 10;
+
+  private static final String[] TICK_FIELDS = {"BID", "ASK", "LAST_PRICE", "VOLUME", "PX_SETTLE", "YLD_CNV_MID", "EQY_DVD_YLD_EST",
+    "BID_SIZE", "ASK_SIZE", "TRADE_UPDATE_STAMP_RT", "EVT_TRADE_CONDITION_CODE_RT", "RT_PX_CHG_PCT_1D" };
+
+  private final List<FudgeMsg> _ticks = new ArrayList<>(NUM_TICKS);
+  private final String[] _securities = new String[NUM_SECURITIES];
+  private final FieldHistoryStore[] _history = new FieldHistoryStore[NUM_SECURITIES];
+
+  public void constructTicks() {
+    final Random random = new Random(0L);
+    for (int i = 0; i < NUM_TICKS; i++) {
+      final MutableFudgeMsg msg = OpenGammaFudgeContext.getInstance().newMessage();
+      final double mid = 100 + random.nextInt(NUM_SECURITIES);
+      msg.add("BID", mid - random.nextDouble());
+      msg.add("ASK", mid + random.nextDouble());
+      // Most ticks carry a few other fields, some of which the rules use
+      final int fields = random.nextInt(6);
+      for (int j = 0; j < fields; j++) {
+        msg.add(TICK_FIELDS[2 + random.nextInt(TICK_FIELDS.length - 2)], random.nextDouble() * mid);
+      }
+      _ticks.add(msg);
+    }
+    for (int i = 0; i < NUM_SECURITIES; i++) {
+      _securities[i] = "Security-" + i;
+      _history[i] = new FieldHistoryStore();
+    }
+  }
+
+  public NormalizationRuleSet constructRuleSet() {
+    final List<NormalizationRule> rules = new ArrayList<>();
+    rules.add(new FieldFilter(TICK_FIELDS));
+    rules.add(new FieldNameChange("BID", MarketDataRequirementNames.BID));
+    rules.add(new FieldNameChange("ASK", MarketDataRequirementNames.ASK));
+    rules.add(new FieldNameChange("LAST_PRICE", MarketDataRequirementNames.LAST));
+    rules.add(new FieldNameChange("PX_SETTLE", MarketDataRequirementNames.SETTLE_PRICE));
+    rules.add(new FieldNameChange("VOLUME", MarketDataRequirementNames.VOLUME));
+    rules.add(new FieldNameChange("YLD_CNV_MID", MarketDataRequirementNames.YIELD_CONVENTION_MID));
+    rules.add(new FieldNameChange("EQY_DVD_YLD_EST", MarketDataRequirementNames.DIVIDEND_YIELD));
+    rules.add(new MarketValueCalculator());
+    rules.add(new UnitChange(0.01, MarketDataRequirementNames.DIVIDEND_YIELD, MarketDataRequirementNames.YIELD_CONVENTION_MID));
+    rules.add(new FieldHistoryUpdater());
+    rules.add(new FieldFilter(Arrays.asList(MarketDataRequirementNames.BID, MarketDataRequirementNames.ASK, MarketDataRequirementNames.LAST,
+        MarketDataRequirementNames.SETTLE_PRICE, MarketDataRequirementNames.VOLUME, MarketDataRequirementNames.YIELD_CONVENTION_MID,
+        MarketDataRequirementNames.DIVIDEND_YIELD, MarketDataRequirementNames.MARKET_VALUE)));
+    rules.add(new RequiredFieldFilter(MarketDataRequirementNames.MARKET_VALUE));
+    return new NormalizationRuleSet("Performance Test", "", rules);
+  }
+
+  public long oneCycle(final NormalizationRuleSet ruleSet) {
+    final long start = System.nanoTime();
+    int normalized = 0;
+    for (int i = 0; i < NUM_TICKS; i++) {
+      final int security = i % NUM_SECURITIES;
+      if (ruleSet.getNormalizedMessage(_ticks.get(i), _securities[security], _history[security]) != null) {
+        normalized++;
+      }
+    }
+    final long elapsed = System.nanoTime() - start;
+    System.out.println("Normalized " + normalized + " of " + NUM_TICKS + " ticks in " + elapsed / NUM_TICKS + "ns per tick");
+    return elapsed;
+  }
+
+  public void run(final boolean compileRules) {
+    NormalizationRuleSet.setCompileRules(compileRules);
+    final NormalizationRuleSet ruleSet = constructRuleSet();
+    long total = 0;
+    for (int i = 0; i < NUM_CYCLES; i++) {
+      final long elapsed = oneCycle(ruleSet);
+      // The first cycle warms up the JIT
+      if (i > 0) {
+        total += elapsed;
+      }
+    }
+    System.out.println((compileRules ? "Compiled" : "Uncompiled") + ": " + total / ((long) NUM_TICKS * (NUM_CYCLES - 1)) + "ns per tick");
+  }
+
+  public static void main(final String[] args) {
+    final NormalizationRuleSetPerformanceTest test = new NormalizationRuleSetPerformanceTest();
+    test.constructTicks();
+    test.run(false);
+    test.run(true);
+    test.run(false);
+    test.run(true);
+  }
+
+}
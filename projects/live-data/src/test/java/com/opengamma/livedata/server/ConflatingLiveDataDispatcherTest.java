@@ -0,0 +1,173 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.livedata.server;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.fudgemsg.FudgeMsg;
+import org.fudgemsg.MutableFudgeMsg;
+import org.testng.annotations.Test;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.livedata.server.distribution.EmptyMarketDataSenderFactory;
+import com.opengamma.util.fudgemsg.OpenGammaFudgeContext;
+import com.opengamma.util.test.TestGroup;
+
+/**
+ * Tests the {@link ConflatingLiveDataDispatcher} class.
+ */
+@Test(groups = TestGroup.UNIT)
+public class ConflatingLiveDataDispatcherTest {
+
+  private static FudgeMsg message(final Object... fields) {
+    final MutableFudgeMsg msg = OpenGammaFudgeContext.getInstance().newMessage();
+    for (int i = 0; i < fields.length; i += 2) {
+      msg.add((String) fields[i], fields[i + 1]);
+    }
+    return msg;
+  }
+
+  /**
+   * Subscription that records what it is asked to distribute, blocking on the first tick until released.
+   */
+  private static final class RecordingSubscription extends Subscription {
+
+    private final BlockingQueue<FudgeMsg> _received = new LinkedBlockingQueue<>();
+    private final CountDownLatch _release = new CountDownLatch(1);
+
+    RecordingSubscription(final String securityUniqueId) {
+      super(securityUniqueId, new EmptyMarketDataSenderFactory(), new MapLastKnownValueStoreProvider());
+    }
+
+    @Override
+    void liveDataReceived(final FudgeMsg liveDataFields) {
+      try {
+        _release.await(5, TimeUnit.SECONDS);
+      } catch (final InterruptedException e) {
+        throw new IllegalStateException(e);
+      }
+      _received.add(liveDataFields);
+    }
+
+  }
+
+  public void testMerge() {
+    final FudgeMsg merged = new ConflatingLiveDataDispatcher(1).merge(message("BID", 1d, "ASK", 2d), message("BID", 3d, "LAST", 4d));
+    assertEquals(merged.getNumFields(), 3);
+    assertEquals(merged.getDouble("BID"), 3d);
+    assertEquals(merged.getDouble("ASK"), 2d);
+    assertEquals(merged.getDouble("LAST"), 4d);
+  }
+
+  public void testConflation() throws Exception {
+    final ConflatingLiveDataDispatcher dispatcher = new ConflatingLiveDataDispatcher(2);
+    dispatcher.start();
+    final RecordingSubscription subscription = new RecordingSubscription("Foo");
+    dispatcher.liveDataReceived(subscription, message("BID", 1d));
+    // Wait for the worker to take the first tick, then queue more behind it
+    Thread.sleep(100);
+    dispatcher.liveDataReceived(subscription, message("BID", 2d, "ASK", 5d));
+    dispatcher.liveDataReceived(subscription, message("BID", 3d));
+    dispatcher.liveDataReceived(subscription, message("LAST", 4d));
+    subscription._release.countDown();
+    final FudgeMsg first = subscription._received.poll(5, TimeUnit.SECONDS);
+    final FudgeMsg second = subscription._received.poll(5, TimeUnit.SECONDS);
+    assertEquals(first.getDouble("BID"), 1d);
+    assertEquals(second.getDouble("BID"), 3d);
+    assertEquals(second.getDouble("ASK"), 5d);
+    assertEquals(second.getDouble("LAST"), 4d);
+    Thread.sleep(100);
+    assertTrue(subscription._received.isEmpty());
+  }
+
+  public void testOrderPerInstrument() throws Exception {
+    final ConflatingLiveDataDispatcher dispatcher = new ConflatingLiveDataDispatcher(4);
+    dispatcher.start();
+    final RecordingSubscription subscription = new RecordingSubscription("Bar");
+    subscription._release.countDown();
+    for (int i = 0; i < 1000; i++) {
+      dispatcher.liveDataReceived(subscription, message("SEQ", (double) i));
+    }
+    double last = -1;
+    FudgeMsg msg;
+    do {
+      msg = subscription._received.poll(5, TimeUnit.SECONDS);
+      final double seq = msg.getDouble("SEQ");
+      assertTrue(seq > last);
+      last = seq;
+    } while (last < 999);
+    assertTrue(subscription._received.isEmpty());
+    assertEquals(dispatcher.getShardDepth(0) + dispatcher.getShardDepth(1) + dispatcher.getShardDepth(2) + dispatcher.getShardDepth(3), 0);
+  }
+
+  public void testStop() throws Exception {
+    final ConflatingLiveDataDispatcher dispatcher = new ConflatingLiveDataDispatcher(2);
+    assertFalse(dispatcher.isRunning());
+    final RecordingSubscription subscription = new RecordingSubscription("Foo");
+    subscription._release.countDown();
+    // Ticks received before starting are discarded
+    dispatcher.liveDataReceived(subscription, message("BID", 0d));
+    dispatcher.start();
+    assertTrue(dispatcher.isRunning());
+    dispatcher.liveDataReceived(subscription, message("BID", 1d));
+    dispatcher.stop();
+    assertFalse(dispatcher.isRunning());
+    // Ticks queued before stopping are distributed
+    assertEquals(subscription._received.poll(5, TimeUnit.SECONDS).getDouble("BID"), 1d);
+    // Ticks received while stopped are discarded
+    dispatcher.liveDataReceived(subscription, message("BID", 2d));
+    assertEquals(dispatcher.getShardDepth(0) + dispatcher.getShardDepth(1), 0);
+    dispatcher.start();
+    assertTrue(dispatcher.isRunning());
+    dispatcher.liveDataReceived(subscription, message("BID", 3d));
+    assertEquals(subscription._received.poll(5, TimeUnit.SECONDS).getDouble("BID"), 3d);
+    assertTrue(subscription._received.isEmpty());
+    dispatcher.stop();
+  }
+
+  public void testSubscriptionRemoved() throws Exception {
+    final ConflatingLiveDataDispatcher dispatcher = new ConflatingLiveDataDispatcher(1);
+    dispatcher.start();
+    final RecordingSubscription blocking = new RecordingSubscription("Foo");
+    final RecordingSubscription removed = new RecordingSubscription("Bar");
+    removed._release.countDown();
+    // Hold up the worker so that the tick for the removed subscription is still queued
+    dispatcher.liveDataReceived(blocking, message("BID", 1d));
+    dispatcher.liveDataReceived(removed, message("BID", 2d));
+    dispatcher.subscriptionRemoved(removed);
+    // A late tick is discarded rather than re-creating the state for the subscription
+    dispatcher.liveDataReceived(removed, message("BID", 3d));
+    blocking._release.countDown();
+    assertEquals(blocking._received.poll(5, TimeUnit.SECONDS).getDouble("BID"), 1d);
+    dispatcher.stop();
+    assertTrue(removed._received.isEmpty());
+  }
+
+  public void testRegisterMetrics() {
+    final MetricRegistry registry = new MetricRegistry();
+    final ConflatingLiveDataDispatcher previous = new ConflatingLiveDataDispatcher(2);
+    previous.registerMetrics(registry, registry, "Test");
+    // A dispatcher registered with the same prefix replaces the first
+    final ConflatingLiveDataDispatcher dispatcher = new ConflatingLiveDataDispatcher(2);
+    dispatcher.registerMetrics(registry, registry, "Test");
+    dispatcher.start();
+    assertEquals(registry.getGauges().keySet(), ImmutableSet.of("Test.shard0.depth", "Test.shard1.depth"));
+    final RecordingSubscription subscription = new RecordingSubscription("Foo");
+    dispatcher.liveDataReceived(subscription, message("BID", 1d));
+    assertEquals(registry.meter("Test.ticks.received").getCount(), 1);
+    subscription._release.countDown();
+    dispatcher.stop();
+  }
+
+}
@@ -0,0 +1,185 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.livedata.server;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+
+import org.fudgemsg.FudgeMsg;
+import org.fudgemsg.MutableFudgeMsg;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.opengamma.id.ExternalId;
+import com.opengamma.util.fudgemsg.OpenGammaFudgeContext;
+import com.opengamma.util.test.TestGroup;
+
+/**
+ * Tests the {@link MappedLastKnownValueStoreProvider} and {@link MappedLastKnownValueStore} classes.
+ */
+@Test(groups = TestGroup.UNIT, singleThreaded = true)
+public class MappedLastKnownValueStoreProviderTest {
+
+  private static final ExternalId SECURITY_1 = ExternalId.of("Test", "1");
+  private static final ExternalId SECURITY_2 = ExternalId.of("Test", "2");
+  private File _file;
+
+  @BeforeMethod
+  public void setUp() throws IOException {
+    _file = File.createTempFile("lkv", ".dat");
+    // The provider creates the file if it's empty
+    _file.delete();
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    _file.delete();
+  }
+
+  private MappedLastKnownValueStoreProvider createProvider() {
+    final MappedLastKnownValueStoreProvider provider = new MappedLastKnownValueStoreProvider();
+    provider.setFile(_file);
+    provider.setSlotCount(8);
+    provider.setFieldsPerSlot(2);
+    return provider;
+  }
+
+  private static FudgeMsg message(final Object... fields) {
+    final MutableFudgeMsg msg = OpenGammaFudgeContext.getInstance().newMessage();
+    for (int i = 0; i < fields.length; i += 2) {
+      msg.add((String) fields[i], fields[i + 1]);
+    }
+    return msg;
+  }
+
+  public void testUpdateFields() {
+    final LastKnownValueStore store = createProvider().newInstance(SECURITY_1, "Rules");
+    assertTrue(store instanceof MappedLastKnownValueStore);
+    assertTrue(store.isEmpty());
+    store.updateFields(message("BID", 1d, "ASK", 2d));
+    store.updateFields(message("BID", 3d, "NAME", "Foo"));
+    final FudgeMsg fields = store.getFields();
+    assertEquals(fields.getNumFields(), 3);
+    assertEquals(fields.getDouble("BID"), 3d);
+    assertEquals(fields.getDouble("ASK"), 2d);
+    assertEquals(fields.getString("NAME"), "Foo");
+    assertFalse(store.isEmpty());
+  }
+
+  public void testFieldChangesType() {
+    final LastKnownValueStore store = createProvider().newInstance(SECURITY_1, "Rules");
+    store.updateFields(message("BID", 1d));
+    store.updateFields(message("BID", "Halted"));
+    assertEquals(store.getFields().getNumFields(), 1);
+    assertEquals(store.getFields().getString("BID"), "Halted");
+    store.updateFields(message("BID", 2d));
+    assertEquals(store.getFields().getNumFields(), 1);
+    assertEquals(store.getFields().getDouble("BID"), 2d);
+  }
+
+  public void testSameStore() {
+    final MappedLastKnownValueStoreProvider provider = createProvider();
+    assertTrue(provider.newInstance(SECURITY_1, "Rules") == provider.newInstance(SECURITY_1, "Rules"));
+    assertFalse(provider.newInstance(SECURITY_1, "Rules") == provider.newInstance(SECURITY_1, "Other"));
+  }
+
+  public void testRestart() {
+    final MappedLastKnownValueStoreProvider provider = createProvider();
+    provider.newInstance(SECURITY_1, "Rules").updateFields(message("BID", 1d, "ASK", 2d, "LAST", 3d, "NAME", "Foo"));
+    provider.newInstance(SECURITY_2, "Rules").updateFields(message("ASK", 4d));
+    provider.flush();
+    final MappedLastKnownValueStoreProvider restarted = new MappedLastKnownValueStoreProvider();
+    restarted.setFile(_file);
+    assertEquals(restarted.getAllIdentifiers("Test"), new HashSet<>(Arrays.asList("1", "2")));
+    assertTrue(restarted.isAvailable(SECURITY_1, "Rules"));
+    assertFalse(restarted.isAvailable(SECURITY_1, "Other"));
+    // The geometry comes from the file
+    assertEquals(restarted.getFieldsPerSlot(), 2);
+    // Only the doubles that fit in the slot survive
+    final FudgeMsg fields = restarted.newInstance(SECURITY_1, "Rules").getFields();
+    assertEquals(fields.getNumFields(), 2);
+    assertEquals(fields.getDouble("BID"), 1d);
+    assertEquals(fields.getDouble("ASK"), 2d);
+    assertEquals(restarted.newInstance(SECURITY_2, "Rules").getFields().getDouble("ASK"), 4d);
+  }
+
+  public void testGetLastKnownValues() {
+    final MappedLastKnownValueStoreProvider provider = createProvider();
+    provider.newInstance(SECURITY_1, "Rules").updateFields(message("BID", 1d));
+    provider.newInstance(SECURITY_2, "Rules");
+    final Map<ExternalId, FudgeMsg> values = provider.getLastKnownValues(Arrays.asList(SECURITY_1, SECURITY_2, ExternalId.of("Test", "3")), "Rules");
+    assertEquals(values.size(), 1);
+    assertEquals(values.get(SECURITY_1).getDouble("BID"), 1d);
+    assertNull(values.get(SECURITY_2));
+    assertTrue(provider.getLastKnownValues(Arrays.asList(SECURITY_1), "Other").isEmpty());
+  }
+
+  public void testFull() {
+    final MappedLastKnownValueStoreProvider provider = createProvider();
+    provider.setSlotCount(1);
+    assertTrue(provider.newInstance(SECURITY_1, "Rules") instanceof MappedLastKnownValueStore);
+    final LastKnownValueStore store = provider.newInstance(SECURITY_2, "Rules");
+    assertTrue(store instanceof MapLastKnownValueStore);
+    store.updateFields(message("BID", 1d));
+    assertEquals(store.getFields().getDouble("BID"), 1d);
+    assertFalse(provider.isAvailable(SECURITY_2, "Rules"));
+  }
+
+  public void testRemove() {
+    final MappedLastKnownValueStoreProvider provider = createProvider();
+    provider.setSlotCount(1);
+    final LastKnownValueStore store = provider.newInstance(SECURITY_1, "Rules");
+    store.updateFields(message("BID", 1d));
+    assertTrue(provider.remove(SECURITY_1, "Rules"));
+    assertFalse(provider.remove(SECURITY_1, "Rules"));
+    assertFalse(provider.isAvailable(SECURITY_1, "Rules"));
+    assertTrue(provider.getAllIdentifiers("Test").isEmpty());
+    // The store keeps its values on the heap
+    store.updateFields(message("ASK", 2d));
+    assertEquals(store.getFields().getDouble("BID"), 1d);
+    assertEquals(store.getFields().getDouble("ASK"), 2d);
+    // The slot is reused, without the values of the security that had it
+    final LastKnownValueStore reused = provider.newInstance(SECURITY_2, "Rules");
+    assertTrue(reused instanceof MappedLastKnownValueStore);
+    assertTrue(reused.isEmpty());
+    reused.updateFields(message("BID", 3d));
+    assertEquals(store.getFields().getDouble("BID"), 1d);
+    assertEquals(provider.getAllIdentifiers("Test"), Collections.singleton("2"));
+  }
+
+  public void testRemoveAfterRestart() {
+    final MappedLastKnownValueStoreProvider provider = createProvider();
+    provider.newInstance(SECURITY_1, "Rules").updateFields(message("BID", 1d));
+    provider.newInstance(SECURITY_2, "Rules").updateFields(message("BID", 2d));
+    provider.newInstance(SECURITY_2, "Other").updateFields(message("BID", 3d));
+    provider.remove(SECURITY_1, "Rules");
+    provider.flush();
+    MappedLastKnownValueStoreProvider restarted = new MappedLastKnownValueStoreProvider();
+    restarted.setFile(_file);
+    assertFalse(restarted.isAvailable(SECURITY_1, "Rules"));
+    assertTrue(restarted.isAvailable(SECURITY_2, "Rules"));
+    assertEquals(restarted.getAllIdentifiers("Test"), Collections.singleton("2"));
+    restarted = new MappedLastKnownValueStoreProvider();
+    restarted.setFile(_file);
+    restarted.newInstance(SECURITY_2, "Other");
+    // Only the security used since the restart keeps its slot
+    assertEquals(restarted.removeUnused(), 1);
+    assertFalse(restarted.isAvailable(SECURITY_2, "Rules"));
+    assertEquals(restarted.getLastKnownValues(Arrays.asList(SECURITY_2), "Other").get(SECURITY_2).getDouble("BID"), 3d);
+    assertEquals(restarted.getAllIdentifiers("Test"), Collections.singleton("2"));
+  }
+
+}
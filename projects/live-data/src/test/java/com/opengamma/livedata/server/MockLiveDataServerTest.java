@@ -240,4 +240,14 @@ public class MockLiveDataServerTest {
     assertFalse(_server.unsubscribe("testsub"));
   }
 
+  public void stopDispatcher() {
+    final ConflatingLiveDataDispatcher dispatcher = new ConflatingLiveDataDispatcher(1);
+    _server.setLiveDataDispatcher(dispatcher);
+    _server.stop();
+    assertFalse(dispatcher.isRunning());
+    _server.start();
+    assertTrue(dispatcher.isRunning());
+    _server.stop();
+  }
+
 }
@@ -0,0 +1,157 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.livedata.server.distribution;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.fudgemsg.FudgeContext;
+import org.fudgemsg.FudgeMsg;
+import org.fudgemsg.MutableFudgeMsg;
+import org.mockito.Mockito;
+import org.testng.annotations.Test;
+
+import com.opengamma.id.ExternalId;
+import com.opengamma.livedata.LiveDataFrameDecoder;
+import com.opengamma.livedata.LiveDataFrameEncoder;
+import com.opengamma.livedata.LiveDataSpecification;
+import com.opengamma.livedata.LiveDataValueUpdateBean;
+import com.opengamma.transport.ByteArrayFudgeMessageReceiver;
+import com.opengamma.transport.ByteArrayFudgeMessageSender;
+import com.opengamma.transport.CollectingFudgeMessageReceiver;
+import com.opengamma.transport.DirectInvocationByteArrayMessageSender;
+import com.opengamma.transport.socket.ServerSocketFudgeMessageReceiver;
+import com.opengamma.util.fudgemsg.OpenGammaFudgeContext;
+import com.opengamma.util.test.TestGroup;
+
+/**
+ * Tests the {@link BatchingSocketSenderFactory} class.
+ */
+@Test(groups = TestGroup.UNIT)
+public class BatchingSocketSenderFactoryTest {
+
+  private static final FudgeContext CONTEXT = OpenGammaFudgeContext.getInstance();
+  private static final LiveDataSpecification SPEC = new LiveDataSpecification("rules", ExternalId.of("eid", "1"));
+
+  private static LiveDataValueUpdateBean update(final long sequenceNumber, final double bid) {
+    final MutableFudgeMsg msg = CONTEXT.newMessage();
+    msg.add("BID", bid);
+    return new LiveDataValueUpdateBean(sequenceNumber, SPEC, msg);
+  }
+
+  private static BatchingSocketSenderFactory createFactory(final CollectingFudgeMessageReceiver receiver) {
+    final BatchingSocketSenderFactory factory = new BatchingSocketSenderFactory(
+        new ByteArrayFudgeMessageSender(new DirectInvocationByteArrayMessageSender(new ByteArrayFudgeMessageReceiver(receiver, CONTEXT)), CONTEXT), 1);
+    factory.setMaxBatchSize(3);
+    return factory;
+  }
+
+  public void testBatching() {
+    final CollectingFudgeMessageReceiver receiver = new CollectingFudgeMessageReceiver();
+    final BatchingSocketSenderFactory factory = createFactory(receiver);
+    final MarketDataSender sender = factory.create(Mockito.mock(MarketDataDistributor.class)).iterator().next();
+    sender.sendMarketData(update(0, 1d));
+    sender.sendMarketData(update(1, 2d));
+    assertTrue(receiver.getMessages().isEmpty());
+    // The batch is full
+    sender.sendMarketData(update(2, 3d));
+    assertEquals(receiver.getMessages().size(), 1);
+    sender.sendMarketData(update(3, 4d));
+    factory.flush();
+    assertEquals(receiver.getMessages().size(), 2);
+    factory.flush();
+    assertEquals(receiver.getMessages().size(), 2);
+    final LiveDataFrameDecoder decoder = new LiveDataFrameDecoder(CONTEXT);
+    final List<LiveDataValueUpdateBean> first = decoder.decode(receiver.getMessages().get(0).getMessage());
+    final List<LiveDataValueUpdateBean> second = decoder.decode(receiver.getMessages().get(1).getMessage());
+    assertEquals(first.size(), 3);
+    assertEquals(second.size(), 1);
+    assertEquals(second.get(0).getSequenceNumber(), 3);
+    assertEquals(second.get(0).getFields().getDouble("BID"), 4d);
+  }
+
+  public void testReset() {
+    final CollectingFudgeMessageReceiver receiver = new CollectingFudgeMessageReceiver();
+    final BatchingSocketSenderFactory factory = createFactory(receiver);
+    final MarketDataSender sender = factory.create(Mockito.mock(MarketDataDistributor.class)).iterator().next();
+    sender.sendMarketData(update(0, 1d));
+    factory.flush();
+    sender.sendMarketData(update(1, 1d));
+    factory.flush();
+    factory.reset();
+    sender.sendMarketData(update(2, 1d));
+    factory.flush();
+    final List<FudgeMsg> frames = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      frames.add(receiver.getMessages().get(i).getMessage());
+    }
+    assertTrue(frames.get(0).hasField(LiveDataFrameEncoder.RESET_FIELD_NAME));
+    assertFalse(frames.get(1).hasField(LiveDataFrameEncoder.RESET_FIELD_NAME));
+    assertTrue(frames.get(2).hasField(LiveDataFrameEncoder.RESET_FIELD_NAME));
+    // A receiver that only sees frames after the reset can decode them
+    assertEquals(new LiveDataFrameDecoder(CONTEXT).decode(frames.get(2)).get(0).getFields().getDouble("BID"), 1d);
+  }
+
+  public void testClose() {
+    final CollectingFudgeMessageReceiver receiver = new CollectingFudgeMessageReceiver();
+    final BatchingSocketSenderFactory factory = createFactory(receiver);
+    final MarketDataDistributor distributor = Mockito.mock(MarketDataDistributor.class);
+    Mockito.when(distributor.getFullyQualifiedLiveDataSpecification()).thenReturn(SPEC);
+    final MarketDataSender sender = factory.create(distributor).iterator().next();
+    sender.sendMarketData(update(0, 1d));
+    factory.flush();
+    sender.sendMarketData(update(1, 1d));
+    sender.close();
+    // The pending update is dropped
+    factory.flush();
+    assertEquals(receiver.getMessages().size(), 1);
+    // A new distributor for the specification sends it in full
+    factory.create(distributor).iterator().next().sendMarketData(update(0, 1d));
+    factory.flush();
+    final FudgeMsg frame = receiver.getMessages().get(1).getMessage();
+    assertTrue(frame.getMessage(LiveDataFrameEncoder.UPDATE_FIELD_NAME).hasField(LiveDataFrameEncoder.SPECIFICATION_FIELD_NAME));
+  }
+
+  @Test(groups = TestGroup.INTEGRATION)
+  public void testReconnect() throws Exception {
+    final CollectingFudgeMessageReceiver receiver = new CollectingFudgeMessageReceiver();
+    final ServerSocketFudgeMessageReceiver socketReceiver = new ServerSocketFudgeMessageReceiver(receiver, CONTEXT);
+    socketReceiver.start();
+    final BatchingSocketSenderFactory factory = new BatchingSocketSenderFactory(CONTEXT, 1);
+    try {
+      factory.getSocketSender().setInetAddress(InetAddress.getLocalHost());
+      factory.getSocketSender().setPortNumber(socketReceiver.getPortNumber());
+      final MarketDataSender sender = factory.create(Mockito.mock(MarketDataDistributor.class)).iterator().next();
+      sender.sendMarketData(update(0, 1d));
+      factory.flush();
+      waitForMessages(receiver, 1);
+      // The connection drops and the next frame is written to a new connection
+      factory.getSocketSender().stop();
+      sender.sendMarketData(update(1, 1d));
+      factory.flush();
+      waitForMessages(receiver, 2);
+      final FudgeMsg frame = receiver.getMessages().get(1).getMessage();
+      assertTrue(frame.hasField(LiveDataFrameEncoder.RESET_FIELD_NAME));
+      assertEquals(new LiveDataFrameDecoder(CONTEXT).decode(frame).get(0).getFields().getDouble("BID"), 1d);
+    } finally {
+      factory.getSocketSender().stop();
+      socketReceiver.stop();
+    }
+  }
+
+  private static void waitForMessages(final CollectingFudgeMessageReceiver receiver, final int count) throws InterruptedException {
+    for (int i = 0; receiver.getMessages().size() < count; i++) {
+      assertTrue(i < 50, "Didn't receive " + count + " messages");
+      Thread.sleep(100);
+    }
+  }
+
+}
@@ -0,0 +1,150 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.livedata.server.journal;
+
+import static com.opengamma.livedata.server.journal.TickJournalTest.update;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.opengamma.id.ExternalId;
+import com.opengamma.id.ExternalScheme;
+import com.opengamma.livedata.LiveDataSpecification;
+import com.opengamma.livedata.normalization.StandardRules;
+import com.opengamma.util.ehcache.EHCacheUtils;
+import com.opengamma.util.test.TestGroup;
+
+import net.sf.ehcache.CacheManager;
+
+/**
+ * Tests the {@link TickJournalReplayLiveDataServer} class.
+ */
+@Test(groups = {TestGroup.UNIT, "ehcache" }, singleThreaded = true)
+public class TickJournalReplayLiveDataServerTest {
+
+  private static final ExternalScheme DOMAIN = ExternalScheme.of("Test");
+  private static final long MILLIS = 1000000L;
+  private CacheManager _cacheManager;
+  private File _directory;
+
+  @BeforeClass
+  public void setUpClass() {
+    _cacheManager = EHCacheUtils.createTestCacheManager(getClass());
+  }
+
+  @AfterClass
+  public void tearDownClass() {
+    EHCacheUtils.shutdownQuiet(_cacheManager);
+  }
+
+  @BeforeMethod
+  public void setUp() throws IOException {
+    _directory = File.createTempFile("ticks", "");
+    _directory.delete();
+    final TickJournalWriter writer = new TickJournalWriter(_directory);
+    writer.append(0, update(0, "A", 1));
+    writer.append(50 * MILLIS, update(1, "B", 10));
+    writer.append(100 * MILLIS, update(2, "A", 2));
+    writer.append(150 * MILLIS, update(3, "C", 20));
+    writer.append(200 * MILLIS, update(4, "A", 3));
+    writer.close();
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    final File[] files = _directory.listFiles();
+    if (files != null) {
+      for (final File file : files) {
+        file.delete();
+      }
+    }
+    _directory.delete();
+  }
+
+  private TickJournalReplayLiveDataServer createServer(final double speed) {
+    final TickJournalReplayLiveDataServer server = new TickJournalReplayLiveDataServer(_cacheManager, _directory, DOMAIN);
+    server.setSpeed(speed);
+    server.setReplayOnConnect(false);
+    server.connect();
+    return server;
+  }
+
+  private static LiveDataSpecification spec(final String id) {
+    return new LiveDataSpecification(StandardRules.getNoNormalization().getId(), ExternalId.of(DOMAIN, id));
+  }
+
+  public void testReplay() throws InterruptedException {
+    final TickJournalReplayLiveDataServer server = createServer(0);
+    try {
+      server.subscribe(spec("A"), false);
+      server.startReplay();
+      assertTrue(server.awaitReplay(10, TimeUnit.SECONDS));
+      assertEquals(server.getNumTicksReplayed(), 5);
+      // Only ticks for subscribed securities are distributed
+      assertEquals(server.getNumMarketDataUpdatesReceived(), 3);
+      assertEquals(server.getMarketDataDistributor(spec("A")).getSnapshot().getFields().getDouble("BID"), 3d);
+      // Snapshots see every security replayed
+      assertEquals(server.snapshot(Collections.singleton(spec("B"))).iterator().next().getSnapshot().getFields().getDouble("BID"), 10d);
+    } finally {
+      server.disconnect();
+    }
+  }
+
+  public void testInitialSnapshotRecorded() throws InterruptedException, IOException {
+    final File recorded = File.createTempFile("recorded", "");
+    recorded.delete();
+    try {
+      final TickJournalReplayLiveDataServer server = createServer(0);
+      server.startReplay();
+      assertTrue(server.awaitReplay(10, TimeUnit.SECONDS));
+      server.setTickJournal(new TickJournalWriter(recorded));
+      // The replay has finished so the only data the subscription sees is its initial snapshot
+      server.subscribe(spec("B"), false);
+      server.stop();
+      assertNull(server.getTickJournal());
+      try (TickJournalReader reader = new TickJournalReader(recorded)) {
+        final TickJournalRecord record = reader.readRecord();
+        assertEquals(record.getUpdate().getSpecification(), spec("B"));
+        assertEquals(record.getUpdate().getFields().getDouble("BID"), 10d);
+        assertNull(reader.readRecord());
+      }
+    } finally {
+      final File[] files = recorded.listFiles();
+      if (files != null) {
+        for (final File file : files) {
+          file.delete();
+        }
+      }
+      recorded.delete();
+    }
+  }
+
+  public void testSpeed() throws InterruptedException {
+    final TickJournalReplayLiveDataServer server = createServer(4);
+    try {
+      final long start = System.nanoTime();
+      server.startReplay();
+      assertTrue(server.awaitReplay(10, TimeUnit.SECONDS));
+      // The ticks were recorded over 200ms
+      assertTrue(System.nanoTime() - start >= 50 * MILLIS);
+      assertEquals(server.getNumTicksReplayed(), 5);
+    } finally {
+      server.disconnect();
+    }
+  }
+
+}
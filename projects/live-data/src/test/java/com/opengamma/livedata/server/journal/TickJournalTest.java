@@ -0,0 +1,137 @@
+/**
+ * Copyright (C) 2026 - present by McLeod Moores Software Limited.
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.livedata.server.journal;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.fudgemsg.MutableFudgeMsg;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.opengamma.OpenGammaRuntimeException;
+import com.opengamma.id.ExternalId;
+import com.opengamma.livedata.LiveDataSpecification;
+import com.opengamma.livedata.LiveDataValueUpdate;
+import com.opengamma.livedata.LiveDataValueUpdateBean;
+import com.opengamma.util.fudgemsg.OpenGammaFudgeContext;
+import com.opengamma.util.test.TestGroup;
+
+/**
+ * Tests the {@link TickJournalWriter} and {@link TickJournalReader} classes.
+ */
+@Test(groups = TestGroup.UNIT, singleThreaded = true)
+public class TickJournalTest {
+
+  private File _directory;
+
+  @BeforeMethod
+  public void setUp() throws IOException {
+    _directory = File.createTempFile("ticks", "");
+    _directory.delete();
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    final File[] files = _directory.listFiles();
+    if (files != null) {
+      for (final File file : files) {
+        file.delete();
+      }
+    }
+    _directory.delete();
+  }
+
+  /* package */ static LiveDataValueUpdateBean update(final long sequenceNumber, final String id, final double bid) {
+    final MutableFudgeMsg msg = OpenGammaFudgeContext.getInstance().newMessage();
+    msg.add("BID", bid);
+    return new LiveDataValueUpdateBean(sequenceNumber, new LiveDataSpecification("rules", ExternalId.of("Test", id)), msg);
+  }
+
+  /* package */ static void assertUpdate(final LiveDataValueUpdate actual, final LiveDataValueUpdate expected) {
+    assertEquals(actual.getSequenceNumber(), expected.getSequenceNumber());
+    assertEquals(actual.getSpecification(), expected.getSpecification());
+    assertEquals(actual.getFields().getDouble("BID"), expected.getFields().getDouble("BID"));
+  }
+
+  public void testRoundTrip() throws IOException {
+    final TickJournalWriter writer = new TickJournalWriter(_directory);
+    writer.setMaxSegmentBytes(256);
+    for (int i = 0; i < 50; i++) {
+      writer.append(1000L * i, update(i, Integer.toString(i % 3), i));
+    }
+    writer.close();
+    assertTrue(TickJournalWriter.getSegments(_directory).size() > 1);
+    try (TickJournalReader reader = new TickJournalReader(_directory)) {
+      for (int i = 0; i < 50; i++) {
+        final TickJournalRecord record = reader.readRecord();
+        assertEquals(record.getTimestampNanos(), 1000L * i);
+        assertUpdate(record.getUpdate(), update(i, Integer.toString(i % 3), i));
+      }
+      assertNull(reader.readRecord());
+    }
+  }
+
+  public void testAppendToExistingJournal() throws IOException {
+    TickJournalWriter writer = new TickJournalWriter(_directory);
+    writer.append(update(0, "A", 1));
+    writer.close();
+    writer = new TickJournalWriter(_directory);
+    writer.append(update(1, "A", 2));
+    writer.close();
+    assertEquals(TickJournalWriter.getSegments(_directory).size(), 2);
+    try (TickJournalReader reader = new TickJournalReader(_directory)) {
+      final TickJournalRecord first = reader.readRecord();
+      final TickJournalRecord second = reader.readRecord();
+      assertEquals(first.getUpdate().getSequenceNumber(), 0);
+      assertEquals(second.getUpdate().getSequenceNumber(), 1);
+      assertTrue(second.getTimestampNanos() >= first.getTimestampNanos());
+      assertNull(reader.readRecord());
+    }
+  }
+
+  public void testUnclosedSegment() throws IOException {
+    // An empty segment, as left if the writer stopped before writing anything
+    _directory.mkdirs();
+    new File(_directory, "ticks-00000000.journal.gz").createNewFile();
+    final TickJournalWriter writer = new TickJournalWriter(_directory);
+    writer.append(update(0, "A", 1));
+    writer.flush();
+    // The segment being written can be read up to the last flush
+    try (TickJournalReader reader = new TickJournalReader(_directory)) {
+      assertUpdate(reader.readRecord().getUpdate(), update(0, "A", 1));
+      assertNull(reader.readRecord());
+    } finally {
+      writer.close();
+    }
+  }
+
+  public void testWriteErrorReportedByFlush() {
+    final TickJournalWriter writer = new TickJournalWriter(_directory);
+    try {
+      // The first segment is only created when a record is written, so removing the directory makes the write fail
+      assertTrue(_directory.delete());
+      writer.append(update(0, "A", 1));
+      try {
+        writer.flush();
+        fail();
+      } catch (final OpenGammaRuntimeException e) {
+        assertTrue(e.getCause() instanceof IOException);
+      }
+      // The error is only reported once
+      writer.flush();
+    } finally {
+      writer.close();
+    }
+  }
+
+}
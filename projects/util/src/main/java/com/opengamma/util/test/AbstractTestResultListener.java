@@ -24,12 +24,17 @@ public abstract class AbstractTestResultListener {
   private long _lastResultReceived;
   private long _shortestDelay;
 
-  @SuppressWarnings("unchecked")
-  public <T> T expectNextCall(final Class<T> expectedResultType, final long timeoutMillis) throws InterruptedException {
+  public Object expectNextCall(final long timeoutMillis) throws InterruptedException {
     final Object result = _callsReceived.poll(timeoutMillis, TimeUnit.MILLISECONDS);
     if (result == null) {
       throw new OpenGammaRuntimeException("Timed out after " + timeoutMillis + " ms waiting for result");
     }
+    return result;
+  }
+
+  @SuppressWarnings("unchecked")
+  public <T> T expectNextCall(final Class<T> expectedResultType, final long timeoutMillis) throws InterruptedException {
+    final Object result = expectNextCall(timeoutMillis);
     if (!expectedResultType.equals(result.getClass())) {
       throw new OpenGammaRuntimeException("Expected next call of type " + expectedResultType + " but was of type " + result.getClass() + ": " + result);
     }